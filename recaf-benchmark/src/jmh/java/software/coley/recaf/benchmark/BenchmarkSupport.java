@@ -0,0 +1,64 @@
+package software.coley.recaf.benchmark;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.Bootstrap;
+import software.coley.recaf.Recaf;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.util.TestEnvironment;
+import software.coley.recaf.util.io.ByteSources;
+import software.coley.recaf.workspace.model.BasicWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.IOException;
+
+/**
+ * Common access to the Recaf application for benchmarks.
+ * <br>
+ * The application is marked as a test environment so that benchmark runs do not read or write user data.
+ *
+ * @author Matt Coley
+ */
+public class BenchmarkSupport {
+	private static Recaf recaf;
+
+	/**
+	 * @return Recaf instance.
+	 */
+	@Nonnull
+	public static synchronized Recaf recaf() {
+		if (recaf == null) {
+			TestEnvironment.initTestEnv();
+			recaf = Bootstrap.get();
+		}
+		return recaf;
+	}
+
+	/**
+	 * @param type
+	 * 		Bean type.
+	 * @param <T>
+	 * 		Bean type.
+	 *
+	 * @return Bean instance.
+	 */
+	@Nonnull
+	public static <T> T get(@Nonnull Class<T> type) {
+		return recaf().get(type);
+	}
+
+	/**
+	 * @param classCount
+	 * 		Number of synthetic classes to generate.
+	 *
+	 * @return Workspace of a {@link SyntheticJar} with the given number of classes.
+	 *
+	 * @throws IOException
+	 * 		When the jar cannot be generated or imported.
+	 */
+	@Nonnull
+	public static Workspace syntheticWorkspace(int classCount) throws IOException {
+		byte[] jar = SyntheticJar.create(classCount);
+		ResourceImporter importer = get(ResourceImporter.class);
+		return new BasicWorkspace(importer.importResource(ByteSources.wrap(jar)));
+	}
+}
@@ -0,0 +1,49 @@
+package software.coley.recaf.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Benchmarks for the {@link JvmDecompiler} implementations.
+ * <br>
+ * Decompilers are invoked directly, bypassing the cache in {@link DecompilerManager}.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+public class DecompileBenchmark {
+	private static final int CLASS_COUNT = 1000;
+	private static final int SAMPLE_SIZE = 50;
+	@Param({"CFR", "Vineflower", "Procyon"})
+	private String decompilerName;
+	private Workspace workspace;
+	private JvmDecompiler decompiler;
+	private List<JvmClassInfo> sample;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		workspace = BenchmarkSupport.syntheticWorkspace(CLASS_COUNT);
+		DecompilerManager decompilerManager = BenchmarkSupport.get(DecompilerManager.class);
+		decompiler = Objects.requireNonNull(decompilerManager.getJvmDecompiler(decompilerName),
+				"Unknown decompiler: " + decompilerName);
+		sample = new ArrayList<>(SAMPLE_SIZE);
+		int step = CLASS_COUNT / SAMPLE_SIZE;
+		for (int i = 0; i < CLASS_COUNT; i += step)
+			sample.add(workspace.getPrimaryResource().getJvmClassBundle().get(SyntheticJar.className(i)));
+	}
+
+	@Benchmark
+	public void decompileSample(Blackhole blackhole) {
+		for (JvmClassInfo classInfo : sample)
+			blackhole.consume(decompiler.decompile(workspace, classInfo));
+	}
+}
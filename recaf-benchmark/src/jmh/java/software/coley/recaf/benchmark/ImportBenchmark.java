@@ -0,0 +1,32 @@
+package software.coley.recaf.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.util.io.ByteSources;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks for {@link ResourceImporter}.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	private ResourceImporter importer;
+	private byte[] jar;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		importer = BenchmarkSupport.get(ResourceImporter.class);
+		jar = SyntheticJar.create(classCount);
+	}
+
+	@Benchmark
+	public WorkspaceResource importJar() throws IOException {
+		return importer.importResource(ByteSources.wrap(jar));
+	}
+}
@@ -0,0 +1,67 @@
+package software.coley.recaf.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static software.coley.recaf.benchmark.SyntheticJar.HIERARCHY_DEPTH;
+import static software.coley.recaf.benchmark.SyntheticJar.className;
+
+/**
+ * Benchmarks for {@link InheritanceGraph}.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+public class InheritanceGraphBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	private Workspace workspace;
+	private InheritanceGraph graph;
+	private InheritanceGraph constructed;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		workspace = BenchmarkSupport.syntheticWorkspace(classCount);
+		graph = new InheritanceGraph(workspace);
+	}
+
+	@TearDown(Level.Invocation)
+	public void removeConstructed() {
+		// Graphs register listeners on the workspace, which would otherwise pile up across invocations.
+		if (constructed != null) {
+			workspace.getPrimaryResource().removeListener(constructed);
+			constructed = null;
+		}
+	}
+
+	@Benchmark
+	public InheritanceGraph construct() {
+		return constructed = new InheritanceGraph(workspace);
+	}
+
+	@Benchmark
+	public String commonWithinHierarchy() {
+		// Bottom of the first hierarchy and its direct parent.
+		return graph.getCommon(className(HIERARCHY_DEPTH - 1), className(HIERARCHY_DEPTH - 2));
+	}
+
+	@Benchmark
+	public String commonAcrossHierarchies() {
+		// Bottoms of two separate hierarchies, only sharing the common interface and object.
+		return graph.getCommon(className(HIERARCHY_DEPTH - 1), className(classCount - 1));
+	}
+
+	@Benchmark
+	public boolean isAssignableFrom() {
+		return graph.isAssignableFrom(SyntheticJar.API_NAME, className(HIERARCHY_DEPTH - 1));
+	}
+
+	@Benchmark
+	public Set<?> vertexFamily() {
+		return graph.getVertexFamily(className(0), false);
+	}
+}
@@ -0,0 +1,43 @@
+package software.coley.recaf.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.mapping.IntermediateMappings;
+import software.coley.recaf.services.mapping.MappingApplierService;
+import software.coley.recaf.services.mapping.MappingResults;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks for {@link MappingApplierService}.
+ * <br>
+ * Mappings are only computed, not applied to the workspace, so that each invocation operates on the same input.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	private Workspace workspace;
+	private MappingApplierService applierService;
+	private IntermediateMappings mappings;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		workspace = BenchmarkSupport.syntheticWorkspace(classCount);
+		applierService = BenchmarkSupport.get(MappingApplierService.class);
+		mappings = new IntermediateMappings();
+		for (int i = 0; i < classCount; i++) {
+			String name = SyntheticJar.className(i);
+			mappings.addClass(name, "mapped/M" + i);
+			mappings.addMethod(name, "(I)I", "helper", "mappedHelper");
+			mappings.addField(name, "I", "ID", "mappedId");
+		}
+	}
+
+	@Benchmark
+	public MappingResults applyToPrimary() {
+		return applierService.inWorkspace(workspace).applyToPrimaryResource(mappings);
+	}
+}
@@ -0,0 +1,69 @@
+package software.coley.recaf.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.search.SearchService;
+import software.coley.recaf.services.search.match.NumberPredicateProvider;
+import software.coley.recaf.services.search.match.StringPredicateProvider;
+import software.coley.recaf.services.search.query.NumberQuery;
+import software.coley.recaf.services.search.query.ReferenceQuery;
+import software.coley.recaf.services.search.query.StringQuery;
+import software.coley.recaf.services.search.result.Results;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks for {@link SearchService}.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	/** Searches are only backed by the search index when searching in the current workspace. */
+	@Param({"true", "false"})
+	private boolean indexed;
+	private Workspace workspace;
+	private WorkspaceManager workspaceManager;
+	private SearchService searchService;
+	private StringQuery stringQuery;
+	private NumberQuery numberQuery;
+	private ReferenceQuery referenceQuery;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		workspace = BenchmarkSupport.syntheticWorkspace(classCount);
+		searchService = BenchmarkSupport.get(SearchService.class);
+		workspaceManager = BenchmarkSupport.get(WorkspaceManager.class);
+		if (indexed)
+			workspaceManager.setCurrentIgnoringConditions(workspace);
+		StringPredicateProvider strMatchProvider = BenchmarkSupport.get(StringPredicateProvider.class);
+		NumberPredicateProvider numMatchProvider = BenchmarkSupport.get(NumberPredicateProvider.class);
+		stringQuery = new StringQuery(strMatchProvider.newEqualPredicate(SyntheticJar.message(classCount / 2)));
+		numberQuery = new NumberQuery(numMatchProvider.newEqualsPredicate(classCount / 2));
+		referenceQuery = new ReferenceQuery(strMatchProvider.newEqualPredicate(SyntheticJar.className(classCount / 2)));
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() {
+		if (indexed)
+			workspaceManager.setCurrentIgnoringConditions(null);
+	}
+
+	@Benchmark
+	public Results searchString() {
+		return searchService.search(workspace, stringQuery);
+	}
+
+	@Benchmark
+	public Results searchNumber() {
+		return searchService.search(workspace, numberQuery);
+	}
+
+	@Benchmark
+	public Results searchReference() {
+		return searchService.search(workspace, referenceQuery);
+	}
+}
@@ -0,0 +1,133 @@
+package software.coley.recaf.benchmark;
+
+import jakarta.annotation.Nonnull;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import software.coley.recaf.util.ZipCreationUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates jars of synthetic classes for benchmarks.
+ * <br>
+ * Each class has:
+ * <ul>
+ *     <li>A parent class, forming hierarchies {@link #HIERARCHY_DEPTH} classes deep</li>
+ *     <li>An implemented interface, {@link #API_NAME}</li>
+ *     <li>Fields with constant values and references to other generated classes</li>
+ *     <li>Methods with string constants, number constants and calls to other generated classes</li>
+ * </ul>
+ *
+ * @author Matt Coley
+ */
+public class SyntheticJar {
+	public static final String API_NAME = "bench/Api";
+	public static final int HIERARCHY_DEPTH = 8;
+	private static final int CLASSES_PER_PACKAGE = 100;
+
+	/**
+	 * @param index
+	 * 		Class index.
+	 *
+	 * @return Internal name of the generated class at the given index.
+	 */
+	@Nonnull
+	public static String className(int index) {
+		return "bench/p" + (index / CLASSES_PER_PACKAGE) + "/C" + index;
+	}
+
+	/**
+	 * @param index
+	 * 		Class index.
+	 *
+	 * @return String constant used in the generated class at the given index.
+	 */
+	@Nonnull
+	public static String message(int index) {
+		return "message-" + index;
+	}
+
+	/**
+	 * @param classCount
+	 * 		Number of classes to generate.
+	 *
+	 * @return Jar file bytes.
+	 *
+	 * @throws IOException
+	 * 		When the jar cannot be written.
+	 */
+	@Nonnull
+	public static byte[] create(int classCount) throws IOException {
+		ZipCreationUtils.ZipBuilder builder = ZipCreationUtils.builder();
+		builder.add("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+		builder.add(API_NAME + ".class", createApi());
+		for (int i = 0; i < classCount; i++)
+			builder.add(className(i) + ".class", createClass(i, classCount));
+		return builder.bytes();
+	}
+
+	@Nonnull
+	private static byte[] createApi() {
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(V1_8, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, API_NAME, null, "java/lang/Object", null);
+		cw.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "run", "()V", null, null).visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	@Nonnull
+	private static byte[] createClass(int index, int classCount) {
+		String name = className(index);
+		String superName = index % HIERARCHY_DEPTH == 0 ? "java/lang/Object" : className(index - 1);
+		String nextName = className((index + 1) % classCount);
+		String helperName = className((int) ((index * 31L) % classCount));
+
+		// No branches are generated, so frames are not required and max values can be computed without class loading.
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_8, ACC_PUBLIC | ACC_SUPER, name, null, superName, new String[]{API_NAME});
+		cw.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, "ID", "I", null, index).visitEnd();
+		cw.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, "NAME", "Ljava/lang/String;", null, name).visitEnd();
+		cw.visitField(ACC_PRIVATE, "next", "L" + nextName + ";", null, null).visitEnd();
+
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(ACC_PUBLIC, "run", "()V", null, null);
+		mv.visitCode();
+		mv.visitFieldInsn(GETSTATIC, "java/lang/System", "out", "Ljava/io/PrintStream;");
+		mv.visitLdcInsn(message(index));
+		mv.visitMethodInsn(INVOKEVIRTUAL, "java/io/PrintStream", "println", "(Ljava/lang/String;)V", false);
+		mv.visitLdcInsn(index);
+		mv.visitMethodInsn(INVOKESTATIC, helperName, "helper", "(I)I", false);
+		mv.visitInsn(POP);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETFIELD, name, "next", "L" + nextName + ";");
+		mv.visitMethodInsn(INVOKEINTERFACE, API_NAME, "run", "()V", true);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "helper", "(I)I", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ILOAD, 0);
+		mv.visitLdcInsn(index * 7);
+		mv.visitInsn(IADD);
+		mv.visitLdcInsn(0x5F3759DFL);
+		mv.visitInsn(L2I);
+		mv.visitInsn(IXOR);
+		mv.visitInsn(IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+}
@@ -3,14 +3,15 @@
 import com.android.tools.r8.graph.DexProgramClass;
 import jakarta.annotation.Nonnull;
 import org.objectweb.asm.ClassReader;
-import software.coley.dextranslator.Options;
 import software.coley.dextranslator.ir.ConversionException;
-import software.coley.dextranslator.model.ApplicationData;
 import software.coley.recaf.info.builder.AndroidClassInfoBuilder;
 import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.util.android.DexIOUtil;
+import software.coley.recaf.util.io.ByteArraySource;
+import software.coley.recaf.util.io.ContentCache;
+import software.coley.recaf.util.io.LazyContent;
 
 import java.io.IOException;
-import java.util.Collections;
 
 /**
  * Basic Android class info implementation.
@@ -18,16 +19,34 @@
  * @author Matt Coley
  */
 public class BasicAndroidClassInfo extends BasicClassInfo implements AndroidClassInfo {
+	/**
+	 * Translator which converts classes directly, without any caching.
+	 */
+	public static final JvmTranslator DEFAULT_TRANSLATOR = cls -> DexIOUtil.translateToJvm(cls.getName(), cls.getDexClass());
+	private static final ContentCache DEFAULT_CACHE = new ContentCache(16L * 1024L * 1024L);
+	private final JvmTranslator translator;
 	private final DexProgramClass dexClass;
-	private JvmClassInfo converted;
+	private volatile JvmClassInfo converted;
 
 	/**
 	 * @param builder
 	 * 		Builder to pull info from.
 	 */
 	public BasicAndroidClassInfo(@Nonnull AndroidClassInfoBuilder builder) {
-		super(builder);
+		super(builder, builder.hasLazyMembers());
 		dexClass = builder.getDexClass();
+		translator = builder.getTranslator();
+	}
+
+	@Nonnull
+	@Override
+	protected Members populateMembers() {
+		AndroidClassInfoBuilder builder = new AndroidClassInfoBuilder().adaptFrom(dexClass);
+		return new Members(builder.getAnnotations(),
+				builder.getTypeAnnotations(),
+				builder.getInnerClasses(),
+				builder.getFields(),
+				builder.getMethods());
 	}
 
 	@Override
@@ -42,33 +61,42 @@ public boolean canMapToJvmClass() {
 	@Nonnull
 	@Override
 	public JvmClassInfo asJvmClass() {
-		if (converted == null) {
+		JvmClassInfo cls = converted;
+		if (cls == null) {
 			// This is an expensive operation, so it's best to make other thread access wait until it is done and
 			// then use the singular return value.
 			synchronized (this) {
 				// If there are 2+ requests here, and we let one through to completion, when the others are let in
 				// this value should be computed then.
-				if (converted != null)
-					return converted;
-				try {
-					String name = getName();
-					ApplicationData data = ApplicationData.fromProgramClasses(Collections.singleton(dexClass));
-					data.setOperationOptionsProvider(() -> new Options()
-							.enableLoadStoreOptimization()
-							.setLenient(true)
-							.setReplaceInvalidMethodBodies(true));
-					byte[] convertedBytecode = data.exportToJvmClass(name);
-					if (convertedBytecode == null)
-						throw new IllegalStateException("Failed to convert Dalvik model of " + name + " to JVM bytecode, " +
-								"conversion results did not include type name.");
-					ClassReader reader = new ClassReader(convertedBytecode);
-					converted = new JvmClassInfoBuilder(reader).build();
-				} catch (ConversionException | IOException ex) {
-					throw new IllegalStateException(ex);
-				}
+				cls = converted;
+				if (cls != null)
+					return cls;
+
+				// The converted class is kept so that its identity is stable, as some models are keyed on class identity.
+				// Only its header is held though, as its bytecode is held in the translator's bounded cache, and
+				// translated again if evicted. Members are populated from the bytecode when accessed.
+				ContentCache cache = translator.getContentCache();
+				byte[] bytecode = translate(translator);
+				LazyContent lazyBytecode = new LazyContent(cache, () -> new ByteArraySource(translate(translator)));
+				cache.put(lazyBytecode, bytecode);
+				cls = new JvmClassInfoBuilder()
+						.withLazyMembers(true)
+						.withLazyBytecode(lazyBytecode)
+						.adaptFrom(new ClassReader(bytecode))
+						.build();
+				converted = cls;
 			}
 		}
-		return converted;
+		return cls;
+	}
+
+	@Nonnull
+	private byte[] translate(@Nonnull JvmTranslator translator) {
+		try {
+			return translator.translate(this);
+		} catch (ConversionException | IOException ex) {
+			throw new IllegalStateException(ex);
+		}
 	}
 
 	/**
@@ -79,8 +107,43 @@ public DexProgramClass getDexClass() {
 		return dexClass;
 	}
 
+	/**
+	 * @return Translator used for {@link #asJvmClass()}.
+	 */
+	@Nonnull
+	public JvmTranslator getTranslator() {
+		return translator;
+	}
+
 	@Override
 	public String toString() {
 		return "Android class: " + getName();
 	}
+
+	/**
+	 * Outline of translation from Android classes to JVM bytecode.
+	 */
+	public interface JvmTranslator {
+		/**
+		 * @param cls
+		 * 		Class to translate.
+		 *
+		 * @return JVM bytecode of the class.
+		 *
+		 * @throws ConversionException
+		 * 		When the dex class could not be converted.
+		 * @throws IOException
+		 * 		When the conversion output could not be written.
+		 */
+		@Nonnull
+		byte[] translate(@Nonnull BasicAndroidClassInfo cls) throws ConversionException, IOException;
+
+		/**
+		 * @return Cache to hold recently translated bytecode in.
+		 */
+		@Nonnull
+		default ContentCache getContentCache() {
+			return DEFAULT_CACHE;
+		}
+	}
 }
@@ -1,6 +1,7 @@
 package software.coley.recaf.info;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import software.coley.recaf.info.annotation.AnnotationInfo;
 import software.coley.recaf.info.annotation.TypeAnnotationInfo;
 import software.coley.recaf.info.builder.AbstractClassInfoBuilder;
@@ -37,32 +38,39 @@ public abstract class BasicClassInfo implements ClassInfo {
 	private final int access;
 	private final String signature;
 	private final String sourceFileName;
-	private final List<AnnotationInfo> annotations;
-	private final List<TypeAnnotationInfo> typeAnnotations;
 	private final String outerClassName;
 	private final String outerMethodName;
 	private final String outerMethodDescriptor;
-	private final List<InnerClassInfo> innerClasses;
-	private final List<FieldMember> fields;
-	private final List<MethodMember> methods;
+	private volatile Members members;
 	private List<String> breadcrumbs;
 	private int sigCheck = SIGS_UNKNOWN;
 
 	protected BasicClassInfo(@Nonnull AbstractClassInfoBuilder<?> builder) {
+		this(builder, false);
+	}
+
+	/**
+	 * @param builder
+	 * 		Builder to pull info from.
+	 * @param lazyMembers
+	 * 		Flag to ignore the members of the builder, and instead {@link #populateMembers() populate them}
+	 * 		when they are first accessed. Members include annotations, inner classes, fields, and methods.
+	 */
+	protected BasicClassInfo(@Nonnull AbstractClassInfoBuilder<?> builder, boolean lazyMembers) {
 		this(builder.getName(),
 				builder.getSuperName(),
 				builder.getInterfaces(),
 				builder.getAccess(),
 				builder.getSignature(),
 				builder.getSourceFileName(),
-				builder.getAnnotations(),
-				builder.getTypeAnnotations(),
 				builder.getOuterClassName(),
 				builder.getOuterMethodName(),
 				builder.getOuterMethodDescriptor(),
-				builder.getInnerClasses(),
-				builder.getFields(),
-				builder.getMethods(),
+				lazyMembers ? null : new Members(builder.getAnnotations(),
+						builder.getTypeAnnotations(),
+						builder.getInnerClasses(),
+						builder.getFields(),
+						builder.getMethods()),
 				builder.getPropertyContainer());
 	}
 
@@ -75,26 +83,63 @@ protected BasicClassInfo(@Nonnull String name, String superName, @Nonnull List<S
 	                         @Nonnull List<InnerClassInfo> innerClasses,
 	                         @Nonnull List<FieldMember> fields, @Nonnull List<MethodMember> methods,
 	                         @Nonnull PropertyContainer properties) {
+		this(name, superName, interfaces, access, signature, sourceFileName,
+				outerClassName, outerMethodName, outerMethodDescriptor,
+				new Members(annotations, typeAnnotations, innerClasses, fields, methods),
+				properties);
+	}
+
+	private BasicClassInfo(@Nonnull String name, String superName, @Nonnull List<String> interfaces, int access,
+	                       String signature, String sourceFileName,
+	                       String outerClassName, String outerMethodName,
+	                       String outerMethodDescriptor,
+	                       @Nullable Members members,
+	                       @Nonnull PropertyContainer properties) {
 		this.name = name;
 		this.superName = superName;
 		this.interfaces = interfaces;
 		this.access = access;
 		this.signature = signature;
 		this.sourceFileName = sourceFileName;
-		this.annotations = annotations;
-		this.typeAnnotations = typeAnnotations;
 		this.outerClassName = outerClassName;
 		this.outerMethodName = outerMethodName;
 		this.outerMethodDescriptor = outerMethodDescriptor;
-		this.innerClasses = innerClasses;
-		this.fields = fields;
-		this.methods = methods;
 		this.properties = properties;
+		if (members != null)
+			this.members = link(members);
+	}
+
+	/**
+	 * Called when members of a class created with lazy members are first accessed.
+	 *
+	 * @return Annotations, inner classes, fields, and methods of the class.
+	 */
+	@Nonnull
+	protected Members populateMembers() {
+		throw new IllegalStateException("Class '" + name + "' does not support lazy population of its members");
+	}
+
+	@Nonnull
+	private Members members() {
+		Members current = members;
+		if (current == null) {
+			synchronized (this) {
+				current = members;
+				if (current == null)
+					members = current = link(populateMembers());
+			}
+		}
+		return current;
+	}
+
+	@Nonnull
+	private Members link(@Nonnull Members members) {
 		// Link fields/methods to self
-		Stream.concat(fields.stream(), methods.stream())
+		Stream.concat(members.fields().stream(), members.methods().stream())
 				.filter(member -> member instanceof BasicMember)
 				.map(member -> (BasicMember) member)
 				.forEach(member -> member.setDeclaringClass(this));
+		return members;
 	}
 
 	@Nonnull
@@ -175,13 +220,13 @@ public String getSourceFileName() {
 	@Nonnull
 	@Override
 	public List<AnnotationInfo> getAnnotations() {
-		return annotations;
+		return members().annotations();
 	}
 
 	@Nonnull
 	@Override
 	public List<TypeAnnotationInfo> getTypeAnnotations() {
-		return typeAnnotations;
+		return members().typeAnnotations();
 	}
 
 	@Override
@@ -217,7 +262,7 @@ public List<String> getOuterClassBreadcrumbs() {
 				}
 				list.addFirst(currentOuter);
 				String targetOuter = currentOuter;
-				currentOuter = innerClasses.stream()
+				currentOuter = getInnerClasses().stream()
 						.filter(i -> i.getInnerClassName().equals(targetOuter) && i.getOuterClassName() != null)
 						.map(InnerClassInfo::getOuterClassName)
 						.findFirst().orElse(null);
@@ -230,19 +275,19 @@ public List<String> getOuterClassBreadcrumbs() {
 	@Nonnull
 	@Override
 	public List<InnerClassInfo> getInnerClasses() {
-		return innerClasses;
+		return members().innerClasses();
 	}
 
 	@Nonnull
 	@Override
 	public List<FieldMember> getFields() {
-		return fields;
+		return members().fields();
 	}
 
 	@Nonnull
 	@Override
 	public List<MethodMember> getMethods() {
-		return methods;
+		return members().methods();
 	}
 
 	@Override
@@ -275,14 +320,14 @@ public boolean equals(Object o) {
 			if (!interfaces.equals(other.getInterfaces())) return false;
 			if (!Objects.equals(signature, other.getSignature())) return false;
 			if (!Objects.equals(sourceFileName, other.getSourceFileName())) return false;
-			if (!annotations.equals(other.getAnnotations())) return false;
-			if (!typeAnnotations.equals(other.getTypeAnnotations())) return false;
+			if (!getAnnotations().equals(other.getAnnotations())) return false;
+			if (!getTypeAnnotations().equals(other.getTypeAnnotations())) return false;
 			if (!Objects.equals(outerClassName, other.getOuterClassName())) return false;
 			if (!Objects.equals(outerMethodName, other.getOuterMethodName())) return false;
 			if (!Objects.equals(outerMethodDescriptor, other.getOuterMethodDescriptor())) return false;
-			if (!innerClasses.equals(other.getInnerClasses())) return false;
-			if (!fields.equals(other.getFields())) return false;
-			return methods.equals(other.getMethods());
+			if (!getInnerClasses().equals(other.getInnerClasses())) return false;
+			if (!getFields().equals(other.getFields())) return false;
+			return getMethods().equals(other.getMethods());
 		}
 		return false;
 	}
@@ -297,14 +342,33 @@ public int hashCode() {
 		result = 31 * result + access;
 		result = 31 * result + (signature != null ? signature.hashCode() : 0);
 		result = 31 * result + (sourceFileName != null ? sourceFileName.hashCode() : 0);
-		result = 31 * result + annotations.hashCode();
-		result = 31 * result + typeAnnotations.hashCode();
+		result = 31 * result + getAnnotations().hashCode();
+		result = 31 * result + getTypeAnnotations().hashCode();
 		result = 31 * result + (outerClassName != null ? outerClassName.hashCode() : 0);
 		result = 31 * result + (outerMethodName != null ? outerMethodName.hashCode() : 0);
 		result = 31 * result + (outerMethodDescriptor != null ? outerMethodDescriptor.hashCode() : 0);
-		result = 31 * result + innerClasses.hashCode();
-		result = 31 * result + fields.hashCode();
-		result = 31 * result + methods.hashCode();
+		result = 31 * result + getInnerClasses().hashCode();
+		result = 31 * result + getFields().hashCode();
+		result = 31 * result + getMethods().hashCode();
 		return result;
 	}
+
+	/**
+	 * @param annotations
+	 * 		Annotations on the class.
+	 * @param typeAnnotations
+	 * 		Type annotations on the class.
+	 * @param innerClasses
+	 * 		Inner classes of the class.
+	 * @param fields
+	 * 		Fields declared by the class.
+	 * @param methods
+	 * 		Methods declared by the class.
+	 */
+	protected record Members(@Nonnull List<AnnotationInfo> annotations,
+	                         @Nonnull List<TypeAnnotationInfo> typeAnnotations,
+	                         @Nonnull List<InnerClassInfo> innerClasses,
+	                         @Nonnull List<FieldMember> fields,
+	                         @Nonnull List<MethodMember> methods) {
+	}
 }
@@ -4,6 +4,7 @@
 import software.coley.recaf.info.builder.FileInfoBuilder;
 import software.coley.recaf.info.properties.Property;
 import software.coley.recaf.info.properties.PropertyContainer;
+import software.coley.recaf.util.io.LazyContent;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -17,11 +18,13 @@ public class BasicFileInfo implements FileInfo {
 	private final PropertyContainer properties;
 	private final String name;
 	private final byte[] rawContent;
+	private final LazyContent lazyContent;
 
 	public BasicFileInfo(@Nonnull FileInfoBuilder<?> builder) {
-		this(builder.getName(),
-				builder.getRawContent(),
-				builder.getProperties());
+		this.name = builder.getName();
+		this.lazyContent = builder.getLazyContent();
+		this.rawContent = lazyContent == null ? builder.getRawContent() : null;
+		this.properties = builder.getProperties();
 	}
 
 	/**
@@ -35,12 +38,15 @@ public BasicFileInfo(@Nonnull FileInfoBuilder<?> builder) {
 	public BasicFileInfo(@Nonnull String name, @Nonnull byte[] rawContent, @Nonnull PropertyContainer properties) {
 		this.name = name;
 		this.rawContent = rawContent;
+		this.lazyContent = null;
 		this.properties = properties;
 	}
 
 	@Nonnull
 	@Override
 	public byte[] getRawContent() {
+		if (lazyContent != null)
+			return lazyContent.get();
 		return rawContent;
 	}
 
@@ -56,7 +62,7 @@ public boolean equals(Object o) {
 		if (o == null) return false;
 		if (o instanceof FileInfo other) {
 			if (!name.equals(other.getName())) return false;
-			return Arrays.equals(rawContent, other.getRawContent());
+			return Arrays.equals(getRawContent(), other.getRawContent());
 		}
 		return false;
 	}
@@ -64,7 +70,7 @@ public boolean equals(Object o) {
 	@Override
 	public int hashCode() {
 		int result = name.hashCode();
-		result = 31 * result + Arrays.hashCode(rawContent);
+		result = 31 * result + Arrays.hashCode(getRawContent());
 		return result;
 	}
 
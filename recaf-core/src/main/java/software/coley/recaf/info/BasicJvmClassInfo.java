@@ -3,8 +3,12 @@
 import jakarta.annotation.Nonnull;
 import org.objectweb.asm.ClassReader;
 import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.properties.builtin.UnknownAttributesProperty;
+import software.coley.recaf.util.io.LazyContent;
 
+import java.lang.ref.SoftReference;
 import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * Basic JVM class info implementation.
@@ -13,28 +17,63 @@
  */
 public class BasicJvmClassInfo extends BasicClassInfo implements JvmClassInfo {
 	private final byte[] bytecode;
+	private final LazyContent lazyBytecode;
 	private final int version;
+	private final int readerFlags;
 	private ClassReader reader;
+	private SoftReference<ClassReader> lazyReader;
 
 	/**
 	 * @param builder
 	 * 		Builder to pull info from.
 	 */
 	public BasicJvmClassInfo(@Nonnull JvmClassInfoBuilder builder) {
-		super(builder);
-		this.bytecode = builder.getBytecode();
+		super(builder, builder.hasLazyMembers());
+		this.lazyBytecode = builder.getLazyBytecode();
+		this.bytecode = lazyBytecode == null ? builder.getBytecode() : null;
 		this.version = builder.getVersion();
+		this.readerFlags = builder.getReaderFlags();
+	}
+
+	@Nonnull
+	@Override
+	protected Members populateMembers() {
+		JvmClassInfoBuilder builder = new JvmClassInfoBuilder(getClassReader(), readerFlags);
+
+		// Custom attributes within method code are not seen when only the header is read, so the property
+		// recorded when building the class is replaced with the complete set of attributes found here.
+		Collection<String> customAttributes = builder.getCustomAttributeNames();
+		if (!customAttributes.isEmpty())
+			setProperty(new UnknownAttributesProperty(customAttributes));
+		return new Members(builder.getAnnotations(),
+				builder.getTypeAnnotations(),
+				builder.getInnerClasses(),
+				builder.getFields(),
+				builder.getMethods());
 	}
 
 	@Nonnull
 	@Override
 	public byte[] getBytecode() {
+		if (lazyBytecode != null)
+			return lazyBytecode.get();
 		return bytecode;
 	}
 
 	@Nonnull
 	@Override
 	public ClassReader getClassReader() {
+		// The reader holds onto the bytecode, so for lazy content it is only softly held.
+		// Otherwise each call would need to fetch the content again, and re-read it if evicted from the content cache.
+		if (lazyBytecode != null) {
+			SoftReference<ClassReader> ref = lazyReader;
+			ClassReader cached = ref == null ? null : ref.get();
+			if (cached == null) {
+				cached = new ClassReader(lazyBytecode.get());
+				lazyReader = new SoftReference<>(cached);
+			}
+			return cached;
+		}
 		if (reader == null)
 			reader = new ClassReader(bytecode);
 		return reader;
@@ -52,7 +91,7 @@ public boolean equals(Object o) {
 
 		if (o instanceof JvmClassInfo other) {
 			if (version != other.getVersion()) return false;
-			return Arrays.equals(bytecode, other.getBytecode());
+			return Arrays.equals(getBytecode(), other.getBytecode());
 		} else if (!super.equals(o)) {
 			return false;
 		}
@@ -62,8 +101,10 @@ public boolean equals(Object o) {
 
 	@Override
 	public int hashCode() {
-		int result = super.hashCode();
-		result = 31 * result + Arrays.hashCode(bytecode);
+		// Equality is based on the bytecode, so the class model does not need to be considered.
+		// This also prevents hashing from populating lazy members.
+		int result = getName().hashCode();
+		result = 31 * result + Arrays.hashCode(getBytecode());
 		result = 31 * result + version;
 		return result;
 	}
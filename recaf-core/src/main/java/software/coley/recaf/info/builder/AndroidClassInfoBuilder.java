@@ -24,6 +24,8 @@
  */
 public class AndroidClassInfoBuilder extends AbstractClassInfoBuilder<AndroidClassInfoBuilder> {
 	private DexProgramClass dexClass;
+	private BasicAndroidClassInfo.JvmTranslator translator = BasicAndroidClassInfo.DEFAULT_TRANSLATOR;
+	private boolean lazyMembers;
 
 	/**
 	 * Create empty builder.
@@ -40,6 +42,8 @@ public AndroidClassInfoBuilder() {
 	 */
 	public AndroidClassInfoBuilder(AndroidClassInfo classInfo) {
 		super(classInfo);
+		if (classInfo instanceof BasicAndroidClassInfo basicClassInfo)
+			translator = basicClassInfo.getTranslator();
 	}
 
 	/**
@@ -51,12 +55,64 @@ public DexProgramClass getDexClass() {
 		return dexClass;
 	}
 
+	/**
+	 * When set, {@link #adaptFrom(DexProgramClass)} does not map the annotations, fields, and methods of the
+	 * dex class. The built class will map them from the {@link #getDexClass() dex class} when they are first accessed.
+	 * <br>
+	 * Must be set before adapting from a dex class. Member values given to this builder are ignored by the built class.
+	 *
+	 * @param lazyMembers
+	 *        {@code true} to populate class members on demand.
+	 *
+	 * @return Builder.
+	 */
+	@Nonnull
+	public AndroidClassInfoBuilder withLazyMembers(boolean lazyMembers) {
+		this.lazyMembers = lazyMembers;
+		return this;
+	}
+
+	/**
+	 * @return {@code true} when the built class should populate its members on demand.
+	 */
+	public boolean hasLazyMembers() {
+		return lazyMembers;
+	}
+
+	/**
+	 * @param translator
+	 * 		Translator for the built class to use for {@link AndroidClassInfo#asJvmClass()}.
+	 *
+	 * @return Builder.
+	 */
+	@Nonnull
+	public AndroidClassInfoBuilder withTranslator(@Nonnull BasicAndroidClassInfo.JvmTranslator translator) {
+		this.translator = translator;
+		return this;
+	}
+
+	/**
+	 * @return Translator for the built class to use for {@link AndroidClassInfo#asJvmClass()}.
+	 * Defaults to {@link BasicAndroidClassInfo#DEFAULT_TRANSLATOR}.
+	 */
+	@Nonnull
+	public BasicAndroidClassInfo.JvmTranslator getTranslator() {
+		return translator;
+	}
+
 	@Override
 	public AndroidClassInfo build() {
 		verify();
 		return new BasicAndroidClassInfo(this);
 	}
 
+	@Override
+	protected void verify() {
+		super.verify();
+		if (lazyMembers && dexClass == null)
+			throw new IllegalStateException("Dex class required to populate lazy members");
+	}
+
 	/**
 	 * Copies over values by pulling values from the contents of the given class model.
 	 *
@@ -73,9 +129,11 @@ public AndroidClassInfoBuilder adaptFrom(@Nonnull DexProgramClass dexClass) {
 		withInterfaces(dexClass.getInterfaces().stream().map(i -> i.getTypeName().replace('.', '/')).toList());
 		withAccess(dexClass.getAccessFlags().getAsCfAccessFlags());
 		withSourceFileName(dexClass.getSourceFile() == null ? null : dexClass.getSourceFile().toString());
-		withAnnotations(mapAnnos(dexClass.annotations()));
-		withFields(mapFields(dexClass.fields()));
-		withMethods(mapMethods(dexClass.methods()));
+		if (!lazyMembers) {
+			withAnnotations(mapAnnos(dexClass.annotations()));
+			withFields(mapFields(dexClass.fields()));
+			withMethods(mapMethods(dexClass.methods()));
+		}
 		withSignature(dexClass.getClassSignature().toString());
 		InnerClassAttribute innerClasses = dexClass.getInnerClassAttributeForThisClass();
 		if (innerClasses != null) {
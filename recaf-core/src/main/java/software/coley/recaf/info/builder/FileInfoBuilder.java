@@ -1,12 +1,14 @@
 package software.coley.recaf.info.builder;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import software.coley.recaf.info.*;
 import software.coley.recaf.info.properties.BasicPropertyContainer;
 import software.coley.recaf.info.properties.Property;
 import software.coley.recaf.info.properties.PropertyContainer;
 import software.coley.recaf.util.StringDecodingResult;
 import software.coley.recaf.util.StringUtil;
+import software.coley.recaf.util.io.LazyContent;
 
 /**
  * Common builder info for {@link FileInfo}.
@@ -20,6 +22,7 @@
 	private PropertyContainer properties = new BasicPropertyContainer();
 	private String name;
 	private byte[] rawContent;
+	private LazyContent lazyContent;
 	protected StringDecodingResult decodingResult;
 
 	public FileInfoBuilder() {
@@ -36,6 +39,7 @@ protected FileInfoBuilder(@Nonnull FileInfo fileInfo) {
 	protected FileInfoBuilder(@Nonnull FileInfoBuilder<?> other) {
 		withName(other.getName());
 		withRawContent(other.getRawContent());
+		withLazyContent(other.getLazyContent());
 		withProperties(other.getProperties());
 	}
 
@@ -95,6 +99,21 @@ public B withRawContent(@Nonnull byte[] rawContent) {
 		return (B) this;
 	}
 
+	/**
+	 * When set, the built file will not hold onto its {@link #getRawContent() raw content}, and instead
+	 * read it from the lazy content on demand. The raw content is still required to populate the builder.
+	 *
+	 * @param lazyContent
+	 * 		Lazy source of the same content as {@link #getRawContent()}, or {@code null} to hold content in memory.
+	 *
+	 * @return Builder.
+	 */
+	@SuppressWarnings("unchecked")
+	public B withLazyContent(@Nullable LazyContent lazyContent) {
+		this.lazyContent = lazyContent;
+		return (B) this;
+	}
+
 	public PropertyContainer getProperties() {
 		return properties;
 	}
@@ -107,6 +126,11 @@ public byte[] getRawContent() {
 		return rawContent;
 	}
 
+	@Nullable
+	public LazyContent getLazyContent() {
+		return lazyContent;
+	}
+
 	/**
 	 * @return Computed string decoding result.
 	 */
@@ -30,6 +30,7 @@
 import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.info.properties.builtin.UnknownAttributesProperty;
 import software.coley.recaf.util.MultiMap;
+import software.coley.recaf.util.io.LazyContent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -51,8 +52,11 @@
  */
 public class JvmClassInfoBuilder extends AbstractClassInfoBuilder<JvmClassInfoBuilder> {
 	private byte[] bytecode;
+	private LazyContent lazyBytecode;
 	private int version = JvmClassInfo.BASE_VERSION + 8; // Java 8
 	private boolean skipValidationChecks = true;
+	private boolean lazyMembers;
+	private int readerFlags;
 	@Nullable
 	private ClassBuilderAdapter adapter;
 
@@ -227,8 +231,11 @@ public JvmClassInfoBuilder adaptFrom(@Nonnull ClassReader reader, int flags) {
 		// If we are doing validation checks, delegating the reader to a writer should catch most issues
 		// that would normally crash ASM. It is the caller's responsibility to error handle ASM failing
 		// if such failures occur.
-		adapter = new ClassBuilderAdapter(skipValidationChecks ? null : new ClassWriter(reader, 0));
-		reader.accept(adapter, flags);
+		adapter = new ClassBuilderAdapter(skipValidationChecks ? null : new ClassWriter(reader, 0), lazyMembers);
+
+		// Method code is not needed for the header. Custom attributes within code are found when members are populated.
+		reader.accept(adapter, lazyMembers ? flags | ClassReader.SKIP_CODE : flags);
+		readerFlags = flags;
 		return withBytecode(reader.b);
 	}
 
@@ -238,6 +245,43 @@ public JvmClassInfoBuilder withBytecode(byte[] bytecode) {
 		return this;
 	}
 
+	/**
+	 * When set, the built class will not hold onto its {@link #getBytecode() bytecode}, and instead
+	 * read it from the lazy content on demand. The bytecode is still required to populate the builder.
+	 *
+	 * @param lazyBytecode
+	 * 		Lazy source of the same bytecode as {@link #getBytecode()}, or {@code null} to hold bytecode in memory.
+	 *
+	 * @return Builder.
+	 */
+	@Nonnull
+	public JvmClassInfoBuilder withLazyBytecode(@Nullable LazyContent lazyBytecode) {
+		this.lazyBytecode = lazyBytecode;
+		return this;
+	}
+
+	/**
+	 * When set, {@link #adaptFrom(ClassReader, int)} only reads the class header <i>(Name, access, signature,
+	 * super-type, interfaces, source file, and outer class)</i>. The built class will populate its annotations,
+	 * inner classes, fields, and methods from its bytecode when they are first accessed. This saves time and memory
+	 * for classes which are never inspected.
+	 * <br>
+	 * Must be set before adapting from bytecode. Member values given to this builder are ignored by the built class.
+	 * <br>
+	 * Custom attributes on the class, fields, and methods are still recorded in an {@link UnknownAttributesProperty}
+	 * when building. Custom attributes within method code are added to it once the members are populated.
+	 *
+	 * @param lazyMembers
+	 *        {@code true} to populate class members on demand.
+	 *
+	 * @return Builder.
+	 */
+	@Nonnull
+	public JvmClassInfoBuilder withLazyMembers(boolean lazyMembers) {
+		this.lazyMembers = lazyMembers;
+		return this;
+	}
+
 	@Nonnull
 	public JvmClassInfoBuilder withVersion(int version) {
 		this.version = version;
@@ -263,10 +307,39 @@ public byte[] getBytecode() {
 		return bytecode;
 	}
 
+	@Nullable
+	public LazyContent getLazyBytecode() {
+		return lazyBytecode;
+	}
+
 	public int getVersion() {
 		return version;
 	}
 
+	/**
+	 * @return {@code true} when the built class should populate its members on demand.
+	 */
+	public boolean hasLazyMembers() {
+		return lazyMembers;
+	}
+
+	/**
+	 * @return Reader flags used when adapting from bytecode, and when populating lazy members.
+	 */
+	public int getReaderFlags() {
+		return readerFlags;
+	}
+
+	/**
+	 * @return Unique names of custom attributes found when adapting from bytecode.
+	 */
+	@Nonnull
+	public Collection<String> getCustomAttributeNames() {
+		if (adapter == null || !adapter.hasCustomAttributes())
+			return Collections.emptyList();
+		return adapter.getCustomAttributeNames();
+	}
+
 	@Override
 	public JvmClassInfo build() {
 		if (adapter != null && adapter.hasCustomAttributes())
@@ -286,7 +359,7 @@ protected void verify() {
 
 	/**
 	 * Converts ASM visitor actions to 'with' actions in the class builder.
-	 * Results in a fully reconstructed class model.
+	 * Results in a fully reconstructed class model, unless only the header is requested.
 	 *
 	 * @see FieldBuilderAdapter
 	 * @see MethodBuilderAdapter
@@ -300,9 +373,11 @@ private class ClassBuilderAdapter extends ClassVisitor {
 		private List<Attribute> classCustomAttributes;
 		private final MultiMap<String, Attribute, List<Attribute>> fieldCustomAttributes;
 		private final MultiMap<String, Attribute, List<Attribute>> methodCustomAttributes;
+		private final boolean headerOnly;
 
-		protected ClassBuilderAdapter(@Nullable ClassVisitor cv) {
+		protected ClassBuilderAdapter(@Nullable ClassVisitor cv, boolean headerOnly) {
 			super(getAsmVersion(), cv);
+			this.headerOnly = headerOnly;
 			fieldCustomAttributes = MultiMap.from(new HashMap<>(), ArrayList::new);
 			methodCustomAttributes = MultiMap.from(new HashMap<>(), ArrayList::new);
 		}
@@ -339,6 +414,9 @@ public void visitOuterClass(String owner, String name, String descriptor) {
 
 		@Override
 		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			// When only reading the header, members are skipped here and populated by the built class on demand.
+			if (headerOnly)
+				return null;
 			if (annotations == null)
 				annotations = new ArrayList<>();
 			return new AnnotationBuilderAdapter(visible, descriptor, annotations::add);
@@ -346,6 +424,8 @@ public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
 
 		@Override
 		public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
+			if (headerOnly)
+				return null;
 			if (typeAnnotations == null)
 				typeAnnotations = new ArrayList<>();
 			return new AnnotationBuilderAdapter(visible, descriptor,
@@ -360,9 +440,11 @@ public void visitInnerClass(String name, String outerName, String innerName, int
 			String currentClassName = getName();
 
 			// Add the inner data
-			if (innerClasses == null)
-				innerClasses = new ArrayList<>();
-			innerClasses.add(new BasicInnerClassInfo(currentClassName, name, outerName, innerName, access));
+			if (!headerOnly) {
+				if (innerClasses == null)
+					innerClasses = new ArrayList<>();
+				innerClasses.add(new BasicInnerClassInfo(currentClassName, name, outerName, innerName, access));
+			}
 
 			// If the local 'name' is the current class name, then we are visiting an inner class entry
 			// that most likely is a representation of the current class. If this entry has data about
@@ -388,6 +470,14 @@ public void visitAttribute(Attribute attribute) {
 
 		@Override
 		public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+			// When only reading the header, the field is only checked for custom attributes.
+			if (headerOnly)
+				return new FieldVisitor(getAsmVersion()) {
+					@Override
+					public void visitAttribute(Attribute attribute) {
+						fieldCustomAttributes.get(name).add(attribute);
+					}
+				};
 			return new FieldBuilderAdapter(access, name, descriptor, signature, value) {
 
 				@Override
@@ -407,6 +497,14 @@ public void visitEnd() {
 
 		@Override
 		public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+			// When only reading the header, the method is only checked for custom attributes.
+			if (headerOnly)
+				return new MethodVisitor(getAsmVersion()) {
+					@Override
+					public void visitAttribute(Attribute attribute) {
+						methodCustomAttributes.get(name).add(attribute);
+					}
+				};
 			return new MethodBuilderAdapter(access, name, descriptor, signature, exceptions) {
 
 				@Override
@@ -0,0 +1,61 @@
+package software.coley.recaf.info.properties.builtin;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.properties.BasicProperty;
+
+/**
+ * Built in property to track the checksum of the dex file an {@link AndroidClassInfo} was read from.
+ * Together with the class name, this identifies the class content for caching its translation to JVM bytecode.
+ * <br>
+ * The checksum is a hex encoded SHA-256 digest, as dex files may be crafted to collide with weaker hashes.
+ *
+ * @author Matt Coley
+ */
+public class DexChecksumProperty extends BasicProperty<String> {
+	public static final String KEY = "dex-checksum";
+
+	/**
+	 * @param checksum
+	 * 		Checksum of the dex file the class was read from.
+	 */
+	public DexChecksumProperty(@Nonnull String checksum) {
+		super(KEY, checksum);
+	}
+
+	@Override
+	public boolean persistent() {
+		// Updated classes no longer match the content of the dex file.
+		return false;
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 *
+	 * @return Checksum of the dex file the class was read from, or {@code null} when not associated with a dex file.
+	 */
+	@Nullable
+	public static String get(@Nonnull AndroidClassInfo info) {
+		return info.getPropertyValueOrNull(KEY);
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 * @param checksum
+	 * 		Checksum of the dex file the class was read from.
+	 */
+	public static void set(@Nonnull AndroidClassInfo info, @Nonnull String checksum) {
+		info.setProperty(new DexChecksumProperty(checksum));
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 */
+	public static void remove(@Nonnull AndroidClassInfo info) {
+		info.removeProperty(KEY);
+	}
+}
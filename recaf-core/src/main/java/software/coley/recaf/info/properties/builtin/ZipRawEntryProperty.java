@@ -0,0 +1,123 @@
+package software.coley.recaf.info.properties.builtin;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.lljzip.format.compression.ZipCompressions;
+import software.coley.lljzip.format.model.LocalFileHeader;
+import software.coley.recaf.info.Info;
+import software.coley.recaf.info.properties.BasicProperty;
+import software.coley.recaf.info.properties.Property;
+import software.coley.recaf.util.io.LocalFileHeaderSource;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.util.zip.CRC32;
+
+/**
+ * Built in property to track the original compressed data of an {@link Info} value stored inside a ZIP container.
+ * Allows exporting to copy the data of unmodified values as-is, rather than compressing their content again.
+ *
+ * @author Matt Coley
+ */
+public class ZipRawEntryProperty extends BasicProperty<ZipRawEntryProperty.RawEntry> {
+	public static final String KEY = "zip-raw-entry";
+
+	/**
+	 * @param value
+	 * 		Original compressed entry data.
+	 */
+	public ZipRawEntryProperty(@Nonnull RawEntry value) {
+		super(KEY, value);
+	}
+
+	@Override
+	public boolean persistent() {
+		// The data only describes the content the info was read with.
+		return false;
+	}
+
+	/**
+	 * @param info
+	 * 		Info instance.
+	 *
+	 * @return Original compressed entry data.
+	 * {@code null} when no property value is assigned.
+	 */
+	@Nullable
+	public static RawEntry get(@Nonnull Info info) {
+		Property<RawEntry> property = info.getProperty(KEY);
+		if (property != null) {
+			return property.value();
+		}
+		return null;
+	}
+
+	/**
+	 * @param info
+	 * 		Info instance.
+	 * @param value
+	 * 		Original compressed entry data.
+	 */
+	public static void set(@Nonnull Info info, @Nonnull RawEntry value) {
+		info.setProperty(new ZipRawEntryProperty(value));
+	}
+
+	/**
+	 * @param info
+	 * 		Info instance.
+	 */
+	public static void remove(@Nonnull Info info) {
+		info.removeProperty(KEY);
+	}
+
+	/**
+	 * @param compression
+	 * 		Compression type of the data. See {@link ZipCompressions} for values.
+	 * @param header
+	 * 		Local file header of the entry, holding the compressed data.
+	 */
+	public record RawEntry(int compression, @Nonnull LocalFileHeader header) {
+		/**
+		 * @return Compressed data, which decompresses to the content of the info it is associated with.
+		 */
+		@Nonnull
+		public MemorySegment data() {
+			return header.getFileData();
+		}
+
+		/**
+		 * Decompresses the data to compute the CRC and size of its content. This is only done once the data is
+		 * about to be copied, since it costs about as much as reading the content again.
+		 * <br>
+		 * The values are computed rather than taken from the headers, which obfuscated archives may fill with bogus values.
+		 *
+		 * @return Verified entry data, or {@code null} if the data could not be decompressed.
+		 */
+		@Nullable
+		public VerifiedEntry verify() {
+			try {
+				MemorySegment content = new LocalFileHeaderSource(header).mmap();
+				if (content.byteSize() > Integer.MAX_VALUE)
+					return null;
+				CRC32 crc = new CRC32();
+				crc.update(content.asByteBuffer());
+				return new VerifiedEntry(compression, crc.getValue(), (int) content.byteSize(), data());
+			} catch (IOException ex) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * @param compression
+	 * 		Compression type of the data. See {@link ZipCompressions} for values.
+	 * @param crc
+	 * 		CRC32 of the uncompressed content.
+	 * @param size
+	 * 		Size of the uncompressed content.
+	 * @param data
+	 * 		Compressed data, which decompresses to the content of the info it is associated with.
+	 */
+	public record VerifiedEntry(int compression, long crc, int size, @Nonnull MemorySegment data) {
+	}
+}
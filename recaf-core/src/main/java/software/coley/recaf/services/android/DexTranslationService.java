@@ -0,0 +1,320 @@
+package software.coley.recaf.services.android;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.dextranslator.ir.ConversionException;
+import software.coley.dextranslator.model.ApplicationData;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.cdi.EagerInitialization;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.BasicAndroidClassInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.properties.builtin.DexChecksumProperty;
+import software.coley.recaf.services.Service;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
+import software.coley.recaf.util.IOUtil;
+import software.coley.recaf.util.android.DexIOUtil;
+import software.coley.recaf.util.io.ContentCache;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Service for translating {@link AndroidClassInfo Android classes} into JVM classes.
+ * <br>
+ * Translated bytecode is held in a cache bounded by {@link DexTranslationServiceConfig#getCacheMb()}, and can
+ * optionally be {@link DexTranslationServiceConfig#getPersistCache() persisted} between sessions, up to
+ * {@link DexTranslationServiceConfig#getPersistCacheMb()}. Persisted entries are keyed by the translator version,
+ * the {@link DexChecksumProperty checksum of the dex file} a class was read from, and the class name. Classes
+ * without a checksum, such as ones which have been modified since being read, are not persisted. Each persisted
+ * entry records the name of its class, which is checked before the entry is used.
+ * <br>
+ * This service is used for {@link BasicAndroidClassInfo#asJvmClass()} by classes that are given it as their
+ * {@link software.coley.recaf.info.builder.AndroidClassInfoBuilder#withTranslator(BasicAndroidClassInfo.JvmTranslator)
+ * translator}, which the resource importer does for all dex files it reads.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+@EagerInitialization
+public class DexTranslationService implements Service, BasicAndroidClassInfo.JvmTranslator {
+	public static final String SERVICE_ID = "dex-translation";
+	private static final Logger logger = Logging.get(DexTranslationService.class);
+	private static final int TRANSLATE_CHUNK_SIZE = 64;
+	/**
+	 * Version of persisted translations. Translations are only re-used when both the version of the translator and
+	 * the {@link DexIOUtil#TRANSLATION_OPTIONS_VERSION options} it was run with are the same.
+	 */
+	private static final String CACHE_VERSION = Objects.requireNonNullElse(
+			ApplicationData.class.getPackage().getImplementationVersion(), "unknown")
+			+ "-" + DexIOUtil.TRANSLATION_OPTIONS_VERSION;
+	private final ExecutorService translatePool = ThreadPoolFactory.newWorkStealingPool(SERVICE_ID);
+	private final AtomicLong diskCacheSize = new AtomicLong();
+	private final AtomicBoolean trimScheduled = new AtomicBoolean();
+	private final RecafDirectoriesConfig directoriesConfig;
+	private final DexTranslationServiceConfig config;
+	private final ContentCache cache;
+
+	@Inject
+	public DexTranslationService(@Nonnull RecafDirectoriesConfig directoriesConfig,
+	                             @Nonnull DexTranslationServiceConfig config) {
+		this.directoriesConfig = directoriesConfig;
+		this.config = config;
+		cache = new ContentCache(megabytes(config.getCacheMb().getValue()));
+		config.getCacheMb().addChangeListener((ob, old, cur) -> cache.setMaxSize(megabytes(cur)));
+
+		// Check the size of translations persisted by prior sessions, and remove any which are no longer usable.
+		if (config.getPersistCache().getValue())
+			CompletableFuture.runAsync(this::trimDiskCache, translatePool);
+	}
+
+	/**
+	 * Translates multiple classes at once.
+	 *
+	 * @param classes
+	 * 		Classes to translate.
+	 *
+	 * @return Map of class names to their JVM translations. Classes which fail to translate are not included.
+	 */
+	@Nonnull
+	public Map<String, JvmClassInfo> translateAll(@Nonnull Collection<? extends AndroidClassInfo> classes) {
+		List<? extends AndroidClassInfo> list = new ArrayList<>(classes);
+		Map<String, JvmClassInfo> translated = new ConcurrentHashMap<>();
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (int i = 0; i < list.size(); i += TRANSLATE_CHUNK_SIZE) {
+			List<? extends AndroidClassInfo> chunk = list.subList(i, Math.min(i + TRANSLATE_CHUNK_SIZE, list.size()));
+			chunks.add(CompletableFuture.runAsync(() -> {
+				for (AndroidClassInfo cls : chunk) {
+					try {
+						translated.put(cls.getName(), cls.asJvmClass());
+					} catch (Throwable t) {
+						logger.warn("Failed to translate Android class '{}'", cls.getName(), t);
+					}
+				}
+			}, translatePool));
+		}
+		CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+		return translated;
+	}
+
+	@Nonnull
+	@Override
+	public byte[] translate(@Nonnull BasicAndroidClassInfo cls) throws ConversionException, IOException {
+		String checksum = DexChecksumProperty.get(cls);
+		Path path = checksum != null && config.getPersistCache().getValue() ?
+				getCachePath(new TranslationKey(checksum, cls.getName())) : null;
+		if (path == null)
+			return DexIOUtil.translateToJvm(cls.getName(), cls.getDexClass());
+
+		// Check the disk cache, and translate if it does not have the class.
+		// Recently translated classes are held in memory by the content cache, so this is not checked on every access.
+		if (Files.isRegularFile(path)) {
+			byte[] cached = readCacheFile(path, cls.getName());
+			if (cached != null)
+				return cached;
+		}
+		byte[] bytecode = DexIOUtil.translateToJvm(cls.getName(), cls.getDexClass());
+		writeCacheFile(path, cls.getName(), bytecode);
+		return bytecode;
+	}
+
+	@Nonnull
+	@Override
+	public ContentCache getContentCache() {
+		return cache;
+	}
+
+	/**
+	 * Removes all translations held in memory.
+	 */
+	public void clearCache() {
+		cache.clear();
+	}
+
+	/**
+	 * @return Directory holding persisted translations for the current {@link #CACHE_VERSION cache version}.
+	 */
+	@Nonnull
+	private Path getCacheDirectory() {
+		return directoriesConfig.getCacheDirectory()
+				.resolve(SERVICE_ID)
+				.resolve(CACHE_VERSION);
+	}
+
+	@Nonnull
+	@VisibleForTesting
+	Path getCachePath(@Nonnull TranslationKey key) {
+		// Class names may not be valid file names, so they are hashed.
+		String fileName = Hashing.sha256().hashString(key.className(), UTF_8) + ".class";
+		return getCacheDirectory()
+				.resolve(key.checksum())
+				.resolve(fileName);
+	}
+
+	/**
+	 * @param path
+	 * 		Path of the cached translation.
+	 * @param className
+	 * 		Name of the class expected to be in the file.
+	 *
+	 * @return Cached bytecode of the class, or {@code null} if the file could not be read or holds another class.
+	 */
+	@Nullable
+	private static byte[] readCacheFile(@Nonnull Path path, @Nonnull String className) {
+		try (InputStream stream = Files.newInputStream(path);
+		     DataInputStream in = new DataInputStream(stream)) {
+			String cachedName = in.readUTF();
+			if (!className.equals(cachedName)) {
+				logger.debug("Ignoring cached translation of '{}' holding '{}'", className, cachedName);
+				return null;
+			}
+			return in.readAllBytes();
+		} catch (IOException ex) {
+			logger.debug("Failed to read cached translation of '{}'", className, ex);
+			return null;
+		}
+	}
+
+	private void writeCacheFile(@Nonnull Path path, @Nonnull String className, @Nonnull byte[] bytecode) {
+		byte[] content;
+		try {
+			// The class name is recorded so that it can be checked when the file is read.
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytecode.length + className.length() + 2);
+			DataOutputStream out = new DataOutputStream(buffer);
+			out.writeUTF(className);
+			out.write(bytecode);
+			content = buffer.toByteArray();
+
+			// Written to a temporary file first so that concurrent readers never see a partial file.
+			Files.createDirectories(path.getParent());
+			Path temp = Files.createTempFile(path.getParent(), null, ".tmp");
+			Files.write(temp, content);
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ex) {
+			logger.debug("Failed to write cached translation to '{}'", path, ex);
+			return;
+		}
+
+		// Trimming walks the cache directory, so it is only done once the size limit is passed, and not on every write.
+		if (diskCacheSize.addAndGet(content.length) > megabytes(config.getPersistCacheMb().getValue())
+				&& trimScheduled.compareAndSet(false, true))
+			CompletableFuture.runAsync(this::trimDiskCache, translatePool)
+					.whenComplete((unused, t) -> trimScheduled.set(false));
+	}
+
+	/**
+	 * Removes persisted translations of prior {@link #CACHE_VERSION cache versions}, and then removes the translations
+	 * of the least recently written dex files until the cache fits in {@link DexTranslationServiceConfig#getPersistCacheMb()}.
+	 */
+	@VisibleForTesting
+	synchronized void trimDiskCache() {
+		Path root = directoriesConfig.getCacheDirectory().resolve(SERVICE_ID);
+		if (!Files.isDirectory(root))
+			return;
+		try {
+			// Translations of other versions can never be used again.
+			Path current = getCacheDirectory();
+			try (Stream<Path> versions = Files.list(root)) {
+				versions.filter(dir -> !dir.equals(current)).forEach(IOUtil::deleteQuietly);
+			}
+			if (!Files.isDirectory(current)) {
+				diskCacheSize.set(0);
+				return;
+			}
+
+			// Each dex file has its own directory. Remove the oldest directories first.
+			List<Path> dexDirectories;
+			try (Stream<Path> stream = Files.list(current)) {
+				dexDirectories = new ArrayList<>(stream.filter(Files::isDirectory).toList());
+			}
+			Map<Path, Long> sizes = new HashMap<>();
+			Map<Path, Long> modified = new HashMap<>();
+			long total = 0;
+			for (Path directory : dexDirectories) {
+				long size = directorySize(directory);
+				sizes.put(directory, size);
+				modified.put(directory, Files.getLastModifiedTime(directory).toMillis());
+				total += size;
+			}
+			dexDirectories.sort(Comparator.comparing(modified::get));
+			long maxSize = megabytes(config.getPersistCacheMb().getValue());
+			for (Path directory : dexDirectories) {
+				if (total <= maxSize)
+					break;
+				IOUtil.deleteQuietly(directory);
+				total -= sizes.get(directory);
+			}
+			diskCacheSize.set(total);
+		} catch (IOException ex) {
+			logger.debug("Failed to trim translation cache directory", ex);
+		}
+	}
+
+	private static long directorySize(@Nonnull Path directory) throws IOException {
+		try (Stream<Path> stream = Files.list(directory)) {
+			return stream.mapToLong(path -> path.toFile().length()).sum();
+		}
+	}
+
+	private static long megabytes(int mb) {
+		return Math.max(0, mb) * 1024L * 1024L;
+	}
+
+	/**
+	 * Stops translation threads when shutdown is observed.
+	 */
+	@PreDestroy
+	private void onShutdown() {
+		translatePool.shutdownNow();
+	}
+
+	@Nonnull
+	@Override
+	public String getServiceId() {
+		return SERVICE_ID;
+	}
+
+	@Nonnull
+	@Override
+	public DexTranslationServiceConfig getServiceConfig() {
+		return config;
+	}
+
+	/**
+	 * @param checksum
+	 * 		Checksum of the dex file the class was read from.
+	 * @param className
+	 * 		Name of the class.
+	 */
+	@VisibleForTesting
+	record TranslationKey(@Nonnull String checksum, @Nonnull String className) {
+	}
+}
@@ -0,0 +1,59 @@
+package software.coley.recaf.services.android;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
+import software.coley.observables.ObservableInteger;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.services.ServiceConfig;
+
+/**
+ * Config for {@link DexTranslationService}.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class DexTranslationServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableInteger cacheMb = new ObservableInteger(64);
+	private final ObservableBoolean persistCache = new ObservableBoolean(false);
+	private final ObservableInteger persistCacheMb = new ObservableInteger(512);
+
+	@Inject
+	public DexTranslationServiceConfig() {
+		super(ConfigGroups.SERVICE_IO, DexTranslationService.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("cache-mb", int.class, cacheMb));
+		addValue(new BasicConfigValue<>("persist-cache", boolean.class, persistCache));
+		addValue(new BasicConfigValue<>("persist-cache-mb", int.class, persistCacheMb));
+	}
+
+	/**
+	 * @return Size in megabytes of the cache holding recently translated JVM bytecode.
+	 */
+	@Nonnull
+	public ObservableInteger getCacheMb() {
+		return cacheMb;
+	}
+
+	/**
+	 * When enabled, translated JVM bytecode is also written to the Recaf cache directory, so that opening the same
+	 * dex file again does not need to translate its classes again.
+	 *
+	 * @return {@code true} to persist translations between sessions.
+	 */
+	@Nonnull
+	public ObservableBoolean getPersistCache() {
+		return persistCache;
+	}
+
+	/**
+	 * @return Size in megabytes of translations to persist between sessions. Once exceeded, the translations of
+	 * the least recently written dex files are removed.
+	 */
+	@Nonnull
+	public ObservableInteger getPersistCacheMb() {
+		return persistCacheMb;
+	}
+}
@@ -1,6 +1,8 @@
 package software.coley.recaf.services.callgraph;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import dev.xdark.jlinker.MemberInfo;
 import dev.xdark.jlinker.Resolution;
 import dev.xdark.jlinker.ResolutionError;
@@ -16,21 +18,28 @@
 import software.coley.recaf.RecafConstants;
 import software.coley.recaf.analytics.logging.DebuggingLogger;
 import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.AndroidClassInfo;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.member.MethodMember;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.android.DexTranslationService;
+import software.coley.recaf.services.callgraph.CallGraphSnapshot.CallSite;
+import software.coley.recaf.services.callgraph.CallGraphSnapshot.MethodCalls;
 import software.coley.recaf.util.MultiMap;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
 import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -45,12 +54,14 @@
  * @author Matt Coley
  * @see MethodVertex
  */
-public class CallGraph implements WorkspaceModificationListener, ResourceJvmClassListener {
+public class CallGraph implements WorkspaceModificationListener, ResourceJvmClassListener, ResourceAndroidClassListener {
 	private static final DebuggingLogger logger = Logging.get(CallGraph.class);
+	private static final ExecutorService visitPool = ThreadPoolFactory.newWorkStealingPool("call-graph-visit");
+	private static final int VISIT_CHUNK_SIZE = 128;
 	private final ExecutorService threadPool = ThreadPoolFactory.newFixedThreadPool("call-graph", 1, true);
 	private final CachedLinkResolver resolver = new CachedLinkResolver();
-	private final Map<JvmClassInfo, LinkedClass> classToLinkerType = Collections.synchronizedMap(new IdentityHashMap<>());
-	private final Map<JvmClassInfo, ClassMethodsContainer> classToMethodsContainer = Collections.synchronizedMap(new IdentityHashMap<>());
+	private final Map<IdentityKey<JvmClassInfo>, LinkedClass> classToLinkerType = new ConcurrentHashMap<>();
+	private final Map<IdentityKey<JvmClassInfo>, ClassMethodsContainer> classToMethodsContainer = new ConcurrentHashMap<>();
 	private final MultiMap<String, MethodRef, Set<MethodRef>> unresolvedDeclarations = MultiMap.from(
 			new ConcurrentHashMap<>(),
 			ConcurrentHashMap::newKeySet);
@@ -59,7 +70,10 @@ public class CallGraph implements WorkspaceModificationListener, ResourceJvmClas
 			ConcurrentHashMap::newKeySet);
 	private final ObservableBoolean isReady = new ObservableBoolean(false);
 	private final Workspace workspace;
+	private final DexTranslationService translationService;
 	private final ClassLookup lookup;
+	private final Map<String, Boolean> unchangedHierarchies = new ConcurrentHashMap<>();
+	private volatile CallGraphSnapshot snapshot;
 	private boolean initialized;
 
 	/**
@@ -67,11 +81,30 @@ public class CallGraph implements WorkspaceModificationListener, ResourceJvmClas
 	 * 		Workspace to pull data from.
 	 */
 	public CallGraph(@Nonnull Workspace workspace) {
+		this(workspace, null);
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 * @param translationService
+	 * 		Service to translate Android classes in bulk with, or {@code null} to translate them one at a time.
+	 */
+	public CallGraph(@Nonnull Workspace workspace, @Nullable DexTranslationService translationService) {
 		this.workspace = workspace;
+		this.translationService = translationService;
 
 		lookup = new ClassLookup(workspace);
 	}
 
+	/**
+	 * @return Workspace the graph pulls data from.
+	 */
+	@Nonnull
+	public Workspace getWorkspace() {
+		return workspace;
+	}
+
 	/**
 	 * @return {@code true} when {@link #initialize()} has been called.
 	 */
@@ -79,6 +112,28 @@ public boolean isInitialized() {
 		return initialized;
 	}
 
+	/**
+	 * @return Snapshot of calls observed in classes, or {@code null} if the graph does not record a snapshot.
+	 */
+	@Nullable
+	public CallGraphSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Sets the snapshot to record calls observed in classes to. When the graph is initialized and visits a class with
+	 * the same content as a class restored in the snapshot, the restored calls are linked without reading the class
+	 * again. Restored calls into classes whose hierarchy has not changed either are linked without being resolved.
+	 * <br>
+	 * This should be called before {@link #initialize()}, as only the classes visited on initialization are recorded.
+	 *
+	 * @param snapshot
+	 * 		Snapshot to record to, or {@code null} to not record a snapshot.
+	 */
+	public void setSnapshot(@Nullable CallGraphSnapshot snapshot) {
+		this.snapshot = snapshot;
+	}
+
 	/**
 	 * @return Observable boolean tracking the state of the call-graph's parsing of the current workspace.
 	 */
@@ -95,7 +150,16 @@ public ObservableBoolean isReady() {
 	 */
 	@Nonnull
 	public ClassMethodsContainer getClassMethodsContainer(@Nonnull JvmClassInfo classInfo) {
-		return classToMethodsContainer.computeIfAbsent(classInfo, c -> new ClassMethodsContainer(classInfo));
+		// Containers are created outside the map, so that concurrent visits do not wait on each other.
+		IdentityKey<JvmClassInfo> key = new IdentityKey<>(classInfo);
+		ClassMethodsContainer container = classToMethodsContainer.get(key);
+		if (container == null) {
+			container = new ClassMethodsContainer(classInfo);
+			ClassMethodsContainer existing = classToMethodsContainer.putIfAbsent(key, container);
+			if (existing != null)
+				container = existing;
+		}
+		return container;
 	}
 
 	/**
@@ -120,7 +184,15 @@ public MethodVertex getVertex(@Nonnull MethodMember method) {
 	 */
 	@Nonnull
 	private LinkedClass linked(@Nonnull JvmClassInfo classInfo) {
-		return classToLinkerType.computeIfAbsent(classInfo, c -> new LinkedClass(lookup, c));
+		IdentityKey<JvmClassInfo> key = new IdentityKey<>(classInfo);
+		LinkedClass linked = classToLinkerType.get(key);
+		if (linked == null) {
+			linked = new LinkedClass(lookup, classInfo);
+			LinkedClass existing = classToLinkerType.putIfAbsent(key, linked);
+			if (existing != null)
+				linked = existing;
+		}
+		return linked;
 	}
 
 	/**
@@ -134,16 +206,37 @@ public void initialize() {
 		// Register modification listeners so that we can update the graph when class state changes.
 		workspace.addWorkspaceModificationListener(this);
 		workspace.getPrimaryResource().addResourceJvmClassListener(this);
+		workspace.getPrimaryResource().addResourceAndroidClassListener(this);
 
 		// Initialize asynchronously, and mark 'isReady' if completed successfully
 		CompletableFuture.runAsync(() -> {
+			List<JvmClassInfo> classes = new ArrayList<>();
 			for (WorkspaceResource resource : workspace.getAllResources(false)) {
 				Stream.concat(resource.jvmClassBundleStream(),
-						resource.getVersionedJvmClassBundles().values().stream()).forEach(bundle -> {
-					for (JvmClassInfo jvmClass : bundle.values()) {
-						visit(jvmClass);
-					}
-				});
+						resource.getVersionedJvmClassBundles().values().stream())
+						.forEach(bundle -> classes.addAll(bundle.values()));
+
+				// Android classes are graphed by their JVM translations.
+				for (AndroidClassBundle bundle : resource.getAndroidClassBundles().values())
+					classes.addAll(translate(bundle.values()));
+			}
+
+			// Visit the classes in chunks across the visitor pool.
+			// All classes are in the workspace at this point, so resolution of calls does not depend on visit order.
+			CallGraphSnapshot initialSnapshot = snapshot;
+			int classCount = classes.size();
+			List<CompletableFuture<Void>> chunks = new ArrayList<>(classCount / VISIT_CHUNK_SIZE + 1);
+			for (int start = 0; start < classCount; start += VISIT_CHUNK_SIZE) {
+				List<JvmClassInfo> chunk = classes.subList(start, Math.min(classCount, start + VISIT_CHUNK_SIZE));
+				chunks.add(CompletableFuture.runAsync(() -> chunk.forEach(cls -> visit(cls, initialSnapshot)), visitPool));
+			}
+			try {
+				CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+			} finally {
+				// Restored calls and hierarchy states only apply to the workspace contents as of initialization.
+				if (initialSnapshot != null)
+					initialSnapshot.clearRestored();
+				unchangedHierarchies.clear();
 			}
 		}, threadPool).whenComplete((unused, t) -> {
 			if (t == null) {
@@ -160,30 +253,148 @@ public void initialize() {
 	 *
 	 * @param jvmClass
 	 * 		Class to visit.
+	 * @param snapshot
+	 * 		Snapshot to restore and record the calls of the class with, or {@code null} to read the class directly.
 	 */
-	private void visit(@Nonnull JvmClassInfo jvmClass) {
+	private void visit(@Nonnull JvmClassInfo jvmClass, @Nullable CallGraphSnapshot snapshot) {
+		// Use the calls restored from the snapshot if the class has not changed since they were recorded.
+		HashCode digest = null;
+		MethodCalls[] calls = null;
+		if (snapshot != null) {
+			digest = digest(jvmClass);
+			calls = snapshot.get(digest);
+		}
+		boolean restored = calls != null;
+		if (!restored)
+			calls = readCalls(jvmClass);
+
+		// Link the calls of each method.
 		ClassMethodsContainer classMethodsContainer = getClassMethodsContainer(jvmClass);
+		MethodCalls[] linkedCalls = new MethodCalls[calls.length];
+		for (int i = 0; i < calls.length; i++) {
+			MethodCalls method = calls[i];
+			String name = method.name();
+			String descriptor = method.descriptor();
+			linkedCalls[i] = method;
+			MutableMethodVertex methodVertex = (MutableMethodVertex) classMethodsContainer.getVertex(name, descriptor);
+			if (methodVertex == null) {
+				logger.error("Method {}{} was visited, but not present in info for declaring class {}",
+						name, descriptor, jvmClass.getName());
+				continue;
+			}
+
+			CallSite[] callSites = method.calls();
+			CallSite[] linkedCallSites = new CallSite[callSites.length];
+			for (int j = 0; j < callSites.length; j++) {
+				CallSite call = callSites[j];
+				String resolvedOwner = null;
+				if (restored && call.resolvedOwner() != null && linkRestoredCall(snapshot, jvmClass, methodVertex, call))
+					resolvedOwner = call.resolvedOwner();
+				if (resolvedOwner == null)
+					resolvedOwner = onMethodCalled(jvmClass, methodVertex, call.opcode(), call.owner(), call.name(), call.descriptor(), call.itf());
+				linkedCallSites[j] = call.withResolvedOwner(resolvedOwner);
+			}
+			linkedCalls[i] = new MethodCalls(name, descriptor, linkedCallSites);
+			linkedResolvedCalls(jvmClass, name, descriptor, methodVertex);
+		}
+
+		// Record the calls along with what they resolved to, so that the next session can skip resolving them.
+		if (snapshot != null)
+			snapshot.put(digest, linkedCalls);
+	}
+
+	/**
+	 * Links a restored call to the method it was resolved to when it was recorded.
+	 * This is only done when the hierarchy of the call owner has not changed since, as otherwise
+	 * the call may resolve to a different method.
+	 *
+	 * @param snapshot
+	 * 		Snapshot the call was restored from.
+	 * @param callingClass
+	 * 		The class that defines the calling method.
+	 * @param callingVertex
+	 * 		The method that is doing the call.
+	 * @param call
+	 * 		Restored call, with a {@link CallSite#resolvedOwner() resolved owner}.
+	 *
+	 * @return {@code true} when the call was linked. {@code false} when it must be resolved.
+	 */
+	private boolean linkRestoredCall(@Nonnull CallGraphSnapshot snapshot, @Nonnull JvmClassInfo callingClass,
+	                                 @Nonnull MutableMethodVertex callingVertex, @Nonnull CallSite call) {
+		if (!isHierarchyUnchanged(snapshot, call.owner()))
+			return false;
+		JvmClassInfo resolvedClass = lookup.apply(call.resolvedOwner());
+		if (resolvedClass == null)
+			return false;
+		MethodMember resolvedMethod = resolvedClass.getDeclaredMethod(call.name(), call.descriptor());
+		if (resolvedMethod == null)
+			return false;
+		onMethodResolved(callingClass, callingVertex, call.opcode(), call.owner(), call.name(), call.descriptor(),
+				call.itf(), resolvedClass, resolvedMethod);
+		return true;
+	}
+
+	/**
+	 * @param snapshot
+	 * 		Snapshot restored for the current initialization.
+	 * @param name
+	 * 		Class name.
+	 *
+	 * @return {@code true} when the class and all of its parent types have the same content as when the snapshot
+	 * was recorded, or are runtime classes.
+	 */
+	private boolean isHierarchyUnchanged(@Nonnull CallGraphSnapshot snapshot, @Nonnull String name) {
+		Boolean unchanged = unchangedHierarchies.get(name);
+		if (unchanged != null)
+			return unchanged;
+
+		// Treat the type as changed while its parents are checked, so that cyclic hierarchies terminate.
+		// Concurrent checks of the same type observing this will fall back to resolving calls, which is always safe.
+		unchangedHierarchies.put(name, false);
+		ClassPathNode path = workspace.findJvmClass(name);
+		if (path == null)
+			path = workspace.findLatestVersionedJvmClass(name);
+		boolean result = false;
+		if (path != null) {
+			JvmClassInfo cls = path.getValue().asJvmClass();
+			result = (path.getValueOfType(WorkspaceResource.class) instanceof RuntimeWorkspaceResource
+					|| snapshot.isRestored(digest(cls)))
+					&& (cls.getSuperName() == null || isHierarchyUnchanged(snapshot, cls.getSuperName()))
+					&& cls.getInterfaces().stream().allMatch(itf -> isHierarchyUnchanged(snapshot, itf));
+		}
+		unchangedHierarchies.put(name, result);
+		return result;
+	}
+
+	@Nonnull
+	private static HashCode digest(@Nonnull JvmClassInfo jvmClass) {
+		return Hashing.sha256().hashBytes(jvmClass.getBytecode());
+	}
+
+	/**
+	 * @param jvmClass
+	 * 		Class to read.
+	 *
+	 * @return Calls made by each method in the class.
+	 */
+	@Nonnull
+	private static MethodCalls[] readCalls(@Nonnull JvmClassInfo jvmClass) {
+		List<MethodCalls> methods = new ArrayList<>();
 		jvmClass.getClassReader().accept(new ClassVisitor(RecafConstants.getAsmVersion()) {
 			@Override
 			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
-				MutableMethodVertex methodVertex = (MutableMethodVertex) classMethodsContainer.getVertex(name, descriptor);
-				if (methodVertex == null) {
-					logger.error("Method {}{} was visited, but not present in info for declaring class {}",
-							name, descriptor, jvmClass.getName());
-					return null;
-				}
-
+				List<CallSite> calls = new ArrayList<>();
 				return new MethodVisitor(RecafConstants.getAsmVersion()) {
 					@Override
 					public void visitEnd() {
 						super.visitEnd();
 
-						linkedResolvedCalls(jvmClass, name, descriptor, methodVertex);
+						methods.add(new MethodCalls(name, descriptor, calls.toArray(CallSite[]::new)));
 					}
 
 					@Override
 					public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
-						onMethodCalled(jvmClass, methodVertex, opcode, owner, name, descriptor, isInterface);
+						calls.add(new CallSite(opcode, owner, name, descriptor, isInterface, null));
 					}
 
 					@Override
@@ -210,10 +421,11 @@ public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootst
 				};
 			}
 		}, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return methods.toArray(MethodCalls[]::new);
 	}
 
 	/**
-	 * Called from the {@link MethodVisitor} in {@link #visit(JvmClassInfo)} when a method is visited.
+	 * Called from {@link #visit(JvmClassInfo, CallGraphSnapshot)} when the calls of a method have been linked.
 	 * <p>
 	 * This method ensures that {@link #unresolvedReferences unresolved references} are marked as resolved
 	 * and the {@link MethodVertex} model is updated when the given method details match a previously
@@ -254,7 +466,7 @@ private void linkedResolvedCalls(@Nonnull JvmClassInfo owner,
 
 
 	/**
-	 * Called from the {@link ClassReader} in {@link #visit(JvmClassInfo)}.
+	 * Called from {@link #visit(JvmClassInfo, CallGraphSnapshot)} for each call made by a method.
 	 * Links the given vertex to the remote {@link MethodVertex} of the resolved method call,
 	 * if resolution is a success.
 	 * <p>
@@ -278,46 +490,79 @@ private void linkedResolvedCalls(@Nonnull JvmClassInfo owner,
 	 * 		Method call descriptor.
 	 * @param isInterface
 	 * 		Method interface flag.
+	 *
+	 * @return Name of the class declaring the resolved method, or {@code null} if resolution failed.
 	 */
-	private void onMethodCalled(@Nonnull JvmClassInfo callingClass, @Nonnull MutableMethodVertex callingVertex,
-	                            int opcode, @Nonnull String owner, @Nonnull String name,
-	                            @Nonnull String descriptor, boolean isInterface) {
-		MethodRef ref = new MethodRef(owner, name, descriptor);
-
+	@Nullable
+	private String onMethodCalled(@Nonnull JvmClassInfo callingClass, @Nonnull MutableMethodVertex callingVertex,
+	                              int opcode, @Nonnull String owner, @Nonnull String name,
+	                              @Nonnull String descriptor, boolean isInterface) {
 		// Resolve the method
 		Result<Resolution<JvmClassInfo, MethodMember>> resolutionResult = resolve(opcode, owner, name, descriptor, isInterface);
 
 		// Handle result
-		CallingContext callContext = new CallingContext(callingClass, callingVertex.getMethod(), opcode, isInterface);
 		if (resolutionResult.isSuccess()) {
-			// Extract vertex from resolution
 			Resolution<JvmClassInfo, MethodMember> resolution = resolutionResult.value();
-			ClassMethodsContainer resolvedClass = getClassMethodsContainer(resolution.owner().innerValue());
-			MutableMethodVertex resolvedMethodCallVertex = (MutableMethodVertex) resolvedClass.getVertex(resolution.member().innerValue());
-
-			// Link the vertices
-			callingVertex.getCalls().add(resolvedMethodCallVertex);
-			resolvedMethodCallVertex.getCallers().add(callingVertex);
-
-			// Remove tracked unresolved call if any exist
-			Set<MethodRef> unresolvedWithinOwner = unresolvedDeclarations.get(owner);
-			if (unresolvedWithinOwner.remove(ref)) {
-				if (unresolvedWithinOwner.isEmpty()) unresolvedDeclarations.remove(owner);
-				logger.debugging(l -> l.info("Satisfy unresolved call {}", ref));
-			}
-
-			// Remove tracking of unresolved declarations/references
-			boolean resolvedPriorUnknown = false;
-			resolvedPriorUnknown |= unresolvedDeclarations.remove(owner, ref);
-			resolvedPriorUnknown |= unresolvedReferences.remove(owner, callContext);
-			if (resolvedPriorUnknown) logger.debugging(l -> l.warn("Found previous unresolved reference: {}", ref));
+			JvmClassInfo resolvedClass = resolution.owner().innerValue();
+			onMethodResolved(callingClass, callingVertex, opcode, owner, name, descriptor, isInterface,
+					resolvedClass, resolution.member().innerValue());
+			return resolvedClass.getName();
 		} else {
+			MethodRef ref = new MethodRef(owner, name, descriptor);
+			CallingContext callContext = new CallingContext(callingClass, callingVertex.getMethod(), opcode, isInterface);
 			unresolvedDeclarations.put(owner, ref);
 			unresolvedReferences.put(owner, callContext);
 			logger.debugging(l -> l.warn("Cannot resolve method: {} - {}", ref, resolutionResult.error()));
+			return null;
 		}
 	}
 
+	/**
+	 * Links the given vertex to the remote {@link MethodVertex} of a resolved method call.
+	 *
+	 * @param callingClass
+	 * 		The class that defines the calling method.
+	 * @param callingVertex
+	 * 		The method that is doing the call.
+	 * @param opcode
+	 * 		Call opcode.
+	 * @param owner
+	 * 		Call owner.
+	 * @param name
+	 * 		Method call name.
+	 * @param descriptor
+	 * 		Method call descriptor.
+	 * @param isInterface
+	 * 		Method interface flag.
+	 * @param resolvedClass
+	 * 		The class declaring the method the call resolved to.
+	 * @param resolvedMethod
+	 * 		The method the call resolved to.
+	 */
+	private void onMethodResolved(@Nonnull JvmClassInfo callingClass, @Nonnull MutableMethodVertex callingVertex,
+	                              int opcode, @Nonnull String owner, @Nonnull String name,
+	                              @Nonnull String descriptor, boolean isInterface,
+	                              @Nonnull JvmClassInfo resolvedClass, @Nonnull MethodMember resolvedMethod) {
+		MethodRef ref = new MethodRef(owner, name, descriptor);
+		CallingContext callContext = new CallingContext(callingClass, callingVertex.getMethod(), opcode, isInterface);
+
+		// Extract vertex from resolution
+		ClassMethodsContainer resolvedContainer = getClassMethodsContainer(resolvedClass);
+		MutableMethodVertex resolvedMethodCallVertex = (MutableMethodVertex) resolvedContainer.getVertex(resolvedMethod);
+
+		// Link the vertices
+		callingVertex.getCalls().add(resolvedMethodCallVertex);
+		resolvedMethodCallVertex.getCallers().add(callingVertex);
+
+		// Remove tracking of unresolved declarations/references.
+		// We check for presence first, as the 'get' of the multi-map does a compute-if-absent,
+		// which would take a lock on the backing map for every resolved call.
+		if (unresolvedDeclarations.containsKey(owner) && unresolvedDeclarations.remove(owner, ref))
+			logger.debugging(l -> l.info("Satisfy unresolved call {}", ref));
+		if (unresolvedReferences.containsKey(owner) && unresolvedReferences.remove(owner, callContext))
+			logger.debugging(l -> l.warn("Found previous unresolved reference: {}", ref));
+	}
+
 	/**
 	 * @param opcode
 	 * 		Method invoke opcode.
@@ -383,6 +628,9 @@ public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResourc
 				onNewClass(library, bundle, jvmClass);
 			}
 		});
+		for (AndroidClassBundle bundle : library.getAndroidClassBundles().values())
+			for (JvmClassInfo jvmClass : translate(bundle.values()))
+				visit(jvmClass, null);
 	}
 
 	@Override
@@ -394,11 +642,14 @@ public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceReso
 				onRemoveClass(library, bundle, jvmClass);
 			}
 		});
+		for (AndroidClassBundle bundle : library.getAndroidClassBundles().values())
+			for (AndroidClassInfo androidClass : bundle.values())
+				onRemoveClass(library, bundle, androidClass);
 	}
 
 	@Override
 	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
-		visit(cls);
+		visit(cls, null);
 	}
 
 	@Override
@@ -409,6 +660,70 @@ public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClass
 
 	@Override
 	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		prune(cls);
+	}
+
+	@Override
+	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+		JvmClassInfo jvmClass = translate(cls);
+		if (jvmClass != null)
+			visit(jvmClass, null);
+	}
+
+	@Override
+	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo oldCls, @Nonnull AndroidClassInfo newCls) {
+		onRemoveClass(resource, bundle, oldCls);
+		onNewClass(resource, bundle, newCls);
+	}
+
+	@Override
+	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+		// Translations are held by the Android class, so this yields the same instance that was visited.
+		JvmClassInfo jvmClass = translate(cls);
+		if (jvmClass != null)
+			prune(jvmClass);
+	}
+
+	/**
+	 * @param classes
+	 * 		Android classes to translate.
+	 *
+	 * @return JVM translations of the classes. Classes which fail to translate are not included.
+	 */
+	@Nonnull
+	private Collection<JvmClassInfo> translate(@Nonnull Collection<AndroidClassInfo> classes) {
+		if (translationService != null)
+			return translationService.translateAll(classes).values();
+		List<JvmClassInfo> translated = new ArrayList<>(classes.size());
+		for (AndroidClassInfo cls : classes) {
+			JvmClassInfo jvmClass = translate(cls);
+			if (jvmClass != null)
+				translated.add(jvmClass);
+		}
+		return translated;
+	}
+
+	/**
+	 * @param cls
+	 * 		Android class to translate.
+	 *
+	 * @return JVM translation of the class, or {@code null} if it could not be translated.
+	 */
+	@Nullable
+	private static JvmClassInfo translate(@Nonnull AndroidClassInfo cls) {
+		try {
+			return cls.asJvmClass();
+		} catch (Throwable t) {
+			logger.warn("Failed to translate Android class '{}'", cls.getName(), t);
+			return null;
+		}
+	}
+
+	/**
+	 * @param cls
+	 * 		Class to remove from the graph.
+	 */
+	private void prune(@Nonnull JvmClassInfo cls) {
 		// Prune vertex connections of all methods within the class
 		ClassMethodsContainer container = getClassMethodsContainer(cls);
 		Set<MethodRef> unresolvedWithinOwner = unresolvedDeclarations.get(cls.getName());
@@ -423,8 +738,9 @@ public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClass
 		}
 
 		// Remove from maps
-		classToLinkerType.remove(cls);
-		classToMethodsContainer.remove(cls);
+		IdentityKey<JvmClassInfo> key = new IdentityKey<>(cls);
+		classToLinkerType.remove(key);
+		classToMethodsContainer.remove(key);
 	}
 
 	/**
@@ -471,8 +787,8 @@ public int hashCode() {
 	 * Mutable impl of {@link MethodVertex}.
 	 */
 	static class MutableMethodVertex implements MethodVertex {
-		private final Set<MethodVertex> callers = Collections.synchronizedSet(new HashSet<>());
-		private final Set<MethodVertex> calls = Collections.synchronizedSet(new HashSet<>());
+		private final Set<MethodVertex> callers = ConcurrentHashMap.newKeySet();
+		private final Set<MethodVertex> calls = ConcurrentHashMap.newKeySet();
 		private final MethodRef method;
 		private final MethodMember resolvedMethod;
 
@@ -1,8 +1,11 @@
 package software.coley.recaf.services.callgraph;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
@@ -13,9 +16,21 @@
  */
 @ApplicationScoped
 public class CallGraphConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean persistSnapshot = new ObservableBoolean(true);
 
 	@Inject
 	public CallGraphConfig() {
 		super(ConfigGroups.SERVICE_ANALYSIS, CallGraphService.SERVICE_ID + CONFIG_SUFFIX);
+		// Add values
+		addValue(new BasicConfigValue<>("persist-snapshot", boolean.class, persistSnapshot));
+	}
+
+	/**
+	 * @return {@code true} to save a {@link CallGraphSnapshot} of the current workspace's call graph to disk when
+	 * it is closed, so that classes which have not changed do not need to be read when the same input is opened again.
+	 */
+	@Nonnull
+	public ObservableBoolean getPersistSnapshot() {
+		return persistSnapshot;
 	}
 }
@@ -2,17 +2,23 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import software.coley.recaf.analytics.logging.DebuggingLogger;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.cdi.EagerInitialization;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.android.DexTranslationService;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
 import software.coley.recaf.services.workspace.WorkspaceCloseListener;
 import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.services.workspace.WorkspaceOpenListener;
+import software.coley.recaf.util.TestEnvironment;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -27,6 +33,8 @@ public class CallGraphService implements Service {
 	public static final String SERVICE_ID = "graph-calls";
 	private static final DebuggingLogger logger = Logging.get(CallGraphService.class);
 	private final CallGraphConfig config;
+	private final RecafDirectoriesConfig directoriesConfig;
+	private final DexTranslationService translationService;
 	private CallGraph currentWorkspaceGraph;
 
 	/**
@@ -34,10 +42,18 @@ public class CallGraphService implements Service {
 	 * 		Manager to register listeners for, in order to manage a shared graph for the current workspace.
 	 * @param config
 	 * 		Graphing config options.
+	 * @param directoriesConfig
+	 * 		Directories config, for locating persisted call graph snapshots.
+	 * @param translationService
+	 * 		Service to translate Android classes in bulk with.
 	 */
 	@Inject
-	public CallGraphService(@Nonnull WorkspaceManager workspaceManager, @Nonnull CallGraphConfig config) {
+	public CallGraphService(@Nonnull WorkspaceManager workspaceManager, @Nonnull CallGraphConfig config,
+	                        @Nonnull RecafDirectoriesConfig directoriesConfig,
+	                        @Nonnull DexTranslationService translationService) {
 		this.config = config;
+		this.directoriesConfig = directoriesConfig;
+		this.translationService = translationService;
 
 		ListenerHost host = new ListenerHost();
 		workspaceManager.addWorkspaceOpenListener(host);
@@ -55,7 +71,7 @@ public CallGraphService(@Nonnull WorkspaceManager workspaceManager, @Nonnull Cal
 	 */
 	@Nonnull
 	public CallGraph newCallGraph(@Nonnull Workspace workspace) {
-		return new CallGraph(workspace);
+		return new CallGraph(workspace, translationService);
 	}
 
 	/**
@@ -69,11 +85,78 @@ public CallGraph getCurrentWorkspaceCallGraph() {
 		// Lazily initialize the graph so that we don't do a full graph immediately when the workspace is opened.
 		// It will only initialize when a user needs to use it.
 		if (!graph.isInitialized())
-			CompletableFuture.runAsync(graph::initialize);
+			CompletableFuture.runAsync(() -> {
+				restoreSnapshot(graph);
+				graph.initialize();
+			});
 
 		return graph;
 	}
 
+	/**
+	 * Restores calls recorded the last time the graph's workspace input was opened, if any exist.
+	 *
+	 * @param graph
+	 * 		Graph to restore the snapshot of.
+	 */
+	private void restoreSnapshot(@Nonnull CallGraph graph) {
+		Path snapshotPath = getSnapshotPath(graph.getWorkspace());
+		if (snapshotPath == null)
+			return;
+
+		CallGraphSnapshot snapshot = new CallGraphSnapshot();
+		if (Files.exists(snapshotPath)) {
+			try {
+				snapshot.read(snapshotPath);
+			} catch (Throwable t) {
+				logger.warn("Failed to read call graph snapshot, it will be rebuilt", t);
+			}
+		}
+		graph.setSnapshot(snapshot);
+	}
+
+	/**
+	 * Persists the calls recorded by the current workspace's graph, if it records a snapshot.
+	 */
+	private synchronized void saveSnapshot() {
+		CallGraph graph = currentWorkspaceGraph;
+		if (graph == null || !graph.isReady().getValue())
+			return;
+		CallGraphSnapshot snapshot = graph.getSnapshot();
+		Path snapshotPath = getSnapshotPath(graph.getWorkspace());
+		if (snapshot == null || snapshotPath == null)
+			return;
+
+		try {
+			snapshot.write(snapshotPath);
+		} catch (Throwable t) {
+			logger.warn("Failed to save call graph snapshot", t);
+		}
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to get the snapshot location of.
+	 *
+	 * @return Path to the persisted call graph snapshot of the workspace,
+	 * or {@code null} if the snapshot should not be persisted.
+	 */
+	@Nullable
+	private Path getSnapshotPath(@Nonnull Workspace workspace) {
+		// Skip persistence in test environment
+		if (TestEnvironment.isTestEnv() || !config.getPersistSnapshot().hasValue())
+			return null;
+		return directoriesConfig.getWorkspaceCachePath(workspace, "call-graph", "cgs");
+	}
+
+	/**
+	 * Persists the current workspace's call graph snapshot when shutdown is observed.
+	 */
+	@PreDestroy
+	private void onShutdown() {
+		saveSnapshot();
+	}
+
 	@Nonnull
 	@Override
 	public String getServiceId() {
@@ -94,6 +177,7 @@ public void onWorkspaceOpened(@Nonnull Workspace workspace) {
 
 		@Override
 		public void onWorkspaceClosed(@Nonnull Workspace workspace) {
+			saveSnapshot();
 			currentWorkspaceGraph = null;
 		}
 	}
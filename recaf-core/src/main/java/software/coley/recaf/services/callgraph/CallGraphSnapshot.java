@@ -0,0 +1,242 @@
+package software.coley.recaf.services.callgraph;
+
+import com.google.common.hash.HashCode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Method calls observed in classes by a {@link CallGraph}, keyed by the content digest of the class bytecode.
+ * <br>
+ * Snapshots are {@link #write(Path) persisted} and {@link #read(Path) restored} between sessions.
+ * When a class has the same content as when its calls were recorded, the graph can link the restored calls
+ * without reading the class again. Each call also records the class its method was resolved to, so that calls
+ * within an unchanged class hierarchy do not need to be resolved again either.
+ * <br>
+ * Only calls {@link #put(HashCode, MethodCalls[]) recorded} in the current session are persisted, so classes which
+ * are no longer part of the input do not carry over.
+ *
+ * @author Matt Coley
+ */
+public class CallGraphSnapshot {
+	private static final int MAGIC = 0x52434753;
+	private static final int VERSION = 2;
+	private static final int DIGEST_LENGTH = 32;
+	private final Map<HashCode, MethodCalls[]> restored = new ConcurrentHashMap<>();
+	private final Map<HashCode, MethodCalls[]> recorded = new ConcurrentHashMap<>();
+
+	/**
+	 * @param digest
+	 * 		Content digest of a class.
+	 *
+	 * @return Calls restored for each method in the class, or {@code null} if no class with the content was restored.
+	 */
+	@Nullable
+	public MethodCalls[] get(@Nonnull HashCode digest) {
+		return restored.get(digest);
+	}
+
+	/**
+	 * @param digest
+	 * 		Content digest of a class.
+	 *
+	 * @return {@code true} when a class with the content was restored.
+	 */
+	public boolean isRestored(@Nonnull HashCode digest) {
+		return restored.containsKey(digest);
+	}
+
+	/**
+	 * @param digest
+	 * 		Content digest of a class.
+	 * @param calls
+	 * 		Calls recorded for each method in the class.
+	 */
+	public void put(@Nonnull HashCode digest, @Nonnull MethodCalls[] calls) {
+		recorded.put(digest, calls);
+	}
+
+	/**
+	 * Drops restored calls once they are no longer needed.
+	 * Recorded calls are kept so that they can still be {@link #write(Path) persisted}.
+	 */
+	public void clearRestored() {
+		restored.clear();
+	}
+
+	/**
+	 * @return Number of classes with recorded calls.
+	 */
+	public int size() {
+		return recorded.size();
+	}
+
+	/**
+	 * Restores calls recorded in a prior session from disk.
+	 *
+	 * @param path
+	 * 		Path to read the snapshot from.
+	 *
+	 * @throws IOException
+	 * 		When the snapshot could not be read.
+	 */
+	public void read(@Nonnull Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("Unsupported call graph snapshot format: " + path);
+
+			int stringCount = in.readInt();
+			String[] strings = new String[stringCount];
+			for (int i = 0; i < stringCount; i++)
+				strings[i] = in.readUTF();
+
+			int entryCount = in.readInt();
+			byte[] digest = new byte[DIGEST_LENGTH];
+			for (int i = 0; i < entryCount; i++) {
+				in.readFully(digest);
+				MethodCalls[] methods = new MethodCalls[in.readInt()];
+				for (int j = 0; j < methods.length; j++) {
+					String name = strings[in.readInt()];
+					String descriptor = strings[in.readInt()];
+					CallSite[] calls = new CallSite[in.readInt()];
+					for (int k = 0; k < calls.length; k++) {
+						int opcode = in.readUnsignedByte();
+						boolean itf = in.readBoolean();
+						String owner = strings[in.readInt()];
+						String callName = strings[in.readInt()];
+						String callDescriptor = strings[in.readInt()];
+						int resolvedOwner = in.readInt();
+						calls[k] = new CallSite(opcode, owner, callName, callDescriptor, itf,
+								resolvedOwner < 0 ? null : strings[resolvedOwner]);
+					}
+					methods[j] = new MethodCalls(name, descriptor, calls);
+				}
+				restored.putIfAbsent(HashCode.fromBytes(digest), methods);
+			}
+		}
+	}
+
+	/**
+	 * Persists the calls recorded in this session to disk.
+	 *
+	 * @param path
+	 * 		Path to write the snapshot to.
+	 *
+	 * @throws IOException
+	 * 		When the snapshot could not be written.
+	 */
+	public void write(@Nonnull Path path) throws IOException {
+		// Assign each distinct name/descriptor an ID, so that repeated references are only written once.
+		Map<HashCode, MethodCalls[]> entriesCopy = new HashMap<>(recorded);
+		Map<String, Integer> stringIds = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		for (MethodCalls[] methods : entriesCopy.values()) {
+			for (MethodCalls method : methods) {
+				stringId(stringIds, strings, method.name());
+				stringId(stringIds, strings, method.descriptor());
+				for (CallSite call : method.calls()) {
+					stringId(stringIds, strings, call.owner());
+					stringId(stringIds, strings, call.name());
+					stringId(stringIds, strings, call.descriptor());
+					if (call.resolvedOwner() != null)
+						stringId(stringIds, strings, call.resolvedOwner());
+				}
+			}
+		}
+
+		Path parent = path.getParent();
+		if (parent != null && !Files.isDirectory(parent))
+			Files.createDirectories(parent);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(strings.size());
+			for (String string : strings)
+				out.writeUTF(string);
+			out.writeInt(entriesCopy.size());
+			for (Map.Entry<HashCode, MethodCalls[]> entry : entriesCopy.entrySet()) {
+				MethodCalls[] methods = entry.getValue();
+				out.write(entry.getKey().asBytes());
+				out.writeInt(methods.length);
+				for (MethodCalls method : methods) {
+					out.writeInt(stringIds.get(method.name()));
+					out.writeInt(stringIds.get(method.descriptor()));
+					out.writeInt(method.calls().length);
+					for (CallSite call : method.calls()) {
+						out.writeByte(call.opcode());
+						out.writeBoolean(call.itf());
+						out.writeInt(stringIds.get(call.owner()));
+						out.writeInt(stringIds.get(call.name()));
+						out.writeInt(stringIds.get(call.descriptor()));
+						out.writeInt(call.resolvedOwner() == null ? -1 : stringIds.get(call.resolvedOwner()));
+					}
+				}
+			}
+		}
+	}
+
+	private static void stringId(@Nonnull Map<String, Integer> stringIds, @Nonnull List<String> strings,
+	                             @Nonnull String string) {
+		stringIds.computeIfAbsent(string, s -> {
+			strings.add(s);
+			return strings.size() - 1;
+		});
+	}
+
+	/**
+	 * Calls made by a single method.
+	 *
+	 * @param name
+	 * 		Name of the calling method.
+	 * @param descriptor
+	 * 		Descriptor of the calling method.
+	 * @param calls
+	 * 		Calls made by the method, in the order they appear.
+	 */
+	public record MethodCalls(@Nonnull String name, @Nonnull String descriptor, @Nonnull CallSite[] calls) {
+	}
+
+	/**
+	 * A single method call.
+	 *
+	 * @param opcode
+	 * 		Call opcode, or method handle tag for calls made through lambda factories.
+	 * @param owner
+	 * 		Call owner.
+	 * @param name
+	 * 		Method call name.
+	 * @param descriptor
+	 * 		Method call descriptor.
+	 * @param itf
+	 * 		Method interface flag.
+	 * @param resolvedOwner
+	 * 		Name of the class declaring the method the call resolved to,
+	 * 		or {@code null} if the call has not been resolved.
+	 */
+	public record CallSite(int opcode, @Nonnull String owner, @Nonnull String name,
+	                       @Nonnull String descriptor, boolean itf, @Nullable String resolvedOwner) {
+		/**
+		 * @param resolvedOwner
+		 * 		Name of the class declaring the method the call resolved to,
+		 * 		or {@code null} if the call could not be resolved.
+		 *
+		 * @return Copy of the call with the given resolved owner.
+		 */
+		@Nonnull
+		public CallSite withResolvedOwner(@Nullable String resolvedOwner) {
+			return new CallSite(opcode, owner, name, descriptor, itf, resolvedOwner);
+		}
+	}
+}
@@ -28,7 +28,13 @@ public JvmClassInfo apply(String name) {
 		if (name == null) return null;
 		ClassPathNode classPath = workspace.findJvmClass(name);
 		if (classPath == null) classPath = workspace.findLatestVersionedJvmClass(name);
+		if (classPath == null) classPath = workspace.findAndroidClass(name);
 		if (classPath == null) return null;
-		return classPath.getValue().asJvmClass();
+		try {
+			return classPath.getValue().asJvmClass();
+		} catch (IllegalStateException ex) {
+			// Android classes which cannot be translated are treated as if they were not found.
+			return null;
+		}
 	}
 }
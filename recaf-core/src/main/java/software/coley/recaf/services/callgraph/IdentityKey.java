@@ -0,0 +1,26 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Map key which compares the wrapped value by identity. Allows identity semantics in concurrent maps,
+ * as multiple classes and members that are equal to one another may be present in a workspace at once.
+ *
+ * @param value
+ * 		Wrapped value.
+ * @param <T>
+ * 		Value type.
+ *
+ * @author Matt Coley
+ */
+record IdentityKey<T>(@Nonnull T value) {
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof IdentityKey<?> other && value == other.value;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(value);
+	}
+}
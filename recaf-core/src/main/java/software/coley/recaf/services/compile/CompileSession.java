@@ -0,0 +1,219 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.behavior.Closing;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compilation state kept between compilations against the same workspace.
+ * <br>
+ * Javac's standard file manager caches what it learns about the platform and classpath, and the
+ * {@link VirtualClassPathIndex} tracks workspace classes by package. Reusing both means repeated
+ * compilations do not resolve the entire classpath again each time.
+ * <br>
+ * Sessions can be used by multiple compilations at once. File managers are not thread safe, so each compilation
+ * {@link #acquireFileManager(String, JavacListener) acquires} one which no other compilation is using.
+ *
+ * @author Matt Coley
+ */
+public class CompileSession implements WorkspaceModificationListener, Closing {
+	private static final Logger logger = Logging.get(CompileSession.class);
+	private final Queue<FileManagerHandle> idleFileManagers = new ConcurrentLinkedQueue<>();
+	private final JavaCompiler compiler;
+	private final Workspace workspace;
+	private VirtualClassPathIndex index;
+	private List<WorkspaceResource> unindexedResources;
+	private volatile boolean closed;
+
+	/**
+	 * @param compiler
+	 * 		Compiler to create file managers with.
+	 * @param workspace
+	 * 		Optional workspace to provide classes from.
+	 */
+	CompileSession(@Nonnull JavaCompiler compiler, @Nullable Workspace workspace) {
+		this.compiler = compiler;
+		this.workspace = workspace;
+		if (workspace != null)
+			workspace.addWorkspaceModificationListener(this);
+	}
+
+	/**
+	 * @return Workspace the session provides classes from.
+	 */
+	@Nullable
+	Workspace getWorkspace() {
+		return workspace;
+	}
+
+	/**
+	 * @param classPath
+	 * 		Classpath the compilation is run with.
+	 * 		Javac records the classpath in the file manager, so managers are only reused for the same classpath.
+	 * @param listener
+	 * 		Listener to receive file manager diagnostics of the compilation.
+	 *
+	 * @return Handle of a standard file manager to delegate to. Must be {@link #releaseFileManager(FileManagerHandle) released}
+	 * once the compilation is done.
+	 */
+	@Nonnull
+	FileManagerHandle acquireFileManager(@Nullable String classPath, @Nonnull JavacListener listener) {
+		FileManagerHandle handle = null;
+		Iterator<FileManagerHandle> iterator = idleFileManagers.iterator();
+		while (iterator.hasNext()) {
+			FileManagerHandle idle = iterator.next();
+			if (Objects.equals(classPath, idle.classPath) && idleFileManagers.remove(idle)) {
+				handle = idle;
+				break;
+			}
+		}
+		if (handle == null)
+			handle = new FileManagerHandle(compiler, classPath);
+		handle.listener = listener;
+		return handle;
+	}
+
+	/**
+	 * @param handle
+	 * 		Handle of a previously acquired file manager.
+	 */
+	void releaseFileManager(@Nonnull FileManagerHandle handle) {
+		handle.listener = null;
+
+		// Managers for classpaths other than the most recently used one are unlikely to be used again.
+		idleFileManagers.removeIf(idle -> {
+			if (Objects.equals(idle.classPath, handle.classPath))
+				return false;
+			idle.close();
+			return true;
+		});
+		idleFileManagers.add(handle);
+		if (closed && idleFileManagers.remove(handle))
+			handle.close();
+	}
+
+	/**
+	 * @return Index of classes in the workspace.
+	 */
+	@Nonnull
+	synchronized VirtualClassPathIndex getIndex() {
+		if (index == null)
+			populate();
+		return index;
+	}
+
+	/**
+	 * @return Resources in the workspace which cannot be indexed, and must be checked on each lookup.
+	 * This is the case for the runtime resource, which populates its classes on demand without notifying listeners.
+	 */
+	@Nonnull
+	synchronized List<WorkspaceResource> getUnindexedResources() {
+		if (unindexedResources == null)
+			populate();
+		return unindexedResources;
+	}
+
+	@Override
+	public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		invalidateIndex();
+	}
+
+	@Override
+	public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		invalidateIndex();
+	}
+
+	/**
+	 * @return {@code true} when the session has been closed, and should no longer be used.
+	 */
+	boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		if (workspace != null)
+			workspace.removeWorkspaceModificationListener(this);
+		invalidateIndex();
+		FileManagerHandle handle;
+		while ((handle = idleFileManagers.poll()) != null)
+			handle.close();
+	}
+
+	private void populate() {
+		List<WorkspaceResource> resources = workspace == null ?
+				Collections.emptyList() : workspace.getAllResources(true);
+		index = new VirtualClassPathIndex(resources.stream()
+				.filter(resource -> !(resource instanceof RuntimeWorkspaceResource))
+				.toList());
+		unindexedResources = resources.stream()
+				.filter(resource -> resource instanceof RuntimeWorkspaceResource)
+				.toList();
+	}
+
+	private synchronized void invalidateIndex() {
+		if (index != null) {
+			index.close();
+			index = null;
+		}
+		unindexedResources = null;
+	}
+
+	/**
+	 * Standard file manager along with the listener of the compilation currently using it.
+	 */
+	static class FileManagerHandle {
+		private final StandardJavaFileManager fileManager;
+		private final String classPath;
+		private volatile JavacListener listener;
+
+		private FileManagerHandle(@Nonnull JavaCompiler compiler, @Nullable String classPath) {
+			this.fileManager = compiler.getStandardFileManager(this::report, Locale.getDefault(), UTF_8);
+			this.classPath = classPath;
+		}
+
+		/**
+		 * @return Standard file manager.
+		 */
+		@Nonnull
+		StandardJavaFileManager getFileManager() {
+			return fileManager;
+		}
+
+		private void close() {
+			try {
+				fileManager.close();
+			} catch (IOException ex) {
+				logger.warn("Failed to close javac file manager", ex);
+			}
+		}
+
+		private void report(@Nonnull Diagnostic<? extends JavaFileObject> diagnostic) {
+			JavacListener current = listener;
+			if (current != null)
+				current.report(diagnostic);
+		}
+	}
+}
@@ -5,6 +5,7 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Compiler results wrapper.
@@ -14,6 +15,7 @@
 public class CompilerResult {
 	private final CompileMap compilations;
 	private final List<CompilerDiagnostic> diagnostics;
+	private final Map<String, List<CompilerDiagnostic>> unitDiagnostics;
 	private final Throwable exception;
 
 	/**
@@ -21,7 +23,7 @@ public class CompilerResult {
 	 * 		Error thrown when attempting to compile.
 	 */
 	public CompilerResult(@Nonnull Throwable exception) {
-		this(new CompileMap(Collections.emptyMap()), Collections.emptyList(), exception);
+		this(new CompileMap(Collections.emptyMap()), Collections.emptyList(), Collections.emptyMap(), exception);
 	}
 
 	/**
@@ -31,15 +33,30 @@ public CompilerResult(@Nonnull Throwable exception) {
 	 * 		Compilation problem diagnostics.
 	 */
 	public CompilerResult(@Nonnull CompileMap compileMap, @Nonnull List<CompilerDiagnostic> diagnostics) {
-		this(compileMap, diagnostics, null);
+		this(compileMap, diagnostics, Collections.emptyMap(), null);
+	}
+
+	/**
+	 * @param compileMap
+	 * 		Compilation results.
+	 * @param diagnostics
+	 * 		Compilation problem diagnostics.
+	 * @param unitDiagnostics
+	 * 		Compilation problem diagnostics, grouped by the name of the class whose source they apply to.
+	 */
+	public CompilerResult(@Nonnull CompileMap compileMap, @Nonnull List<CompilerDiagnostic> diagnostics,
+	                      @Nonnull Map<String, List<CompilerDiagnostic>> unitDiagnostics) {
+		this(compileMap, diagnostics, unitDiagnostics, null);
 	}
 
 	private CompilerResult(@Nonnull CompileMap compilations,
 						   @Nonnull List<CompilerDiagnostic> diagnostics,
+						   @Nonnull Map<String, List<CompilerDiagnostic>> unitDiagnostics,
 						   @Nullable Throwable exception) {
 		this.compilations = compilations;
 		this.exception = exception;
 		this.diagnostics = diagnostics;
+		this.unitDiagnostics = unitDiagnostics;
 	}
 
 	/**
@@ -70,6 +87,17 @@ public List<CompilerDiagnostic> getDiagnostics() {
 		return diagnostics;
 	}
 
+	/**
+	 * @param className
+	 * 		Internal name of a class that was compiled.
+	 *
+	 * @return Compilation problem diagnostics of the given class's source.
+	 */
+	@Nonnull
+	public List<CompilerDiagnostic> getDiagnostics(@Nonnull String className) {
+		return unitDiagnostics.getOrDefault(className, Collections.emptyList());
+	}
+
 	/**
 	 * @return Error thrown when attempting to compile.
 	 * {@code null} when compilation was a success.
@@ -4,6 +4,9 @@
 import jakarta.annotation.Nullable;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -16,6 +19,7 @@ public class JavacArguments {
 	// Primary inputs
 	private final String className;
 	private final String classSource;
+	private final Map<String, String> classSources;
 	// Options
 	private final String classPath;
 	private final int versionTarget;
@@ -45,8 +49,40 @@ public class JavacArguments {
 	public JavacArguments(@Nonnull String className, @Nonnull String classSource,
 						  @Nullable String classPath, int versionTarget, int downsampleTarget,
 						  boolean debugVariables, boolean debugLineNumbers, boolean debugSourceName) {
+		this(className, classSource, Collections.emptyMap(), classPath, versionTarget, downsampleTarget,
+				debugVariables, debugLineNumbers, debugSourceName);
+	}
+
+	/**
+	 * @param className
+	 * 		Internal name of the primary class being compiled.
+	 * @param classSource
+	 * 		Source of the primary class.
+	 * @param additionalSources
+	 * 		Map of internal names to sources of other classes to compile alongside the primary class.
+	 * @param classPath
+	 * 		Classpath to use with compiler.
+	 * @param versionTarget
+	 * 		Java version to target.
+	 * @param downsampleTarget
+	 * 		Java version to target via down sampling. Negative to disable downs sampling.
+	 * @param debugVariables
+	 * 		Debug flag to include variable info.
+	 * @param debugLineNumbers
+	 * 		Debug flag to include line number info.
+	 * @param debugSourceName
+	 * 		Debug flag to include source file name.
+	 */
+	public JavacArguments(@Nonnull String className, @Nonnull String classSource,
+						  @Nonnull Map<String, String> additionalSources,
+						  @Nullable String classPath, int versionTarget, int downsampleTarget,
+						  boolean debugVariables, boolean debugLineNumbers, boolean debugSourceName) {
+		Map<String, String> classSources = new LinkedHashMap<>();
+		classSources.put(className, classSource);
+		additionalSources.forEach(classSources::putIfAbsent);
 		this.className = className;
 		this.classSource = classSource;
+		this.classSources = Collections.unmodifiableMap(classSources);
 		this.classPath = classPath;
 		this.versionTarget = versionTarget;
 		this.downsampleTarget = downsampleTarget;
@@ -95,6 +131,14 @@ public String getClassSource() {
 		return classSource;
 	}
 
+	/**
+	 * @return Map of internal names to sources of all classes being compiled, starting with the primary class.
+	 */
+	@Nonnull
+	public Map<String, String> getClassSources() {
+		return classSources;
+	}
+
 	/**
 	 * @return Classpath to use with compiler.
 	 */
@@ -151,6 +195,7 @@ public boolean equals(Object o) {
 		if (debugSourceName != other.debugSourceName) return false;
 		if (!className.equals(other.className)) return false;
 		if (!classSource.equals(other.classSource)) return false;
+		if (!classSources.equals(other.classSources)) return false;
 		return Objects.equals(classPath, other.classPath);
 	}
 
@@ -158,6 +203,7 @@ public boolean equals(Object o) {
 	public int hashCode() {
 		int result = className.hashCode();
 		result = 31 * result + classSource.hashCode();
+		result = 31 * result + classSources.hashCode();
 		result = 31 * result + (classPath != null ? classPath.hashCode() : 0);
 		result = 31 * result + versionTarget;
 		result = 31 * result + (debugVariables ? 1 : 0);
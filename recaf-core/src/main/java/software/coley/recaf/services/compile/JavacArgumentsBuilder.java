@@ -4,6 +4,9 @@
 import jakarta.annotation.Nullable;
 import software.coley.recaf.util.JavaVersion;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Builder for {@link JavacArguments}.
  *
@@ -12,6 +15,7 @@
 public final class JavacArgumentsBuilder {
 	private String className;
 	private String classSource;
+	private final Map<String, String> additionalSources = new LinkedHashMap<>();
 	private String classPath = System.getProperty("java.class.path");
 	private int versionTarget = JavaVersion.get();
 	private int downsampleTarget = -1;
@@ -43,6 +47,28 @@ public JavacArgumentsBuilder withClassSource(@Nonnull String classSource) {
 		return this;
 	}
 
+	/**
+	 * Adds classes to compile together in a single compiler invocation.
+	 * When no {@link #withClassName(String) primary class} is given, the first class in the map is used as it.
+	 *
+	 * @param classSources
+	 * 		Map of internal names to sources of classes to compile.
+	 *
+	 * @return Builder.
+	 */
+	@Nonnull
+	public JavacArgumentsBuilder withClassSources(@Nonnull Map<String, String> classSources) {
+		classSources.forEach((name, source) -> {
+			if (className == null && classSource == null) {
+				className = name;
+				classSource = source;
+			} else if (!name.equals(className)) {
+				additionalSources.put(name, source);
+			}
+		});
+		return this;
+	}
+
 	/**
 	 * @param classPath
 	 * 		Classpath to use with compiler.
@@ -126,7 +152,7 @@ public JavacArguments build() {
 		if (classSource == null)
 			throw new IllegalArgumentException("Class source must not be null");
 
-		return new JavacArguments(className, classSource,
+		return new JavacArguments(className, classSource, additionalSources,
 				classPath, versionTarget, downsampleTarget,
 				debugVariables, debugLineNumbers, debugSourceName);
 	}
@@ -12,6 +12,7 @@
 import software.coley.recaf.services.phantom.GeneratedPhantomWorkspaceResource;
 import software.coley.recaf.services.phantom.PhantomGenerationException;
 import software.coley.recaf.services.phantom.PhantomGenerator;
+import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.util.LookupUtil;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -25,13 +26,13 @@
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 /**
  * Wrapper for {@link JavaCompiler}.
  * <br>
@@ -48,13 +49,28 @@ public class JavacCompiler implements Service {
 	private static final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
 	private static int minTargetVersion = 7;
 	private final PhantomGenerator phantomGenerator;
+	private final WorkspaceManager workspaceManager;
 	private final JavacCompilerConfig config;
+	private CompileSession currentWorkspaceSession;
+	private CompileSession noWorkspaceSession;
 
-	@Inject
 	public JavacCompiler(@Nonnull PhantomGenerator phantomGenerator,
 	                     @Nonnull JavacCompilerConfig config) {
+		this(phantomGenerator, config, null);
+	}
+
+	@Inject
+	public JavacCompiler(@Nonnull PhantomGenerator phantomGenerator,
+	                     @Nonnull JavacCompilerConfig config,
+	                     @Nullable WorkspaceManager workspaceManager) {
 		this.phantomGenerator = phantomGenerator;
 		this.config = config;
+		this.workspaceManager = workspaceManager;
+
+		// Without a workspace manager there is no way to know when a workspace is closed,
+		// so compilations against workspaces do not get a shared session.
+		if (workspaceManager != null)
+			workspaceManager.addWorkspaceCloseListener(this::closeSession);
 	}
 
 	/**
@@ -76,6 +92,8 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 	}
 
 	/**
+	 * All classes in {@link JavacArguments#getClassSources()} are compiled together in a single compiler invocation.
+	 *
 	 * @param arguments
 	 * 		Wrapper of all arguments.
 	 * @param workspace
@@ -96,23 +114,49 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 		if (compiler == null)
 			return new CompilerResult(new IllegalStateException("Cannot load 'javac' compiler."));
 
-		String className = arguments.getClassName();
+		// Compilations against the current workspace (or no workspace at all) share a session, so that
+		// the file manager and classpath index are reused between compilations.
+		CompileSession session = getSharedSession(workspace);
+		if (session != null && !session.isClosed())
+			return compile(session, arguments, workspace, supplementaryResources, listener);
+
+		// Other workspaces get a temporary session.
+		CompileSession temporarySession = new CompileSession(compiler, workspace);
+		try {
+			return compile(temporarySession, arguments, workspace, supplementaryResources, listener);
+		} finally {
+			temporarySession.close();
+		}
+	}
+
+	@Nonnull
+	private CompilerResult compile(@Nonnull CompileSession session,
+	                               @Nonnull JavacArguments arguments,
+	                               @Nullable Workspace workspace,
+	                               @Nullable List<WorkspaceResource> supplementaryResources,
+	                               @Nullable JavacListener listener) {
+		// Name to refer to the compilation by in logging
+		Map<String, String> classSources = arguments.getClassSources();
+		String compilationName = classSources.size() == 1 ? arguments.getClassName() :
+				arguments.getClassName() + " (+" + (classSources.size() - 1) + " classes)";
 
 		// Class input map
 		VirtualUnitMap unitMap = new VirtualUnitMap();
-		unitMap.addSource(className, arguments.getClassSource());
+		classSources.forEach(unitMap::addSource);
 
-		// Create a file manager to track files in-memory rather than on-disk
-		List<WorkspaceResource> virtualClassPath = workspace == null ?
-				Collections.emptyList() : workspace.getAllResources(true);
+		// Create a file manager to track files in-memory rather than on-disk.
+		// Workspace classes are provided by the session's index, other resources are checked as-is.
+		List<WorkspaceResource> virtualClassPath = session.getUnindexedResources();
 		if (supplementaryResources != null)
 			virtualClassPath = Lists.combine(virtualClassPath, supplementaryResources);
 
 		// Generate phantom classes if the workspace does not already have phantoms in it.
 		if (workspace != null && config.getGeneratePhantoms().getValue()
 				&& workspace.getSupportingResources().stream().noneMatch(resource -> resource instanceof GeneratedPhantomWorkspaceResource)) {
-			// Only scan the target class and any of its inner classes for content to fill in.
-			List<JvmClassInfo> classesToScan = workspace.findJvmClasses(c -> c.getName().equals(className) || c.isInnerClassOf(className)).stream()
+			// Only scan the target classes and any of their inner classes for content to fill in.
+			// Phantoms for all target classes are generated together, rather than once per class.
+			Set<String> compilationNames = classSources.keySet();
+			List<JvmClassInfo> classesToScan = workspace.findJvmClasses(c -> isClassOrInnerClass(c, compilationNames)).stream()
 					.map(p -> p.getValue().asJvmClass())
 					.collect(Collectors.toList());
 			if (!classesToScan.isEmpty()) {
@@ -123,21 +167,22 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 						logger.debug("Generated {} phantoms for pre-compile", generatedCount);
 					virtualClassPath = Lists.add(virtualClassPath, phantomResource);
 				} catch (PhantomGenerationException ex) {
-					logger.warn("Failed to generate phantoms for compilation against '{}'", className, ex);
+					logger.warn("Failed to generate phantoms for compilation against '{}'", compilationName, ex);
 				}
 			}
 		}
 
 		List<CompilerDiagnostic> diagnostics = new ArrayList<>();
-		JavacListener listenerWrapper = createRecordingListener(listener, diagnostics);
-		JavaFileManager fmFallback = compiler.getStandardFileManager(listenerWrapper, Locale.getDefault(), UTF_8);
-		JavaFileManager fm = new VirtualFileManager(unitMap, virtualClassPath, fmFallback);
+		Map<String, List<CompilerDiagnostic>> unitDiagnostics = new HashMap<>();
+		JavacListener listenerWrapper = createRecordingListener(listener, diagnostics, unitDiagnostics);
+		String cp = arguments.getClassPath();
+		CompileSession.FileManagerHandle fmHandle = session.acquireFileManager(cp, listenerWrapper);
+		JavaFileManager fm = new VirtualFileManager(unitMap, session.getIndex(), virtualClassPath, fmHandle.getFileManager());
 
 		// Populate arguments
 		List<String> args = new ArrayList<>();
 
 		// Classpath
-		String cp = arguments.getClassPath();
 		if (cp != null) {
 			args.add("-classpath");
 			args.add(cp);
@@ -160,9 +205,9 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 			JavaCompiler.CompilationTask task =
 					compiler.getTask(null, fm, listenerWrapper, args, null, unitMap.getFiles());
 			if (task.call()) {
-				logger.debugging(l -> l.info("Compilation of '{}' finished", className));
+				logger.debugging(l -> l.info("Compilation of '{}' finished", compilationName));
 			} else {
-				logger.debugging(l -> l.error("Compilation of '{}' failed", className));
+				logger.debugging(l -> l.error("Compilation of '{}' failed", compilationName));
 			}
 			CompileMap compilations = unitMap.getCompilations();
 			int downsampleTarget = arguments.getDownsampleTarget();
@@ -170,13 +215,53 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 				compilations.downsample(downsampleTarget);
 			else if (downsampleTarget >= 0)
 				logger.warn("Cannot downsample beyond Java {}", JavacCompiler.MIN_DOWNSAMPLE_VER);
-			return new CompilerResult(compilations, diagnostics);
+			return new CompilerResult(compilations, diagnostics, unitDiagnostics);
 		} catch (RuntimeException ex) {
-			logger.debugging(l -> l.error("Compilation of '{}' crashed", className, ex));
+			logger.debugging(l -> l.error("Compilation of '{}' crashed", compilationName, ex));
 			return new CompilerResult(ex);
+		} finally {
+			session.releaseFileManager(fmHandle);
 		}
 	}
 
+	/**
+	 * @param workspace
+	 * 		Workspace to compile against.
+	 *
+	 * @return Session shared between compilations against the given workspace,
+	 * or {@code null} if the workspace is not the current workspace and should not have a long-lived session.
+	 */
+	@Nullable
+	private synchronized CompileSession getSharedSession(@Nullable Workspace workspace) {
+		if (workspace == null) {
+			if (noWorkspaceSession == null)
+				noWorkspaceSession = new CompileSession(compiler, null);
+			return noWorkspaceSession;
+		}
+		if (workspaceManager == null || workspace != workspaceManager.getCurrent())
+			return null;
+		if (currentWorkspaceSession == null || currentWorkspaceSession.getWorkspace() != workspace)
+			currentWorkspaceSession = new CompileSession(compiler, workspace);
+		return currentWorkspaceSession;
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace that was closed.
+	 */
+	private void closeSession(@Nonnull Workspace workspace) {
+		CompileSession session;
+		synchronized (this) {
+			session = currentWorkspaceSession;
+			if (session == null || session.getWorkspace() != workspace)
+				return;
+			currentWorkspaceSession = null;
+		}
+
+		// Compilations still using the session release their file managers once done.
+		session.close();
+	}
+
 	/**
 	 * @return {@code true} when the compiler can be invoked.
 	 */
@@ -191,16 +276,41 @@ public static int getMinTargetVersion() {
 		return minTargetVersion;
 	}
 
+	/**
+	 * @param classInfo
+	 * 		Some class.
+	 * @param classNames
+	 * 		Names of classes being compiled.
+	 *
+	 * @return {@code true} when the class is one of the classes being compiled, or an inner class of one.
+	 */
+	private static boolean isClassOrInnerClass(@Nonnull JvmClassInfo classInfo, @Nonnull Set<String> classNames) {
+		String name = classInfo.getName();
+		if (classNames.contains(name))
+			return true;
+
+		// Check each potential outer class name, rather than checking against each class being compiled.
+		for (int i = name.indexOf('$'); i > 0; i = name.indexOf('$', i + 1)) {
+			String outerName = name.substring(0, i);
+			if (classNames.contains(outerName) && classInfo.isInnerClassOf(outerName))
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * @param listener
 	 * 		Optional listener to wrap.
 	 * @param diagnostics
 	 * 		List to add diagnostics to.
+	 * @param unitDiagnostics
+	 * 		Map to add diagnostics to, by the name of the class whose source they apply to.
 	 *
 	 * @return Listener to encompass recording behavior and the user defined listener.
 	 */
 	private JavacListener createRecordingListener(@Nullable JavacListener listener,
-	                                              @Nonnull List<CompilerDiagnostic> diagnostics) {
+	                                              @Nonnull List<CompilerDiagnostic> diagnostics,
+	                                              @Nonnull Map<String, List<CompilerDiagnostic>> unitDiagnostics) {
 		return new ForwardingListener(listener) {
 			@Override
 			public void report(@Nonnull Diagnostic<? extends JavaFileObject> diagnostic) {
@@ -209,13 +319,16 @@ public void report(@Nonnull Diagnostic<? extends JavaFileObject> diagnostic) {
 
 				// Record the diagnostic to our output
 				if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
-					diagnostics.add(new CompilerDiagnostic(
+					CompilerDiagnostic compilerDiagnostic = new CompilerDiagnostic(
 							(int) diagnostic.getLineNumber(),
 							(int) diagnostic.getColumnNumber(),
 							(int) diagnostic.getEndPosition() - (int) diagnostic.getPosition(),
 							diagnostic.getMessage(Locale.getDefault()),
 							mapKind(diagnostic.getKind())
-					));
+					);
+					diagnostics.add(compilerDiagnostic);
+					if (diagnostic.getSource() instanceof VirtualJavaFileObject source)
+						unitDiagnostics.computeIfAbsent(source.getClassName(), n -> new ArrayList<>()).add(compilerDiagnostic);
 				}
 			}
 
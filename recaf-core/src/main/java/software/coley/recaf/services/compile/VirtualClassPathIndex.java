@@ -0,0 +1,126 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.behavior.Closing;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.workspace.model.bundle.BundleListener;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the classes in a virtual classpath by their package, allowing {@link VirtualFileManager} to answer
+ * package listings without visiting every class in the classpath.
+ * <br>
+ * The index listens to the class bundles of its resources, so changes to classes are reflected incrementally.
+ *
+ * @author Matt Coley
+ */
+public class VirtualClassPathIndex implements Closing {
+	private final Map<String, Map<String, JvmClassInfo>> packages = new ConcurrentHashMap<>();
+	private final List<WorkspaceResource> resources;
+	private final List<BundleListener<JvmClassInfo>> listeners = new ArrayList<>();
+
+	/**
+	 * @param resources
+	 * 		Resources to index, in order of priority. When multiple resources have a class of the same name,
+	 * 		the class from the first resource is used.
+	 */
+	public VirtualClassPathIndex(@Nonnull List<WorkspaceResource> resources) {
+		this.resources = resources;
+		for (WorkspaceResource resource : resources) {
+			JvmClassBundle bundle = resource.getJvmClassBundle();
+			for (Map.Entry<String, JvmClassInfo> entry : bundle.entrySet())
+				getPackage(entry.getKey()).putIfAbsent(entry.getKey(), entry.getValue());
+
+			BundleListener<JvmClassInfo> listener = new BundleListener<>() {
+				@Override
+				public void onNewItem(@Nonnull String key, @Nonnull JvmClassInfo value) {
+					refresh(key);
+				}
+
+				@Override
+				public void onUpdateItem(@Nonnull String key, @Nonnull JvmClassInfo oldValue, @Nonnull JvmClassInfo newValue) {
+					refresh(key);
+				}
+
+				@Override
+				public void onRemoveItem(@Nonnull String key, @Nonnull JvmClassInfo value) {
+					refresh(key);
+				}
+			};
+			bundle.addBundleListener(listener);
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * @param packageName
+	 * 		Internal package name, or an empty string for the default package.
+	 * @param recurse
+	 * 		Flag to include classes in sub-packages.
+	 *
+	 * @return Classes in the package.
+	 */
+	@Nonnull
+	public List<JvmClassInfo> getClasses(@Nonnull String packageName, boolean recurse) {
+		if (!recurse) {
+			Map<String, JvmClassInfo> classes = packages.get(packageName);
+			return classes == null ? Collections.emptyList() : new ArrayList<>(classes.values());
+		}
+
+		String prefix = packageName.isEmpty() ? "" : packageName + '/';
+		List<JvmClassInfo> classes = new ArrayList<>();
+		packages.forEach((name, packageClasses) -> {
+			if (packageName.isEmpty() || name.equals(packageName) || name.startsWith(prefix))
+				classes.addAll(packageClasses.values());
+		});
+		return classes;
+	}
+
+	/**
+	 * Stops tracking changes to the indexed resources.
+	 * The indexed classes are kept, so that compilations still using the index see a consistent view of the classpath.
+	 */
+	@Override
+	public void close() {
+		for (int i = 0; i < resources.size(); i++)
+			resources.get(i).getJvmClassBundle().removeBundleListener(listeners.get(i));
+		listeners.clear();
+	}
+
+	/**
+	 * Updates the indexed class of the given name to the class of the highest priority resource.
+	 *
+	 * @param name
+	 * 		Internal class name.
+	 */
+	private void refresh(@Nonnull String name) {
+		for (WorkspaceResource resource : resources) {
+			JvmClassInfo classInfo = resource.getJvmClassBundle().get(name);
+			if (classInfo != null) {
+				getPackage(name).put(name, classInfo);
+				return;
+			}
+		}
+		Map<String, JvmClassInfo> classes = packages.get(packageOf(name));
+		if (classes != null)
+			classes.remove(name);
+	}
+
+	@Nonnull
+	private Map<String, JvmClassInfo> getPackage(@Nonnull String className) {
+		return packages.computeIfAbsent(packageOf(className), p -> new ConcurrentHashMap<>());
+	}
+
+	@Nonnull
+	private static String packageOf(@Nonnull String className) {
+		int lastSlash = className.lastIndexOf('/');
+		return lastSlash < 0 ? "" : className.substring(0, lastSlash);
+	}
+}
@@ -1,14 +1,19 @@
 package software.coley.recaf.services.compile;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import javax.tools.*;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * File manager extension for handling updates to java file object's output stream.
@@ -18,6 +23,7 @@
  */
 public class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManager> {
 	private final VirtualUnitMap unitMap;
+	private final VirtualClassPathIndex classPathIndex;
 	private final List<WorkspaceResource> virtualClasspath;
 
 	/**
@@ -29,7 +35,23 @@ public class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManage
 	 * 		Fallback manager.
 	 */
 	public VirtualFileManager(@Nonnull VirtualUnitMap unitMap, @Nonnull List<WorkspaceResource> virtualClasspath, @Nonnull JavaFileManager fallback) {
+		this(unitMap, null, virtualClasspath, fallback);
+	}
+
+	/**
+	 * @param unitMap
+	 * 		Class input map.
+	 * @param classPathIndex
+	 * 		Optional index of in-memory classpath classes, checked before the other classpath resources.
+	 * @param virtualClasspath
+	 * 		Additional in-memory classpath, which is not indexed.
+	 * @param fallback
+	 * 		Fallback manager.
+	 */
+	public VirtualFileManager(@Nonnull VirtualUnitMap unitMap, @Nullable VirtualClassPathIndex classPathIndex,
+	                          @Nonnull List<WorkspaceResource> virtualClasspath, @Nonnull JavaFileManager fallback) {
 		super(fallback);
+		this.classPathIndex = classPathIndex;
 		this.virtualClasspath = virtualClasspath;
 		this.unitMap = unitMap;
 	}
@@ -47,11 +69,14 @@ public Iterable<JavaFileObject> list(@Nonnull Location location, @Nonnull String
 				check = name -> name.startsWith(formatted) &&
 						name.indexOf('/', formatted.length()) == -1;
 			}
-			return () -> new ClassPathIterator(list.iterator(), virtualClasspath.stream()
-					.flatMap(resource -> resource.getJvmClassBundle().entrySet().stream())
-					.filter(entry -> check.test(entry.getKey()))
-					.<JavaFileObject>map(entry -> new ResourceVirtualJavaFileObject(entry.getKey(),
-							entry.getValue().getBytecode(), JavaFileObject.Kind.CLASS))
+			List<JvmClassInfo> indexedClasses = classPathIndex == null ? Collections.emptyList() :
+					classPathIndex.getClasses(packageName.replace('.', '/'), recurse);
+			return () -> new ClassPathIterator(list.iterator(), Stream.concat(indexedClasses.stream(), virtualClasspath.stream()
+							.flatMap(resource -> resource.getJvmClassBundle().entrySet().stream())
+							.filter(entry -> check.test(entry.getKey()))
+							.map(Map.Entry::getValue))
+					.<JavaFileObject>map(classInfo -> new ResourceVirtualJavaFileObject(classInfo.getName(),
+							classInfo.getBytecode(), JavaFileObject.Kind.CLASS))
 					.iterator());
 		}
 		return list;
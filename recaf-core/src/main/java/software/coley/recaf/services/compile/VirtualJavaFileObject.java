@@ -15,6 +15,7 @@
  */
 public class VirtualJavaFileObject extends SimpleJavaFileObject {
 	private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+	private final String className;
 	private final String content;
 
 	/**
@@ -26,9 +27,18 @@ public class VirtualJavaFileObject extends SimpleJavaFileObject {
 	public VirtualJavaFileObject(@Nonnull String className, @Nullable String content) {
 		super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
 				Kind.SOURCE);
+		this.className = className;
 		this.content = content;
 	}
 
+	/**
+	 * @return Name of class.
+	 */
+	@Nonnull
+	public String getClassName() {
+		return className;
+	}
+
 	/**
 	 * @return {@code true} when {@link #getBytecode()} has content.
 	 */
@@ -52,13 +52,57 @@ public final DecompileResult decompile(@Nonnull Workspace workspace, @Nonnull Jv
 		DecompileResult result = decompileInternal(workspace, filteredBytecode);
 
 		// Adapt output decompilation if output filters are registered.
+		return applyTextFilters(workspace, classInfo, result);
+	}
+
+	@Nonnull
+	@Override
+	public final List<DecompileResult> decompile(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes) {
+		// Get bytecode of each class and run through filters.
+		List<JvmClassInfo> filteredClasses = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes)
+			filteredClasses.add(JvmBytecodeFilter.applyFilters(workspace, classInfo, bytecodeFilters));
+
+		// Pass to implementation.
+		List<DecompileResult> results = decompileInternal(workspace, filteredClasses);
+
+		// Adapt output decompilations if output filters are registered.
+		List<DecompileResult> filteredResults = new ArrayList<>(results.size());
+		for (int i = 0; i < results.size(); i++)
+			filteredResults.add(applyTextFilters(workspace, classes.get(i), results.get(i)));
+		return filteredResults;
+	}
+
+	/**
+	 * Takes on the work of {@link #decompile(Workspace, List)} after the {@link #bytecodeFilters} have been applied to the classes.
+	 * <br>
+	 * The default implementation decompiles each class individually.
+	 * Implementations should override this if they can share work between the classes.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 *
+	 * @return Decompilation results, in the same order as the given classes.
+	 */
+	@Nonnull
+	protected List<DecompileResult> decompileInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes) {
+		List<DecompileResult> results = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes)
+			results.add(decompileInternal(workspace, classInfo));
+		return results;
+	}
+
+	@Nonnull
+	private DecompileResult applyTextFilters(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo,
+	                                         @Nonnull DecompileResult result) {
 		if (result.getType() == DecompileResult.ResultType.SUCCESS && result.getText() != null && !textFilters.isEmpty()) {
 			String text = result.getText();
 			for (OutputTextFilter filter : textFilters)
 				text = filter.filter(workspace, classInfo, text);
 			result = result.withText(text);
 		}
-
 		return result;
 	}
 
@@ -0,0 +1,34 @@
+package software.coley.recaf.services.decompile;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.info.JvmClassInfo;
+
+/**
+ * Receiver of results from {@link DecompilerManager#decompileAll(JvmDecompiler, software.coley.recaf.workspace.model.Workspace, java.util.Collection, DecompileSink)
+ * batch decompilation}. Results are given as soon as they are available, in no particular order.
+ * <br>
+ * Calls to a sink are never made concurrently, so implementations do not need to be thread safe.
+ *
+ * @author Matt Coley
+ */
+public interface DecompileSink {
+	/**
+	 * @param classInfo
+	 * 		Class that was decompiled.
+	 * @param result
+	 * 		Decompilation result of the class.
+	 */
+	void accept(@Nonnull JvmClassInfo classInfo, @Nonnull DecompileResult result);
+
+	/**
+	 * Called after each result is given to {@link #accept(JvmClassInfo, DecompileResult)}.
+	 *
+	 * @param completed
+	 * 		Number of classes decompiled so far.
+	 * @param total
+	 * 		Total number of classes to decompile.
+	 */
+	default void onProgress(int completed, int total) {
+		// no-op by default
+	}
+}
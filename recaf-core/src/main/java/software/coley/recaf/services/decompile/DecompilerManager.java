@@ -28,6 +28,7 @@
 import software.coley.recaf.util.visitors.LongAnnotationRemovingVisitor;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -49,6 +50,7 @@ public class DecompilerManager implements Service {
 	private static final DebuggingLogger logger = Logging.get(DecompilerManager.class);
 	private static final NoopJvmDecompiler NO_OP_JVM = NoopJvmDecompiler.getInstance();
 	private static final NoopAndroidDecompiler NO_OP_ANDROID = NoopAndroidDecompiler.getInstance();
+	private static final int BATCH_CHUNK_SIZE = 32;
 	private final JvmBytecodeFilter layeredJvmFilter = new LayeredJvmBytecodeFilter();
 	private final ExecutorService decompileThreadPool = ThreadPoolFactory.newFixedThreadPool(SERVICE_ID);
 	private final List<JvmBytecodeFilter> bytecodeFilters = new CopyOnWriteArrayList<>();
@@ -131,19 +133,9 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	@Nonnull
 	public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
 		return CompletableFuture.supplyAsync(() -> {
-			boolean doCache = config.getCacheDecompilations().getValue();
-			if (doCache) {
-				// Check for cached result, returning the cached result if found
-				// and only if the current config matches the one that yielded the cached result.
-				DecompileResult cachedResult = CachedDecompileProperty.get(classInfo, decompiler);
-				if (cachedResult != null) {
-					if (cachedResult.getConfigHash() == decompiler.getConfig().getHash())
-						return cachedResult;
-
-					// Config changed, void the cache.
-					CachedDecompileProperty.remove(classInfo);
-				}
-			}
+			DecompileResult cachedResult = getCachedResult(decompiler, classInfo);
+			if (cachedResult != null)
+				return cachedResult;
 
 			// We will use the layered filter manually here so any user requested cleanup is done before we pass the class to the decompiler.
 			// The decompiler base implementation skips some work if there are no registered filters so doing it externally like this is
@@ -152,19 +144,176 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decom
 
 			// Decompile and cache the results.
 			DecompileResult result = decompiler.decompile(workspace, filteredClass);
-			String decompilation = result.getText();
-			if (decompilation != null && !outputTextFilters.isEmpty()) {
-				// Apply output filters and re-wrap the result with the new output text.
-				for (OutputTextFilter textFilter : outputTextFilters)
-					decompilation = textFilter.filter(workspace, classInfo, decompilation);
-				result = new DecompileResult(decompilation, result.getConfigHash());
-			}
-			if (doCache)
-				CachedDecompileProperty.set(classInfo, decompiler, result);
-			return result;
+			return completeResult(decompiler, workspace, classInfo, result);
 		}, decompileThreadPool);
 	}
 
+	/**
+	 * Uses the built-in thread-pool to decompile many classes with the {@link #getTargetJvmDecompiler()}.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param sink
+	 * 		Sink to pass results to as they are completed.
+	 *
+	 * @return Future of the batch completing. Cancelling the future stops any remaining classes from being decompiled.
+	 *
+	 * @see #decompileAll(JvmDecompiler, Workspace, Collection, DecompileSink)
+	 */
+	@Nonnull
+	public CompletableFuture<Void> decompileAll(@Nonnull Workspace workspace, @Nonnull Collection<JvmClassInfo> classes,
+	                                            @Nonnull DecompileSink sink) {
+		return decompileAll(getTargetJvmDecompiler(), workspace, classes, sink);
+	}
+
+	/**
+	 * Uses the built-in thread-pool to decompile many classes. The classes are split into chunks which are each
+	 * given to {@link JvmDecompiler#decompile(Workspace, List)}, allowing the decompiler to share work between the
+	 * classes in a chunk. This is much faster than calling {@link #decompile(JvmDecompiler, Workspace, JvmClassInfo)}
+	 * for each class.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param sink
+	 * 		Sink to pass results to as they are completed.
+	 *
+	 * @return Future of the batch completing. Cancelling the future stops any remaining classes from being decompiled.
+	 */
+	@Nonnull
+	public CompletableFuture<Void> decompileAll(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                            @Nonnull Collection<JvmClassInfo> classes, @Nonnull DecompileSink sink) {
+		CompletableFuture<Void> batch = new CompletableFuture<>();
+		List<JvmClassInfo> classList = new ArrayList<>(classes);
+		int total = classList.size();
+		BatchProgress progress = new BatchProgress(sink, total);
+		List<CompletableFuture<Void>> chunks = new ArrayList<>(total / BATCH_CHUNK_SIZE + 1);
+		for (int start = 0; start < total; start += BATCH_CHUNK_SIZE) {
+			List<JvmClassInfo> chunk = classList.subList(start, Math.min(total, start + BATCH_CHUNK_SIZE));
+			chunks.add(CompletableFuture.runAsync(() -> {
+				if (!batch.isDone())
+					decompileChunk(decompiler, workspace, chunk, progress);
+			}, decompileThreadPool));
+		}
+		CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).whenComplete((unused, t) -> {
+			if (t == null)
+				batch.complete(null);
+			else
+				batch.completeExceptionally(t);
+		});
+		return batch;
+	}
+
+	/**
+	 * Decompiles a chunk of classes from {@link #decompileAll(JvmDecompiler, Workspace, Collection, DecompileSink)}.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param chunk
+	 * 		Classes to decompile.
+	 * @param progress
+	 * 		Progress of the batch, to pass results to.
+	 */
+	private void decompileChunk(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                            @Nonnull List<JvmClassInfo> chunk, @Nonnull BatchProgress progress) {
+		// Pass along any cached results, and filter the remaining classes.
+		List<JvmClassInfo> classes = new ArrayList<>(chunk.size());
+		List<JvmClassInfo> filteredClasses = new ArrayList<>(chunk.size());
+		for (JvmClassInfo classInfo : chunk) {
+			DecompileResult cachedResult = getCachedResult(decompiler, classInfo);
+			if (cachedResult != null) {
+				progress.accept(classInfo, cachedResult);
+			} else {
+				classes.add(classInfo);
+				filteredClasses.add(JvmBytecodeFilter.applyFilters(workspace, classInfo, Collections.singletonList(layeredJvmFilter)));
+			}
+		}
+		if (classes.isEmpty())
+			return;
+
+		// Decompile the remaining classes together. If that fails, decompile them individually so that one
+		// bad class does not prevent results from being given for the others.
+		List<DecompileResult> results;
+		try {
+			results = decompiler.decompile(workspace, filteredClasses);
+		} catch (Throwable t) {
+			logger.debugging(l -> l.warn("Failed decompiling batch of {} classes, decompiling individually", classes.size(), t));
+			results = new ArrayList<>(classes.size());
+			for (JvmClassInfo filteredClass : filteredClasses) {
+				try {
+					results.add(decompiler.decompile(workspace, filteredClass));
+				} catch (Throwable t2) {
+					results.add(new DecompileResult(t2, decompiler.getConfig().getHash()));
+				}
+			}
+		}
+		for (int i = 0; i < classes.size(); i++) {
+			JvmClassInfo classInfo = classes.get(i);
+			progress.accept(classInfo, completeResult(decompiler, workspace, classInfo, results.get(i)));
+		}
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to check for results of.
+	 * @param classInfo
+	 * 		Class to check for results of.
+	 *
+	 * @return Cached result of the class, if caching is enabled and the current config
+	 * of the decompiler matches the one that yielded the cached result. Otherwise {@code null}.
+	 */
+	@Nullable
+	private DecompileResult getCachedResult(@Nonnull JvmDecompiler decompiler, @Nonnull JvmClassInfo classInfo) {
+		if (!config.getCacheDecompilations().getValue())
+			return null;
+
+		DecompileResult cachedResult = CachedDecompileProperty.get(classInfo, decompiler);
+		if (cachedResult != null) {
+			if (cachedResult.getConfigHash() == decompiler.getConfig().getHash())
+				return cachedResult;
+
+			// Config changed, void the cache.
+			CachedDecompileProperty.remove(classInfo);
+		}
+		return null;
+	}
+
+	/**
+	 * Applies output filters to a decompilation result, and caches it if caching is enabled.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation that yielded the result.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classInfo
+	 * 		Class that was decompiled.
+	 * @param result
+	 * 		Decompilation result of the class.
+	 *
+	 * @return Filtered result.
+	 */
+	@Nonnull
+	private DecompileResult completeResult(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                       @Nonnull JvmClassInfo classInfo, @Nonnull DecompileResult result) {
+		String decompilation = result.getText();
+		if (decompilation != null && !outputTextFilters.isEmpty()) {
+			// Apply output filters and re-wrap the result with the new output text.
+			for (OutputTextFilter textFilter : outputTextFilters)
+				decompilation = textFilter.filter(workspace, classInfo, decompilation);
+			result = new DecompileResult(decompilation, result.getConfigHash());
+		}
+		if (config.getCacheDecompilations().getValue())
+			CachedDecompileProperty.set(classInfo, decompiler, result);
+		return result;
+	}
+
 	/**
 	 * Uses the built-in thread-pool to schedule the decompilation with the {@link #getTargetAndroidDecompiler()}.
 	 *
@@ -319,6 +468,29 @@ public DecompilerManagerConfig getServiceConfig() {
 		return config;
 	}
 
+	/**
+	 * Tracks completion of classes in a batch decompilation, passing results along to the batch's sink.
+	 */
+	private static class BatchProgress {
+		private final DecompileSink sink;
+		private final int total;
+		private int completed;
+
+		private BatchProgress(@Nonnull DecompileSink sink, int total) {
+			this.sink = sink;
+			this.total = total;
+		}
+
+		private synchronized void accept(@Nonnull JvmClassInfo classInfo, @Nonnull DecompileResult result) {
+			try {
+				sink.accept(classInfo, result);
+			} catch (Throwable t) {
+				logger.error("Decompile sink failed to accept result for class '{}'", classInfo.getName(), t);
+			}
+			sink.onProgress(++completed, total);
+		}
+	}
+
 	/**
 	 * JVM bytecode filter that applies multiple other filters:
 	 * <ol>
@@ -5,6 +5,9 @@
 import software.coley.recaf.services.decompile.filter.JvmBytecodeFilter;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Outline for decompilers targeting {@link JvmClassInfo}.
  *
@@ -43,4 +46,24 @@ public interface JvmDecompiler extends Decompiler {
 	 */
 	@Nonnull
 	DecompileResult decompile(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo);
+
+	/**
+	 * Decompiles multiple classes. Implementations may share state between the classes, such as types loaded
+	 * from the workspace, which makes this faster than calling {@link #decompile(Workspace, JvmClassInfo)}
+	 * for each class.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 *
+	 * @return Decompilation results, in the same order as the given classes.
+	 */
+	@Nonnull
+	default List<DecompileResult> decompile(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes) {
+		List<DecompileResult> results = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes)
+			results.add(decompile(workspace, classInfo));
+		return results;
+	}
 }
@@ -0,0 +1,58 @@
+package software.coley.recaf.services.decompile.cfr;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.benf.cfr.reader.api.OutputSinkFactory;
+import org.benf.cfr.reader.api.SinkReturns;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cfr output sinker for analysis of multiple classes at once.
+ * Decompilations are recorded by the name of the class they belong to.
+ *
+ * @author Matt Coley
+ */
+public class BatchSinkFactoryImpl implements OutputSinkFactory {
+	private final Map<String, String> decompilations = new HashMap<>();
+
+	@Override
+	public List<SinkClass> getSupportedSinks(SinkType sinkType, Collection<SinkClass> collection) {
+		if (sinkType == SinkType.JAVA && collection.contains(SinkClass.DECOMPILED))
+			return Collections.singletonList(SinkClass.DECOMPILED);
+		return Collections.singletonList(SinkClass.STRING);
+	}
+
+	@Override
+	public <T> Sink<T> getSink(SinkType sinkType, SinkClass sinkClass) {
+		if (sinkType == SinkType.JAVA && sinkClass == SinkClass.DECOMPILED)
+			return t -> addDecompilation((SinkReturns.Decompiled) t);
+
+		// Failures are not recorded, classes without output are expected to be decompiled individually instead.
+		return t -> {
+		};
+	}
+
+	private void addDecompilation(@Nonnull SinkReturns.Decompiled decompiled) {
+		String packageName = decompiled.getPackageName();
+		String className = decompiled.getClassName();
+		String name = packageName == null || packageName.isEmpty() ?
+				className : packageName.replace('.', '/') + '/' + className;
+		decompilations.put(name, decompiled.getJava());
+	}
+
+	/**
+	 * @param name
+	 * 		Internal name of a class.
+	 *
+	 * @return Decompiled class content, or {@code null} if no output was recorded for the class.
+	 */
+	@Nullable
+	public String getDecompilation(@Nonnull String name) {
+		return decompilations.get(name);
+	}
+}
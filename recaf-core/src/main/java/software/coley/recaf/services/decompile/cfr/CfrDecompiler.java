@@ -6,6 +6,8 @@
 import org.benf.cfr.reader.api.CfrDriver;
 import org.benf.cfr.reader.util.CfrVersionInfo;
 import org.benf.cfr.reader.util.DecompilerComment;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.decompile.AbstractJvmDecompiler;
 import software.coley.recaf.services.decompile.DecompileResult;
@@ -13,7 +15,11 @@
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -24,6 +30,7 @@
 @ApplicationScoped
 public class CfrDecompiler extends AbstractJvmDecompiler {
 	public static final String NAME = "CFR";
+	private static final Logger logger = Logging.get(CfrDecompiler.class);
 	private final CfrConfig config;
 
 	/**
@@ -66,6 +73,41 @@ protected DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnu
 		return new DecompileResult(filter(decompile), configHash);
 	}
 
+	@Nonnull
+	@Override
+	protected List<DecompileResult> decompileInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes) {
+		// Analyse all the classes in one pass, so that classes referenced by multiple of them are only loaded once.
+		Map<String, byte[]> targets = new HashMap<>();
+		List<String> names = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes) {
+			targets.put(classInfo.getName(), classInfo.getBytecode());
+			names.add(classInfo.getName());
+		}
+		BatchSinkFactoryImpl sink = new BatchSinkFactoryImpl();
+		try {
+			CfrDriver driver = new CfrDriver.Builder()
+					.withClassFileSource(new ClassSource(workspace, targets))
+					.withOutputSink(sink)
+					.withOptions(config.toMap())
+					.build();
+			driver.analyse(names);
+		} catch (Throwable t) {
+			logger.debug("CFR failed analysing batch of {} classes, decompiling individually", classes.size(), t);
+		}
+
+		// Classes without output are decompiled individually, which yields more detailed failure information.
+		int configHash = getConfig().getHash();
+		List<DecompileResult> results = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes) {
+			String decompile = sink.getDecompilation(classInfo.getName());
+			if (decompile != null)
+				results.add(new DecompileResult(filter(decompile), configHash));
+			else
+				results.add(decompileInternal(workspace, classInfo));
+		}
+		return results;
+	}
+
 	@Nonnull
 	@Override
 	public CfrConfig getConfig() {
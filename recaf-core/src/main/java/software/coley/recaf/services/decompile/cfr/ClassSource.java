@@ -8,6 +8,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 /**
  * CFR class source. Provides access to workspace clases.
@@ -16,8 +17,7 @@
  */
 public class ClassSource implements ClassFileSource {
 	private final Workspace workspace;
-	private final String targetClassName;
-	private final byte[] targetClassBytecode;
+	private final Map<String, byte[]> targetClasses;
 
 	/**
 	 * Constructs a CFR class source.
@@ -31,9 +31,20 @@ public class ClassSource implements ClassFileSource {
 	 */
 	public ClassSource(@Nonnull Workspace workspace, @Nonnull String targetClassName,
 	                   @Nonnull byte[] targetClassBytecode) {
+		this(workspace, Map.of(targetClassName, targetClassBytecode));
+	}
+
+	/**
+	 * Constructs a CFR class source.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 * @param targetClasses
+	 * 		Map of class names to bytecode to override.
+	 */
+	public ClassSource(@Nonnull Workspace workspace, @Nonnull Map<String, byte[]> targetClasses) {
 		this.workspace = workspace;
-		this.targetClassName = targetClassName;
-		this.targetClassBytecode = targetClassBytecode;
+		this.targetClasses = targetClasses;
 	}
 
 	@Override
@@ -53,10 +64,8 @@ public String getPossiblyRenamedPath(String path) {
 	@Override
 	public Pair<byte[], String> getClassFileContent(String inputPath) {
 		String className = inputPath.substring(0, inputPath.indexOf(".class"));
-		byte[] code;
-		if (className.equals(targetClassName)) {
-			code = targetClassBytecode;
-		} else {
+		byte[] code = targetClasses.get(className);
+		if (code == null) {
 			ClassPathNode result = workspace.findClass(className);
 			code = result == null ? null : result.getValue().asJvmClass().getBytecode();
 		}
@@ -14,6 +14,10 @@
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Procyon decompiler implementation.
@@ -41,14 +45,40 @@ public ProcyonDecompiler(@Nonnull ProcyonConfig config) {
 	@Override
 	protected DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
 		String name = classInfo.getName();
-		byte[] bytecode = classInfo.getBytecode();
 		ITypeLoader loader = new CompositeTypeLoader(
-				new TargetedTypeLoader(name, bytecode),
+				new TargetedTypeLoader(Map.of(name, classInfo.getBytecode())),
 				new WorkspaceTypeLoader(workspace)
 		);
+		return decompile(name, loader, new MetadataSystem(loader));
+	}
+
+	@Nonnull
+	@Override
+	protected List<DecompileResult> decompileInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes) {
+		// Share the loaded type metadata across all the classes, so types referenced by multiple classes are only loaded once.
+		Map<String, byte[]> targets = new HashMap<>();
+		for (JvmClassInfo classInfo : classes)
+			targets.put(classInfo.getName(), classInfo.getBytecode());
+		ITypeLoader loader = new CompositeTypeLoader(
+				new TargetedTypeLoader(targets),
+				new WorkspaceTypeLoader(workspace)
+		);
+		MetadataSystem system = new MetadataSystem(loader);
+		List<DecompileResult> results = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes) {
+			try {
+				results.add(decompile(classInfo.getName(), loader, system));
+			} catch (Throwable t) {
+				results.add(new DecompileResult(t, getConfig().getHash()));
+			}
+		}
+		return results;
+	}
+
+	@Nonnull
+	private DecompileResult decompile(@Nonnull String name, @Nonnull ITypeLoader loader, @Nonnull MetadataSystem system) {
 		DecompilerSettings settings = config.toSettings();
 		settings.setTypeLoader(loader);
-		MetadataSystem system = new MetadataSystem(loader);
 		TypeReference ref = system.lookupType(name);
 		DecompilationOptions decompilationOptions = new DecompilationOptions();
 		decompilationOptions.setSettings(settings);
@@ -62,15 +92,15 @@ protected DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnu
 	}
 
 	/**
-	 * Type loader to load a single class file.
+	 * Type loader to load the class files being decompiled.
 	 * Used as the first loader within a {@link CompositeTypeLoader} such that it overrides any
 	 * following type loader that could also procure the same class info.
 	 */
-	private record TargetedTypeLoader(String name, byte[] data) implements ITypeLoader {
+	private record TargetedTypeLoader(Map<String, byte[]> classes) implements ITypeLoader {
 		@Override
 		public boolean tryLoadType(String internalName, Buffer buffer) {
-			if (internalName.equals(name)) {
-				byte[] data = this.data;
+			byte[] data = classes.get(internalName);
+			if (data != null) {
 				buffer.position(0);
 				buffer.putByteArray(data, 0, data.length);
 				buffer.position(0);
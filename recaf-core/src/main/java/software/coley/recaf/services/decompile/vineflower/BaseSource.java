@@ -8,6 +8,7 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.Map;
 
 /**
  * Base Vineflower class/library source.
@@ -16,6 +17,7 @@
  */
 public abstract class BaseSource implements IContextSource {
 	protected final JvmClassInfo targetInfo;
+	protected final Map<String, JvmClassInfo> targetClasses;
 	protected final Workspace workspace;
 
 	/**
@@ -25,8 +27,22 @@ public abstract class BaseSource implements IContextSource {
 	 * 		Target class to decompile.
 	 */
 	protected BaseSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targetInfo) {
+		this(workspace, targetInfo, Map.of(targetInfo.getName(), targetInfo));
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull class files from.
+	 * @param targetInfo
+	 * 		Target class to decompile.
+	 * @param targetClasses
+	 * 		Map of class names to classes to provide instead of the workspace's classes.
+	 */
+	protected BaseSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targetInfo,
+	                     @Nonnull Map<String, JvmClassInfo> targetClasses) {
 		this.workspace = workspace;
 		this.targetInfo = targetInfo;
+		this.targetClasses = targetClasses;
 	}
 
 	@Override
@@ -37,8 +53,9 @@ public String getName() {
 	@Override
 	public InputStream getInputStream(String resource) {
 		String name = resource.substring(0, resource.length() - IContextSource.CLASS_SUFFIX.length());
-		if (name.equals(targetInfo.getName()))
-			return new ByteArrayInputStream(targetInfo.getBytecode());
+		JvmClassInfo target = targetClasses.get(name);
+		if (target != null)
+			return new ByteArrayInputStream(target.getBytecode());
 
 		ClassPathNode node = workspace.findClass(name);
 		if (node == null) return null; // VF wants missing data to be null here, not an IOException or empty stream.
@@ -9,6 +9,7 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Single class source for Vineflower.
@@ -30,6 +31,20 @@ protected ClassSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo target
 		sink = new DecompiledOutputSink(targetInfo);
 	}
 
+	/**
+	 * @param workspace
+	 * 		Workspace to pull class files from.
+	 * @param targetInfo
+	 * 		Target class to decompile.
+	 * @param targetClasses
+	 * 		Map of class names to classes to provide instead of the workspace's classes.
+	 */
+	protected ClassSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targetInfo,
+	                      @Nonnull Map<String, JvmClassInfo> targetClasses) {
+		super(workspace, targetInfo, targetClasses);
+		sink = new DecompiledOutputSink(targetInfo);
+	}
+
 	/**
 	 * @return Output which holds the decompilation result after the decompilation task completes.
 	 */
@@ -7,6 +7,7 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +27,17 @@ protected LibrarySource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targ
 		super(workspace, targetInfo);
 	}
 
+	/**
+	 * @param workspace
+	 * 		Workspace to pull class files from.
+	 * @param targetClasses
+	 * 		Map of class names to target classes to decompile. These are provided instead of the workspace's classes,
+	 * 		so that any changes made to the targets before decompilation are seen when they reference each other.
+	 */
+	protected LibrarySource(@Nonnull Workspace workspace, @Nonnull Map<String, JvmClassInfo> targetClasses) {
+		super(workspace, targetClasses.values().iterator().next(), targetClasses);
+	}
+
 	@Override
 	public Entries getEntries() {
 		List<Entry> entries = workspace.getAllResources(false).stream()
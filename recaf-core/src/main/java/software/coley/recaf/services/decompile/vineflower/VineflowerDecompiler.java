@@ -11,6 +11,12 @@
 import software.coley.recaf.services.decompile.DecompileResult;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Vineflower decompiler implementation.
  *
@@ -59,4 +65,41 @@ public DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnull
 			return new DecompileResult(e, config.getHash());
 		}
 	}
+
+	@Nonnull
+	@Override
+	protected List<DecompileResult> decompileInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes) {
+		if (classes.isEmpty())
+			return Collections.emptyList();
+
+		// Decompile all the classes in one context, so that the workspace library is only provided once.
+		// All sources provide the filtered classes of the chunk, rather than the unfiltered classes of the workspace.
+		List<ClassSource> sources = new ArrayList<>(classes.size());
+		Map<String, JvmClassInfo> targetClasses = new HashMap<>(classes.size());
+		for (JvmClassInfo info : classes)
+			targetClasses.put(info.getName(), info);
+		try {
+			Fernflower fernflower = new Fernflower(dummySaver, config.getFernflowerProperties(), logger);
+			for (JvmClassInfo info : classes) {
+				ClassSource source = new ClassSource(workspace, info, targetClasses);
+				sources.add(source);
+				fernflower.addSource(source);
+			}
+			fernflower.addLibrary(new LibrarySource(workspace, targetClasses));
+			fernflower.decompileContext();
+		} catch (Exception e) {
+			return super.decompileInternal(workspace, classes);
+		}
+
+		// Classes without output are decompiled individually, which yields more detailed failure information.
+		List<DecompileResult> results = new ArrayList<>(classes.size());
+		for (int i = 0; i < classes.size(); i++) {
+			String decompiled = sources.get(i).getSink().getDecompiledOutput().get();
+			if (decompiled == null || decompiled.isEmpty())
+				results.add(decompileInternal(workspace, classes.get(i)));
+			else
+				results.add(new DecompileResult(decompiled, config.getHash()));
+		}
+		return results;
+	}
 }
@@ -105,6 +105,11 @@ public boolean prune(@Nonnull ClassNode node, @Nonnull MethodNode method) throws
 		return dirty;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
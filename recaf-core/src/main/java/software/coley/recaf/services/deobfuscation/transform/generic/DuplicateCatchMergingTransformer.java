@@ -133,6 +133,11 @@ private static boolean hasExternalFlowIntoCatchBlock(@Nonnull MethodNode method,
 		return hasInboundFlowReferences(method, block);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -124,6 +124,11 @@ private static void handleEnumConst(@Nonnull JvmTransformerContext context,
 		}
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
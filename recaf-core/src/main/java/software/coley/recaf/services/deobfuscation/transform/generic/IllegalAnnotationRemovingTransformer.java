@@ -38,6 +38,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 		}
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -37,6 +37,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 		}
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
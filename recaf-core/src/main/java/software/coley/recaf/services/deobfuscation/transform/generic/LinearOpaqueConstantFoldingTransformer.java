@@ -317,6 +317,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 			context.setNode(bundle, initialClassState, node);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
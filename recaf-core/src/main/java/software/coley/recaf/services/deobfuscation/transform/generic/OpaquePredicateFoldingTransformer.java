@@ -336,6 +336,11 @@ public Set<Class<? extends ClassTransformer>> dependencies() {
 		return Collections.singleton(DeadCodeRemovingTransformer.class);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -35,13 +35,13 @@
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.objectweb.asm.Opcodes.*;
 
@@ -59,7 +59,7 @@ public class RedundantTryCatchRemovingTransformer implements JvmClassTransformer
 	private static final String EX_IMSE = "java/lang/IllegalMonitorStateException";
 	private static final String EX_CCE = "java/lang/ClassCastException";
 	private static final String EX_AE = "java/lang/ArithmeticException";
-	private final Map<String, Handling> doesHandleCache = new HashMap<>();
+	private final Map<String, Handling> doesHandleCache = new ConcurrentHashMap<>();
 	private final InheritanceGraphService graphService;
 	private final WorkspaceManager workspaceManager;
 	private InheritanceGraph inheritanceGraph;
@@ -504,6 +504,11 @@ public Set<Class<? extends ClassTransformer>> dependencies() {
 		return Collections.singleton(DeadCodeRemovingTransformer.class);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -32,6 +32,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A transformer that collects values of {@code static final} field assignments.
@@ -42,6 +43,7 @@
 public class StaticValueCollectionTransformer implements JvmClassTransformer {
 	private final Map<String, StaticValues> classValues = new ConcurrentHashMap<>();
 	private final Map<String, EffectivelyFinalFields> classFinals = new ConcurrentHashMap<>();
+	private final AtomicLong valuesVersion = new AtomicLong();
 	private final InheritanceGraphService graphService;
 	private final WorkspaceManager workspaceManager;
 	private InheritanceGraph inheritanceGraph;
@@ -70,6 +72,15 @@ public ReValue getStaticValue(@Nonnull String className, @Nonnull String fieldNa
 		return values.get(fieldName, fieldDesc);
 	}
 
+	/**
+	 * @return Version of the recorded values, which changes whenever values are recorded.
+	 * Results computed with {@link #getStaticValue(String, String, String) looked up values} are outdated
+	 * once the version changes.
+	 */
+	public long getValuesVersion() {
+		return valuesVersion.get();
+	}
+
 	@Override
 	public void setup(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace) {
 		inheritanceGraph = workspace == workspaceManager.getCurrent() ?
@@ -191,8 +202,10 @@ else if (field.hasPrivateModifier())
 		}
 
 		// Record the values for the target class if we recorded at least one value
-		if (!valuesContainer.staticFieldValues.isEmpty())
+		if (!valuesContainer.staticFieldValues.isEmpty()) {
 			classValues.put(className, valuesContainer);
+			valuesVersion.incrementAndGet();
+		}
 	}
 
 	@Nonnull
@@ -214,6 +214,11 @@ else if (isFlowControl(insn)) {
 			context.setNode(bundle, initialClassState, node);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -10,12 +10,19 @@
 import software.coley.recaf.config.BasicConfigContainer;
 import software.coley.recaf.config.ConfigContainer;
 import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.info.properties.builtin.InputFilePathProperty;
 import software.coley.recaf.launch.LaunchCommand;
 import software.coley.recaf.util.ExcludeFromJacocoGeneratedReport;
+import software.coley.recaf.util.HashUtil;
 import software.coley.recaf.util.IOUtil;
 import software.coley.recaf.util.PlatformType;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.resource.WorkspaceDirectoryResource;
+import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -37,6 +44,7 @@ public class RecafDirectoriesConfig extends BasicConfigContainer implements Conf
 	private final Path styleDirectory = resolveDirectory("style");
 	private final Path scriptsDirectory = resolveDirectory("scripts");
 	private final Path tempDirectory = resolveDirectory("temp");
+	private final Path cacheDirectory = resolveDirectory("cache");
 	private Path currentLog;
 
 	@Inject
@@ -150,6 +158,48 @@ public Path getTempDirectory() {
 		return tempDirectory;
 	}
 
+	/**
+	 * @return Directory where cached data is stored. Unlike the {@link #getTempDirectory() temp directory}
+	 * this is not cleared between sessions.
+	 */
+	@Nonnull
+	public Path getCacheDirectory() {
+		return cacheDirectory;
+	}
+
+	/**
+	 * Cached data of a workspace is keyed by the input location of its primary resource, which is consistent
+	 * across sessions. Contents of the cached data should be validated against the current workspace contents,
+	 * as the input may have changed since the data was cached.
+	 *
+	 * @param workspace
+	 * 		Workspace to get the cache location of.
+	 * @param category
+	 * 		Name of the kind of cached data.
+	 * @param extension
+	 * 		File extension of the cached data.
+	 *
+	 * @return Path to the cached data of the given kind for the workspace,
+	 * or {@code null} if the primary resource does not have an input location to key the data by.
+	 */
+	@Nullable
+	public Path getWorkspaceCachePath(@Nonnull Workspace workspace, @Nonnull String category, @Nonnull String extension) {
+		String input;
+		WorkspaceResource resource = workspace.getPrimaryResource();
+		if (resource instanceof WorkspaceFileResource fileResource) {
+			Path path = InputFilePathProperty.get(fileResource.getFileInfo());
+			if (path == null)
+				return null;
+			input = path.toAbsolutePath().toString();
+		} else if (resource instanceof WorkspaceDirectoryResource directoryResource) {
+			input = directoryResource.getDirectoryPath().toAbsolutePath().toString();
+		} else {
+			return null;
+		}
+		String key = Long.toHexString(HashUtil.hash64(input.getBytes(StandardCharsets.UTF_8)));
+		return cacheDirectory.resolve(category).resolve(key + '.' + extension);
+	}
+
 	@Nonnull
 	private Path resolveDirectory(@Nonnull String dir) {
 		Path path = baseDirectory.resolve(dir);
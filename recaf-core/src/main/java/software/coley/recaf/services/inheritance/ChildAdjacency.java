@@ -0,0 +1,232 @@
+package software.coley.recaf.services.inheritance;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+
+/**
+ * Parent to child lookup of class IDs <i>(See {@link ClassNameIds})</i>, stored as compact {@code int[]} lists.
+ * <br>
+ * Children are appended without duplicate checks, which keeps insertion constant time even for parents with
+ * very large numbers of children such as {@code java/lang/Object}. Each list is sorted and de-duplicated lazily
+ * on the next read.
+ *
+ * @author Matt Coley
+ */
+class ChildAdjacency {
+	private static final int[] EMPTY = new int[0];
+	private volatile ChildList[] lists = new ChildList[1024];
+
+	/**
+	 * @param parent
+	 * 		Parent class ID.
+	 *
+	 * @return Sorted IDs of direct children of the parent.
+	 */
+	@Nonnull
+	int[] getChildren(int parent) {
+		ChildList[] lists = this.lists;
+		if (parent < 0 || parent >= lists.length)
+			return EMPTY;
+		ChildList list = lists[parent];
+		return list == null ? EMPTY : list.snapshot();
+	}
+
+	/**
+	 * @param parent
+	 * 		Parent class ID.
+	 * @param child
+	 * 		Child class ID to add.
+	 */
+	void add(int parent, int child) {
+		list(parent).add(child);
+	}
+
+	/**
+	 * @param parent
+	 * 		Parent class ID.
+	 * @param children
+	 * 		Array holding child class IDs to add.
+	 * @param from
+	 * 		Inclusive start offset in the array.
+	 * @param to
+	 * 		Exclusive end offset in the array.
+	 */
+	void addAll(int parent, @Nonnull int[] children, int from, int to) {
+		list(parent).addAll(children, from, to);
+	}
+
+	/**
+	 * @param parent
+	 * 		Parent class ID.
+	 * @param child
+	 * 		Child class ID to remove.
+	 */
+	void remove(int parent, int child) {
+		ChildList[] lists = this.lists;
+		if (parent >= 0 && parent < lists.length && lists[parent] != null)
+			lists[parent].remove(child);
+	}
+
+	/**
+	 * @param parent
+	 * 		Parent class ID to remove all children of.
+	 */
+	void removeAll(int parent) {
+		ChildList[] lists = this.lists;
+		if (parent >= 0 && parent < lists.length && lists[parent] != null)
+			lists[parent].clear();
+	}
+
+	@Nonnull
+	private ChildList list(int parent) {
+		ChildList[] lists = this.lists;
+		ChildList list = parent < lists.length ? lists[parent] : null;
+		if (list != null)
+			return list;
+		synchronized (this) {
+			lists = this.lists;
+			if (parent >= lists.length)
+				lists = Arrays.copyOf(lists, Math.max(lists.length * 2, parent + 1));
+			list = lists[parent];
+			if (list == null) {
+				list = new ChildList();
+				lists[parent] = list;
+			}
+			this.lists = lists;
+			return list;
+		}
+	}
+
+	/**
+	 * Buffer of parent to child edges, collected locally before being added to an adjacency in bulk.
+	 * This reduces contention on parents shared by many classes when edges are collected across multiple threads.
+	 */
+	static class EdgeBuffer {
+		private long[] edges = new long[256];
+		private int size;
+
+		/**
+		 * @param parent
+		 * 		Parent class ID.
+		 * @param child
+		 * 		Child class ID.
+		 */
+		void add(int parent, int child) {
+			if (size == edges.length)
+				edges = Arrays.copyOf(edges, size * 2);
+			edges[size++] = ((long) parent << 32) | (child & 0xFFFFFFFFL);
+		}
+
+		/**
+		 * @param consumer
+		 * 		Consumer of each recorded edge.
+		 */
+		void forEach(@Nonnull EdgeConsumer consumer) {
+			for (int i = 0; i < size; i++) {
+				long edge = edges[i];
+				consumer.accept((int) (edge >>> 32), (int) edge);
+			}
+		}
+
+		/**
+		 * Adds all recorded edges to the given adjacency, grouped by parent.
+		 *
+		 * @param adjacency
+		 * 		Adjacency to add edges to.
+		 */
+		void flushTo(@Nonnull ChildAdjacency adjacency) {
+			// Sorting groups the edges by parent, so each parent only needs to be updated once.
+			Arrays.sort(edges, 0, size);
+			int[] children = new int[size];
+			int start = 0;
+			while (start < size) {
+				int parent = (int) (edges[start] >>> 32);
+				int end = start;
+				while (end < size && (int) (edges[end] >>> 32) == parent) {
+					children[end] = (int) edges[end];
+					end++;
+				}
+				adjacency.addAll(parent, children, start, end);
+				start = end;
+			}
+			size = 0;
+		}
+	}
+
+	/**
+	 * Consumer of parent to child edges.
+	 */
+	interface EdgeConsumer {
+		/**
+		 * @param parent
+		 * 		Parent class ID.
+		 * @param child
+		 * 		Child class ID.
+		 */
+		void accept(int parent, int child);
+	}
+
+	/**
+	 * List of child IDs for a single parent.
+	 * <br>
+	 * Lists may be read from the adjacency without synchronization, so all fields rely on their
+	 * default values as the initial state rather than on constructor assignments.
+	 */
+	private static class ChildList {
+		private int[] values;
+		private int size;
+		private boolean dirty;
+
+		private synchronized void add(int child) {
+			ensureCapacity(size + 1);
+			values[size++] = child;
+			dirty = true;
+		}
+
+		private synchronized void addAll(@Nonnull int[] children, int from, int to) {
+			int count = to - from;
+			ensureCapacity(size + count);
+			System.arraycopy(children, from, values, size, count);
+			size += count;
+			dirty = true;
+		}
+
+		private synchronized void remove(int child) {
+			int kept = 0;
+			for (int i = 0; i < size; i++)
+				if (values[i] != child)
+					values[kept++] = values[i];
+			size = kept;
+		}
+
+		private synchronized void clear() {
+			values = null;
+			size = 0;
+			dirty = false;
+		}
+
+		@Nonnull
+		private synchronized int[] snapshot() {
+			if (size == 0)
+				return EMPTY;
+			if (dirty) {
+				Arrays.sort(values, 0, size);
+				int unique = 1;
+				for (int i = 1; i < size; i++)
+					if (values[unique - 1] != values[i])
+						values[unique++] = values[i];
+				size = unique;
+				dirty = false;
+			}
+			return Arrays.copyOf(values, size);
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (values == null)
+				values = new int[Math.max(capacity, 4)];
+			else if (capacity > values.length)
+				values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+		}
+	}
+}
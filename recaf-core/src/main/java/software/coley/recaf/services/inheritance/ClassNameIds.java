@@ -0,0 +1,79 @@
+package software.coley.recaf.services.inheritance;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning table mapping class names to compact integer IDs, allowing graph structures to be stored as primitives.
+ * IDs are assigned sequentially and are never re-used.
+ *
+ * @author Matt Coley
+ */
+class ClassNameIds {
+	private static final int INITIAL_CAPACITY = 1024;
+	private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private volatile String[] names = new String[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 *
+	 * @return ID of the class name, assigning a new one if the name has not yet been seen.
+	 */
+	int intern(@Nonnull String name) {
+		Integer id = ids.get(name);
+		if (id != null)
+			return id;
+		synchronized (this) {
+			id = ids.get(name);
+			if (id != null)
+				return id;
+
+			// The name must be visible in the array before the ID is published in the map,
+			// so that any reader which finds the ID can also resolve it back to the name.
+			int newId = size++;
+			String[] array = names;
+			if (newId >= array.length)
+				array = Arrays.copyOf(array, array.length * 2);
+			array[newId] = name;
+			names = array;
+			ids.put(name, newId);
+			return newId;
+		}
+	}
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 *
+	 * @return ID of the class name, or {@code -1} if the name has not been interned.
+	 */
+	int get(@Nonnull String name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @param id
+	 * 		ID of a class name, previously yielded by {@link #intern(String)}.
+	 *
+	 * @return Class name of the ID.
+	 */
+	@Nonnull
+	String name(int id) {
+		return names[id];
+	}
+
+	/**
+	 * Removes all interned names.
+	 */
+	synchronized void clear() {
+		ids.clear();
+		names = new String[INITIAL_CAPACITY];
+		size = 0;
+	}
+}
@@ -11,6 +11,7 @@
 import software.coley.recaf.services.mapping.MappingApplicationListener;
 import software.coley.recaf.services.mapping.MappingResults;
 import software.coley.recaf.services.workspace.WorkspaceCloseListener;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
@@ -19,16 +20,22 @@
 import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.SequencedSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,10 +49,20 @@ public class InheritanceGraph implements WorkspaceModificationListener, Workspac
 	/** Vertex used for classes that are not found in the workspace. */
 	private static final InheritanceVertex STUB = new InheritanceStubVertex();
 	private static final String OBJECT = "java/lang/Object";
-	private final Map<String, Set<String>> parentToChild;
+	private static final ExecutorService BUILD_POOL = ThreadPoolFactory.newWorkStealingPool("inheritance-graph");
+	private static final int BUILD_CHUNK_SIZE = 256;
+	private static final int MAX_CACHED_QUERIES = 100_000;
+	private static final long NO_KEY = -1L;
+	private final ClassNameIds ids = new ClassNameIds();
 	private final Map<String, InheritanceVertex> vertices;
 	private final Set<String> stubs = ConcurrentHashMap.newKeySet();
+	private final Map<Integer, Set<InheritanceVertex>> familyCache = new ConcurrentHashMap<>();
+	private final Map<Long, Boolean> assignableCache = new ConcurrentHashMap<>();
+	private final Map<Long, String> commonCache = new ConcurrentHashMap<>();
+	/** Incremented whenever the query caches are cleared, so results computed before then are not recorded. */
+	private final AtomicLong queryGeneration = new AtomicLong();
 	private final Workspace workspace;
+	private volatile ChildAdjacency parentToChild = new ChildAdjacency();
 
 	/**
 	 * Create an inheritance graph.
@@ -60,7 +77,6 @@ public InheritanceGraph(@Nonnull Workspace workspace) {
 		int classesInWorkspace = workspace.allResourcesStream(false /* dont count internal resource classes */)
 				.mapToInt(res -> res.classBundleStreamRecursive().mapToInt(Map::size).sum())
 				.sum() + 1;
-		parentToChild = new ConcurrentHashMap<>(classesInWorkspace);
 		vertices = new ConcurrentHashMap<>(classesInWorkspace);
 
 		// Add listeners to primary resource so when classes update we keep our graph up to date.
@@ -74,86 +90,130 @@ public InheritanceGraph(@Nonnull Workspace workspace) {
 
 	/**
 	 * Refresh parent-to-child lookup.
+	 * <br>
+	 * The lookup is rebuilt in parallel into a new adjacency, which replaces the current one once complete.
 	 */
 	private void refreshChildLookup() {
-		// Clear
-		parentToChild.clear();
-
-		// Repopulate
+		List<ClassInfo> classes = new ArrayList<>();
 		workspace.findClasses(false, cls -> {
-			populateParentToChildLookup(cls);
+			classes.add(cls);
 			return false;
 		});
-	}
 
-	/**
-	 * Populate a references from the given child class to the parent class.
-	 *
-	 * @param name
-	 * 		Child class name.
-	 * @param parentName
-	 * 		Parent class name.
-	 */
-	private void populateParentToChildLookup(@Nonnull String name, @Nonnull String parentName) {
-		parentToChild.computeIfAbsent(parentName, k -> ConcurrentHashMap.newKeySet()).add(name);
+		// Each class only needs to have its parents walked once across all tasks.
+		ChildAdjacency adjacency = new ChildAdjacency();
+		Set<String> visitedParents = ConcurrentHashMap.newKeySet();
+		int classCount = classes.size();
+		if (classCount <= BUILD_CHUNK_SIZE) {
+			ChildAdjacency.EdgeBuffer edges = new ChildAdjacency.EdgeBuffer();
+			for (ClassInfo cls : classes)
+				collectParentToChildEdges(cls, visitedParents, edges);
+			edges.flushTo(adjacency);
+		} else {
+			List<Future<?>> futures = new ArrayList<>(classCount / BUILD_CHUNK_SIZE + 1);
+			for (int start = 0; start < classCount; start += BUILD_CHUNK_SIZE) {
+				List<ClassInfo> chunk = classes.subList(start, Math.min(classCount, start + BUILD_CHUNK_SIZE));
+				futures.add(BUILD_POOL.submit(() -> {
+					ChildAdjacency.EdgeBuffer edges = new ChildAdjacency.EdgeBuffer();
+					for (ClassInfo cls : chunk)
+						collectParentToChildEdges(cls, visitedParents, edges);
+					edges.flushTo(adjacency);
+				}));
+			}
+			try {
+				for (Future<?> future : futures)
+					future.get();
+			} catch (InterruptedException ex) {
+				futures.forEach(f -> f.cancel(true));
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while building inheritance graph", ex);
+			} catch (ExecutionException ex) {
+				futures.forEach(f -> f.cancel(true));
+				if (ex.getCause() instanceof RuntimeException re) throw re;
+				throw new IllegalStateException("Failed building inheritance graph", ex.getCause());
+			}
+		}
 
-		// Clear any cached relationships in the vertex and the parent vertex.
-		InheritanceVertex parentVertex = getVertex(parentName);
-		InheritanceVertex childVertex = getVertex(name);
-		if (parentVertex != null) parentVertex.clearCachedVertices();
-		if (childVertex != null) childVertex.clearCachedVertices();
+		// Swap in the new lookup, and clear any relationships cached against the prior one.
+		parentToChild = adjacency;
+		vertices.values().forEach(InheritanceVertex::clearCachedVertices);
+		clearQueryCaches();
 	}
 
 	/**
-	 * Populate all references from the given child class to its parents.
+	 * Collect all references from the given child class to its parents.
 	 *
 	 * @param info
 	 * 		Child class.
+	 * @param visitedParents
+	 * 		Names of parent classes already visited in population.
+	 * @param edges
+	 * 		Buffer to add references to.
 	 */
-	private void populateParentToChildLookup(@Nonnull ClassInfo info) {
-		populateParentToChildLookup(info, Collections.newSetFromMap(new IdentityHashMap<>()));
-	}
-
-	/**
-	 * Populate all references from the given child class to its parents.
-	 *
-	 * @param info
-	 * 		Child class.
-	 * @param visited
-	 * 		Classes already visited in population.
-	 */
-	private void populateParentToChildLookup(@Nonnull ClassInfo info, @Nonnull Set<ClassInfo> visited) {
-		// Skip if already visited
-		if (!visited.add(info))
-			return;
-
+	private void collectParentToChildEdges(@Nonnull ClassInfo info, @Nonnull Set<String> visitedParents,
+	                                       @Nonnull ChildAdjacency.EdgeBuffer edges) {
 		// Skip module classes
 		if (info.hasModuleModifier())
 			return;
 
 		// Add direct parent
 		String name = info.getName();
+		int id = ids.intern(name);
 		String superName = info.getSuperName();
 		if (superName != null) {
-			populateParentToChildLookup(name, superName);
+			edges.add(ids.intern(superName), id);
 
 			// Visit parent
 			InheritanceVertex superVertex = getVertex(superName);
-			if (superVertex != null && !superVertex.isJavaLangObject() && !superVertex.isLoop())
-				populateParentToChildLookup(superVertex.getValue(), visited);
+			if (superVertex != null && !superVertex.isJavaLangObject() && !superVertex.isLoop()
+					&& visitedParents.add(superName))
+				collectParentToChildEdges(superVertex.getValue(), visitedParents, edges);
 		}
 
 		// Add direct interfaces
 		for (String itf : info.getInterfaces()) {
-			populateParentToChildLookup(name, itf);
+			edges.add(ids.intern(itf), id);
 
 			// Visit interfaces
 			InheritanceVertex interfaceVertex = getVertex(itf);
-			if (interfaceVertex != null)
-				populateParentToChildLookup(interfaceVertex.getValue(), visited);
+			if (interfaceVertex != null && visitedParents.add(itf))
+				collectParentToChildEdges(interfaceVertex.getValue(), visitedParents, edges);
 		}
 	}
 
+	/**
+	 * Populate a references from the given child class to the parent class.
+	 *
+	 * @param name
+	 * 		Child class name.
+	 * @param parentName
+	 * 		Parent class name.
+	 */
+	private void populateParentToChildLookup(@Nonnull String name, @Nonnull String parentName) {
+		parentToChild.add(ids.intern(parentName), ids.intern(name));
+
+		// Clear any cached relationships in the vertex and the parent vertex.
+		clearCachedVertices(parentName, name);
+	}
+
+	/**
+	 * Populate all references from the given child class to its parents.
+	 *
+	 * @param info
+	 * 		Child class.
+	 */
+	private void populateParentToChildLookup(@Nonnull ClassInfo info) {
+		// The class may have been looked up before it was added, in which case it would be recorded as a stub.
+		stubs.remove(info.getName());
+
+		ChildAdjacency.EdgeBuffer edges = new ChildAdjacency.EdgeBuffer();
+		collectParentToChildEdges(info, new HashSet<>(), edges);
+
+		// Clear any cached relationships in the vertices of each reference.
+		edges.forEach((parent, child) -> clearCachedVertices(ids.name(parent), ids.name(child)));
+		edges.flushTo(parentToChild);
+	}
+
 	/**
 	 * Remove all references from the given child class to its parents.
 	 *
@@ -177,15 +237,40 @@ private void removeParentToChildLookup(@Nonnull ClassInfo info) {
 	 * 		Parent class name.
 	 */
 	private void removeParentToChildLookup(@Nonnull String name, @Nonnull String parentName) {
-		Set<String> children = parentToChild.get(parentName);
-		if (children != null)
-			children.remove(name);
+		int parentId = ids.get(parentName);
+		int childId = ids.get(name);
+		if (parentId >= 0 && childId >= 0)
+			parentToChild.remove(parentId, childId);
 
 		// Clear any cached relationships in the vertex and the parent vertex.
+		clearCachedVertices(parentName, name);
+	}
+
+	/**
+	 * Clears cached relationships of the vertices of a parent and child class, along with cached graph queries.
+	 *
+	 * @param parentName
+	 * 		Parent class name.
+	 * @param name
+	 * 		Child class name.
+	 */
+	private void clearCachedVertices(@Nonnull String parentName, @Nonnull String name) {
 		InheritanceVertex parentVertex = getVertex(parentName);
 		InheritanceVertex childVertex = getVertex(name);
 		if (parentVertex != null) parentVertex.clearCachedVertices();
 		if (childVertex != null) childVertex.clearCachedVertices();
+		clearQueryCaches();
+	}
+
+	/**
+	 * Clears cached results of {@link #getVertexFamily(String, boolean)},
+	 * {@link #isAssignableFrom(String, String)}, and {@link #getCommon(String, String)}.
+	 */
+	private void clearQueryCaches() {
+		queryGeneration.incrementAndGet();
+		familyCache.clear();
+		assignableCache.clear();
+		commonCache.clear();
 	}
 
 	/**
@@ -199,6 +284,7 @@ private void removeClass(@Nonnull ClassInfo cls) {
 
 		String name = cls.getName();
 		vertices.remove(name);
+		clearQueryCaches();
 	}
 
 	/**
@@ -208,8 +294,15 @@ private void removeClass(@Nonnull ClassInfo cls) {
 	 * @return Direct extensions/implementations of the given parent.
 	 */
 	@Nonnull
-	private Set<String> getDirectChildren(@Nonnull String parent) {
-		return parentToChild.getOrDefault(parent, Collections.emptySet());
+	private Collection<String> getDirectChildren(@Nonnull String parent) {
+		int parentId = ids.get(parent);
+		if (parentId < 0)
+			return Collections.emptyList();
+		int[] childIds = parentToChild.getChildren(parentId);
+		List<String> children = new ArrayList<>(childIds.length);
+		for (int childId : childIds)
+			children.add(ids.name(childId));
+		return children;
 	}
 
 	/**
@@ -230,8 +323,9 @@ public InheritanceVertex getVertex(@Nonnull String name) {
 				stubs.add(name);
 			} else {
 				// Provider yielded a valid vertex. Update the return value and record it in the map.
-				vertices.put(name, provided);
-				vertex = provided;
+				// If another thread recorded a vertex for the class first, use that one instead.
+				InheritanceVertex existing = vertices.putIfAbsent(name, provided);
+				vertex = existing == null ? provided : existing;
 			}
 		}
 		return vertex;
@@ -252,7 +346,20 @@ public Set<InheritanceVertex> getVertexFamily(@Nonnull String name, boolean incl
 			return Collections.emptySet();
 		if (vertex.isModule())
 			return Collections.singleton(vertex);
-		return vertex.getFamily(includeObject);
+
+		// Names without an ID are not cached, so that lookups of arbitrary names do not grow the ID table.
+		int id = ids.get(name);
+		if (id < 0)
+			return Collections.unmodifiableSet(vertex.getFamily(includeObject));
+
+		int key = (id << 1) | (includeObject ? 1 : 0);
+		Set<InheritanceVertex> family = familyCache.get(key);
+		if (family == null) {
+			long generation = queryGeneration.get();
+			family = Collections.unmodifiableSet(vertex.getFamily(includeObject));
+			cacheQuery(familyCache, generation, key, family);
+		}
+		return family;
 	}
 
 	/**
@@ -271,11 +378,20 @@ public boolean isAssignableFrom(@Nonnull String first, @Nonnull String second) {
 		if (OBJECT.equals(first))
 			return true;
 
+		long key = pairKey(first, second);
+		Boolean cached = key == NO_KEY ? null : assignableCache.get(key);
+		if (cached != null)
+			return cached;
+
+		long generation = queryGeneration.get();
+
 		// Lookup vertex for the child type, and see if any parent contains the supposed super/interface type.
 		InheritanceVertex secondVertex = getVertex(second);
-		if (secondVertex == null)
-			return false;
-		return secondVertex.allParents().anyMatch(v -> v.getName().equals(first));
+		boolean assignable = secondVertex != null &&
+				secondVertex.allParents().anyMatch(v -> v.getName().equals(first));
+		if (key != NO_KEY)
+			cacheQuery(assignableCache, generation, key, assignable);
+		return assignable;
 	}
 
 	/**
@@ -288,9 +404,35 @@ public boolean isAssignableFrom(@Nonnull String first, @Nonnull String second) {
 	 */
 	@Nonnull
 	public String getCommon(@Nonnull String first, @Nonnull String second) {
+		if (OBJECT.equals(first) || OBJECT.equals(second))
+			return OBJECT;
+
+		long key = pairKey(first, second);
+		if (key == NO_KEY)
+			return computeCommon(first, second);
+
+		String common = commonCache.get(key);
+		if (common == null) {
+			long generation = queryGeneration.get();
+			common = computeCommon(first, second);
+			cacheQuery(commonCache, generation, key, common);
+		}
+		return common;
+	}
+
+	/**
+	 * @param first
+	 * 		First class name.
+	 * @param second
+	 * 		Second class name.
+	 *
+	 * @return Common parent of the classes.
+	 */
+	@Nonnull
+	private String computeCommon(@Nonnull String first, @Nonnull String second) {
 		// Full upwards hierarchy for the first
 		InheritanceVertex vertex = getVertex(first);
-		if (vertex == null || OBJECT.equals(first) || OBJECT.equals(second))
+		if (vertex == null)
 			return OBJECT;
 
 		SequencedSet<String> firstParents = vertex.allParents()
@@ -334,6 +476,53 @@ public String getCommon(@Nonnull String first, @Nonnull String second) {
 		return OBJECT;
 	}
 
+	/**
+	 * @param first
+	 * 		First class name.
+	 * @param second
+	 * 		Second class name.
+	 *
+	 * @return Key of the ordered pair of names, for use in query caches.
+	 * {@link #NO_KEY} when either name has no ID, in which case the query should not be cached.
+	 */
+	private long pairKey(@Nonnull String first, @Nonnull String second) {
+		// Only existing IDs are used, so that lookups of arbitrary names do not grow the ID table.
+		int firstId = ids.get(first);
+		int secondId = ids.get(second);
+		if (firstId < 0 || secondId < 0)
+			return NO_KEY;
+		return ((long) firstId << 32) | secondId;
+	}
+
+	/**
+	 * Records a query result. If the cache has grown too large it is cleared first to keep memory usage bounded.
+	 * Results computed before the query caches were last {@link #clearQueryCaches() cleared} are not recorded.
+	 *
+	 * @param cache
+	 * 		Cache to record the result in.
+	 * @param generation
+	 * 		Value of {@link #queryGeneration} from before the result was computed.
+	 * @param key
+	 * 		Query key.
+	 * @param value
+	 * 		Query result.
+	 * @param <K>
+	 * 		Key type.
+	 * @param <V>
+	 * 		Result type.
+	 */
+	private <K, V> void cacheQuery(@Nonnull Map<K, V> cache, long generation, @Nonnull K key, @Nonnull V value) {
+		if (queryGeneration.get() != generation)
+			return;
+		if (cache.size() >= MAX_CACHED_QUERIES)
+			cache.clear();
+		cache.put(key, value);
+
+		// The caches may have been cleared between the check and the put.
+		if (queryGeneration.get() != generation)
+			cache.remove(key, value);
+	}
+
 	/**
 	 * When {@link #STUB} is the return of this method, the class was not found.
 	 * <br>
@@ -397,6 +586,7 @@ private void onUpdateClassImpl(@Nonnull ClassInfo oldValue, @Nonnull ClassInfo n
 		InheritanceVertex vertex = getVertex(name);
 		if (vertex != null)
 			vertex.setValue(newValue);
+		clearQueryCaches();
 	}
 
 
@@ -442,9 +632,11 @@ public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceReso
 
 	@Override
 	public void onWorkspaceClosed(@Nonnull Workspace workspace) {
-		parentToChild.clear();
+		parentToChild = new ChildAdjacency();
 		vertices.clear();
 		stubs.clear();
+		ids.clear();
+		clearQueryCaches();
 	}
 
 	@Override
@@ -461,7 +653,7 @@ public void onPostApply(@Nonnull MappingResults mappingResults) {
 			InheritanceVertex vertex = createVertex(name);
 			if (vertex == STUB) {
 				vertices.remove(name);
-				parentToChild.remove(name);
+				parentToChild.removeAll(ids.intern(name));
 			}
 		});
 
@@ -472,7 +664,7 @@ public void onPostApply(@Nonnull MappingResults mappingResults) {
 			stubs.remove(name);
 
 			// Refresh the parent-->children mapping.
-			parentToChild.remove(name);
+			parentToChild.removeAll(ids.intern(name));
 			ClassInfo postPath = path.getValue();
 			populateParentToChildLookup(postPath);
 
@@ -480,6 +672,7 @@ public void onPostApply(@Nonnull MappingResults mappingResults) {
 			InheritanceVertex vertex = vertices.get(name);
 			if (vertex != null) vertex.clearCachedVertices();
 		});
+		clearQueryCaches();
 	}
 
 	private static class InheritanceStubVertex extends InheritanceVertex {
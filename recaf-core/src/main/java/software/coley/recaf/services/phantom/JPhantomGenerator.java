@@ -1,5 +1,7 @@
 package software.coley.recaf.services.phantom;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -23,6 +25,7 @@
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.builder.JvmClassInfoBuilder;
 import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.util.ContentKey;
 import software.coley.recaf.util.ReflectUtil;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
@@ -45,12 +48,20 @@
 public class JPhantomGenerator implements PhantomGenerator {
 	public static final String SERVICE_ID = "jphantom-generator";
 	private static final Logger logger = Logging.get(JPhantomGenerator.class);
+	private static final Object GENERATION_LOCK = new Object();
+	private final Cache<InputKey, Map<String, byte[]>> generatedCache = CacheBuilder.newBuilder()
+			.maximumSize(32)
+			.build();
 	private final JPhantomGeneratorConfig config;
 
 	@Inject
 	public JPhantomGenerator(@Nonnull JPhantomGeneratorConfig config, @Nonnull WorkspaceManager workspaceManager) {
 		this.config = config;
 
+		// Generated phantoms are cached by the content of the classes they were generated from.
+		// Once a workspace is closed, the classes it held are unlikely to be seen again.
+		workspaceManager.addWorkspaceCloseListener(workspace -> generatedCache.invalidateAll());
+
 		// When new workspaces are opened, generate & append the generated phantoms if the config is enabled.
 		workspaceManager.addWorkspaceOpenListener(workspace -> {
 			if (!config.getGenerateWorkspacePhantoms().getValue())
@@ -82,7 +93,7 @@ public GeneratedPhantomWorkspaceResource createPhantomsForWorkspace(@Nonnull Wor
 
 		// Generate phantoms for them and wrap into resource
 		try {
-			Map<String, byte[]> generated = generate(workspace, classMap);
+			Map<String, byte[]> generated = filter(workspace, generateCached(classMap));
 			return wrap(generated);
 		} catch (IOException ex) {
 			throw new PhantomGenerationException(ex, "JPhantom encountered a problem");
@@ -99,7 +110,7 @@ public GeneratedPhantomWorkspaceResource createPhantomsForClasses(@Nonnull Works
 
 		// Generate phantoms for them and wrap into resource
 		try {
-			Map<String, byte[]> generated = generate(workspace, classMap);
+			Map<String, byte[]> generated = filter(workspace, generateCached(classMap));
 			return wrap(generated);
 		} catch (IOException ex) {
 			throw new PhantomGenerationException(ex, "JPhantom encountered a problem");
@@ -125,6 +136,31 @@ public static GeneratedPhantomWorkspaceResource wrap(@Nonnull Map<String, byte[]
 				.withJvmClassBundle(bundle));
 	}
 
+	/**
+	 * @param inputMap
+	 * 		Input map of classes to create phantoms for.
+	 *
+	 * @return Map of phantom classes, including those which may exist in the workspace.
+	 * Results are shared with prior calls given classes of the same content.
+	 *
+	 * @throws IOException
+	 * 		When {@link JPhantom#run()} fails.
+	 */
+	@Nonnull
+	private Map<String, byte[]> generateCached(@Nonnull Map<String, JvmClassInfo> inputMap) throws IOException {
+		Map<String, ContentKey> classContents = new HashMap<>(inputMap.size());
+		inputMap.forEach((name, info) -> classContents.put(name, new ContentKey(info.getBytecode())));
+		InputKey key = new InputKey(classContents);
+		Map<String, byte[]> generated = generatedCache.getIfPresent(key);
+		if (generated == null) {
+			generated = Collections.unmodifiableMap(generateUnfiltered(inputMap));
+			generatedCache.put(key, generated);
+		} else {
+			logger.debug("Reusing {} previously generated phantoms for {} classes", generated.size(), inputMap.size());
+		}
+		return generated;
+	}
+
 	/**
 	 * @param workspace
 	 * 		Workspace to check for class existence within.
@@ -139,6 +175,41 @@ public static GeneratedPhantomWorkspaceResource wrap(@Nonnull Map<String, byte[]
 	@Nonnull
 	public static Map<String, byte[]> generate(@Nonnull Workspace workspace,
 	                                           @Nonnull Map<String, JvmClassInfo> inputMap) throws IOException {
+		return filter(workspace, generateUnfiltered(inputMap));
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to check for class existence within.
+	 * @param generated
+	 * 		Map of phantom classes.
+	 *
+	 * @return Map of phantom classes, excluding those which exist in the workspace.
+	 */
+	@Nonnull
+	private static Map<String, byte[]> filter(@Nonnull Workspace workspace, @Nonnull Map<String, byte[]> generated) {
+		// Only put items not found in the workspace.
+		// We may call the generator on a small scope, and thus create phantoms of classes that
+		// exist in the workspace, but were not in the provided scope.
+		Map<String, byte[]> out = new HashMap<>();
+		generated.forEach((name, phantom) -> {
+			if (workspace.findJvmClass(name) == null)
+				out.put(name, phantom);
+		});
+		return out;
+	}
+
+	/**
+	 * @param inputMap
+	 * 		Input map of classes to create phantoms for.
+	 *
+	 * @return Map of phantom classes, including those which may exist in the workspace.
+	 *
+	 * @throws IOException
+	 * 		When {@link JPhantom#run()} fails.
+	 */
+	@Nonnull
+	private static Map<String, byte[]> generateUnfiltered(@Nonnull Map<String, JvmClassInfo> inputMap) throws IOException {
 		Map<String, byte[]> out = new HashMap<>();
 
 		// Write the parameter passed classes to a temp jar
@@ -152,48 +223,44 @@ public static Map<String, byte[]> generate(@Nonnull Workspace workspace,
 			nodes.put(Type.getObjectType(node.name), node);
 		});
 
-		// Read into JPhantom
-		Options.V().setSoftFail(true);
-		Options.V().setJavaVersion(8);
-		ClassHierarchy hierarchy = createHierarchy(classMap);
-		ClassMembers members = createMembers(classMap, hierarchy);
-		classMap.forEach((name, raw) -> {
-			if (name.contains("$"))
-				return;
+		// JPhantom tracks its state in global singletons, so only one generation task can run at a time.
+		synchronized (GENERATION_LOCK) {
+			// Read into JPhantom
+			Options.V().setSoftFail(true);
+			Options.V().setJavaVersion(8);
+			ClassHierarchy hierarchy = createHierarchy(classMap);
+			ClassMembers members = createMembers(classMap, hierarchy);
+			classMap.forEach((name, raw) -> {
+				if (name.contains("$"))
+					return;
+				try {
+					ClassReader cr = new ClassReader(raw);
+					cr.accept(new ClassPhantomExtractor(hierarchy, members), 0);
+				} catch (Throwable t) {
+					logger.debug("Phantom extraction failed: {}", name, t);
+				}
+			});
+
+			// Remove duplicate constraints for faster analysis
+			Set<String> existingConstraints = new HashSet<>();
+			ClassAccessStateMachine.v().getConstraints().removeIf(c -> !existingConstraints.add(c.toString()));
+
+			// Execute and populate the current resource with generated classes
 			try {
-				ClassReader cr = new ClassReader(raw);
-				cr.accept(new ClassPhantomExtractor(hierarchy, members), 0);
+				JPhantom phantom = new JPhantom(nodes, hierarchy, members);
+				phantom.run();
+				phantom.getGenerated().forEach((k, v) -> out.put(k.getInternalName(), decorate(v)));
+				logger.debug("Phantom analysis complete, generated {} classes", out.size());
 			} catch (Throwable t) {
-				logger.debug("Phantom extraction failed: {}", name, t);
+				logger.error("Phantom analysis encountered an exception.", t);
+			} finally {
+				// Cleanup
+				Phantoms.refresh();
+				Phantoms.V().getLookupTable().clear();
+				ClassAccessStateMachine.refresh();
+				FieldAccessStateMachine.refresh();
+				MethodAccessStateMachine.refresh();
 			}
-		});
-
-		// Remove duplicate constraints for faster analysis
-		Set<String> existingConstraints = new HashSet<>();
-		ClassAccessStateMachine.v().getConstraints().removeIf(c -> !existingConstraints.add(c.toString()));
-
-		// Execute and populate the current resource with generated classes
-		try {
-			JPhantom phantom = new JPhantom(nodes, hierarchy, members);
-			phantom.run();
-			phantom.getGenerated().forEach((k, v) -> {
-				// Only put items not found in the workspace.
-				// We may call the generator on a small scope, and thus create phantoms of classes that
-				// exist in the workspace, but were not in the provided scope.
-				String name = k.getInternalName();
-				if (workspace.findJvmClass(name) == null)
-					out.put(name, decorate(v));
-			});
-			logger.debug("Phantom analysis complete, generated {} classes", out.size());
-		} catch (Throwable t) {
-			logger.error("Phantom analysis encountered an exception.", t);
-		} finally {
-			// Cleanup
-			Phantoms.refresh();
-			Phantoms.V().getLookupTable().clear();
-			ClassAccessStateMachine.refresh();
-			FieldAccessStateMachine.refresh();
-			MethodAccessStateMachine.refresh();
 		}
 		return out;
 	}
@@ -286,6 +353,15 @@ public void visitEnd() {
 		return writer.toByteArray();
 	}
 
+	/**
+	 * Key of inputs to phantom generation.
+	 *
+	 * @param classContents
+	 * 		Map of input class names to their bytecode.
+	 */
+	private record InputKey(@Nonnull Map<String, ContentKey> classContents) {
+	}
+
 	@Nonnull
 	@Override
 	public String getServiceId() {
@@ -6,7 +6,7 @@
  * @author Matt Coley
  */
 public class CancellableSearchFeedback implements SearchFeedback {
-	private boolean canceled;
+	private volatile boolean canceled;
 
 	/**
 	 * Mark search as cancelled.
@@ -0,0 +1,109 @@
+package software.coley.recaf.services.search;
+
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.function.Consumer;
+
+/**
+ * Schedules search visitation on a work-stealing pool which is shared across searches.
+ * Items are grouped into chunks so that large bundles do not create one task per item.
+ *
+ * @author Matt Coley
+ */
+class SearchScheduler {
+	private static final Logger logger = Logging.get(SearchScheduler.class);
+	private static final int MIN_CHUNK_SIZE = 16;
+	private static final int MAX_CHUNK_SIZE = 512;
+	private static final int CHUNKS_PER_THREAD = 4;
+	private final int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+	private final ExecutorService pool;
+
+	/**
+	 * @param name
+	 * 		Name of the pool.
+	 */
+	SearchScheduler(@Nonnull String name) {
+		pool = ThreadPoolFactory.newWorkStealingPool(name);
+	}
+
+	/**
+	 * @param feedback
+	 * 		Feedback of the search, used to skip chunks once cancellation is requested.
+	 *
+	 * @return New batch of work for a single search.
+	 */
+	@Nonnull
+	Batch newBatch(@Nonnull SearchFeedback feedback) {
+		return new Batch(feedback);
+	}
+
+	/**
+	 * Stops the shared pool.
+	 */
+	void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * @param itemCount
+	 * 		Number of items to split up.
+	 *
+	 * @return Number of items to put in each chunk, so that the work can be spread over the pool's threads.
+	 */
+	private int chunkSize(int itemCount) {
+		int size = itemCount / (parallelism * CHUNKS_PER_THREAD);
+		return Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size));
+	}
+
+	/**
+	 * Group of chunks scheduled for a single search.
+	 */
+	class Batch {
+		private final Phaser phaser = new Phaser(1);
+		private final SearchFeedback feedback;
+
+		private Batch(@Nonnull SearchFeedback feedback) {
+			this.feedback = feedback;
+		}
+
+		/**
+		 * @param items
+		 * 		Items to split into chunks.
+		 * @param chunkAction
+		 * 		Action to run on each chunk.
+		 * @param <T>
+		 * 		Item type.
+		 */
+		<T> void schedule(@Nonnull List<T> items, @Nonnull Consumer<List<T>> chunkAction) {
+			int itemCount = items.size();
+			int chunkSize = chunkSize(itemCount);
+			for (int start = 0; start < itemCount; start += chunkSize) {
+				List<T> chunk = items.subList(start, Math.min(itemCount, start + chunkSize));
+				phaser.register();
+				pool.execute(() -> {
+					try {
+						if (!feedback.hasRequestedCancellation())
+							chunkAction.accept(chunk);
+					} catch (Throwable t) {
+						logger.error("Search chunk failed", t);
+					} finally {
+						phaser.arriveAndDeregister();
+					}
+				});
+			}
+		}
+
+		/**
+		 * Blocks until all scheduled chunks have completed.
+		 */
+		void await() {
+			phaser.arriveAndAwaitAdvance();
+		}
+	}
+}
@@ -2,25 +2,42 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.path.*;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
+import software.coley.recaf.services.search.index.SearchIndex;
 import software.coley.recaf.services.search.query.*;
 import software.coley.recaf.services.search.result.*;
-import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.services.workspace.WorkspaceCloseListener;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.util.TestEnvironment;
 import software.coley.recaf.util.threading.ThreadUtil;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.FileBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Outline for running various searches.
@@ -33,11 +50,56 @@
 @ApplicationScoped
 public class SearchService implements Service {
 	public static final String SERVICE_ID = "search";
+	private static final Logger logger = Logging.get(SearchService.class);
+	private static final long BUFFER_WAIT_MS = 10;
 	private final SearchServiceConfig config;
+	private final WorkspaceManager workspaceManager;
+	private final RecafDirectoriesConfig directoriesConfig;
+	private final SearchScheduler scheduler = new SearchScheduler(SERVICE_ID);
+	private SearchIndex currentWorkspaceIndex;
 
 	@Inject
-	public SearchService(SearchServiceConfig config) {
+	public SearchService(@Nonnull SearchServiceConfig config,
+	                     @Nonnull WorkspaceManager workspaceManager,
+	                     @Nonnull RecafDirectoriesConfig directoriesConfig) {
 		this.config = config;
+		this.workspaceManager = workspaceManager;
+		this.directoriesConfig = directoriesConfig;
+
+		workspaceManager.addWorkspaceCloseListener(new ListenerHost());
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to get the search index of.
+	 *
+	 * @return Search index of the workspace, or {@code null} if the workspace is not the
+	 * {@link WorkspaceManager#getCurrent() current workspace} or indexing is disabled.
+	 */
+	@Nullable
+	public synchronized SearchIndex getSearchIndex(@Nonnull Workspace workspace) {
+		if (!config.getUseIndex().hasValue() || workspaceManager.getCurrent() != workspace)
+			return null;
+
+		if (currentWorkspaceIndex != null && currentWorkspaceIndex.getWorkspace() != workspace)
+			closeIndex();
+		if (currentWorkspaceIndex == null) {
+			SearchIndex index = new SearchIndex(workspace);
+			workspace.addWorkspaceModificationListener(index);
+
+			// Restore recorded values from the last time this workspace input was opened.
+			Path indexPath = getIndexPath(workspace);
+			if (indexPath != null && Files.exists(indexPath)) {
+				try {
+					index.read(indexPath);
+				} catch (Throwable t) {
+					logger.warn("Failed to read search index, it will be rebuilt", t);
+				}
+			}
+			currentWorkspaceIndex = index;
+		}
+
+		return currentWorkspaceIndex;
 	}
 
 	/**
@@ -94,7 +156,96 @@ public Results search(@Nonnull Workspace workspace, @Nonnull List<Query> queries
 	@Nonnull
 	public Results search(@Nonnull Workspace workspace, @Nonnull List<Query> queries, @Nonnull SearchFeedback feedback) {
 		Results results = new Results();
+		visit(workspace, queries, feedback, getResultSink(results, feedback));
+		return results;
+	}
+
+	/**
+	 * Runs a search, passing results to the given consumer as they are found instead of collecting them.
+	 * <br>
+	 * The consumer is called on the calling thread, which blocks until the search completes.
+	 * At most {@link SearchServiceConfig#getMaxBufferedResults()} results are held at a time.
+	 * When this limit is reached, search threads wait for the consumer to catch up.
+	 * To stop a search early, request cancellation through the given feedback.
+	 *
+	 * @param workspace
+	 * 		Workspace to search in.
+	 * @param queries
+	 * 		Multiple queries of search parameters.
+	 * @param feedback
+	 * 		Search visitation feedback. Allows early cancellation of searches.
+	 * @param resultConsumer
+	 * 		Consumer to pass results to as they are found.
+	 */
+	public void search(@Nonnull Workspace workspace, @Nonnull List<Query> queries, @Nonnull SearchFeedback feedback,
+	                   @Nonnull Consumer<Result<?>> resultConsumer) {
+		// Search threads must stop once results are no longer drained, such as when the consumer throws.
+		CancellableSearchFeedback drainStopped = new CancellableSearchFeedback();
+		SearchFeedback searchFeedback = new SearchFeedback() {
+			@Override
+			public boolean hasRequestedCancellation() {
+				return drainStopped.hasRequestedCancellation() || feedback.hasRequestedCancellation();
+			}
+
+			@Override
+			public boolean doVisitClass(@Nonnull ClassInfo cls) {
+				return feedback.doVisitClass(cls);
+			}
 
+			@Override
+			public boolean doVisitFile(@Nonnull FileInfo file) {
+				return feedback.doVisitFile(file);
+			}
+
+			@Override
+			public boolean doAcceptResult(@Nonnull Result<?> result) {
+				return feedback.doAcceptResult(result);
+			}
+		};
+		BlockingQueue<Result<?>> queue = new ArrayBlockingQueue<>(Math.max(1, config.getMaxBufferedResults().getValue()));
+		ResultSink sink = (path, value) -> {
+			Result<?> result = createResult(path, value);
+			if (!feedback.doAcceptResult(result))
+				return;
+			try {
+				// Search threads are shared between searches. Waiting on a slow consumer is a managed block,
+				// so that the pool can add workers in the meantime and concurrent searches are not starved.
+				ForkJoinPool.managedBlock(new BufferedResultOffer(queue, result, searchFeedback));
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		CompletableFuture<?> visitFuture = ThreadUtil.run(() -> visit(workspace, queries, searchFeedback, sink));
+		try {
+			while (true) {
+				Result<?> result = queue.poll(BUFFER_WAIT_MS, TimeUnit.MILLISECONDS);
+				if (result != null) {
+					// Keep draining after cancellation so search threads waiting on the queue are not stuck.
+					if (!feedback.hasRequestedCancellation())
+						resultConsumer.accept(result);
+				} else if (visitFuture.isDone() && queue.isEmpty()) {
+					break;
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			drainStopped.cancel();
+		}
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to search in.
+	 * @param queries
+	 * 		Multiple queries of search parameters.
+	 * @param feedback
+	 * 		Search visitation feedback. Allows early cancellation of searches.
+	 * @param resultSink
+	 * 		Sink to feed found values into.
+	 */
+	private void visit(@Nonnull Workspace workspace, @Nonnull List<Query> queries, @Nonnull SearchFeedback feedback,
+	                   @Nonnull ResultSink resultSink) {
 		// Build visitors
 		AndroidClassSearchVisitor androidClassVisitorTemp = null;
 		JvmClassSearchVisitor jvmClassVisitorTemp = null;
@@ -111,50 +262,72 @@ public Results search(@Nonnull Workspace workspace, @Nonnull List<Query> queries
 		JvmClassSearchVisitor jvmClassVisitor = jvmClassVisitorTemp;
 		FileSearchVisitor fileVisitor = fileVisitorTemp;
 
-		// Run visitors on contents of workspace
-		ExecutorService service = ThreadPoolFactory.newFixedThreadPool(SERVICE_ID + ":" + queries.hashCode());
+		// Use the search index to skip classes that cannot yield results, when all class queries support it.
+		SearchIndex index = null;
+		List<IndexableQuery> indexableQueries = new ArrayList<>();
+		if (jvmClassVisitor != null) {
+			boolean allIndexable = true;
+			for (Query query : queries) {
+				if (query instanceof IndexableQuery indexableQuery)
+					indexableQueries.add(indexableQuery);
+				else if (query instanceof JvmClassQuery)
+					allIndexable = false;
+			}
+			if (allIndexable)
+				index = getSearchIndex(workspace);
+			if (index != null)
+				index.update();
+		}
+		SearchIndex jvmClassIndex = index;
+
+		// Run visitors on contents of workspace.
+		// Path nodes for individual items are only created by the worker visiting the item.
+		SearchScheduler.Batch batch = scheduler.newBatch(feedback);
 		WorkspacePathNode workspaceNode = PathNodes.workspacePath(workspace);
 		for (WorkspaceResource resource : workspace.getAllResources(false)) {
+			if (feedback.hasRequestedCancellation())
+				break;
 			ResourcePathNode resourceNode = workspaceNode.child(resource);
+
 			// Visit android content
 			if (androidClassVisitor != null) {
 				for (AndroidClassBundle bundle : resource.getAndroidClassBundles().values()) {
 					BundlePathNode bundleNode = resourceNode.child(bundle);
-					for (AndroidClassInfo classInfo : bundle) {
-						if (feedback.hasRequestedCancellation())
-							break;
-						if (!feedback.doVisitClass(classInfo))
-							continue;
-						ClassPathNode classPath = bundleNode
-								.child(classInfo.getPackageName())
-								.child(classInfo);
-						service.submit(() -> {
+					List<AndroidClassInfo> classes = new ArrayList<>(bundle.size());
+					for (AndroidClassInfo classInfo : bundle)
+						if (feedback.doVisitClass(classInfo))
+							classes.add(classInfo);
+					batch.schedule(classes, chunk -> {
+						DirectoryPathNode directoryNode = null;
+						for (AndroidClassInfo classInfo : chunk) {
 							if (feedback.hasRequestedCancellation())
 								return;
-							androidClassVisitor.visit(getResultSink(results, feedback), classPath, classInfo);
-						});
-					}
+							directoryNode = directoryNode(bundleNode, directoryNode, classInfo.getPackageName());
+							androidClassVisitor.visit(resultSink, directoryNode.child(classInfo), classInfo);
+						}
+					});
 				}
 			}
 
 			// Visit JVM content
 			if (jvmClassVisitor != null) {
 				resource.jvmClassBundleStream().forEach(bundle -> {
-					BundlePathNode bundlePathNode = resourceNode.child(bundle);
-					for (JvmClassInfo classInfo : bundle) {
-						if (feedback.hasRequestedCancellation())
-							break;
-						if (!feedback.doVisitClass(classInfo))
-							continue;
-						ClassPathNode classPath = bundlePathNode
-								.child(classInfo.getPackageName())
-								.child(classInfo);
-						service.submit(() -> {
+					BundlePathNode bundleNode = resourceNode.child(bundle);
+					Predicate<JvmClassInfo> indexFilter = jvmClassIndex == null ?
+							cls -> true : jvmClassIndex.newClassFilter(bundle, indexableQueries);
+					List<JvmClassInfo> classes = new ArrayList<>(bundle.size());
+					for (JvmClassInfo classInfo : bundle)
+						if (indexFilter.test(classInfo) && feedback.doVisitClass(classInfo))
+							classes.add(classInfo);
+					batch.schedule(classes, chunk -> {
+						DirectoryPathNode directoryNode = null;
+						for (JvmClassInfo classInfo : chunk) {
 							if (feedback.hasRequestedCancellation())
 								return;
-							jvmClassVisitor.visit(getResultSink(results, feedback), classPath, classInfo);
-						});
-					}
+							directoryNode = directoryNode(bundleNode, directoryNode, classInfo.getPackageName());
+							jvmClassVisitor.visit(resultSink, directoryNode.child(classInfo), classInfo);
+						}
+					});
 				});
 			}
 
@@ -162,25 +335,44 @@ public Results search(@Nonnull Workspace workspace, @Nonnull List<Query> queries
 			if (fileVisitor != null) {
 				FileBundle fileBundle = resource.getFileBundle();
 				BundlePathNode bundleNode = resourceNode.child(fileBundle);
-				for (FileInfo fileInfo : fileBundle) {
-					if (feedback.hasRequestedCancellation())
-						break;
-					if (!feedback.doVisitFile(fileInfo))
-						continue;
-					FilePathNode filePath = bundleNode
-							.child(fileInfo.getDirectoryName())
-							.child(fileInfo);
-					service.submit(() -> {
+				List<FileInfo> files = new ArrayList<>(fileBundle.size());
+				for (FileInfo fileInfo : fileBundle)
+					if (feedback.doVisitFile(fileInfo))
+						files.add(fileInfo);
+				batch.schedule(files, chunk -> {
+					DirectoryPathNode directoryNode = null;
+					for (FileInfo fileInfo : chunk) {
 						if (feedback.hasRequestedCancellation())
 							return;
-						fileVisitor.visit(getResultSink(results, feedback), filePath, fileInfo);
-					});
-				}
+						directoryNode = directoryNode(bundleNode, directoryNode, fileInfo.getDirectoryName());
+						fileVisitor.visit(resultSink, directoryNode.child(fileInfo), fileInfo);
+					}
+				});
 			}
 		}
 
-		ThreadUtil.blockUntilComplete(service);
-		return results;
+		batch.await();
+	}
+
+	/**
+	 * @param bundleNode
+	 * 		Path to bundle containing the directory.
+	 * @param previous
+	 * 		Directory path of the previous item visited in a chunk, if any.
+	 * @param directory
+	 * 		Directory name of the current item.
+	 *
+	 * @return Path to the directory, re-using the previous path when consecutive items share a directory.
+	 */
+	@Nonnull
+	private static DirectoryPathNode directoryNode(@Nonnull BundlePathNode bundleNode,
+	                                               @Nullable DirectoryPathNode previous,
+	                                               @Nullable String directory) {
+		if (directory == null)
+			directory = "";
+		if (previous != null && previous.getValue().equals(directory))
+			return previous;
+		return bundleNode.child(directory);
 	}
 
 	@Nonnull
@@ -207,6 +399,49 @@ private static Result<?> createResult(@Nonnull PathNode<?> path, @Nonnull Object
 		throw new UnsupportedOperationException("Unsupported search result value type: " + value.getClass().getName());
 	}
 
+	/**
+	 * Persists the current workspace's search index and stops search threads when shutdown is observed.
+	 */
+	@PreDestroy
+	private void onShutdown() {
+		closeIndex();
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Persists and closes the current workspace's search index, if one exists.
+	 */
+	private synchronized void closeIndex() {
+		SearchIndex index = currentWorkspaceIndex;
+		if (index == null)
+			return;
+		currentWorkspaceIndex = null;
+
+		Path indexPath = getIndexPath(index.getWorkspace());
+		if (indexPath != null) {
+			try {
+				index.write(indexPath);
+			} catch (Throwable t) {
+				logger.warn("Failed to save search index", t);
+			}
+		}
+		index.close();
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to get the index location of.
+	 *
+	 * @return Path to the persisted search index of the workspace, or {@code null} if the index should not be persisted.
+	 */
+	@Nullable
+	private Path getIndexPath(@Nonnull Workspace workspace) {
+		// Skip persistence in test environment
+		if (TestEnvironment.isTestEnv() || !config.getPersistIndex().hasValue())
+			return null;
+		return directoriesConfig.getWorkspaceCachePath(workspace, "search-index", "idx");
+	}
+
 	@Nonnull
 	@Override
 	public String getServiceId() {
@@ -218,4 +453,44 @@ public String getServiceId() {
 	public SearchServiceConfig getServiceConfig() {
 		return config;
 	}
+
+	/**
+	 * Offers a result to the bounded result queue, waiting for space unless the search gets cancelled.
+	 */
+	private static class BufferedResultOffer implements ForkJoinPool.ManagedBlocker {
+		private final BlockingQueue<Result<?>> queue;
+		private final Result<?> result;
+		private final SearchFeedback feedback;
+		private boolean done;
+
+		private BufferedResultOffer(@Nonnull BlockingQueue<Result<?>> queue, @Nonnull Result<?> result,
+		                            @Nonnull SearchFeedback feedback) {
+			this.queue = queue;
+			this.result = result;
+			this.feedback = feedback;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			while (!done && !queue.offer(result, BUFFER_WAIT_MS, TimeUnit.MILLISECONDS))
+				if (feedback.hasRequestedCancellation())
+					break;
+			done = true;
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			if (!done && (queue.offer(result) || feedback.hasRequestedCancellation()))
+				done = true;
+			return done;
+		}
+	}
+
+	private class ListenerHost implements WorkspaceCloseListener {
+		@Override
+		public void onWorkspaceClosed(@Nonnull Workspace workspace) {
+			closeIndex();
+		}
+	}
 }
@@ -1,10 +1,15 @@
 package software.coley.recaf.services.search;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
+import software.coley.observables.ObservableInteger;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
+import software.coley.recaf.services.search.index.SearchIndex;
 
 /**
  * Config for {@link SearchService}.
@@ -13,8 +18,43 @@
  */
 @ApplicationScoped
 public class SearchServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean useIndex = new ObservableBoolean(true);
+	private final ObservableBoolean persistIndex = new ObservableBoolean(true);
+	private final ObservableInteger maxBufferedResults = new ObservableInteger(4096);
+
 	@Inject
 	public SearchServiceConfig() {
 		super(ConfigGroups.SERVICE_ANALYSIS, SearchService.SERVICE_ID + CONFIG_SUFFIX);
+		// Add values
+		addValue(new BasicConfigValue<>("use-index", boolean.class, useIndex));
+		addValue(new BasicConfigValue<>("persist-index", boolean.class, persistIndex));
+		addValue(new BasicConfigValue<>("max-buffered-results", int.class, maxBufferedResults));
+	}
+
+	/**
+	 * @return {@code true} to maintain a {@link SearchIndex} for the current workspace,
+	 * allowing searches to skip classes which cannot contain results.
+	 */
+	@Nonnull
+	public ObservableBoolean getUseIndex() {
+		return useIndex;
+	}
+
+	/**
+	 * @return {@code true} to save the {@link SearchIndex} of the current workspace to disk when it is closed,
+	 * and restore it when the same input is opened again.
+	 */
+	@Nonnull
+	public ObservableBoolean getPersistIndex() {
+		return persistIndex;
+	}
+
+	/**
+	 * @return Number of results to hold at a time in streaming searches before search threads wait for the
+	 * result consumer to catch up.
+	 */
+	@Nonnull
+	public ObservableInteger getMaxBufferedResults() {
+		return maxBufferedResults;
 	}
 }
@@ -0,0 +1,499 @@
+package software.coley.recaf.services.search.index;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.path.PathNodes;
+import software.coley.recaf.services.search.JvmClassSearchVisitor;
+import software.coley.recaf.services.search.match.NumberPredicate;
+import software.coley.recaf.services.search.match.StringPredicate;
+import software.coley.recaf.services.search.query.IndexableQuery;
+import software.coley.recaf.services.search.query.NumberQuery;
+import software.coley.recaf.services.search.query.ReferenceQuery;
+import software.coley.recaf.services.search.query.StringQuery;
+import software.coley.recaf.services.search.result.ClassReferenceResult;
+import software.coley.recaf.services.search.result.MemberReferenceResult;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index of the values in JVM classes of a workspace. Each recorded value
+ * <i>(strings, numbers, class references and member references)</i> maps to the names of classes containing it.
+ * <br>
+ * Queries implementing {@link IndexableQuery} can use the index to skip visiting classes that cannot
+ * possibly yield a result. Classes that are changed are invalidated through {@link ResourceJvmClassListener}
+ * callbacks and re-indexed on the next {@link #update()}.
+ * <br>
+ * Recorded values are also keyed by a SHA-256 digest of the class bytecode, which allows the index
+ * to be {@link #write(Path) persisted} and {@link #read(Path) restored} between sessions without the values of
+ * one class being restored for another. Only the digest is kept, so indexed classes with lazily loaded
+ * bytecode are not kept in memory by the index.
+ * <br>
+ * Queries which can {@link IndexableQuery#getIndexedValueKeys() list the values they match} are looked up directly.
+ * Other queries, such as partial or pattern matches, test each distinct recorded value of a bundle once.
+ *
+ * @author Matt Coley
+ */
+public class SearchIndex implements WorkspaceModificationListener, ResourceJvmClassListener {
+	private static final Logger logger = Logging.get(SearchIndex.class);
+	private static final int MAGIC = 0x52534958;
+	private static final int VERSION = 2;
+	private static final int UPDATE_CHUNK_SIZE = 64;
+	private static final byte TYPE_STRING = 0;
+	private static final byte TYPE_INT = 1;
+	private static final byte TYPE_LONG = 2;
+	private static final byte TYPE_FLOAT = 3;
+	private static final byte TYPE_DOUBLE = 4;
+	private static final byte TYPE_SHORT = 5;
+	private static final byte TYPE_BYTE = 6;
+	private static final byte TYPE_CLASS_REF = 7;
+	private static final byte TYPE_MEMBER_REF = 8;
+	private static final int DIGEST_LENGTH = 32;
+	/** Visitor which yields all values that any {@link IndexableQuery} could match against. */
+	private static final JvmClassSearchVisitor COLLECTOR;
+	/** Pool shared by all indices, as updates are only run before searches. */
+	private static final ExecutorService UPDATE_POOL = ThreadPoolFactory.newWorkStealingPool("search-index");
+	private final Map<JvmClassBundle, BundleIndex> bundleIndices = Collections.synchronizedMap(new IdentityHashMap<>());
+	private final Map<HashCode, Object[]> contentCache = new ConcurrentHashMap<>();
+	private final Map<HashCode, Object[]> restoredCache = new ConcurrentHashMap<>();
+	private final Workspace workspace;
+
+	static {
+		StringPredicate anyString = new StringPredicate("any", s -> true);
+		NumberPredicate anyNumber = new NumberPredicate("any", n -> true);
+		JvmClassSearchVisitor visitor = new NumberQuery(anyNumber).visitor((JvmClassSearchVisitor) null);
+		visitor = new StringQuery(anyString).visitor(visitor);
+		visitor = new ReferenceQuery(anyString).visitor(visitor);
+		visitor = new ReferenceQuery(null, null, null).visitor(visitor);
+		COLLECTOR = visitor;
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to index.
+	 */
+	public SearchIndex(@Nonnull Workspace workspace) {
+		this.workspace = workspace;
+		for (WorkspaceResource resource : workspace.getAllResources(false))
+			track(resource);
+	}
+
+	/**
+	 * @return Workspace the index is for.
+	 */
+	@Nonnull
+	public Workspace getWorkspace() {
+		return workspace;
+	}
+
+	/**
+	 * Indexes any classes in the workspace which are not yet indexed, or have changed since they were last indexed.
+	 */
+	public void update() {
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (WorkspaceResource resource : workspace.getAllResources(false)) {
+			resource.jvmClassBundleStream().forEach(bundle -> {
+				BundleIndex index = bundleIndices.get(bundle);
+				if (index == null)
+					return;
+				List<JvmClassInfo> outdated = new ArrayList<>();
+				for (JvmClassInfo classInfo : bundle)
+					if (!index.isCurrent(classInfo))
+						outdated.add(classInfo);
+				for (int i = 0; i < outdated.size(); i += UPDATE_CHUNK_SIZE) {
+					List<JvmClassInfo> chunk = outdated.subList(i, Math.min(i + UPDATE_CHUNK_SIZE, outdated.size()));
+					chunks.add(CompletableFuture.runAsync(() -> {
+						for (JvmClassInfo classInfo : chunk)
+							index.put(classInfo, collect(resource, bundle, classInfo));
+					}, UPDATE_POOL));
+				}
+			});
+		}
+		CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+	}
+
+	/**
+	 * @param bundle
+	 * 		Bundle to create a filter for.
+	 * @param queries
+	 * 		Queries to filter classes by.
+	 *
+	 * @return Filter which passes classes in the bundle that may yield results for any of the given queries.
+	 * Classes not yet indexed, or changed since they were indexed, are always passed.
+	 */
+	@Nonnull
+	public Predicate<JvmClassInfo> newClassFilter(@Nonnull JvmClassBundle bundle,
+	                                              @Nonnull Collection<IndexableQuery> queries) {
+		BundleIndex index = bundleIndices.get(bundle);
+		if (index == null)
+			return cls -> true;
+		Set<String> candidates = index.candidates(queries);
+		return cls -> candidates.contains(cls.getName()) || !index.isCurrent(cls);
+	}
+
+	/**
+	 * Restores previously recorded values from disk. Restored values are used by {@link #update()} for classes
+	 * that have the same content as when the values were recorded.
+	 *
+	 * @param path
+	 * 		Path to read the index from.
+	 *
+	 * @throws IOException
+	 * 		When the index could not be read.
+	 */
+	public void read(@Nonnull Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("Unsupported search index format: " + path);
+
+			int valueCount = in.readInt();
+			Object[] values = new Object[valueCount];
+			for (int i = 0; i < valueCount; i++)
+				values[i] = readValue(in);
+
+			int entryCount = in.readInt();
+			byte[] digest = new byte[DIGEST_LENGTH];
+			for (int i = 0; i < entryCount; i++) {
+				in.readFully(digest);
+				int classValueCount = in.readInt();
+				Object[] classValues = new Object[classValueCount];
+				for (int j = 0; j < classValueCount; j++)
+					classValues[j] = values[in.readInt()];
+				restoredCache.putIfAbsent(HashCode.fromBytes(digest), classValues);
+			}
+		}
+	}
+
+	/**
+	 * Persists the recorded values of all currently indexed classes to disk.
+	 *
+	 * @param path
+	 * 		Path to write the index to.
+	 *
+	 * @throws IOException
+	 * 		When the index could not be written.
+	 */
+	public void write(@Nonnull Path path) throws IOException {
+		// Collect the values of classes that are currently indexed, and assign each distinct value an ID.
+		Map<HashCode, Object[]> entries = new HashMap<>();
+		synchronized (bundleIndices) {
+			for (BundleIndex index : bundleIndices.values())
+				index.collectEntries(entries);
+		}
+		Map<Object, Integer> valueIds = new HashMap<>();
+		List<Object> values = new ArrayList<>();
+		entries.values().removeIf(classValues -> {
+			for (Object value : classValues)
+				if (getValueType(value) < 0)
+					return true;
+			for (Object value : classValues)
+				valueIds.computeIfAbsent(value, v -> {
+					values.add(v);
+					return values.size() - 1;
+				});
+			return false;
+		});
+
+		Path parent = path.getParent();
+		if (parent != null && !Files.isDirectory(parent))
+			Files.createDirectories(parent);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(values.size());
+			for (Object value : values)
+				writeValue(out, value);
+			out.writeInt(entries.size());
+			for (Map.Entry<HashCode, Object[]> entry : entries.entrySet()) {
+				Object[] classValues = entry.getValue();
+				out.write(entry.getKey().asBytes());
+				out.writeInt(classValues.length);
+				for (Object value : classValues)
+					out.writeInt(valueIds.get(value));
+			}
+		}
+	}
+
+	/**
+	 * Removes listeners registered by the index, and clears its contents.
+	 */
+	public void close() {
+		workspace.removeWorkspaceModificationListener(this);
+		for (WorkspaceResource resource : workspace.getAllResources(false))
+			resource.removeResourceJvmClassListener(this);
+		bundleIndices.clear();
+		contentCache.clear();
+		restoredCache.clear();
+	}
+
+	private void track(@Nonnull WorkspaceResource resource) {
+		resource.addResourceJvmClassListener(this);
+		resource.jvmClassBundleStream().forEach(bundle -> bundleIndices.put(bundle, new BundleIndex()));
+	}
+
+	private void untrack(@Nonnull WorkspaceResource resource) {
+		resource.removeResourceJvmClassListener(this);
+		resource.jvmClassBundleStream().forEach(bundleIndices::remove);
+	}
+
+	/**
+	 * @param resource
+	 * 		Resource containing the class.
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param classInfo
+	 * 		Class to collect values of.
+	 *
+	 * @return Index entry of the class.
+	 */
+	@Nonnull
+	private ClassEntry collect(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+	                           @Nonnull JvmClassInfo classInfo) {
+		HashCode key = digest(classInfo.getBytecode());
+		Object[] values = contentCache.get(key);
+		if (values == null && !restoredCache.isEmpty()) {
+			values = restoredCache.get(key);
+			if (values != null)
+				contentCache.put(key, values);
+		}
+		if (values == null) {
+			Set<Object> collected = new HashSet<>();
+			try {
+				ClassPathNode classPath = PathNodes.classPath(workspace, resource, bundle, classInfo);
+				COLLECTOR.visit((path, value) -> collected.add(value), classPath, classInfo);
+			} catch (Throwable t) {
+				// Classes which cannot be indexed will always be visited by searches.
+				logger.debug("Failed to index class '{}', it will always be searched", classInfo.getName(), t);
+				return new ClassEntry(classInfo, key, null);
+			}
+			values = collected.toArray();
+			contentCache.put(key, values);
+		}
+		return new ClassEntry(classInfo, key, values);
+	}
+
+	private void invalidate(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo classInfo) {
+		BundleIndex index = bundleIndices.get(bundle);
+		if (index != null) {
+			ClassEntry removed = index.remove(classInfo.getName());
+			if (removed != null)
+				contentCache.remove(removed.key());
+		}
+	}
+
+	@Override
+	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+	                       @Nonnull JvmClassInfo cls) {
+		invalidate(bundle, cls);
+	}
+
+	@Override
+	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+	                          @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+		invalidate(bundle, oldCls);
+	}
+
+	@Override
+	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+	                          @Nonnull JvmClassInfo cls) {
+		invalidate(bundle, cls);
+	}
+
+	@Override
+	public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		track(library);
+	}
+
+	@Override
+	public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		untrack(library);
+	}
+
+	@Nonnull
+	private static HashCode digest(@Nonnull byte[] bytecode) {
+		return Hashing.sha256().hashBytes(bytecode);
+	}
+
+	private static int getValueType(@Nonnull Object value) {
+		if (value instanceof String) return TYPE_STRING;
+		if (value instanceof Integer) return TYPE_INT;
+		if (value instanceof Long) return TYPE_LONG;
+		if (value instanceof Float) return TYPE_FLOAT;
+		if (value instanceof Double) return TYPE_DOUBLE;
+		if (value instanceof Short) return TYPE_SHORT;
+		if (value instanceof Byte) return TYPE_BYTE;
+		if (value instanceof ClassReferenceResult.ClassReference) return TYPE_CLASS_REF;
+		if (value instanceof MemberReferenceResult.MemberReference) return TYPE_MEMBER_REF;
+		return -1;
+	}
+
+	private static void writeValue(@Nonnull DataOutputStream out, @Nonnull Object value) throws IOException {
+		int type = getValueType(value);
+		out.writeByte(type);
+		switch (type) {
+			case TYPE_STRING -> out.writeUTF((String) value);
+			case TYPE_INT -> out.writeInt((Integer) value);
+			case TYPE_LONG -> out.writeLong((Long) value);
+			case TYPE_FLOAT -> out.writeFloat((Float) value);
+			case TYPE_DOUBLE -> out.writeDouble((Double) value);
+			case TYPE_SHORT -> out.writeShort((Short) value);
+			case TYPE_BYTE -> out.writeByte((Byte) value);
+			case TYPE_CLASS_REF -> out.writeUTF(((ClassReferenceResult.ClassReference) value).getName());
+			case TYPE_MEMBER_REF -> {
+				MemberReferenceResult.MemberReference ref = (MemberReferenceResult.MemberReference) value;
+				out.writeUTF(ref.getOwner());
+				out.writeUTF(ref.getName());
+				out.writeUTF(ref.getDesc());
+			}
+			default -> throw new IOException("Unsupported index value type: " + value.getClass().getName());
+		}
+	}
+
+	@Nonnull
+	private static Object readValue(@Nonnull DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		return switch (type) {
+			case TYPE_STRING -> in.readUTF();
+			case TYPE_INT -> in.readInt();
+			case TYPE_LONG -> in.readLong();
+			case TYPE_FLOAT -> in.readFloat();
+			case TYPE_DOUBLE -> in.readDouble();
+			case TYPE_SHORT -> in.readShort();
+			case TYPE_BYTE -> in.readByte();
+			case TYPE_CLASS_REF -> new ClassReferenceResult.ClassReference(in.readUTF());
+			case TYPE_MEMBER_REF -> new MemberReferenceResult.MemberReference(in.readUTF(), in.readUTF(), in.readUTF());
+			default -> throw new IOException("Unsupported index value type: " + type);
+		};
+	}
+
+	/**
+	 * Indexed state of a single class.
+	 *
+	 * @param info
+	 * 		Class instance that was indexed.
+	 * @param key
+	 * 		SHA-256 digest of the class bytecode.
+	 * @param values
+	 * 		Values found in the class, or {@code null} if the class could not be indexed.
+	 */
+	private record ClassEntry(@Nonnull JvmClassInfo info, @Nonnull HashCode key, @Nullable Object[] values) {}
+
+	/**
+	 * Posting lists for classes in a single bundle.
+	 */
+	private static class BundleIndex {
+		private final Map<String, ClassEntry> entries = new HashMap<>();
+		private final Map<Object, Set<String>> postings = new HashMap<>();
+		private final Set<String> unindexed = new HashSet<>();
+
+		private synchronized boolean isCurrent(@Nonnull JvmClassInfo classInfo) {
+			ClassEntry entry = entries.get(classInfo.getName());
+			return entry != null && entry.info() == classInfo;
+		}
+
+		private synchronized void put(@Nonnull JvmClassInfo classInfo, @Nonnull ClassEntry entry) {
+			String name = classInfo.getName();
+			remove(name);
+			entries.put(name, entry);
+			Object[] values = entry.values();
+			if (values == null) {
+				unindexed.add(name);
+			} else {
+				for (Object value : values)
+					postings.computeIfAbsent(value, v -> new HashSet<>()).add(name);
+			}
+		}
+
+		@Nullable
+		private synchronized ClassEntry remove(@Nonnull String name) {
+			ClassEntry entry = entries.remove(name);
+			if (entry == null)
+				return null;
+			unindexed.remove(name);
+			Object[] values = entry.values();
+			if (values != null) {
+				for (Object value : values) {
+					Set<String> names = postings.get(value);
+					if (names != null) {
+						names.remove(name);
+						if (names.isEmpty())
+							postings.remove(value);
+					}
+				}
+			}
+			return entry;
+		}
+
+		@Nonnull
+		private synchronized Set<String> candidates(@Nonnull Collection<IndexableQuery> queries) {
+			Set<String> candidates = new HashSet<>(unindexed);
+
+			// Queries listing the values they match are looked up directly.
+			List<IndexableQuery> unkeyedQueries = new ArrayList<>();
+			for (IndexableQuery query : queries) {
+				Collection<Object> keys = query.getIndexedValueKeys();
+				if (keys == null) {
+					unkeyedQueries.add(query);
+					continue;
+				}
+				for (Object key : keys) {
+					Set<String> names = postings.get(key);
+					if (names != null)
+						candidates.addAll(names);
+				}
+			}
+
+			// Remaining queries must be tested against each distinct value.
+			if (!unkeyedQueries.isEmpty()) {
+				for (Map.Entry<Object, Set<String>> posting : postings.entrySet()) {
+					Object value = posting.getKey();
+					for (IndexableQuery query : unkeyedQueries) {
+						if (query.isIndexedValueMatch(value)) {
+							candidates.addAll(posting.getValue());
+							break;
+						}
+					}
+				}
+			}
+			return candidates;
+		}
+
+		private synchronized void collectEntries(@Nonnull Map<HashCode, Object[]> sink) {
+			for (ClassEntry entry : entries.values()) {
+				Object[] values = entry.values();
+				if (values != null)
+					sink.put(entry.key(), values);
+			}
+		}
+	}
+}
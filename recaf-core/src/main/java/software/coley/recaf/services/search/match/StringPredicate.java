@@ -1,6 +1,7 @@
 package software.coley.recaf.services.search.match;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 import java.util.function.Predicate;
 
@@ -14,6 +15,7 @@ public class StringPredicate {
 	public static String TRANSLATION_PREFIX = "string.match.";
 	private final Predicate<String> delegate;
 	private final String id;
+	private final String exactMatch;
 
 	/**
 	 * @param id
@@ -22,8 +24,21 @@ public class StringPredicate {
 	 * 		Matcher predicate implementation.
 	 */
 	public StringPredicate(@Nonnull String id, @Nonnull Predicate<String> delegate) {
+		this(id, delegate, null);
+	}
+
+	/**
+	 * @param id
+	 * 		Predicate ID.
+	 * @param delegate
+	 * 		Matcher predicate implementation.
+	 * @param exactMatch
+	 * 		The only string the delegate matches, or {@code null} if it can match multiple strings.
+	 */
+	public StringPredicate(@Nonnull String id, @Nonnull Predicate<String> delegate, @Nullable String exactMatch) {
 		this.delegate = delegate;
 		this.id = id;
+		this.exactMatch = exactMatch;
 	}
 
 	/**
@@ -34,6 +49,14 @@ public String getId() {
 		return id;
 	}
 
+	/**
+	 * @return The only string this predicate matches, or {@code null} if it can match multiple strings.
+	 */
+	@Nullable
+	public String getExactMatch() {
+		return exactMatch;
+	}
+
 	/**
 	 * @return Translation key for predicate.
 	 */
@@ -66,6 +66,7 @@ public class StringPredicateProvider {
 	public static final String KEY_REFEX_FULL = "regex-full";
 	private static final BiStringMatcher MATHER_ANYTHING = (a, b) -> true;
 	private static final BiStringMatcher MATHER_NOTHING = (a, b) -> false;
+	private static final BiStringMatcher DEFAULT_EQUALS = String::equals;
 	private static final StringPredicate PREDICATE_ANYTHING = new StringPredicate(KEY_ANYTHING, a -> true);
 	private static final StringPredicate PREDICATE_NOTHING = new StringPredicate(KEY_NOTHING, a -> false);
 	private final Map<String, BiStringMatcher> biStringMatchers = new ConcurrentHashMap<>();
@@ -75,7 +76,7 @@ public class StringPredicateProvider {
 	public StringPredicateProvider() {
 		registerBiMatcher(KEY_ANYTHING, MATHER_ANYTHING);
 		registerBiMatcher(KEY_NOTHING, MATHER_NOTHING);
-		registerBiMatcher(KEY_EQUALS, String::equals);
+		registerBiMatcher(KEY_EQUALS, DEFAULT_EQUALS);
 		registerBiMatcher(KEY_EQUALS_IGNORE_CASE, String::equalsIgnoreCase);
 		registerBiMatcher(KEY_CONTAINS, (key, value) -> value.contains(key));
 		registerBiMatcher(KEY_CONTAINS_IGNORE_CASE, (key, value) -> value.toLowerCase().contains(key.toLowerCase()));
@@ -273,8 +274,11 @@ public StringPredicate newFullRegexPredicate(@Nonnull String regex) {
 	@Nullable
 	public StringPredicate newBiStringPredicate(@Nonnull String id, @Nonnull String key) throws NoSuchElementException {
 		BiStringMatcher matcher = biStringMatchers.get(id);
-		if (matcher != null)
-			return new StringPredicate(id, target -> matcher.test(key, target));
+		if (matcher != null) {
+			// Exact matches are recorded so that they can be looked up directly in a search index.
+			String exactMatch = KEY_EQUALS.equals(id) && matcher == DEFAULT_EQUALS ? key : null;
+			return new StringPredicate(id, target -> matcher.test(key, target), exactMatch);
+		}
 		throw new NoSuchElementException("No such single-parameter matcher: " + id);
 	}
 
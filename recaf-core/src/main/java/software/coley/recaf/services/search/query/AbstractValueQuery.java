@@ -31,7 +31,7 @@
  * @see StringQuery
  * @see NumberQuery
  */
-public abstract class AbstractValueQuery implements JvmClassQuery, FileQuery {
+public abstract class AbstractValueQuery implements IndexableQuery, FileQuery {
 	private static final Number[] OP_TO_VALUE = {
 			0, // NOP
 			0, // NULL
@@ -46,6 +46,11 @@ public abstract class AbstractValueQuery implements JvmClassQuery, FileQuery {
 
 	protected abstract boolean isMatch(Object value);
 
+	@Override
+	public boolean isIndexedValueMatch(@Nonnull Object value) {
+		return isMatch(value);
+	}
+
 	@Nonnull
 	@Override
 	public JvmClassSearchVisitor visitor(@Nullable JvmClassSearchVisitor delegate) {
@@ -0,0 +1,43 @@
+package software.coley.recaf.services.search.query;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.services.search.index.SearchIndex;
+import software.coley.recaf.services.search.result.ClassReferenceResult;
+import software.coley.recaf.services.search.result.MemberReferenceResult;
+
+import java.util.Collection;
+
+/**
+ * Query targeting {@link software.coley.recaf.info.JvmClassInfo} which can be narrowed down
+ * by the values recorded in a {@link SearchIndex}.
+ *
+ * @author Matt Coley
+ */
+public interface IndexableQuery extends JvmClassQuery {
+	/**
+	 * @param value
+	 * 		Value recorded in a search index. Will be one of:
+	 * 		<ul>
+	 * 		<li>{@link String}</li>
+	 * 		<li>{@link Number}</li>
+	 * 		<li>{@link ClassReferenceResult.ClassReference}</li>
+	 * 		<li>{@link MemberReferenceResult.MemberReference}</li>
+	 * 		</ul>
+	 *
+	 * @return {@code true} when the {@link #visitor(software.coley.recaf.services.search.JvmClassSearchVisitor) visitor}
+	 * of this query may yield a result for the value.
+	 */
+	boolean isIndexedValueMatch(@Nonnull Object value);
+
+	/**
+	 * @return All values the {@link #visitor(software.coley.recaf.services.search.JvmClassSearchVisitor) visitor}
+	 * of this query may yield a result for, allowing them to be looked up in an index directly instead of testing
+	 * every recorded value with {@link #isIndexedValueMatch(Object)}. {@code null} when the values cannot be listed,
+	 * such as for partial or pattern matches.
+	 */
+	@Nullable
+	default Collection<Object> getIndexedValueKeys() {
+		return null;
+	}
+}
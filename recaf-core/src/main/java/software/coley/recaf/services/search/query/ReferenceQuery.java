@@ -28,12 +28,15 @@
 import software.coley.recaf.util.Types;
 import software.coley.recaf.util.visitors.IndexCountingMethodVisitor;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Reference search implementation.
  *
  * @author Matt Coley
  */
-public class ReferenceQuery implements JvmClassQuery {
+public class ReferenceQuery implements IndexableQuery {
 	private final StringPredicate ownerPredicate;
 	private final StringPredicate namePredicate;
 	private final StringPredicate descriptorPredicate;
@@ -103,6 +106,31 @@ private boolean isMemberRefMatch(@Nullable String owner, @Nullable String name,
 		return false;
 	}
 
+	@Override
+	public boolean isIndexedValueMatch(@Nonnull Object value) {
+		if (value instanceof ClassReferenceResult.ClassReference ref)
+			return isClassRefMatch(ref.getName());
+		if (value instanceof MemberReferenceResult.MemberReference ref) {
+			String owner = ref.getOwner();
+			String name = ref.getName();
+			String desc = ref.getDesc();
+
+			// Enum references in annotations are checked with the name and descriptor swapped.
+			// See the annotation visitor's 'visitEnum' implementation.
+			return isMemberRefMatch(owner, name, desc) || isMemberRefMatch(owner, desc, name);
+		}
+		return false;
+	}
+
+	@Nullable
+	@Override
+	public Collection<Object> getIndexedValueKeys() {
+		// Member references allow empty and swapped components to match, so only class references are listed.
+		if (!classRefOnly || ownerPredicate == null || ownerPredicate.getExactMatch() == null)
+			return null;
+		return List.of(cref(ownerPredicate.getExactMatch()), cref(""));
+	}
+
 	@Nonnull
 	private static String getInternalName(@Nonnull String classDesc) {
 		return Type.getType(classDesc).getInternalName();
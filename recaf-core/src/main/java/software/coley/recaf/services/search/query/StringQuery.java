@@ -8,6 +8,9 @@
 import software.coley.recaf.services.search.ResultSink;
 import software.coley.recaf.services.search.match.StringPredicate;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * String search implementation.
  *
@@ -31,6 +34,13 @@ protected boolean isMatch(Object value) {
 		return false;
 	}
 
+	@Nullable
+	@Override
+	public Collection<Object> getIndexedValueKeys() {
+		String exactMatch = predicate.getExactMatch();
+		return exactMatch == null ? null : List.of(exactMatch);
+	}
+
 	@Nonnull
 	@Override
 	public FileSearchVisitor visitor(@Nullable FileSearchVisitor delegate) {
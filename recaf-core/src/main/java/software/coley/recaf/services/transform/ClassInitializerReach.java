@@ -0,0 +1,290 @@
+package software.coley.recaf.services.transform;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+import software.coley.recaf.RecafConstants;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.services.inheritance.InheritanceVertex;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which methods may run while a class is being initialized.
+ * <br>
+ * Until the static initializer of a class completes, its static fields may still hold their default values.
+ * Any code the initializer runs <i>(Directly, through calls and lambdas, or through initializers of other classes)</i>
+ * can observe those defaults, so the final values of the fields cannot be assumed in that code.
+ * <br>
+ * Reach is computed over the classes as they were before transformation. Transformers must preserve behavior,
+ * so transformed code does not run any method that the original code could not.
+ *
+ * @author Matt Coley
+ */
+class ClassInitializerReach {
+	private static final String INITIALIZER_NAME = "<clinit>";
+	private static final String INITIALIZER_DESC = "()V";
+	private final Map<String, Map<String, List<Reference>>> classReferences = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> initializerReach = new ConcurrentHashMap<>();
+	private final Workspace workspace;
+	private final WorkspaceResource resource;
+	private final InheritanceGraph inheritanceGraph;
+	private volatile Set<String> anyInitializerReach;
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull method code from.
+	 * @param resource
+	 * 		Resource with classes being transformed.
+	 * @param inheritanceGraph
+	 * 		Inheritance graph of the workspace, used to find implementations of virtual calls.
+	 */
+	ClassInitializerReach(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource,
+	                      @Nonnull InheritanceGraph inheritanceGraph) {
+		this.workspace = workspace;
+		this.resource = resource;
+		this.inheritanceGraph = inheritanceGraph;
+	}
+
+	/**
+	 * @param className
+	 * 		Name of class defining the method.
+	 * @param method
+	 * 		Method to check.
+	 *
+	 * @return {@code true} when the method may run during the initialization of any class in the resource.
+	 */
+	boolean isReachableFromAnyInitializer(@Nonnull String className, @Nonnull MethodNode method) {
+		Set<String> reach = anyInitializerReach;
+		if (reach == null) {
+			synchronized (this) {
+				reach = anyInitializerReach;
+				if (reach == null) {
+					List<String> initializers = new ArrayList<>();
+					resource.jvmClassBundleStreamRecursive().forEach(bundle -> bundle.forEach(cls ->
+							addInitializers(initializers, cls.getName())));
+					reach = computeReach(initializers);
+					anyInitializerReach = reach;
+				}
+			}
+		}
+		return reach.contains(key(className, method.name, method.desc));
+	}
+
+	/**
+	 * @param owner
+	 * 		Name of class being initialized.
+	 * @param className
+	 * 		Name of class defining the method.
+	 * @param method
+	 * 		Method to check.
+	 *
+	 * @return {@code true} when the method may run during the initialization of the given owner class.
+	 */
+	boolean isReachableFromInitializer(@Nonnull String owner, @Nonnull String className, @Nonnull MethodNode method) {
+		// Most methods are not reachable from any initializer, which is cheaper to check than the reach of the owner.
+		if (!isReachableFromAnyInitializer(className, method))
+			return false;
+		Set<String> reach = initializerReach.computeIfAbsent(owner, o -> {
+			List<String> initializers = new ArrayList<>();
+			addInitializers(initializers, o);
+			return computeReach(initializers);
+		});
+		return reach.contains(key(className, method.name, method.desc));
+	}
+
+	/**
+	 * @param initializers
+	 * 		Keys of initializer methods to start from.
+	 *
+	 * @return Keys of all methods which may run once any of the given methods is run.
+	 */
+	@Nonnull
+	private Set<String> computeReach(@Nonnull List<String> initializers) {
+		Set<String> reach = new HashSet<>(initializers);
+		Deque<String> queue = new ArrayDeque<>(initializers);
+		List<String> targets = new ArrayList<>();
+		while (!queue.isEmpty()) {
+			String key = queue.poll();
+			int split = key.indexOf('.');
+			String className = key.substring(0, split);
+			List<Reference> references = getReferences(className).get(key.substring(split + 1));
+			if (references == null)
+				continue;
+			for (Reference reference : references) {
+				targets.clear();
+				addTargets(targets, reference);
+				for (String target : targets)
+					if (reach.add(target))
+						queue.add(target);
+			}
+		}
+		return Collections.unmodifiableSet(reach);
+	}
+
+	/**
+	 * @param targets
+	 * 		List to add keys of methods which may run because of the reference to.
+	 * @param reference
+	 * 		Reference made by some method.
+	 */
+	private void addTargets(@Nonnull List<String> targets, @Nonnull Reference reference) {
+		String owner = reference.owner();
+		if (reference.name() == null) {
+			// Use of a class, which initializes it if it has not been initialized yet.
+			addInitializers(targets, owner);
+			return;
+		}
+
+		// Static calls and constructor references also initialize the class they are declared in.
+		if (reference.initializesOwner())
+			addInitializers(targets, owner);
+
+		// Calls may be resolved to an inherited declaration, and dynamic dispatch may select an override.
+		String name = reference.name();
+		String desc = reference.desc();
+		targets.add(key(owner, name, desc));
+		InheritanceVertex vertex = inheritanceGraph.getVertex(owner);
+		if (vertex == null)
+			return;
+		vertex.allParents()
+				.filter(parent -> parent.hasMethod(name, desc))
+				.forEach(parent -> targets.add(key(parent.getName(), name, desc)));
+		if (!reference.initializesOwner() && !name.equals("<init>"))
+			vertex.allChildren()
+					.filter(child -> child.hasMethod(name, desc))
+					.forEach(child -> targets.add(key(child.getName(), name, desc)));
+	}
+
+	/**
+	 * @param targets
+	 * 		List to add keys of initializers to.
+	 * @param className
+	 * 		Name of class being initialized.
+	 */
+	private void addInitializers(@Nonnull List<String> targets, @Nonnull String className) {
+		// Parent classes are initialized first, and may observe the child class before its initializer completes.
+		targets.add(key(className, INITIALIZER_NAME, INITIALIZER_DESC));
+		InheritanceVertex vertex = inheritanceGraph.getVertex(className);
+		if (vertex != null)
+			vertex.allParents().forEach(parent -> targets.add(key(parent.getName(), INITIALIZER_NAME, INITIALIZER_DESC)));
+	}
+
+	/**
+	 * @param className
+	 * 		Name of class to get references of.
+	 *
+	 * @return Map of method names and descriptors to the references made by the method.
+	 * Empty when the class is not in the workspace.
+	 */
+	@Nonnull
+	private Map<String, List<Reference>> getReferences(@Nonnull String className) {
+		Map<String, List<Reference>> references = classReferences.get(className);
+		if (references != null)
+			return references;
+
+		// Internal classes are skipped, as they cannot be transformed and would pull in large parts of the runtime.
+		ClassPathNode path = workspace.findJvmClass(false, className);
+		if (path == null) {
+			references = Collections.emptyMap();
+		} else {
+			JvmClassInfo info = path.getValue().asJvmClass();
+			references = collectReferences(info);
+		}
+		classReferences.put(className, references);
+		return references;
+	}
+
+	@Nonnull
+	private static Map<String, List<Reference>> collectReferences(@Nonnull JvmClassInfo info) {
+		Map<String, List<Reference>> references = new HashMap<>();
+		info.getClassReader().accept(new ClassVisitor(RecafConstants.getAsmVersion()) {
+			@Override
+			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+				List<Reference> methodReferences = new ArrayList<>();
+				references.put(name + descriptor, methodReferences);
+				return new MethodVisitor(RecafConstants.getAsmVersion()) {
+					@Override
+					public void visitTypeInsn(int opcode, String type) {
+						if (opcode == Opcodes.NEW)
+							methodReferences.add(new Reference(type, null, null, true));
+					}
+
+					@Override
+					public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+						if (opcode == Opcodes.GETSTATIC || opcode == Opcodes.PUTSTATIC)
+							methodReferences.add(new Reference(owner, null, null, true));
+					}
+
+					@Override
+					public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+						// Array types can be the owner of calls to methods of 'Object'
+						if (owner.charAt(0) == '[')
+							owner = "java/lang/Object";
+						methodReferences.add(new Reference(owner, name, descriptor, opcode == Opcodes.INVOKESTATIC));
+					}
+
+					@Override
+					public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+					                                   Object... bootstrapMethodArguments) {
+						// Lambdas and method references are passed as handles in the bootstrap arguments
+						for (Object argument : bootstrapMethodArguments)
+							visitConstant(argument);
+					}
+
+					@Override
+					public void visitLdcInsn(Object value) {
+						visitConstant(value);
+					}
+
+					private void visitConstant(@Nullable Object value) {
+						if (value instanceof Handle handle && handle.getTag() >= Opcodes.H_INVOKEVIRTUAL) {
+							int tag = handle.getTag();
+							methodReferences.add(new Reference(handle.getOwner(), handle.getName(), handle.getDesc(),
+									tag == Opcodes.H_INVOKESTATIC || tag == Opcodes.H_NEWINVOKESPECIAL));
+						}
+					}
+				};
+			}
+		}, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return references;
+	}
+
+	@Nonnull
+	private static String key(@Nonnull String className, @Nonnull String name, @Nonnull String desc) {
+		return className + '.' + name + desc;
+	}
+
+	/**
+	 * @param owner
+	 * 		Referenced class.
+	 * @param name
+	 * 		Referenced method name, or {@code null} for references which only use the class.
+	 * @param desc
+	 * 		Referenced method descriptor, or {@code null} for references which only use the class.
+	 * @param initializesOwner
+	 * 		Flag indicating the reference initializes the referenced class.
+	 * 		Such references are static, or to constructors, so they are not subject to dynamic dispatch.
+	 */
+	private record Reference(@Nonnull String owner, @Nullable String name, @Nullable String desc,
+	                         boolean initializesOwner) {
+	}
+}
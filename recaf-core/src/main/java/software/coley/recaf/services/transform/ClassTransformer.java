@@ -24,4 +24,15 @@ public interface ClassTransformer {
 	default Set<Class<? extends ClassTransformer>> dependencies() {
 		return Collections.emptySet();
 	}
+
+	/**
+	 * Transformers which are thread safe may be run on multiple classes at once,
+	 * see {@link TransformationApplierConfig#getParallel()}.
+	 *
+	 * @return {@code true} when {@code transform} can be called for multiple classes concurrently.
+	 * {@code false} to always transform classes one at a time.
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
 }
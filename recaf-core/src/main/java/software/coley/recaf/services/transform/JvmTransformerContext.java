@@ -12,10 +12,13 @@
 import software.coley.recaf.path.PathNodes;
 import software.coley.recaf.path.ResourcePathNode;
 import software.coley.recaf.services.deobfuscation.transform.generic.DeadCodeRemovingTransformer;
+import software.coley.recaf.services.deobfuscation.transform.generic.StaticValueCollectionTransformer;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
 import software.coley.recaf.services.mapping.IntermediateMappings;
+import software.coley.recaf.util.ContentKey;
 import software.coley.recaf.util.analysis.ReAnalyzer;
 import software.coley.recaf.util.analysis.ReInterpreter;
+import software.coley.recaf.util.analysis.lookup.GetStaticLookup;
 import software.coley.recaf.util.analysis.value.ReValue;
 import software.coley.recaf.util.visitors.FrameSkippingVisitor;
 import software.coley.recaf.util.visitors.WorkspaceClassWriter;
@@ -27,7 +30,6 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -40,9 +42,12 @@
  */
 public class JvmTransformerContext {
 	private final Map<Class<? extends JvmClassTransformer>, JvmClassTransformer> transformerMap;
-	private final IntermediateMappings mappings = new IntermediateMappings();
+	private final IntermediateMappings mappings = new SynchronizedMappings();
 	private final Map<String, JvmClassData> classData = new ConcurrentHashMap<>();
-	private final Set<String> recomputeFrameClasses = new HashSet<>();
+	private final Set<String> recomputeFrameClasses = ConcurrentHashMap.newKeySet();
+	private final MethodFrameCache frameCache = new MethodFrameCache();
+	private final Map<InheritanceGraph, GraphLookups> graphLookups = new ConcurrentHashMap<>();
+	private final GetStaticLookup getStaticLookup = new WorkspaceGetStaticLookup(this);
 	private final Workspace workspace;
 	private final WorkspaceResource resource;
 
@@ -146,6 +151,7 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 	 * 		Method to analyze.
 	 *
 	 * @return Analyzed frames of the given method.
+	 * Frames are cached and shared with other callers analyzing the same method code, so they must not be modified.
 	 *
 	 * @throws TransformationException
 	 * 		When the analyzer throws an exception when computing the frames of the given method.
@@ -154,12 +160,19 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 	public Frame<ReValue>[] analyze(@Nonnull InheritanceGraph inheritanceGraph,
 	                                @Nonnull ClassNode cls,
 	                                @Nonnull MethodNode method) throws TransformationException {
+		ContentKey code = MethodFrameCache.code(method);
+		long valuesVersion = getStaticValuesVersion();
+		Frame<ReValue>[] frames = frameCache.get(inheritanceGraph, cls.name, method, code, valuesVersion);
+		if (frames != null)
+			return frames;
 		try {
 			ReAnalyzer analyzer = newAnalyzer(inheritanceGraph, cls, method);
-			return analyzer.analyze(cls.name, method);
+			frames = analyzer.analyze(cls.name, method);
 		} catch (Throwable t) {
 			throw new TransformationException("Error encountered when computing method frames", t);
 		}
+		frameCache.put(inheritanceGraph, cls.name, method, code, valuesVersion, frames);
+		return frames;
 	}
 
 	/**
@@ -177,10 +190,20 @@ public ReAnalyzer newAnalyzer(@Nonnull InheritanceGraph inheritanceGraph,
 	                              @Nonnull ClassNode cls,
 	                              @Nonnull MethodNode method) {
 		ReInterpreter interpreter = new ReInterpreter(inheritanceGraph);
-		// TODO: A fleshed out implementation for each to facilitate:
-		//  - interpreter.setInvokeStaticLookup(...);
+		GraphLookups lookups = graphLookups.computeIfAbsent(inheritanceGraph, GraphLookups::new);
+		if (getOptionalJvmTransformer(StaticValueCollectionTransformer.class) != null
+				&& lookups.initializerReach.isReachableFromAnyInitializer(cls.name, method)) {
+			// Code which may run during class initialization can observe static fields before they are assigned.
+			// Static methods evaluated from such code are not given any static field values,
+			// as the lookup results are shared with code which runs after initialization.
+			interpreter.setGetStaticLookup(new WorkspaceGetStaticLookup(this, lookups.initializerReach, cls.name, method));
+			interpreter.setInvokeStaticLookup(lookups.initializerInvokeStaticLookup);
+		} else {
+			interpreter.setGetStaticLookup(getStaticLookup);
+			interpreter.setInvokeStaticLookup(lookups.invokeStaticLookup);
+		}
+		// TODO: A fleshed out implementation to facilitate:
 		//  - interpreter.setInvokeVirtualLookup(...);
-		//  - interpreter.setGetStaticLookup(...);
 		return new ReAnalyzer(interpreter);
 	}
 
@@ -260,6 +283,7 @@ public byte[] getBytecode(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo
 	 */
 	public void setNode(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo info, @Nonnull ClassNode node) {
 		getJvmClassData(bundle, info).setNode(node);
+		frameCache.invalidate(info.getName());
 	}
 
 	/**
@@ -277,6 +301,7 @@ public void setNode(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo info,
 	 */
 	public void setBytecode(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo info, @Nonnull byte[] bytecode) {
 		getJvmClassData(bundle, info).setBytecode(bytecode);
+		frameCache.invalidate(info.getName());
 	}
 
 	/**
@@ -291,6 +316,7 @@ public void clear(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo info) {
 		JvmClassData data = getJvmClassData(bundle, info);
 		data.setBytecode(data.initialClass.getBytecode());
 		data.dirty = false;
+		frameCache.invalidate(info.getName());
 	}
 
 	/**
@@ -360,6 +386,15 @@ public <T extends JvmClassTransformer> T getOptionalJvmTransformer(Class<T> key)
 		return (T) transformer;
 	}
 
+	/**
+	 * @return Version of the static values available to analysis through the {@link GetStaticLookup},
+	 * or {@code 0} when no {@link StaticValueCollectionTransformer} is registered to this context.
+	 */
+	private long getStaticValuesVersion() {
+		StaticValueCollectionTransformer collector = getOptionalJvmTransformer(StaticValueCollectionTransformer.class);
+		return collector == null ? 0 : collector.getValuesVersion();
+	}
+
 	@Nonnull
 	private JvmClassData getJvmClassData(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo info) {
 		return classData.computeIfAbsent(info.getName(), ignored -> new JvmClassData(bundle, info));
@@ -373,6 +408,48 @@ private static Map<Class<? extends JvmClassTransformer>, JvmClassTransformer> bu
 		return Collections.unmodifiableMap(map);
 	}
 
+	/**
+	 * Lookups for analysis of methods with a given inheritance graph.
+	 */
+	private class GraphLookups {
+		private final ClassInitializerReach initializerReach;
+		private final WorkspaceInvokeStaticLookup invokeStaticLookup;
+		private final WorkspaceInvokeStaticLookup initializerInvokeStaticLookup;
+
+		private GraphLookups(@Nonnull InheritanceGraph inheritanceGraph) {
+			initializerReach = new ClassInitializerReach(workspace, resource, inheritanceGraph);
+			invokeStaticLookup = new WorkspaceInvokeStaticLookup(workspace, inheritanceGraph, getStaticLookup);
+			initializerInvokeStaticLookup = new WorkspaceInvokeStaticLookup(workspace, inheritanceGraph, null);
+		}
+	}
+
+	/**
+	 * Mappings which can be registered to by transformers running on multiple threads.
+	 */
+	private static class SynchronizedMappings extends IntermediateMappings {
+		@Override
+		public synchronized void addClass(@Nonnull String oldName, @Nonnull String newName) {
+			super.addClass(oldName, newName);
+		}
+
+		@Override
+		public synchronized void addField(@Nonnull String ownerName, @Nullable String desc, @Nonnull String oldName, @Nonnull String newName) {
+			super.addField(ownerName, desc, oldName, newName);
+		}
+
+		@Override
+		public synchronized void addMethod(@Nonnull String ownerName, @Nonnull String desc, @Nonnull String oldName, @Nonnull String newName) {
+			super.addMethod(ownerName, desc, oldName, newName);
+		}
+
+		@Override
+		public synchronized void addVariable(@Nonnull String ownerName, @Nonnull String methodName, @Nonnull String methodDesc,
+		                                     @Nullable String desc, @Nullable String oldName, int index,
+		                                     @Nonnull String newName) {
+			super.addVariable(ownerName, methodName, methodDesc, desc, oldName, index, newName);
+		}
+	}
+
 	/**
 	 * Container of per-class transformation state.
 	 */
@@ -381,7 +458,7 @@ private static class JvmClassData {
 		private final JvmClassInfo initialClass;
 		private volatile byte[] bytecode;
 		private volatile ClassNode node;
-		private boolean dirty;
+		private volatile boolean dirty;
 
 		/**
 		 * @param bundle
@@ -0,0 +1,233 @@
+package software.coley.recaf.services.transform;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.Frame;
+import software.coley.recaf.services.deobfuscation.transform.generic.StaticValueCollectionTransformer;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.util.ContentKey;
+import software.coley.recaf.util.analysis.value.ReValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of analyzed method frames for {@link JvmTransformerContext}.
+ * <br>
+ * Transformers are given copies of class nodes, so methods are identified by their owner, name, and descriptor.
+ * Each entry records the {@link #code(MethodNode) code} of the method it was computed for, so code that was modified
+ * since the analysis no longer matches and is analyzed again. Entries also record the
+ * {@link StaticValueCollectionTransformer#getValuesVersion() version} of static values the analysis could look up,
+ * so that frames are not reused once more values are known.
+ *
+ * @author Matt Coley
+ */
+class MethodFrameCache {
+	private final Map<String, Map<String, Entry>> classEntries = new ConcurrentHashMap<>();
+
+	/**
+	 * @param inheritanceGraph
+	 * 		Inheritance graph the frames must have been computed with.
+	 * @param className
+	 * 		Name of class defining the method.
+	 * @param method
+	 * 		Method to get frames of.
+	 * @param code
+	 * 		Current {@link #code(MethodNode) code} of the method.
+	 * @param valuesVersion
+	 * 		Current version of static values available to analysis.
+	 *
+	 * @return Previously computed frames of the method, or {@code null} if the method has not been
+	 * analyzed in its current state.
+	 */
+	@Nullable
+	Frame<ReValue>[] get(@Nonnull InheritanceGraph inheritanceGraph, @Nonnull String className,
+	                     @Nonnull MethodNode method, @Nonnull ContentKey code, long valuesVersion) {
+		Map<String, Entry> entries = classEntries.get(className);
+		if (entries == null)
+			return null;
+		Entry entry = entries.get(method.name + method.desc);
+		if (entry == null || entry.inheritanceGraph != inheritanceGraph || entry.valuesVersion != valuesVersion
+				|| entry.frames.length != method.instructions.size() || !entry.code.equals(code))
+			return null;
+		return entry.frames;
+	}
+
+	/**
+	 * @param inheritanceGraph
+	 * 		Inheritance graph the frames were computed with.
+	 * @param className
+	 * 		Name of class defining the method.
+	 * @param method
+	 * 		Method the frames were computed for.
+	 * @param code
+	 * 		{@link #code(MethodNode) Code} of the method when the frames were computed.
+	 * @param valuesVersion
+	 * 		Version of static values available when the frames were computed.
+	 * @param frames
+	 * 		Computed frames.
+	 */
+	void put(@Nonnull InheritanceGraph inheritanceGraph, @Nonnull String className,
+	         @Nonnull MethodNode method, @Nonnull ContentKey code, long valuesVersion,
+	         @Nonnull Frame<ReValue>[] frames) {
+		classEntries.computeIfAbsent(className, n -> new ConcurrentHashMap<>())
+				.put(method.name + method.desc, new Entry(inheritanceGraph, code, valuesVersion, frames));
+	}
+
+	/**
+	 * @param className
+	 * 		Name of class to drop all cached frames of.
+	 */
+	void invalidate(@Nonnull String className) {
+		classEntries.remove(className);
+	}
+
+	/**
+	 * @param method
+	 * 		Method to encode.
+	 *
+	 * @return Encoding of all parts of the method which affect analysis. Methods with equal code will have equal
+	 * encodings, even when they are different node instances. Labels are encoded by their instruction index,
+	 * and parts which do not affect analysis <i>(Line numbers, frames)</i> are skipped.
+	 */
+	@Nonnull
+	static ContentKey code(@Nonnull MethodNode method) {
+		InsnList instructions = method.instructions;
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(instructions.size() * 4 + 16);
+		try (DataOutputStream out = new DataOutputStream(buffer)) {
+			out.writeInt(method.access);
+			out.writeInt(method.maxLocals);
+			out.writeInt(method.maxStack);
+			out.writeInt(instructions.size());
+			for (AbstractInsnNode insn : instructions) {
+				out.writeByte(insn.getType());
+				out.writeShort(insn.getOpcode());
+				switch (insn) {
+					case IntInsnNode intInsn -> out.writeInt(intInsn.operand);
+					case VarInsnNode varInsn -> out.writeInt(varInsn.var);
+					case TypeInsnNode typeInsn -> writeString(out, typeInsn.desc);
+					case FieldInsnNode fieldInsn -> {
+						writeString(out, fieldInsn.owner);
+						writeString(out, fieldInsn.name);
+						writeString(out, fieldInsn.desc);
+					}
+					case MethodInsnNode methodInsn -> {
+						writeString(out, methodInsn.owner);
+						writeString(out, methodInsn.name);
+						writeString(out, methodInsn.desc);
+						out.writeBoolean(methodInsn.itf);
+					}
+					case InvokeDynamicInsnNode indyInsn -> {
+						writeString(out, indyInsn.name);
+						writeString(out, indyInsn.desc);
+						writeConstant(out, indyInsn.bsm);
+						out.writeInt(indyInsn.bsmArgs.length);
+						for (Object arg : indyInsn.bsmArgs)
+							writeConstant(out, arg);
+					}
+					case JumpInsnNode jumpInsn -> out.writeInt(instructions.indexOf(jumpInsn.label));
+					case LdcInsnNode ldcInsn -> writeConstant(out, ldcInsn.cst);
+					case IincInsnNode iincInsn -> {
+						out.writeInt(iincInsn.var);
+						out.writeInt(iincInsn.incr);
+					}
+					case TableSwitchInsnNode switchInsn -> {
+						out.writeInt(switchInsn.min);
+						out.writeInt(switchInsn.max);
+						out.writeInt(instructions.indexOf(switchInsn.dflt));
+						out.writeInt(switchInsn.labels.size());
+						for (LabelNode label : switchInsn.labels)
+							out.writeInt(instructions.indexOf(label));
+					}
+					case LookupSwitchInsnNode switchInsn -> {
+						out.writeInt(instructions.indexOf(switchInsn.dflt));
+						out.writeInt(switchInsn.keys.size());
+						for (int key : switchInsn.keys)
+							out.writeInt(key);
+						for (LabelNode label : switchInsn.labels)
+							out.writeInt(instructions.indexOf(label));
+					}
+					case MultiANewArrayInsnNode arrayInsn -> {
+						writeString(out, arrayInsn.desc);
+						out.writeInt(arrayInsn.dims);
+					}
+					default -> {
+						// Remaining types have no operands, or do not affect analysis (labels, line numbers, frames)
+					}
+				}
+			}
+			if (method.tryCatchBlocks != null) {
+				out.writeInt(method.tryCatchBlocks.size());
+				for (TryCatchBlockNode block : method.tryCatchBlocks) {
+					out.writeInt(instructions.indexOf(block.start));
+					out.writeInt(instructions.indexOf(block.end));
+					out.writeInt(instructions.indexOf(block.handler));
+					writeString(out, block.type);
+				}
+			}
+		} catch (IOException ex) {
+			// Not possible when writing to an in-memory buffer
+			throw new UncheckedIOException(ex);
+		}
+		return new ContentKey(buffer.toByteArray());
+	}
+
+	private static void writeConstant(@Nonnull DataOutputStream out, @Nullable Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(0);
+			return;
+		}
+
+		// Floating point values are written by their bits, as their string forms do not distinguish all NaN values.
+		writeString(out, value.getClass().getName());
+		switch (value) {
+			case Float f -> out.writeInt(Float.floatToRawIntBits(f));
+			case Double d -> out.writeLong(Double.doubleToRawLongBits(d));
+			default -> writeString(out, value.toString());
+		}
+	}
+
+	private static void writeString(@Nonnull DataOutputStream out, @Nullable String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(value.length());
+			out.writeChars(value);
+		}
+	}
+
+	/**
+	 * @param inheritanceGraph
+	 * 		Inheritance graph the frames were computed with.
+	 * @param code
+	 * 		Code of the method when the frames were computed.
+	 * @param valuesVersion
+	 * 		Version of static values available when the frames were computed.
+	 * @param frames
+	 * 		Computed frames.
+	 */
+	private record Entry(@Nonnull InheritanceGraph inheritanceGraph, @Nonnull ContentKey code, long valuesVersion,
+	                     @Nonnull Frame<ReValue>[] frames) {
+	}
+}
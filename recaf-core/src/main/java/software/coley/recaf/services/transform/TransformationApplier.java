@@ -20,10 +20,13 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 import static software.coley.collections.Unchecked.cast;
 import static software.coley.collections.Unchecked.checkedForEach;
@@ -36,10 +39,12 @@
  */
 public class TransformationApplier {
 	private static final Logger logger = Logging.get(TransformationApplier.class);
+	private static final int TRANSFORM_CHUNK_SIZE = 64;
 	private final TransformationManager transformationManager;
 	private final InheritanceGraph inheritanceGraph;
 	private final MappingApplier mappingApplier;
 	private final Workspace workspace;
+	private final ExecutorService transformPool;
 
 	/**
 	 * @param transformationManager
@@ -55,10 +60,35 @@ public TransformationApplier(@Nonnull TransformationManager transformationManage
 	                             @Nonnull InheritanceGraph inheritanceGraph,
 	                             @Nonnull MappingApplier mappingApplier,
 	                             @Nonnull Workspace workspace) {
+		this(transformationManager, inheritanceGraph, mappingApplier, workspace, null);
+	}
+
+	/**
+	 * @param transformationManager
+	 * 		Manager to pull transformer instances from.
+	 * @param inheritanceGraph
+	 * 		Inheritance graph to use for frame computation <i>(Some transformers will trigger this)</i>.
+	 * @param mappingApplier
+	 * 		Mapping applier to update workspace with mappings registered by transformers.
+	 * @param workspace
+	 * 		Workspace with classes to transform.
+	 * @param transformPool
+	 * 		Pool to transform classes in parallel with. Only used for transformers which are
+	 * 		{@link ClassTransformer#isThreadSafe() thread safe}, others transform classes one at a time.
+	 * 		Each transformer is still run to completion on all classes before the next transformer begins,
+	 * 		so dependency order between transformers is kept.
+	 * 		Can be {@code null} to transform classes one at a time on the calling thread.
+	 */
+	public TransformationApplier(@Nonnull TransformationManager transformationManager,
+	                             @Nonnull InheritanceGraph inheritanceGraph,
+	                             @Nonnull MappingApplier mappingApplier,
+	                             @Nonnull Workspace workspace,
+	                             @Nullable ExecutorService transformPool) {
 		this.transformationManager = transformationManager;
 		this.inheritanceGraph = inheritanceGraph;
 		this.mappingApplier = mappingApplier;
 		this.workspace = workspace;
+		this.transformPool = transformPool;
 	}
 
 	/**
@@ -96,7 +126,7 @@ public JvmTransformResult transformJvm(@Nonnull List<Class<? extends JvmClassTra
 		TransformerQueue queue = buildQueue(cast(transformerClasses));
 
 		// Map to hold transformation errors for each class:transformer
-		Map<ClassPathNode, Map<Class<? extends JvmClassTransformer>, Throwable>> transformJvmFailures = new HashMap<>();
+		Map<ClassPathNode, Map<Class<? extends JvmClassTransformer>, Throwable>> transformJvmFailures = new ConcurrentHashMap<>();
 
 		// Build the transformer context and apply all transformations in order
 		List<JvmClassTransformer> transformers = queue.getTransformers();
@@ -116,7 +146,7 @@ public JvmTransformResult transformJvm(@Nonnull List<Class<? extends JvmClassTra
 		resource.jvmClassBundleStreamRecursive().forEach(bundle -> {
 			BundlePathNode bundlePathNode = resourcePath.child(bundle);
 			for (JvmClassTransformer transformer : transformers) {
-				bundle.forEach(cls -> {
+				Consumer<JvmClassInfo> transformClass = cls -> {
 					// Skip if the class does not pass the predicate
 					if (predicate != null && !predicate.shouldTransform(workspace, resource, bundle, cls))
 						return;
@@ -126,10 +156,14 @@ public JvmTransformResult transformJvm(@Nonnull List<Class<? extends JvmClassTra
 					} catch (Throwable t) {
 						logger.error("Transformer '{}' failed on class '{}'", transformer.name(), cls.getName(), t);
 						ClassPathNode path = bundlePathNode.child(cls.getPackageName()).child(cls);
-						var transformerToThrowable = transformJvmFailures.computeIfAbsent(path, p -> new HashMap<>());
+						var transformerToThrowable = transformJvmFailures.computeIfAbsent(path, p -> new ConcurrentHashMap<>());
 						transformerToThrowable.put(transformer.getClass(), t);
 					}
-				});
+				};
+				if (transformPool == null || !transformer.isThreadSafe())
+					bundle.forEach(transformClass);
+				else
+					transformParallel(bundle, transformClass);
 			}
 		});
 
@@ -173,6 +207,25 @@ public void apply() {
 		};
 	}
 
+	/**
+	 * Runs the given action on all classes in the bundle, split into chunks across the {@link #transformPool}.
+	 * Returns once the action has completed for all classes.
+	 *
+	 * @param bundle
+	 * 		Bundle with classes to transform.
+	 * @param transformClass
+	 * 		Action to transform a single class.
+	 */
+	private void transformParallel(@Nonnull JvmClassBundle bundle, @Nonnull Consumer<JvmClassInfo> transformClass) {
+		List<JvmClassInfo> classes = new ArrayList<>(bundle.values());
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (int i = 0; i < classes.size(); i += TRANSFORM_CHUNK_SIZE) {
+			List<JvmClassInfo> chunk = classes.subList(i, Math.min(i + TRANSFORM_CHUNK_SIZE, classes.size()));
+			chunks.add(CompletableFuture.runAsync(() -> chunk.forEach(transformClass), transformPool));
+		}
+		CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+	}
+
 	@Nonnull
 	private TransformerQueue buildQueue(@Nonnull List<Class<? extends ClassTransformer>> transformerClasses) throws TransformationException {
 		TransformerQueue queue = new TransformerQueue();
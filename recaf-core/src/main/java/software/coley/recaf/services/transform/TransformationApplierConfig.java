@@ -1,8 +1,11 @@
 package software.coley.recaf.services.transform;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
@@ -13,8 +16,20 @@
  */
 @ApplicationScoped
 public class TransformationApplierConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean parallel = new ObservableBoolean(true);
+
 	@Inject
 	public TransformationApplierConfig() {
 		super(ConfigGroups.SERVICE_TRANSFORM, TransformationApplierService.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("parallel", boolean.class, parallel));
+	}
+
+	/**
+	 * @return {@code true} to run each {@link ClassTransformer#isThreadSafe() thread safe} transformer on multiple
+	 * classes at once. {@code false} to transform classes one at a time.
+	 */
+	@Nonnull
+	public ObservableBoolean getParallel() {
+		return parallel;
 	}
 }
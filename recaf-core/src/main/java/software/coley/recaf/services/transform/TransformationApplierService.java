@@ -2,6 +2,7 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
@@ -12,9 +13,11 @@
 import software.coley.recaf.services.mapping.MappingApplier;
 import software.coley.recaf.services.mapping.MappingApplierService;
 import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Service offering the creation of {@link TransformationApplier transformation appliers} for workspaces.
@@ -27,6 +30,7 @@
 public class TransformationApplierService implements Service {
 	public static final String SERVICE_ID = "transformation-applier";
 	private static final Logger logger = Logging.get(TransformationApplierService.class);
+	private final ExecutorService transformPool = ThreadPoolFactory.newWorkStealingPool(SERVICE_ID);
 	private final TransformationManager transformationManager;
 	private final InheritanceGraphService graphService;
 	private final MappingApplierService mappingService;
@@ -94,7 +98,16 @@ public TransformationApplier newApplierForCurrentWorkspace() {
 	@Nonnull
 	private TransformationApplier newApplier(@Nonnull Workspace workspace, @Nonnull InheritanceGraph inheritanceGraph,
 	                                         @Nonnull MappingApplier mappingApplier) {
-		return new TransformationApplier(transformationManager, inheritanceGraph, mappingApplier, workspace);
+		ExecutorService pool = config.getParallel().getValue() ? transformPool : null;
+		return new TransformationApplier(transformationManager, inheritanceGraph, mappingApplier, workspace, pool);
+	}
+
+	/**
+	 * Stops transformation threads when shutdown is observed.
+	 */
+	@PreDestroy
+	private void onShutdown() {
+		transformPool.shutdownNow();
 	}
 
 	@Nonnull
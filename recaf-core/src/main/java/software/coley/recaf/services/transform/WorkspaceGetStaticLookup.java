@@ -0,0 +1,85 @@
+package software.coley.recaf.services.transform;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import software.coley.recaf.services.deobfuscation.transform.generic.StaticValueCollectionTransformer;
+import software.coley.recaf.util.analysis.Nullness;
+import software.coley.recaf.util.analysis.lookup.GetStaticLookup;
+import software.coley.recaf.util.analysis.value.IllegalValueException;
+import software.coley.recaf.util.analysis.value.ReValue;
+
+/**
+ * Static field lookup backed by the values recorded by {@link StaticValueCollectionTransformer},
+ * when that transformer is part of the transformation context.
+ * <br>
+ * Recorded values are those held once a class is initialized. When the lookup is made for a method which may run
+ * while the class of a field is still being initialized, such as the static initializer itself, the field
+ * may not be assigned yet, so its value is unknown.
+ *
+ * @author Matt Coley
+ */
+public class WorkspaceGetStaticLookup implements GetStaticLookup {
+	private final JvmTransformerContext context;
+	private final ClassInitializerReach initializerReach;
+	private final String className;
+	private final MethodNode method;
+
+	/**
+	 * @param context
+	 * 		Transformation context to pull the static value collector from.
+	 * 		Values are given for all fields, so the lookup must only be used for methods which cannot run
+	 * 		during class initialization.
+	 */
+	public WorkspaceGetStaticLookup(@Nonnull JvmTransformerContext context) {
+		this(context, null, null, null);
+	}
+
+	/**
+	 * @param context
+	 * 		Transformation context to pull the static value collector from.
+	 * @param initializerReach
+	 * 		Reach of class initializers, used to check if the method may run during initialization of a field's class.
+	 * @param className
+	 * 		Name of class defining the method the lookup is used for.
+	 * @param method
+	 * 		Method the lookup is used for.
+	 */
+	WorkspaceGetStaticLookup(@Nonnull JvmTransformerContext context,
+	                         @Nullable ClassInitializerReach initializerReach,
+	                         @Nullable String className,
+	                         @Nullable MethodNode method) {
+		this.context = context;
+		this.initializerReach = initializerReach;
+		this.className = className;
+		this.method = method;
+	}
+
+	@Nonnull
+	@Override
+	public ReValue get(@Nonnull FieldInsnNode field) {
+		StaticValueCollectionTransformer collector = context.getOptionalJvmTransformer(StaticValueCollectionTransformer.class);
+		if (collector != null && !isInitializing(field.owner)) {
+			ReValue value = collector.getStaticValue(field.owner, field.name, field.desc);
+			if (value != null)
+				return value;
+		}
+		try {
+			return ReValue.ofType(Type.getType(field.desc), Nullness.UNKNOWN);
+		} catch (IllegalValueException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * @param owner
+	 * 		Name of class declaring a field.
+	 *
+	 * @return {@code true} when the method of this lookup may run during initialization of the given class.
+	 */
+	private boolean isInitializing(@Nonnull String owner) {
+		return initializerReach != null && initializerReach.isReachableFromInitializer(owner, className, method);
+	}
+}
@@ -0,0 +1,457 @@
+package software.coley.recaf.services.transform;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.util.analysis.Nullness;
+import software.coley.recaf.util.analysis.ReInterpreter;
+import software.coley.recaf.util.analysis.lookup.GetStaticLookup;
+import software.coley.recaf.util.analysis.lookup.InvokeStaticLookup;
+import software.coley.recaf.util.analysis.value.IllegalValueException;
+import software.coley.recaf.util.analysis.value.IntValue;
+import software.coley.recaf.util.analysis.value.LongValue;
+import software.coley.recaf.util.analysis.value.ObjectValue;
+import software.coley.recaf.util.analysis.value.ReValue;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Static method lookup backed by classes in a workspace.
+ * <br>
+ * Methods are summarized once as being pure or not. A pure method has no side effects, meaning it does not write
+ * to fields or arrays, does not lock monitors, and only calls other pure static methods. When a pure method is
+ * invoked with known arguments, its code is evaluated along the single path those arguments take. If the path
+ * completes normally, the returned value is the result of the invocation. Evaluation gives up on any path that
+ * depends on unknown values, or reaches an instruction that may throw.
+ * <br>
+ * Both summaries and invocation results are memoized, so helper methods called from many places are only
+ * evaluated once per distinct set of arguments.
+ *
+ * @author Matt Coley
+ */
+public class WorkspaceInvokeStaticLookup implements InvokeStaticLookup, Opcodes {
+	private static final Logger logger = Logging.get(WorkspaceInvokeStaticLookup.class);
+	private static final Outcome ABRUPT = new Outcome(false, null);
+	private static final int MAX_CACHED_OUTCOMES = 10_000;
+	private static final int MAX_STEPS = 10_000;
+	private final Map<String, Optional<PureMethod>> pureMethods = new HashMap<>();
+	private final Map<String, Optional<ClassNode>> classNodes = new HashMap<>();
+	private final Cache<Invocation, Outcome> outcomes = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_OUTCOMES)
+			.build();
+	private final ThreadLocal<StepBudget> activeBudget = new ThreadLocal<>();
+	private final Workspace workspace;
+	private final InheritanceGraph inheritanceGraph;
+	private final GetStaticLookup getStaticLookup;
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull method code from.
+	 * @param inheritanceGraph
+	 * 		Inheritance graph of the workspace, used when evaluating methods.
+	 * @param getStaticLookup
+	 * 		Static field lookup to use when evaluating methods.
+	 */
+	public WorkspaceInvokeStaticLookup(@Nonnull Workspace workspace, @Nonnull InheritanceGraph inheritanceGraph,
+	                                   @Nullable GetStaticLookup getStaticLookup) {
+		this.workspace = workspace;
+		this.inheritanceGraph = inheritanceGraph;
+		this.getStaticLookup = getStaticLookup;
+	}
+
+	@Nonnull
+	@Override
+	@SuppressWarnings("DataFlowIssue") // Null for void methods, which the interpreter also gives for them
+	public ReValue get(@Nonnull MethodInsnNode method, @Nonnull List<? extends ReValue> values) {
+		Outcome outcome = invoke(method, values);
+		if (outcome.completedNormally() && outcome.value() != null && outcome.value().hasKnownValue())
+			return outcome.value();
+		return unknown(Type.getReturnType(method.desc));
+	}
+
+	/**
+	 * @param method
+	 * 		Method reference.
+	 * @param values
+	 * 		Argument values to the method.
+	 *
+	 * @return Outcome of invoking the method with the given arguments.
+	 */
+	@Nonnull
+	private Outcome invoke(@Nonnull MethodInsnNode method, @Nonnull List<? extends ReValue> values) {
+		PureMethod pure = getPureMethod(method.owner, method.name, method.desc);
+		if (pure == null || !values.stream().allMatch(ReValue::hasKnownValue))
+			return ABRUPT;
+
+		Invocation key = new Invocation(pure, List.copyOf(values));
+		Outcome outcome = outcomes.getIfPresent(key);
+		if (outcome != null)
+			return outcome;
+
+		// Nested invocations share the step budget of the outer-most invocation.
+		StepBudget budget = activeBudget.get();
+		boolean root = budget == null;
+		if (root) {
+			budget = new StepBudget();
+			activeBudget.set(budget);
+		}
+		try {
+			outcome = evaluate(pure, values, budget);
+		} catch (Throwable t) {
+			logger.debug("Failed evaluating {}.{}{}", method.owner, method.name, method.desc, t);
+			outcome = ABRUPT;
+		} finally {
+			if (root)
+				activeBudget.remove();
+		}
+
+		// Running out of steps is not a property of the method itself, so that outcome is not recorded.
+		if (!budget.exhausted)
+			outcomes.put(key, outcome);
+		return outcome;
+	}
+
+	/**
+	 * @param pure
+	 * 		Method to evaluate.
+	 * @param values
+	 * 		Known argument values.
+	 * @param budget
+	 * 		Remaining steps allowed for evaluation.
+	 *
+	 * @return Outcome of evaluating the method.
+	 *
+	 * @throws AnalyzerException
+	 * 		When the interpreter cannot handle an instruction in the method.
+	 */
+	@Nonnull
+	private Outcome evaluate(@Nonnull PureMethod pure, @Nonnull List<? extends ReValue> values,
+	                         @Nonnull StepBudget budget) throws AnalyzerException {
+		MethodNode method = pure.method();
+		InsnList instructions = method.instructions;
+		ReInterpreter interpreter = new ReInterpreter(inheritanceGraph);
+		interpreter.setGetStaticLookup(getStaticLookup);
+		interpreter.setInvokeStaticLookup(this);
+
+		// Populate the initial frame with the argument values.
+		Frame<ReValue> frame = new Frame<>(method.maxLocals, method.maxStack);
+		int local = 0;
+		for (ReValue value : values) {
+			frame.setLocal(local++, value);
+			if (value.getSize() == 2)
+				frame.setLocal(local++, interpreter.newEmptyValue(local));
+		}
+		for (; local < method.maxLocals; local++)
+			frame.setLocal(local, interpreter.newEmptyValue(local));
+
+		// Follow the path of execution taken with the known values.
+		AbstractInsnNode insn = instructions.getFirst();
+		while (insn != null) {
+			if (--budget.remaining < 0) {
+				budget.exhausted = true;
+				return ABRUPT;
+			}
+			int op = insn.getOpcode();
+			if (op < 0) {
+				// Labels, line numbers, and frames
+				insn = insn.getNext();
+				continue;
+			}
+			switch (insn) {
+				case JumpInsnNode jump -> {
+					Boolean taken = isJumpTaken(frame, op);
+					if (taken == null)
+						return ABRUPT;
+					frame.execute(insn, interpreter);
+					insn = taken ? jump.label : insn.getNext();
+				}
+				case TableSwitchInsnNode tableSwitch -> {
+					OptionalInt key = intAt(frame, 0);
+					if (key.isEmpty())
+						return ABRUPT;
+					int index = key.getAsInt() - tableSwitch.min;
+					LabelNode target = index >= 0 && index < tableSwitch.labels.size() ?
+							tableSwitch.labels.get(index) : tableSwitch.dflt;
+					frame.execute(insn, interpreter);
+					insn = target;
+				}
+				case LookupSwitchInsnNode lookupSwitch -> {
+					OptionalInt key = intAt(frame, 0);
+					if (key.isEmpty())
+						return ABRUPT;
+					int index = lookupSwitch.keys.indexOf(key.getAsInt());
+					LabelNode target = index >= 0 ? lookupSwitch.labels.get(index) : lookupSwitch.dflt;
+					frame.execute(insn, interpreter);
+					insn = target;
+				}
+				case MethodInsnNode call -> {
+					// Calls must complete normally, even if their return value is not used.
+					int argumentCount = Type.getArgumentTypes(call.desc).length;
+					List<ReValue> arguments = new ArrayList<>(argumentCount);
+					for (int i = argumentCount - 1; i >= 0; i--)
+						arguments.add(frame.getStack(frame.getStackSize() - 1 - i));
+					if (!invoke(call, arguments).completedNormally())
+						return ABRUPT;
+					frame.execute(insn, interpreter);
+					insn = insn.getNext();
+				}
+				default -> {
+					if (op >= IRETURN && op <= RETURN) {
+						ReValue value = op == RETURN ? null : frame.getStack(frame.getStackSize() - 1);
+						return new Outcome(true, value);
+					}
+					if (mayThrow(frame, op))
+						return ABRUPT;
+					frame.execute(insn, interpreter);
+					insn = insn.getNext();
+				}
+			}
+		}
+		return ABRUPT;
+	}
+
+	/**
+	 * @param frame
+	 * 		Frame before the jump instruction.
+	 * @param op
+	 * 		Jump instruction opcode.
+	 *
+	 * @return {@code true} when the jump is taken, {@code false} when it is not.
+	 * {@code null} when it cannot be determined.
+	 */
+	@Nullable
+	private static Boolean isJumpTaken(@Nonnull Frame<ReValue> frame, int op) {
+		if (op == GOTO)
+			return true;
+		if (op >= IFEQ && op <= IFLE) {
+			OptionalInt value = intAt(frame, 0);
+			if (value.isEmpty())
+				return null;
+			return compare(op - IFEQ, value.getAsInt(), 0);
+		}
+		if (op >= IF_ICMPEQ && op <= IF_ICMPLE) {
+			OptionalInt value1 = intAt(frame, 1);
+			OptionalInt value2 = intAt(frame, 0);
+			if (value1.isEmpty() || value2.isEmpty())
+				return null;
+			return compare(op - IF_ICMPEQ, value1.getAsInt(), value2.getAsInt());
+		}
+		if (op == IFNULL || op == IFNONNULL) {
+			if (!(frame.getStack(frame.getStackSize() - 1) instanceof ObjectValue value))
+				return null;
+			if (value.isNull())
+				return op == IFNULL;
+			if (value.isNotNull())
+				return op == IFNONNULL;
+		}
+		return null;
+	}
+
+	/**
+	 * @param comparison
+	 * 		Offset of the comparison in the order of {@code EQ, NE, LT, GE, GT, LE}.
+	 * @param value1
+	 * 		Left side of the comparison.
+	 * @param value2
+	 * 		Right side of the comparison.
+	 *
+	 * @return Result of the comparison.
+	 */
+	private static boolean compare(int comparison, int value1, int value2) {
+		return switch (comparison) {
+			case 0 -> value1 == value2;
+			case 1 -> value1 != value2;
+			case 2 -> value1 < value2;
+			case 3 -> value1 >= value2;
+			case 4 -> value1 > value2;
+			default -> value1 <= value2;
+		};
+	}
+
+	/**
+	 * @param frame
+	 * 		Frame before the instruction.
+	 * @param op
+	 * 		Instruction opcode.
+	 *
+	 * @return {@code true} when the instruction could throw an exception given the frame's values.
+	 */
+	private static boolean mayThrow(@Nonnull Frame<ReValue> frame, int op) {
+		return switch (op) {
+			case IDIV, IREM -> {
+				OptionalInt divisor = intAt(frame, 0);
+				yield divisor.isEmpty() || divisor.getAsInt() == 0;
+			}
+			case LDIV, LREM -> {
+				if (!(frame.getStack(frame.getStackSize() - 1) instanceof LongValue divisor))
+					yield true;
+				OptionalLong value = divisor.value();
+				yield value.isEmpty() || value.getAsLong() == 0;
+			}
+			case IALOAD, LALOAD, FALOAD, DALOAD, AALOAD, BALOAD, CALOAD, SALOAD, ARRAYLENGTH,
+			     NEWARRAY, ANEWARRAY, MULTIANEWARRAY, CHECKCAST, GETFIELD, ATHROW -> true;
+			default -> false;
+		};
+	}
+
+	/**
+	 * @param frame
+	 * 		Frame to look at.
+	 * @param depth
+	 * 		Offset from the top of the stack.
+	 *
+	 * @return Int value at the given stack position, if known.
+	 */
+	@Nonnull
+	private static OptionalInt intAt(@Nonnull Frame<ReValue> frame, int depth) {
+		if (frame.getStack(frame.getStackSize() - 1 - depth) instanceof IntValue value)
+			return value.value();
+		return OptionalInt.empty();
+	}
+
+	/**
+	 * @param owner
+	 * 		Class declaring the method.
+	 * @param name
+	 * 		Method name.
+	 * @param desc
+	 * 		Method descriptor.
+	 *
+	 * @return Method if it is a pure static method, otherwise {@code null}.
+	 */
+	@Nullable
+	private synchronized PureMethod getPureMethod(@Nonnull String owner, @Nonnull String name, @Nonnull String desc) {
+		String key = owner + '.' + name + desc;
+		Optional<PureMethod> existing = pureMethods.get(key);
+		if (existing != null)
+			return existing.orElse(null);
+
+		// Recursive methods are seen as impure, as the method is not yet known to be pure while it is being checked.
+		pureMethods.put(key, Optional.empty());
+		PureMethod pure = findPureMethod(owner, name, desc);
+		pureMethods.put(key, Optional.ofNullable(pure));
+		return pure;
+	}
+
+	@Nullable
+	private PureMethod findPureMethod(@Nonnull String owner, @Nonnull String name, @Nonnull String desc) {
+		ClassNode node = getClassNode(owner);
+		if (node == null)
+			return null;
+		for (MethodNode method : node.methods) {
+			if (!method.name.equals(name) || !method.desc.equals(desc))
+				continue;
+			if ((method.access & (ACC_STATIC | ACC_ABSTRACT | ACC_NATIVE)) != ACC_STATIC)
+				return null;
+			if (method.instructions.size() == 0 || (method.tryCatchBlocks != null && !method.tryCatchBlocks.isEmpty()))
+				return null;
+			for (AbstractInsnNode insn : method.instructions)
+				if (!isSideEffectFree(insn))
+					return null;
+
+			// Build the instruction index cache up front, so concurrent evaluation of the method only reads it.
+			method.instructions.get(0);
+			return new PureMethod(owner, method);
+		}
+		return null;
+	}
+
+	private boolean isSideEffectFree(@Nonnull AbstractInsnNode insn) {
+		return switch (insn.getOpcode()) {
+			case PUTSTATIC, PUTFIELD, IASTORE, LASTORE, FASTORE, DASTORE, AASTORE, BASTORE, CASTORE, SASTORE,
+			     MONITORENTER, MONITOREXIT, INVOKEVIRTUAL, INVOKESPECIAL, INVOKEINTERFACE, INVOKEDYNAMIC,
+			     NEW, JSR, RET -> false;
+			case INVOKESTATIC -> {
+				MethodInsnNode call = (MethodInsnNode) insn;
+				yield getPureMethod(call.owner, call.name, call.desc) != null;
+			}
+			default -> true;
+		};
+	}
+
+	@Nullable
+	private ClassNode getClassNode(@Nonnull String name) {
+		return classNodes.computeIfAbsent(name, n -> {
+			ClassPathNode path = workspace.findJvmClass(n);
+			if (path == null)
+				return Optional.empty();
+			ClassInfo info = path.getValue();
+			if (!info.isJvmClass())
+				return Optional.empty();
+			ClassNode node = new ClassNode();
+			info.asJvmClass().getClassReader().accept(node, ClassReader.SKIP_FRAMES);
+			return Optional.of(node);
+		}).orElse(null);
+	}
+
+	@Nullable
+	private static ReValue unknown(@Nonnull Type type) {
+		try {
+			return ReValue.ofType(type, Nullness.UNKNOWN);
+		} catch (IllegalValueException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * @param owner
+	 * 		Name of class declaring the method.
+	 * @param method
+	 * 		Method with no side effects.
+	 */
+	private record PureMethod(@Nonnull String owner, @Nonnull MethodNode method) {
+	}
+
+	/**
+	 * @param method
+	 * 		Invoked method.
+	 * @param arguments
+	 * 		Argument values.
+	 */
+	private record Invocation(@Nonnull PureMethod method, @Nonnull List<ReValue> arguments) {
+	}
+
+	/**
+	 * @param completedNormally
+	 * 		Flag indicating the method returned, rather than throwing or being impossible to evaluate.
+	 * @param value
+	 * 		Returned value, or {@code null} for {@code void} methods.
+	 */
+	private record Outcome(boolean completedNormally, @Nullable ReValue value) {
+	}
+
+	/**
+	 * Number of instructions which can still be evaluated, shared by nested invocations.
+	 */
+	private static class StepBudget {
+		private int remaining = MAX_STEPS;
+		private boolean exhausted;
+	}
+}
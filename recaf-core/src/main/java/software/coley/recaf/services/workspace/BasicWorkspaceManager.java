@@ -8,13 +8,17 @@
 import org.slf4j.Logger;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
 import software.coley.recaf.workspace.model.EmptyWorkspace;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.BasicBundle;
+import software.coley.recaf.workspace.model.bundle.HistorySpillStore;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 /**
  * Basic workspace manager implementation.
@@ -28,12 +32,22 @@ public class BasicWorkspaceManager implements WorkspaceManager {
 	private final List<WorkspaceOpenListener> openListeners = new CopyOnWriteArrayList<>();
 	private final List<WorkspaceCloseListener> closeListeners = new CopyOnWriteArrayList<>();
 	private final List<WorkspaceModificationListener> defaultModificationListeners = new CopyOnWriteArrayList<>();
+	private final HistorySpillStore historyStore = new HistorySpillStore();
+	private final WorkspaceModificationListener historyStoreListener = new HistoryStoreListener();
 	private final WorkspaceManagerConfig config;
 	private Workspace current;
 
 	@Inject
-	public BasicWorkspaceManager(@Nonnull WorkspaceManagerConfig config) {
+	public BasicWorkspaceManager(@Nonnull WorkspaceManagerConfig config,
+	                             @Nonnull RecafDirectoriesConfig directoriesConfig) {
 		this.config = config;
+
+		// Older bundle history states of the current workspace are moved into this store.
+		historyStore.setDirectory(directoriesConfig.getTempDirectory());
+		historyStore.setHeapStates(config.getHistoryHeapStates().getValue());
+		historyStore.setMaxSize(megabytes(config.getHistorySpillMb().getValue()));
+		config.getHistoryHeapStates().addChangeListener((ob, old, cur) -> historyStore.setHeapStates(cur));
+		config.getHistorySpillMb().addChangeListener((ob, old, cur) -> historyStore.setMaxSize(megabytes(cur)));
 	}
 
 	@Nonnull
@@ -61,6 +75,8 @@ public void setCurrentIgnoringConditions(Workspace workspace) {
 		}
 		current = workspace;
 		if (workspace != null) {
+			workspace.allResourcesStream(false).forEach(this::useHistoryStore);
+			workspace.addWorkspaceModificationListener(historyStoreListener);
 			defaultModificationListeners.forEach(workspace::addWorkspaceModificationListener);
 			Unchecked.checkedForEach(openListeners, listener -> listener.onWorkspaceOpened(workspace),
 					(listener, t) -> logger.error("Exception thrown by when opening workspace", t));
@@ -154,4 +170,46 @@ public String getServiceId() {
 	public WorkspaceManagerConfig getServiceConfig() {
 		return config;
 	}
+
+	/**
+	 * @return Store for older bundle history states of the current workspace.
+	 */
+	@Nonnull
+	public HistorySpillStore getHistoryStore() {
+		return historyStore;
+	}
+
+	/**
+	 * Only JVM classes are moved into the store, so only the class bundles of the resource are given the store.
+	 * Bundles created by the resource later, such as those of remote VM class loaders, keep their history in the heap.
+	 *
+	 * @param resource
+	 * 		Resource to give the history store to.
+	 */
+	private void useHistoryStore(@Nonnull WorkspaceResource resource) {
+		Stream.concat(resource.jvmClassBundleStreamRecursive(), resource.versionedJvmClassBundleStreamRecursive())
+				.forEach(bundle -> {
+					if (bundle instanceof BasicBundle<?> basicBundle)
+						basicBundle.setHistoryStore(historyStore);
+				});
+	}
+
+	private static long megabytes(int mb) {
+		return Math.max(0, mb) * 1024L * 1024L;
+	}
+
+	/**
+	 * Gives the history store to libraries added to the current workspace.
+	 */
+	private class HistoryStoreListener implements WorkspaceModificationListener {
+		@Override
+		public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+			useHistoryStore(library);
+		}
+
+		@Override
+		public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+			// States already in the store stay there until the histories holding them are released.
+		}
+	}
 }
@@ -1,10 +1,14 @@
 package software.coley.recaf.services.workspace;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableInteger;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
+import software.coley.recaf.workspace.model.bundle.HistorySpillStore;
 
 /**
  * Config for {@link WorkspaceManager}
@@ -13,8 +17,31 @@
  */
 @ApplicationScoped
 public class WorkspaceManagerConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableInteger historyHeapStates = new ObservableInteger(10);
+	private final ObservableInteger historySpillMb = new ObservableInteger(512);
+
 	@Inject
 	public WorkspaceManagerConfig() {
 		super(ConfigGroups.SERVICE_IO, WorkspaceManager.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("history-heap-states", int.class, historyHeapStates));
+		addValue(new BasicConfigValue<>("history-spill-mb", int.class, historySpillMb));
+	}
+
+	/**
+	 * @return Number of the most recent states of each modified class to keep in memory.
+	 * Older states are moved to the {@link HistorySpillStore}.
+	 */
+	@Nonnull
+	public ObservableInteger getHistoryHeapStates() {
+		return historyHeapStates;
+	}
+
+	/**
+	 * @return Size in megabytes of the file holding older states of modified classes.
+	 * Once full, older states are kept in memory instead.
+	 */
+	@Nonnull
+	public ObservableInteger getHistorySpillMb() {
+		return historySpillMb;
 	}
-}
\ No newline at end of file
+}
@@ -27,6 +27,7 @@
 import software.coley.recaf.util.IOUtil;
 import software.coley.recaf.util.android.AndroidXmlUtil;
 import software.coley.recaf.util.io.ByteSource;
+import software.coley.recaf.util.io.LazyContent;
 
 import java.io.IOException;
 
@@ -50,36 +51,53 @@ public BasicInfoImporter(@Nonnull InfoImporterConfig config, @Nonnull ClassPatch
 	@Nonnull
 	@Override
 	public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IOException {
+		return readInfo(name, source, null);
+	}
+
+	@Nonnull
+	@Override
+	public Info readInfo(@Nonnull String name, @Nonnull ByteSource source, @Nullable LazyContent lazyContent) throws IOException {
 		byte[] data = source.readAll();
 
 		// Check for Java classes
 		if (matchesClass(data)) {
 			try {
 				int readerFlags = config.doSkipCodeParing() ? ClassReader.SKIP_CODE : 0;
+				boolean lazyMembers = config.doLazyClassMembers();
 
 				// If we're skipping validation, any ASM parse failures will result in the class
 				// being treated as a file instead (see catch block)
 				if (config.doSkipAsmValidation())
-					return new JvmClassInfoBuilder(data, readerFlags).build();
+					return new JvmClassInfoBuilder()
+							.withLazyMembers(lazyMembers)
+							.adaptFrom(data, readerFlags)
+							.withLazyBytecode(lazyContent)
+							.build();
 
 				// If we are doing validation, disable skipping ASM checks.
 				try {
 					return new JvmClassInfoBuilder()
 							.skipValidationChecks(false)
+							.withLazyMembers(lazyMembers)
 							.adaptFrom(data, readerFlags)
+							.withLazyBytecode(lazyContent)
 							.build();
 				} catch (Throwable t) {
-					// Patch if not compatible with ASM
+					// Patch if not compatible with ASM.
+					// The patched bytecode differs from the source content, so it must be held in memory.
 					byte[] patched = classPatcher.patch(name, data);
 					logger.debug("CafeDude patched class: {}", name);
 					try {
-						return new JvmClassInfoBuilder(patched, readerFlags)
+						return new JvmClassInfoBuilder()
+								.withLazyMembers(lazyMembers)
+								.adaptFrom(patched, readerFlags)
 								.skipValidationChecks(false)
 								.build();
 					} catch (Throwable t1) {
 						logger.error("CafeDude patching output is still non-compliant with ASM for file: {}", name);
 						return new FileInfoBuilder<>()
 								.withRawContent(data)
+								.withLazyContent(lazyContent)
 								.withName(name)
 								.build();
 					}
@@ -90,6 +108,7 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 				// It may be unpacked later.
 				return new FileInfoBuilder<>()
 						.withRawContent(data)
+						.withLazyContent(lazyContent)
 						.withName(name)
 						.withProperty(IllegalClassSuspectProperty.INSTANCE)
 						.build();
@@ -98,8 +117,13 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 
 		// Comparing against known file types.
 		boolean hasZipMarker = ByteHeaderUtil.matchAtAnyOffset(data, ByteHeaderUtil.ZIP);
-		FileInfo info = readAsSpecializedFile(name, data);
-		if (info != null) {
+		FileInfoBuilder<?> specializedBuilder = newSpecializedFileBuilder(name, data);
+		if (specializedBuilder != null) {
+			FileInfo info = specializedBuilder
+					.withRawContent(data)
+					.withLazyContent(lazyContent)
+					.withName(name)
+					.build();
 			if (hasZipMarker)
 				ZipMarkerProperty.set(info);
 			return info;
@@ -114,6 +138,7 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 			ZipFileInfoBuilder builder = new ZipFileInfoBuilder()
 					.withProperty(new ZipMarkerProperty())
 					.withRawContent(data)
+					.withLazyContent(lazyContent)
 					.withName(name);
 
 			// Record name, handle extension to determine info-type
@@ -132,6 +157,7 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 		// Will be automatically mapped to a text file if the contents are all mappable characters.
 		return new FileInfoBuilder<>()
 				.withRawContent(data)
+				.withLazyContent(lazyContent)
 				.withName(name)
 				.build();
 	}
@@ -142,53 +168,29 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 	 * @param data
 	 * 		File content.
 	 *
-	 * @return The {@link FileInfo} subtype of matched special cases <i>(Media, executables, etc.)</i>
+	 * @return Builder for the {@link FileInfo} subtype of matched special cases <i>(Media, executables, etc.)</i>
 	 * or {@code null} if no special case is matched.
 	 */
 	@Nullable
-	private static FileInfo readAsSpecializedFile(@Nonnull String name, byte[] data) {
+	private static FileInfoBuilder<?> newSpecializedFileBuilder(@Nonnull String name, byte[] data) {
 		if (ByteHeaderUtil.match(data, ByteHeaderUtil.DEX)) {
-			return new DexFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new DexFileInfoBuilder();
 		} else if (ByteHeaderUtil.match(data, ByteHeaderUtil.MODULES)) {
-			return new ModulesFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new ModulesFileInfoBuilder();
 		} else if (name.toUpperCase().endsWith(".ARSC") &&
 				ByteHeaderUtil.match(data, ByteHeaderUtil.ARSC)) {
-			return new ArscFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new ArscFileInfoBuilder();
 		} else if (name.toUpperCase().endsWith(".XML") &&
 				(ByteHeaderUtil.match(data, ByteHeaderUtil.BINARY_XML) || AndroidXmlUtil.hasXmlIndicators(data))) {
-			return new BinaryXmlFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new BinaryXmlFileInfoBuilder();
 		} else if (ByteHeaderUtil.matchAny(data, ByteHeaderUtil.IMAGE_HEADERS)) {
-			return new ImageFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new ImageFileInfoBuilder();
 		} else if (ByteHeaderUtil.matchAny(data, ByteHeaderUtil.AUDIO_HEADERS)) {
-			return new AudioFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new AudioFileInfoBuilder();
 		} else if (ByteHeaderUtil.matchAny(data, ByteHeaderUtil.VIDEO_HEADERS)) {
-			return new VideoFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new VideoFileInfoBuilder();
 		} else if (ByteHeaderUtil.matchAny(data, ByteHeaderUtil.PROGRAM_HEADERS)) {
-			return new NativeLibraryFileInfoBuilder()
-					.withRawContent(data)
-					.withName(name)
-					.build();
+			return new NativeLibraryFileInfoBuilder();
 		}
 		return null;
 	}
@@ -2,11 +2,14 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import software.coley.collections.Unchecked;
+import software.coley.lljzip.format.compression.ZipCompressions;
 import software.coley.lljzip.format.model.CentralDirectoryFileHeader;
+import software.coley.lljzip.format.model.LocalFileHeader;
 import software.coley.lljzip.format.model.ZipArchive;
 import software.coley.lljzip.util.ExtraFieldTime;
 import software.coley.lljzip.util.MemorySegmentUtil;
@@ -14,6 +17,7 @@
 import software.coley.recaf.info.DexFileInfo;
 import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.Info;
+import software.coley.recaf.info.BasicAndroidClassInfo;
 import software.coley.recaf.info.JarFileInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.ModulesFileInfo;
@@ -32,13 +36,18 @@
 import software.coley.recaf.info.properties.builtin.ZipMarkerProperty;
 import software.coley.recaf.info.properties.builtin.ZipModificationTimeProperty;
 import software.coley.recaf.info.properties.builtin.ZipPrefixDataProperty;
+import software.coley.recaf.info.properties.builtin.ZipRawEntryProperty;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.android.DexTranslationService;
 import software.coley.recaf.util.IOUtil;
 import software.coley.recaf.util.ModulesIOUtil;
 import software.coley.recaf.util.StringUtil;
 import software.coley.recaf.util.android.DexIOUtil;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.util.io.ByteSource;
 import software.coley.recaf.util.io.ByteSources;
+import software.coley.recaf.util.io.ContentCache;
+import software.coley.recaf.util.io.LazyContent;
 import software.coley.recaf.util.io.LocalFileHeaderSource;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.BasicFileBundle;
@@ -53,6 +62,8 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.lang.foreign.MemorySegment;
 import java.net.URI;
 import java.net.URL;
@@ -62,12 +73,21 @@
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * Basic implementation of the resource importer.
@@ -77,15 +97,52 @@
 @ApplicationScoped
 public class BasicResourceImporter implements ResourceImporter, Service {
 	private static final int MAX_ZIP_DEPTH = 3;
+	private static final int PARALLEL_DECODE_THRESHOLD = 64;
+	private static final int DECODE_CHUNK_SIZE = 32;
+	private static final int DEX_READ_AHEAD = 2;
 	private static final Logger logger = Logging.get(BasicResourceImporter.class);
 	private final InfoImporter infoImporter;
 	private final ResourceImporterConfig config;
+	private final BasicAndroidClassInfo.JvmTranslator dexTranslator;
+	private final ExecutorService decodePool = ThreadPoolFactory.newWorkStealingPool("zip-decode");
+	private final ContentCache contentCache;
 
 	@Inject
+	public BasicResourceImporter(@Nonnull InfoImporter infoImporter,
+	                             @Nonnull ResourceImporterConfig config,
+	                             @Nonnull DexTranslationService dexTranslationService) {
+		this(infoImporter, config, (BasicAndroidClassInfo.JvmTranslator) dexTranslationService);
+	}
+
+	/**
+	 * @param infoImporter
+	 * 		Importer to map raw content into info types.
+	 * @param config
+	 * 		Importer config.
+	 */
 	public BasicResourceImporter(@Nonnull InfoImporter infoImporter,
 	                             @Nonnull ResourceImporterConfig config) {
+		this(infoImporter, config, BasicAndroidClassInfo.DEFAULT_TRANSLATOR);
+	}
+
+	/**
+	 * @param infoImporter
+	 * 		Importer to map raw content into info types.
+	 * @param config
+	 * 		Importer config.
+	 * @param dexTranslator
+	 * 		Translator for imported Android classes to use for {@link software.coley.recaf.info.AndroidClassInfo#asJvmClass()}.
+	 */
+	public BasicResourceImporter(@Nonnull InfoImporter infoImporter,
+	                             @Nonnull ResourceImporterConfig config,
+	                             @Nonnull BasicAndroidClassInfo.JvmTranslator dexTranslator) {
 		this.infoImporter = infoImporter;
 		this.config = config;
+		this.dexTranslator = dexTranslator;
+
+		// Cache for recently used contents of resources imported with lazy content enabled.
+		contentCache = new ContentCache(megabytes(config.getLazyContentCacheMb().getValue()));
+		config.getLazyContentCacheMb().addChangeListener((ob, old, cur) -> contentCache.setMaxSize(megabytes(cur)));
 	}
 
 	/**
@@ -106,7 +163,7 @@ private WorkspaceResource handleSingle(@Nonnull WorkspaceFileResourceBuilder bui
 		PathAndName pathAndName = PathAndName.fromString(pathName);
 		String name = pathAndName.name;
 		Path localPath = pathAndName.path;
-		Info readInfo = infoImporter.readInfo(name, source);
+		Info readInfo = infoImporter.readInfo(name, source, newLazyContent(() -> source));
 
 		// Check if it is a single class.
 		if (readInfo.isClass()) {
@@ -156,7 +213,7 @@ private WorkspaceResource handleSingle(@Nonnull WorkspaceFileResourceBuilder bui
 		// Check for DEX file format.
 		if (readInfoAsFile instanceof DexFileInfo) {
 			String dexName = readInfoAsFile.getName();
-			AndroidClassBundle dexBundle = DexIOUtil.read(readInfoAsFile.getRawContent());
+			AndroidClassBundle dexBundle = DexIOUtil.read(readInfoAsFile.getRawContent(), dexTranslator);
 			return builder.withAndroidClassBundles(Map.of(dexName, dexBundle))
 					.build();
 		}
@@ -185,7 +242,20 @@ private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, Zi
 
 		// Read ZIP
 		boolean isAndroid = zipInfo.getName().toLowerCase().endsWith(".apk");
-		ZipArchive archive = config.mapping().apply(source.readAll());
+		//  - With lazy content the archive is read from a mapped view of the source, so that entry contents
+		//    can be read from it on demand without the whole archive being copied onto the heap.
+		MemorySegment archiveData;
+		ZipArchive archive;
+		if (config.getLazyContent().getValue()) {
+			archiveData = source.mmap();
+			archive = config.segmentMapping().apply(archiveData);
+		} else {
+			// The info already holds the archive content, so we can read from it rather than from a new copy.
+			// Entries refer to slices of this content for their original compressed data.
+			byte[] archiveBytes = zipInfo.getRawContent();
+			archiveData = MemorySegment.ofArray(archiveBytes);
+			archive = config.mapping().apply(archiveBytes);
+		}
 
 		// Sanity check, if there's data at the head of the file AND its otherwise empty its probably junk.
 		MemorySegment prefixData = archive.getPrefixData();
@@ -199,60 +269,43 @@ private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, Zi
 			ZipPrefixDataProperty.set(zipInfo, MemorySegmentUtil.toByteArray(prefixData));
 		}
 
-		// Build model from the contained files in the ZIP
-		archive.getLocalFiles().forEach(header -> {
-			LocalFileHeaderSource headerSource = new LocalFileHeaderSource(header, isAndroid);
-			String entryName = header.getFileNameAsString();
+		// Decode the contained files in the ZIP in parallel. Decompression and class parsing are the bulk of the
+		// work when importing, and each entry can be handled independently of the others.
+		List<LocalFileHeader> headers = archive.getLocalFiles();
+		DecodedEntry[] decodedEntries = decodeEntries(headers, isAndroid);
+		DexReadAhead dexReads = new DexReadAhead(decodedEntries);
 
-			// Skip directories. There is no such thing as a 'directory' entry in ZIP files.
-			// The only thing we can say is that if it ends with a '/' and has no data associated with it,
-			// then it is probably a directory.
-			if (entryName.endsWith("/") && Unchecked.getOr(headerSource::isEmpty, false))
-				return;
+		// Build model from the decoded entries. This is done in the original entry order, so that
+		// handling of duplicate entries matches what a sequential read would yield.
+		try {
+			for (int i = 0; i < decodedEntries.length; i++) {
+				DecodedEntry decoded = decodedEntries[i];
+				if (decoded == null)
+					continue;
+				String entryName = decoded.name();
+				Info info = decoded.info();
 
-			// Read the value of the entry to figure out how to handle adding it to the resource builder.
-			Info info;
-			try {
-				info = infoImporter.readInfo(entryName, headerSource);
-			} catch (IOException ex) {
-				logger.error("IO error reading ZIP entry '{}' - skipping", entryName, ex);
-				return;
-			}
-
-			// Record common entry attributes
-			ZipCompressionProperty.set(info, header.getCompressionMethod());
-			ExtraFieldTime.TimeWrapper extraTimes = ExtraFieldTime.read(header);
-			CentralDirectoryFileHeader centralHeader = header.getLinkedDirectoryFileHeader();
-			if (centralHeader != null) {
-				if (centralHeader.getFileCommentLength() > 0)
-					ZipCommentProperty.set(info, centralHeader.getFileCommentAsString());
-				if (extraTimes == null)
-					extraTimes = ExtraFieldTime.read(centralHeader);
-			}
-			if (extraTimes != null) {
-				ZipCreationTimeProperty.set(info, extraTimes.getCreationMs());
-				ZipModificationTimeProperty.set(info, extraTimes.getModifyMs());
-				ZipAccessTimeProperty.set(info, extraTimes.getAccessMs());
-			}
-
-			// Skipping ZIP bombs
-			if (info.isFile() && info.asFile().isZipFile()) {
-				ZipFileInfo zipFile = info.asFile().asZipFile();
-				if (Arrays.equals(zipFile.getRawContent(), zipInfo.getRawContent())) {
-					logger.warn("Skip self-extracting ZIP bomb: {}", entryName);
-					return;
-				} else if (Arrays.stream(Thread.currentThread().getStackTrace())
-						.filter(trace -> trace.getMethodName().equals("handleZip"))
-						.count() > MAX_ZIP_DEPTH) {
-					logger.warn("Skip extracting embedded ZIP after {} levels: {}", MAX_ZIP_DEPTH, entryName);
-					return;
+				// Skipping ZIP bombs
+				if (info.isFile() && info.asFile().isZipFile()) {
+					ZipFileInfo zipFile = info.asFile().asZipFile();
+					if (MemorySegment.ofArray(zipFile.getRawContent()).mismatch(archiveData) == -1) {
+						logger.warn("Skip self-extracting ZIP bomb: {}", entryName);
+						continue;
+					} else if (Arrays.stream(Thread.currentThread().getStackTrace())
+							.filter(trace -> trace.getMethodName().equals("handleZip"))
+							.count() > MAX_ZIP_DEPTH) {
+						logger.warn("Skip extracting embedded ZIP after {} levels: {}", MAX_ZIP_DEPTH, entryName);
+						continue;
+					}
 				}
-			}
 
-			// Add the info to the appropriate bundle
-			addInfo(classes, files, androidClassBundles, versionedJvmClassBundles, embeddedResources,
-					headerSource, entryName, info);
-		});
+				// Add the info to the appropriate bundle
+				addInfo(classes, files, androidClassBundles, versionedJvmClassBundles, embeddedResources,
+						decoded.source(), entryName, info, dexReads.take(i));
+			}
+		} finally {
+			dexReads.cancel();
+		}
 		return builder
 				.withJvmClassBundle(classes)
 				.withAndroidClassBundles(androidClassBundles)
@@ -263,6 +316,193 @@ private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, Zi
 				.build();
 	}
 
+	/**
+	 * @param headers
+	 * 		Local file headers of a ZIP archive.
+	 * @param isAndroid
+	 * 		Flag to indicate the archive is an APK, which changes how malformed compression is handled.
+	 *
+	 * @return Array of decoded entries, in the same order as the given headers.
+	 * Entries which are skipped <i>(directories, unreadable content)</i> are {@code null}.
+	 *
+	 * @throws IOException
+	 * 		When decoding is interrupted.
+	 */
+	@Nonnull
+	private DecodedEntry[] decodeEntries(@Nonnull List<LocalFileHeader> headers, boolean isAndroid) throws IOException {
+		int entryCount = headers.size();
+		DecodedEntry[] decodedEntries = new DecodedEntry[entryCount];
+
+		// Small archives are not worth the overhead of scheduling.
+		if (entryCount < PARALLEL_DECODE_THRESHOLD) {
+			for (int i = 0; i < entryCount; i++)
+				decodedEntries[i] = decodeEntry(headers.get(i), isAndroid);
+			return decodedEntries;
+		}
+
+		// Each task fills in its own range of the output array, so no additional synchronization is needed.
+		List<Future<?>> futures = new ArrayList<>(entryCount / DECODE_CHUNK_SIZE + 1);
+		for (int start = 0; start < entryCount; start += DECODE_CHUNK_SIZE) {
+			int chunkStart = start;
+			int chunkEnd = Math.min(entryCount, start + DECODE_CHUNK_SIZE);
+			futures.add(decodePool.submit(() -> {
+				for (int i = chunkStart; i < chunkEnd; i++)
+					decodedEntries[i] = decodeEntry(headers.get(i), isAndroid);
+			}));
+		}
+		awaitAll(futures, "decoding ZIP entries");
+		return decodedEntries;
+	}
+
+	/**
+	 * @param futures
+	 * 		Futures of tasks to wait on.
+	 * @param action
+	 * 		Description of the work done by the tasks, for error messages.
+	 *
+	 * @throws IOException
+	 * 		When waiting is interrupted, or a task fails with a checked exception.
+	 */
+	private static void awaitAll(@Nonnull List<Future<?>> futures, @Nonnull String action) throws IOException {
+		try {
+			for (Future<?> future : futures)
+				future.get();
+		} catch (InterruptedException ex) {
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while " + action);
+		} catch (ExecutionException ex) {
+			futures.forEach(f -> f.cancel(true));
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException re) throw re;
+			if (cause instanceof Error error) throw error;
+			throw new IOException("Failed " + action, cause);
+		}
+	}
+
+	/**
+	 * @param header
+	 * 		Local file header of a ZIP entry.
+	 * @param isAndroid
+	 * 		Flag to indicate the archive is an APK, which changes how malformed compression is handled.
+	 *
+	 * @return Decoded entry, or {@code null} if the entry should be skipped.
+	 */
+	@Nullable
+	private DecodedEntry decodeEntry(@Nonnull LocalFileHeader header, boolean isAndroid) {
+		LocalFileHeaderSource headerSource = new LocalFileHeaderSource(header, isAndroid);
+		String entryName = header.getFileNameAsString();
+
+		// Skip directories. There is no such thing as a 'directory' entry in ZIP files.
+		// The only thing we can say is that if it ends with a '/' and has no data associated with it,
+		// then it is probably a directory.
+		if (entryName.endsWith("/") && Unchecked.getOr(headerSource::isEmpty, false))
+			return null;
+
+		// Read the value of the entry to figure out how to handle adding it to the resource builder.
+		// When lazy content is enabled each read of the entry content creates a new header source, so that
+		// the decompressed content is not kept around once it is evicted from the content cache.
+		Info info;
+		try {
+			LazyContent lazyContent = newLazyContent(() -> new LocalFileHeaderSource(header, isAndroid));
+			info = infoImporter.readInfo(entryName, headerSource, lazyContent);
+		} catch (IOException ex) {
+			logger.error("IO error reading ZIP entry '{}' - skipping", entryName, ex);
+			return null;
+		}
+
+		// Record common entry attributes
+		ZipCompressionProperty.set(info, header.getCompressionMethod());
+		ExtraFieldTime.TimeWrapper extraTimes = ExtraFieldTime.read(header);
+		CentralDirectoryFileHeader centralHeader = header.getLinkedDirectoryFileHeader();
+		if (centralHeader != null) {
+			if (centralHeader.getFileCommentLength() > 0)
+				ZipCommentProperty.set(info, centralHeader.getFileCommentAsString());
+			if (extraTimes == null)
+				extraTimes = ExtraFieldTime.read(centralHeader);
+		}
+		if (extraTimes != null) {
+			ZipCreationTimeProperty.set(info, extraTimes.getCreationMs());
+			ZipModificationTimeProperty.set(info, extraTimes.getModifyMs());
+			ZipAccessTimeProperty.set(info, extraTimes.getAccessMs());
+		}
+		recordRawEntry(info, header, isAndroid);
+
+		// The source holds onto the decompressed content. Only embedded containers read from it again
+		// when being added to the resource, so for anything else we swap it with a fresh source to let
+		// the decompressed content be collected while the remaining entries are decoded.
+		ByteSource source = headerSource;
+		if (info.isClass() || !(info.asFile() instanceof DexFileInfo || info.asFile().isZipFile()))
+			source = new LocalFileHeaderSource(header, isAndroid);
+		return new DecodedEntry(entryName, info, source);
+	}
+
+	/**
+	 * Records the compressed data of the entry, so that exports can copy it as-is when the info is not modified.
+	 * Only the header is recorded here, the data is {@link ZipRawEntryProperty.RawEntry#verify() verified}
+	 * by exports that copy it.
+	 *
+	 * @param info
+	 * 		Info read from the entry.
+	 * @param header
+	 * 		Local file header of the entry.
+	 * @param isAndroid
+	 * 		Flag to indicate the archive is an APK, which changes how malformed compression is handled.
+	 */
+	private static void recordRawEntry(@Nonnull Info info, @Nonnull LocalFileHeader header, boolean isAndroid) {
+		// APK entries which fail to decompress are treated as stored, so the data may not match the method.
+		int method = header.getCompressionMethod();
+		if (isAndroid || (method != ZipCompressions.STORED && method != ZipCompressions.DEFLATED))
+			return;
+		ZipRawEntryProperty.set(info, new ZipRawEntryProperty.RawEntry(method, header));
+	}
+
+	/**
+	 * @param sourceSupplier
+	 * 		Supplier of the source to read content from.
+	 *
+	 * @return Lazy content wrapping the source when {@link ResourceImporterConfig#getLazyContent()} is enabled,
+	 * otherwise {@code null}.
+	 */
+	@Nullable
+	private LazyContent newLazyContent(@Nonnull Supplier<ByteSource> sourceSupplier) {
+		if (!config.getLazyContent().getValue())
+			return null;
+		return new LazyContent(contentCache, sourceSupplier);
+	}
+
+	/**
+	 * @param file
+	 * 		File to read from.
+	 * @param source
+	 * 		Source of the file.
+	 * @param size
+	 * 		Size of the file when imported.
+	 * @param modified
+	 * 		Modification time of the file when imported.
+	 *
+	 * @return Supplier of the source, which fails if the file was changed on disk since it was imported.
+	 * Otherwise, lazily read content of an unmodified class could silently differ from what was imported.
+	 */
+	@Nonnull
+	private static Supplier<ByteSource> unchangedSource(@Nonnull Path file, @Nonnull ByteSource source,
+	                                                    long size, @Nonnull FileTime modified) {
+		return () -> {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+				if (attributes.size() != size || !attributes.lastModifiedTime().equals(modified))
+					throw new IOException("File changed on disk since it was imported: " + file);
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return source;
+		};
+	}
+
+	private static long megabytes(int mb) {
+		return Math.max(0, mb) * 1024L * 1024L;
+	}
+
 	private WorkspaceDirectoryResource handleDirectory(WorkspaceResourceBuilder builder, Path directoryPath) throws IOException {
 		logger.info("Reading input from directory '{}'", directoryPath);
 		BasicJvmClassBundle classes = new BasicJvmClassBundle();
@@ -281,11 +521,12 @@ public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IO
 					String fileName = directoryPath.relativize(file).toString();
 					if (File.separator.equals("\\"))
 						fileName = fileName.replace('\\', '/');
-					Info info = infoImporter.readInfo(fileName, source);
+					Info info = infoImporter.readInfo(fileName, source,
+							newLazyContent(unchangedSource(file, source, attrs.size(), attrs.lastModifiedTime())));
 
 					// Add the info to the appropriate bundle
 					addInfo(classes, files, androidClassBundles, versionedJvmClassBundles, embeddedResources,
-							source, fileName, info);
+							source, fileName, info, null);
 				} catch (IOException ex) {
 					logger.error("IO error reading ZIP entry '{}' - skipping", file, ex);
 				}
@@ -310,7 +551,8 @@ private void addInfo(BasicJvmClassBundle classes,
 	                     Map<String, WorkspaceFileResource> embeddedResources,
 	                     ByteSource infoSource,
 	                     String pathName,
-	                     Info info) {
+	                     Info info,
+	                     @Nullable AndroidClassBundle dexBundle) {
 		if (info.isClass()) {
 			// Must be a JVM class since Android classes do not exist in single-file form.
 			JvmClassInfo classInfo = info.asClass().asJvmClass();
@@ -419,7 +661,8 @@ private void addInfo(BasicJvmClassBundle classes,
 			// Check for special file cases (Currently just DEX)
 			if (fileInfo instanceof DexFileInfo) {
 				try {
-					AndroidClassBundle dexBundle = DexIOUtil.read(infoSource);
+					if (dexBundle == null)
+						dexBundle = DexIOUtil.read(infoSource, dexTranslator);
 					androidClassBundles.put(pathName, dexBundle);
 				} catch (IOException ex) {
 					logger.error("Failed to read embedded DEX '{}'", pathName, ex);
@@ -663,6 +906,14 @@ public WorkspaceResource importResource(@Nonnull URL url) throws IOException {
 		return handleSingle(new WorkspaceFileResourceBuilder(), path, byteSource);
 	}
 
+	/**
+	 * Stops entry decoding threads when shutdown is observed.
+	 */
+	@PreDestroy
+	private void onShutdown() {
+		decodePool.shutdownNow();
+	}
+
 	@Nonnull
 	@Override
 	public String getServiceId() {
@@ -675,6 +926,87 @@ public ResourceImporterConfig getServiceConfig() {
 		return config;
 	}
 
+	/**
+	 * Dex files are the bulk of the content in APKs, and large apps split their classes across many of them.
+	 * Each dex file can be parsed independently, so they are read in parallel ahead of the entry being added to
+	 * the resource. Only a few are read ahead at a time, as each parsed dex file is large, and each bundle is
+	 * handed off as soon as its entry is reached.
+	 */
+	private class DexReadAhead {
+		private final Map<Integer, Future<AndroidClassBundle>> reads = new HashMap<>();
+		private final Deque<Integer> pending = new ArrayDeque<>();
+		private final DecodedEntry[] decodedEntries;
+
+		/**
+		 * @param decodedEntries
+		 * 		Decoded entries of a ZIP archive.
+		 */
+		private DexReadAhead(@Nonnull DecodedEntry[] decodedEntries) {
+			this.decodedEntries = decodedEntries;
+			for (int i = 0; i < decodedEntries.length; i++) {
+				DecodedEntry decoded = decodedEntries[i];
+				if (decoded != null && decoded.info().isFile() && decoded.info().asFile() instanceof DexFileInfo)
+					pending.add(i);
+			}
+			fill();
+		}
+
+		/**
+		 * @param index
+		 * 		Index of the entry to get the bundle of.
+		 *
+		 * @return Bundle read from the dex file entry. {@code null} for entries which are not dex files,
+		 * or which fail to be read. Failures are reported when the entry is added to the resource.
+		 *
+		 * @throws IOException
+		 * 		When reading is interrupted.
+		 */
+		@Nullable
+		private AndroidClassBundle take(int index) throws IOException {
+			Future<AndroidClassBundle> read = reads.remove(index);
+			if (read == null)
+				return null;
+			try {
+				return read.get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while reading DEX entries");
+			} catch (ExecutionException ex) {
+				logger.debug("Failed to read DEX entry '{}' in parallel", decodedEntries[index].name(), ex.getCause());
+				return null;
+			} finally {
+				fill();
+			}
+		}
+
+		/**
+		 * Cancels any reads which have not been taken.
+		 */
+		private void cancel() {
+			reads.values().forEach(read -> read.cancel(true));
+			reads.clear();
+			pending.clear();
+		}
+
+		private void fill() {
+			while (reads.size() < DEX_READ_AHEAD && !pending.isEmpty()) {
+				int index = pending.poll();
+				ByteSource source = decodedEntries[index].source();
+				reads.put(index, decodePool.submit(() -> DexIOUtil.read(source, dexTranslator)));
+			}
+		}
+	}
+
+	/**
+	 * @param name
+	 * 		ZIP entry name.
+	 * @param info
+	 * 		Info read from the entry.
+	 * @param source
+	 * 		Source of the entry's content.
+	 */
+	private record DecodedEntry(@Nonnull String name, @Nonnull Info info, @Nonnull ByteSource source) {}
+
 	private record PathAndName(@Nullable Path path, @Nonnull String name) {
 		@Nonnull
 		private static PathAndName fromString(@Nonnull String pathName) {
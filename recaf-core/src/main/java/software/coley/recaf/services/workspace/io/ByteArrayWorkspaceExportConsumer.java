@@ -3,7 +3,9 @@
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Export consumer to write to a {@code byte[]}. Only supports {@link WorkspaceOutputType#FILE}.
@@ -30,6 +32,22 @@ public void write(@Nonnull byte[] bytes) throws IOException {
 		}
 	}
 
+	@Nonnull
+	@Override
+	public OutputStream openStream() {
+		// Collect all streamed content before appending it, rather than growing the output on every write.
+		return new ByteArrayOutputStream() {
+			private boolean closed;
+
+			@Override
+			public void close() throws IOException {
+				if (closed) return;
+				closed = true;
+				ByteArrayWorkspaceExportConsumer.this.write(toByteArray());
+			}
+		};
+	}
+
 	@Override
 	public void writeRelative(@Nonnull String relative, @Nonnull byte[] bytes) {
 		throw new IllegalStateException("Directory export not supported in byte-array export consumer");
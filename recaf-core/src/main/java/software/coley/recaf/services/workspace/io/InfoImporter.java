@@ -1,9 +1,11 @@
 package software.coley.recaf.services.workspace.io;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import software.coley.recaf.info.Info;
 import software.coley.recaf.services.Service;
 import software.coley.recaf.util.io.ByteSource;
+import software.coley.recaf.util.io.LazyContent;
 
 import java.io.IOException;
 
@@ -28,4 +30,24 @@ public interface InfoImporter extends Service {
 	 */
 	@Nonnull
 	Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IOException;
+
+	/**
+	 * @param name
+	 * 		Name to pass for {@link Info#getName()} if it cannot be inferred from the content source.
+	 * @param source
+	 * 		Source of content to read data from.
+	 * @param lazyContent
+	 * 		Lazy access to the same content as the source, which the resulting info should read its content from
+	 * 		instead of holding it in memory. May be {@code null} to hold content in memory.
+	 * 		Implementations which do not support lazy content may ignore it.
+	 *
+	 * @return Info instance.
+	 *
+	 * @throws IOException
+	 * 		When the content cannot be read.
+	 */
+	@Nonnull
+	default Info readInfo(@Nonnull String name, @Nonnull ByteSource source, @Nullable LazyContent lazyContent) throws IOException {
+		return readInfo(name, source);
+	}
 }
@@ -19,12 +19,14 @@
 public class InfoImporterConfig extends BasicConfigContainer implements ServiceConfig {
 	private final ObservableBoolean skipClassAsmValidation = new ObservableBoolean(false);
 	private final ObservableBoolean skipCodeParing = new ObservableBoolean(true);
+	private final ObservableBoolean lazyClassMembers = new ObservableBoolean(false);
 
 	@Inject
 	public InfoImporterConfig() {
 		super(ConfigGroups.SERVICE_IO, InfoImporter.SERVICE_ID + CONFIG_SUFFIX);
 		addValue(new BasicConfigValue<>("skip-class-asm-validation", boolean.class, skipClassAsmValidation));
 		addValue(new BasicConfigValue<>("skip-class-code", boolean.class, skipCodeParing));
+		addValue(new BasicConfigValue<>("lazy-class-members", boolean.class, lazyClassMembers));
 	}
 
 	/**
@@ -47,4 +49,15 @@ public boolean doSkipAsmValidation() {
 	public boolean doSkipCodeParing() {
 		return skipCodeParing.getValue();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Only reads the header of classes when importing. Annotations, inner classes, fields, and methods
+	 * are populated from the bytecode when first accessed. Most classes in large libraries are never inspected,
+	 * so this saves both import time and memory.
+	 *
+	 * @return {@code true} to populate class members on demand.
+	 */
+	public boolean doLazyClassMembers() {
+		return lazyClassMembers.getValue();
+	}
+}
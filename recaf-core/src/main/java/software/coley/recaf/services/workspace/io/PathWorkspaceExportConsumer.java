@@ -2,10 +2,20 @@
 
 import jakarta.annotation.Nonnull;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Export consumer to write to a given {@link Path}, either as a single file or as the root of a directory of items.
@@ -14,7 +24,7 @@
  */
 public class PathWorkspaceExportConsumer implements WorkspaceExportConsumer {
 	private final Path path;
-	private boolean firstSingleWrite = true;
+	private Path singleWriteTemp;
 
 	/**
 	 * @param path
@@ -26,12 +36,14 @@ public PathWorkspaceExportConsumer(@Nonnull Path path) {
 
 	@Override
 	public void write(@Nonnull byte[] bytes) throws IOException {
-		if (firstSingleWrite) {
-			Files.write(path, bytes);
-			firstSingleWrite = false;
-		} else {
-			Files.write(path, bytes, StandardOpenOption.APPEND);
-		}
+		Files.write(getSingleWriteTemp(), bytes, StandardOpenOption.APPEND);
+	}
+
+	@Nonnull
+	@Override
+	public OutputStream openStream() throws IOException {
+		FileChannel channel = FileChannel.open(getSingleWriteTemp(), StandardOpenOption.APPEND);
+		return new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
 	}
 
 	@Override
@@ -45,6 +57,75 @@ public void writeRelative(@Nonnull String relativePath, @Nonnull byte[] bytes) t
 
 	@Override
 	public void commit() throws IOException {
-		// No-need to do anything
+		// Replace the destination only once all content is written
+		Path temp = singleWriteTemp;
+		if (temp == null)
+			return;
+		singleWriteTemp = null;
+		try {
+			try {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (FileSystemException ex) {
+			// Some platforms, such as Windows, do not allow replacing files which are open or memory-mapped,
+			// which will be the case when exporting over the workspace input.
+			throw new IOException("Could not replace '" + path + "', it may be in use", ex);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public void abort() throws IOException {
+		Path temp = singleWriteTemp;
+		singleWriteTemp = null;
+		if (temp != null)
+			Files.deleteIfExists(temp);
+	}
+
+	/**
+	 * Content may be read from the file being replaced while it is written, such as when exporting over the
+	 * workspace input, which can have its original entries copied. So single-file content is written to a
+	 * temporary file next to the destination, which replaces the destination on {@link #commit()}.
+	 * <br>
+	 * The temporary file is created with default permissions, or those of the destination if it exists,
+	 * so that replacing the destination does not change its permissions.
+	 *
+	 * @return Temporary file to write single-file content to.
+	 *
+	 * @throws IOException
+	 * 		When the temporary file cannot be created.
+	 */
+	@Nonnull
+	private Path getSingleWriteTemp() throws IOException {
+		if (singleWriteTemp == null) {
+			Path parent = path.toAbsolutePath().getParent();
+			if (!Files.isDirectory(parent))
+				Files.createDirectories(parent);
+
+			// Not using 'Files.createTempFile' as it restricts permissions to the owner.
+			String prefix = "." + path.getFileName() + '.';
+			Path temp;
+			while (true) {
+				try {
+					String suffix = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp";
+					temp = Files.createFile(parent.resolve(prefix + suffix));
+					break;
+				} catch (FileAlreadyExistsException ignored) {
+					// Try again with another name
+				}
+			}
+			try {
+				if (Files.exists(path) && Files.getFileAttributeView(path, PosixFileAttributeView.class) != null)
+					Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(path));
+			} catch (IOException | RuntimeException ex) {
+				Files.deleteIfExists(temp);
+				throw ex;
+			}
+			singleWriteTemp = temp;
+		}
+		return singleWriteTemp;
 	}
 }
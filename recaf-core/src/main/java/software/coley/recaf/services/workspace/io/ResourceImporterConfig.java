@@ -10,12 +10,15 @@
 import software.coley.lljzip.format.model.ZipArchive;
 import software.coley.lljzip.format.read.JvmZipReader;
 import software.coley.observables.ObservableBoolean;
+import software.coley.observables.ObservableInteger;
 import software.coley.observables.ObservableObject;
 import software.coley.recaf.config.BasicConfigContainer;
 import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
+import java.lang.foreign.MemorySegment;
+
 /**
  * Config for {@link ResourceImporter}.
  *
@@ -26,6 +29,8 @@ public class ResourceImporterConfig extends BasicConfigContainer implements Serv
 	private final ObservableObject<ZipStrategy> zipStrategy = new ObservableObject<>(ZipStrategy.JVM);
 	private final ObservableBoolean skipRevisitedCenToLocalLinks = new ObservableBoolean(true);
 	private final ObservableBoolean allowBasicJvmBaseOffsetZeroCheck = new ObservableBoolean(true);
+	private final ObservableBoolean lazyContent = new ObservableBoolean(false);
+	private final ObservableInteger lazyContentCacheMb = new ObservableInteger(256);
 
 	@Inject
 	public ResourceImporterConfig() {
@@ -34,6 +39,8 @@ public ResourceImporterConfig() {
 		addValue(new BasicConfigValue<>("zip-strategy", ZipStrategy.class, zipStrategy));
 		addValue(new BasicConfigValue<>("skip-revisited-cen-to-local-links", boolean.class, skipRevisitedCenToLocalLinks));
 		addValue(new BasicConfigValue<>("allow-basic-base-offset-zero-check", boolean.class, allowBasicJvmBaseOffsetZeroCheck));
+		addValue(new BasicConfigValue<>("lazy-content", boolean.class, lazyContent));
+		addValue(new BasicConfigValue<>("lazy-content-cache-mb", int.class, lazyContentCacheMb));
 	}
 
 	/**
@@ -81,6 +88,42 @@ public ObservableBoolean getAllowBasicJvmBaseOffsetZeroCheck() {
 		return allowBasicJvmBaseOffsetZeroCheck;
 	}
 
+	/**
+	 * When enabled, ZIP archives are read from a memory-mapped view of their input, and the contents of
+	 * classes and files read from them are not held in memory. Contents are instead re-read from the archive
+	 * on demand, with recently used contents held in a cache bounded by {@link #getLazyContentCacheMb()}.
+	 *
+	 * @return {@code true} to import ZIP contents lazily.
+	 */
+	@Nonnull
+	public ObservableBoolean getLazyContent() {
+		return lazyContent;
+	}
+
+	/**
+	 * @return Size in megabytes of the cache holding recently used lazy contents.
+	 *
+	 * @see #getLazyContent()
+	 */
+	@Nonnull
+	public ObservableInteger getLazyContentCacheMb() {
+		return lazyContentCacheMb;
+	}
+
+	/**
+	 * @return Mapping of input memory to a ZIP archive model.
+	 */
+	@Nonnull
+	public UncheckedFunction<MemorySegment, ZipArchive> segmentMapping() {
+		ZipStrategy strategy = zipStrategy.getValue();
+		if (strategy == ZipStrategy.JVM)
+			return input -> ZipIO.read(input, new JvmZipReader(skipRevisitedCenToLocalLinks.getValue(),
+					allowBasicJvmBaseOffsetZeroCheck.getValue()));
+		if (strategy == ZipStrategy.STANDARD)
+			return ZipIO::readStandard;
+		return ZipIO::readNaive;
+	}
+
 	/**
 	 * @return Mapping of input bytes to a ZIP archive model.
 	 */
@@ -2,7 +2,10 @@
 
 import jakarta.annotation.Nonnull;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 
 /**
  * Outline of IO writing for {@link WorkspaceExporter} output.
@@ -22,6 +25,33 @@ public interface WorkspaceExportConsumer {
 	 */
 	void write(@Nonnull byte[] bytes) throws IOException;
 
+	/**
+	 * Opens a stream for writing content to the single location based on the implementation, allowing large content
+	 * to be written in parts rather than as one array. Closing the stream does not {@link #commit()} the output.
+	 * <br>
+	 * By default, buffered content is passed along to {@link #write(byte[])}. Implementations which can write
+	 * to their output directly should override this.
+	 *
+	 * @return Stream to write/append content to the output.
+	 *
+	 * @throws IOException
+	 * 		When the output cannot be opened.
+	 */
+	@Nonnull
+	default OutputStream openStream() throws IOException {
+		return new BufferedOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				WorkspaceExportConsumer.this.write(new byte[]{(byte) b});
+			}
+
+			@Override
+			public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+				WorkspaceExportConsumer.this.write(Arrays.copyOfRange(b, off, off + len));
+			}
+		}, 1 << 16);
+	}
+
 	/**
 	 * Called when writing content to a relative location based on the implementation.
 	 * This may be called multiple times for a given relative path before {@link #commit()} is invoked.
@@ -43,4 +73,13 @@ public interface WorkspaceExportConsumer {
 	 * 		When the content couldn't be committed.
 	 */
 	void commit() throws IOException;
+
+	/**
+	 * Called when the export process fails before {@link #commit()}, allowing content that was already
+	 * written to be discarded.
+	 *
+	 * @throws IOException
+	 * 		When the written content couldn't be discarded.
+	 */
+	default void abort() throws IOException {}
 }
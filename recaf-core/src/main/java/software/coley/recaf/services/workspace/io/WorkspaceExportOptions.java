@@ -1,7 +1,9 @@
 package software.coley.recaf.services.workspace.io;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import software.coley.collections.Unchecked;
+import software.coley.lljzip.util.MemorySegmentUtil;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.Info;
@@ -17,10 +19,13 @@
 import software.coley.recaf.info.properties.builtin.ZipCreationTimeProperty;
 import software.coley.recaf.info.properties.builtin.ZipModificationTimeProperty;
 import software.coley.recaf.info.properties.builtin.ZipPrefixDataProperty;
+import software.coley.recaf.info.properties.builtin.ZipRawEntryProperty;
 import software.coley.recaf.util.ByteHeaderUtil;
 import software.coley.recaf.util.ZipCreationUtils;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.FileBundle;
 import software.coley.recaf.workspace.model.bundle.VersionedJvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -29,10 +34,12 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.zip.DeflaterOutputStream;
 
 import static software.coley.lljzip.format.compression.ZipCompressions.DEFLATED;
@@ -49,6 +56,7 @@ public class WorkspaceExportOptions {
 	private final WorkspaceExportConsumer consumer;
 	private boolean bundleSupporting;
 	private boolean createZipDirEntries;
+	private boolean incremental;
 
 	/**
 	 * @param outputType
@@ -92,6 +100,17 @@ public void setCreateZipDirEntries(boolean createZipDirEntries) {
 		this.createZipDirEntries = createZipDirEntries;
 	}
 
+	/**
+	 * @param incremental
+	 *        {@code true} to copy the original compressed data of unmodified contents as-is, rather than
+	 * 		compressing them again. Only contents that were never modified since being read from an archive
+	 * 		can be copied, and only when their original compression fits the {@link WorkspaceCompressType}.
+	 * 		Does nothing when output type is a directory.
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
 	/**
 	 * @return New exporter from current options.
 	 */
@@ -104,8 +123,9 @@ public WorkspaceExporter create() {
 	 * Basic implementation of {@link WorkspaceExporter} that pulls from the options defined here.
 	 */
 	private class WorkspaceExporterImpl implements WorkspaceExporter {
-		private final Map<String, byte[]> contents = new TreeMap<>();
+		private final Map<String, Supplier<byte[]>> contents = new TreeMap<>();
 		private final Map<String, Integer> compression = new HashMap<>();
+		private final Map<String, ZipRawEntryProperty.VerifiedEntry> rawEntries = new HashMap<>();
 		private final Map<String, String> comments = new HashMap<>();
 		private final Map<String, Long> modifyTimes = new HashMap<>();
 		private final Map<String, Long> createTimes = new HashMap<>();
@@ -115,6 +135,26 @@ private class WorkspaceExporterImpl implements WorkspaceExporter {
 		@Override
 		public void export(@Nonnull Workspace workspace) throws IOException {
 			populate(workspace);
+			try {
+				write(workspace);
+			} catch (IOException | RuntimeException ex) {
+				try {
+					consumer.abort();
+				} catch (IOException abortEx) {
+					ex.addSuppressed(abortEx);
+				}
+				throw ex;
+			}
+		}
+
+		/**
+		 * @param workspace
+		 * 		Workspace to write the populated contents of.
+		 *
+		 * @throws IOException
+		 * 		When the contents cannot be written to the consumer.
+		 */
+		private void write(@Nonnull Workspace workspace) throws IOException {
 			switch (outputType) {
 				case FILE:
 					// Test if we're supposed to just write the file as-is instead of bundling it in an archive.
@@ -123,10 +163,11 @@ public void export(@Nonnull Workspace workspace) throws IOException {
 					if (contents.size() == 1 &&
 							workspace.getPrimaryResource() instanceof WorkspaceFileResource primaryFileResource &&
 							!(primaryFileResource.getFileInfo() instanceof ZipFileInfo)) {
-						byte[] data = contents.values().iterator().next();
+						byte[] data = contents.values().iterator().next().get();
 						if (prefix != null)
 							consumer.write(prefix);
 						consumer.write(data);
+						consumer.commit();
 						return;
 					}
 
@@ -135,7 +176,7 @@ public void export(@Nonnull Workspace workspace) throws IOException {
 					if (createZipDirEntries)
 						zipBuilder = zipBuilder.createDirectories();
 
-					// Final copy for lambda, write all contents to ZIP buffer.
+					// Final copy for lambda, record all contents to write to the ZIP.
 					ZipCreationUtils.ZipBuilder finalZipBuilder = zipBuilder;
 					contents.forEach((name, content) -> {
 						// Cannot mirror exact compression type, so we'll just do binary "is this compressed or nah?"
@@ -147,24 +188,29 @@ public void export(@Nonnull Workspace workspace) throws IOException {
 						long createTime = createTimes.getOrDefault(name, -1L);
 						long accessTime = accessTimes.getOrDefault(name, -1L);
 
-						// Adding the entry
-						finalZipBuilder.add(name, content, compress, comment, createTime, modifyTime, accessTime);
+						// Adding the entry, copying the original compressed data when possible
+						ZipRawEntryProperty.VerifiedEntry raw = rawEntries.get(name);
+						if (raw != null)
+							finalZipBuilder.addCompressed(name, () -> MemorySegmentUtil.toByteArray(raw.data()),
+									raw.compression() == DEFLATED, raw.crc(), raw.size(),
+									comment, createTime, modifyTime, accessTime);
+						else
+							finalZipBuilder.add(name, content, compress, comment, createTime, modifyTime, accessTime);
 					});
 
-					// Write buffer to path
-					if (prefix != null) {
-						consumer.write(prefix);
-						consumer.write(zipBuilder.bytes());
-					} else {
-						consumer.write(zipBuilder.bytes());
+					// Stream the ZIP to the output, so that the whole archive never needs to be held in memory
+					try (OutputStream out = consumer.openStream()) {
+						if (prefix != null)
+							out.write(prefix);
+						zipBuilder.writeTo(out);
 					}
 					consumer.commit();
 					break;
 				case DIRECTORY:
-					for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+					for (Map.Entry<String, Supplier<byte[]>> entry : contents.entrySet()) {
 						// Write everything relative to the path
 						String relativePath = entry.getKey();
-						byte[] content = entry.getValue();
+						byte[] content = entry.getValue().get();
 						consumer.writeRelative(relativePath, content);
 					}
 					consumer.commit();
@@ -179,13 +225,14 @@ public void export(@Nonnull Workspace workspace) throws IOException {
 		private void populate(@Nonnull Workspace workspace) {
 			// If shading libs, they go first so the primary content will be the authoritative copy for
 			// any duplicate paths held by both resources.
+			boolean trackRawEntries = incremental && outputType == WorkspaceOutputType.FILE;
 			if (bundleSupporting) {
 				for (WorkspaceResource supportingResource : workspace.getSupportingResources()) {
-					mapInto(contents, supportingResource);
+					mapInto(contents, supportingResource, trackRawEntries);
 				}
 			}
 			WorkspaceResource primary = workspace.getPrimaryResource();
-			mapInto(contents, primary);
+			mapInto(contents, primary, trackRawEntries);
 
 			// If the resource had prefix data, get it here so that we can write it back later.
 			if (primary instanceof WorkspaceFileResource resource)
@@ -199,8 +246,11 @@ private void populate(@Nonnull Workspace workspace) {
 		 * 		Map to collect values into.
 		 * @param resource
 		 * 		Resource to pull values from.
+		 * @param trackRawEntries
+		 *        {@code true} to record the original compressed data of unmodified values in the resource.
 		 */
-		private void mapInto(@Nonnull Map<String, byte[]> map, @Nonnull WorkspaceResource resource) {
+		private void mapInto(@Nonnull Map<String, Supplier<byte[]>> map, @Nonnull WorkspaceResource resource,
+		                     boolean trackRawEntries) {
 			// Place classes into map
 			resource.jvmClassBundleStream().forEach(bundle -> {
 				for (JvmClassInfo classInfo : bundle) {
@@ -215,19 +265,20 @@ private void mapInto(@Nonnull Map<String, byte[]> map, @Nonnull WorkspaceResourc
 					} else {
 						key = originalName;
 					}
-					map.put(key, classInfo.getBytecode());
-					updateProperties(key, classInfo);
+					map.put(key, classInfo::getBytecode);
+					updateProperties(key, classInfo, trackRawEntries ? getReusableRawEntry(bundle, classInfo) : null);
 				}
 			});
 
 			// Place versioned files into map
 			for (Map.Entry<Integer, VersionedJvmClassBundle> entry : resource.getVersionedJvmClassBundles().entrySet()) {
 				String versionPath = JarFileInfo.MULTI_RELEASE_PREFIX + entry.getKey() + "/";
-				for (Map.Entry<String, JvmClassInfo> classEntry : entry.getValue().entrySet()) {
+				VersionedJvmClassBundle bundle = entry.getValue();
+				for (Map.Entry<String, JvmClassInfo> classEntry : bundle.entrySet()) {
 					String key = versionPath + classEntry.getKey() + ".class";
 					JvmClassInfo value = classEntry.getValue();
-					map.put(key, value.getBytecode());
-					updateProperties(key, value);
+					map.put(key, value::getBytecode);
+					updateProperties(key, value, trackRawEntries ? getReusableRawEntry(bundle, value) : null);
 				}
 			}
 
@@ -237,32 +288,129 @@ private void mapInto(@Nonnull Map<String, byte[]> map, @Nonnull WorkspaceResourc
 			}
 
 			// Place files into map
-			for (FileInfo fileInfo : resource.getFileBundle()) {
-				map.put(fileInfo.getName(), fileInfo.getRawContent());
-				updateProperties(fileInfo.getName(), fileInfo);
+			FileBundle fileBundle = resource.getFileBundle();
+			for (FileInfo fileInfo : fileBundle) {
+				map.put(fileInfo.getName(), fileInfo::getRawContent);
+				updateProperties(fileInfo.getName(), fileInfo,
+						trackRawEntries ? getReusableRawEntry(fileBundle, fileInfo) : null);
 			}
 
-			// Recreate embedded resources as ZIP files with the original file paths
+			// Recreate embedded resources as ZIP files with the original file paths.
+			// These are only built once they are about to be written, so that they are not all held in memory at once.
 			for (Map.Entry<String, WorkspaceFileResource> entry : resource.getEmbeddedResources().entrySet()) {
 				String embeddedFilePath = entry.getKey();
 				WorkspaceFileResource embeddedResource = entry.getValue();
-				Map<String, byte[]> embeddedMap = new TreeMap<>();
-				mapInto(embeddedMap, embeddedResource);
-				byte[] embeddedBytes = Unchecked.get(() -> ZipCreationUtils.createZip(embeddedMap));
-				map.put(embeddedFilePath, embeddedBytes);
 				FileInfo embeddedFile = embeddedResource.getFileInfo();
-				updateProperties(embeddedFilePath, embeddedFile);
+
+				// Embedded resources without any changes can be copied from the original archive as a whole.
+				ZipRawEntryProperty.VerifiedEntry raw = null;
+				if (trackRawEntries && isUnmodified(embeddedResource))
+					raw = getReusableRawEntry(embeddedFile);
+				if (raw != null) {
+					map.put(embeddedFilePath, embeddedFile::getRawContent);
+				} else {
+					Map<String, Supplier<byte[]>> embeddedMap = new TreeMap<>();
+					mapInto(embeddedMap, embeddedResource, false);
+					map.put(embeddedFilePath, () -> {
+						ZipCreationUtils.ZipBuilder embeddedBuilder = ZipCreationUtils.builder();
+						embeddedMap.forEach((name, content) ->
+								embeddedBuilder.add(name, content, true, null, -1, -1, -1));
+						return Unchecked.get(embeddedBuilder::bytes);
+					});
+				}
+				updateProperties(embeddedFilePath, embeddedFile, raw);
 			}
 		}
 
+		/**
+		 * @param resource
+		 * 		Resource to check.
+		 *
+		 * @return {@code true} when no values in the resource, or its embedded resources, have been modified,
+		 * added, or removed since being read.
+		 */
+		private boolean isUnmodified(@Nonnull WorkspaceResource resource) {
+			return resource.bundleStreamRecursive().allMatch(bundle -> {
+				if (!bundle.getRemovedKeys().isEmpty())
+					return false;
+
+				// Android classes are read from DEX files rather than archive entries, so they have no raw data.
+				if (bundle instanceof AndroidClassBundle)
+					return bundle.getDirtyKeys().isEmpty();
+
+				// Values added since reading the resource do not have raw data either.
+				for (Info info : bundle.values())
+					if (bundle.hasHistory(info.getName()) || ZipRawEntryProperty.get(info) == null)
+						return false;
+				return true;
+			});
+		}
+
+		/**
+		 * @param bundle
+		 * 		Bundle containing the info.
+		 * @param info
+		 * 		Info to get the original compressed data of.
+		 *
+		 * @return Original compressed data of the info, or {@code null} if the info was modified
+		 * or its data cannot be copied with the current compression option.
+		 */
+		@Nullable
+		private ZipRawEntryProperty.VerifiedEntry getReusableRawEntry(@Nonnull Bundle<?> bundle, @Nonnull Info info) {
+			// Any item with history has been modified since it was read.
+			// The raw data property is not carried over to new info instances either, so this is mostly a formality.
+			if (bundle.hasHistory(info.getName()))
+				return null;
+			return getReusableRawEntry(info);
+		}
+
+		/**
+		 * @param info
+		 * 		Info to get the original compressed data of.
+		 *
+		 * @return Original compressed data of the info, or {@code null} if the info has none,
+		 * its data cannot be copied with the current compression option, or its data cannot be decompressed.
+		 */
+		@Nullable
+		private ZipRawEntryProperty.VerifiedEntry getReusableRawEntry(@Nonnull Info info) {
+			ZipRawEntryProperty.RawEntry raw = ZipRawEntryProperty.get(info);
+			if (raw == null)
+				return null;
+			boolean deflated = raw.compression() == DEFLATED;
+			boolean fits = switch (compressType) {
+				case ALWAYS, SMART -> deflated;
+				case NEVER -> !deflated;
+				case MATCH_ORIGINAL -> true;
+			};
+			if (!fits)
+				return null;
+
+			// The data is only checked once we know it would be copied.
+			ZipRawEntryProperty.VerifiedEntry verified = raw.verify();
+			if (verified == null)
+				return null;
+			if (compressType == WorkspaceCompressType.SMART && verified.data().byteSize() >= verified.size())
+				return null;
+			return verified;
+		}
+
 		/**
 		 * @param name
 		 * 		Map key.
 		 * @param info
 		 * 		Info to pull properties from.
+		 * @param raw
+		 * 		Original compressed data to write for the info, or {@code null} to compress its content.
 		 */
-		private void updateProperties(@Nonnull String name, @Nonnull Info info) {
-			compression.put(name, getCompression(info));
+		private void updateProperties(@Nonnull String name, @Nonnull Info info,
+		                              @Nullable ZipRawEntryProperty.VerifiedEntry raw) {
+			if (raw != null) {
+				rawEntries.put(name, raw);
+				compression.put(name, raw.compression());
+			} else {
+				rawEntries.remove(name);
+				compression.put(name, getCompression(info));
+			}
 
 			Long createTime = ZipCreationTimeProperty.get(info);
 			if (createTime != null)
@@ -8,6 +8,7 @@
 import me.darknet.assembler.error.Error;
 import org.slf4j.Logger;
 import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.Info;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.TextFileInfo;
@@ -17,10 +18,12 @@
 import software.coley.recaf.services.Service;
 import software.coley.recaf.services.assembler.AssemblerPipelineManager;
 import software.coley.recaf.services.assembler.JvmAssemblerPipeline;
+import software.coley.recaf.services.workspace.patch.model.BinaryFilePatch;
 import software.coley.recaf.services.workspace.patch.model.JvmAssemblerPatch;
 import software.coley.recaf.services.workspace.patch.model.RemovePath;
 import software.coley.recaf.services.workspace.patch.model.TextFilePatch;
 import software.coley.recaf.services.workspace.patch.model.WorkspacePatch;
+import software.coley.recaf.util.BinaryDiff;
 import software.coley.recaf.util.StringDiff;
 import software.coley.recaf.workspace.model.bundle.Bundle;
 import software.coley.recaf.workspace.model.bundle.FileBundle;
@@ -148,6 +151,36 @@ public boolean apply(@Nonnull WorkspacePatch patch, @Nullable PatchFeedback feed
 			});
 		}
 
+		for (BinaryFilePatch filePatch : patch.binaryFilePatches()) {
+			FilePathNode path = filePatch.path().withCurrentWorkspaceContent();
+			FileInfo file = path.getValue();
+			FileBundle fileBundle = path.getValueOfType(FileBundle.class);
+			if (fileBundle == null) {
+				if (feedback != null) feedback.onIncompletePathObserved(path);
+				return false;
+			}
+			BinaryDiff.Delta delta = filePatch.delta();
+			byte[] content = file.getRawContent();
+			if (!delta.matchesBase(content)) {
+				if (feedback != null) feedback.onMismatchedContentObserved(path);
+				return false;
+			}
+			byte[] patchedContent;
+			try {
+				patchedContent = delta.apply(content);
+			} catch (IllegalArgumentException ex) {
+				// Malformed deltas, such as from edited patch files, can match the base but not fit it.
+				if (feedback != null) feedback.onMismatchedContentObserved(path);
+				return false;
+			}
+			tasks.add(() -> {
+				FileInfo patchedFile = file.toFileBuilder()
+						.withRawContent(patchedContent)
+						.build();
+				fileBundle.put(patchedFile);
+			});
+		}
+
 		// If no errors have been seen apply all patches.
 		if (!errorConsumerDelegate.hasSeenErrors()) {
 			for (Runnable task : tasks) {
@@ -29,4 +29,13 @@ default void onAssemblerErrorsObserved(@Nonnull List<Error> errors) {}
 	 * 		Incomplete path.
 	 */
 	default void onIncompletePathObserved(@Nonnull PathNode<?> path) {}
+
+	/**
+	 * Called when a {@link WorkspacePatch#binaryFilePatches()} could not be applied because the
+	 * content of the file is not the content the patch was made from.
+	 *
+	 * @param path
+	 * 		Path to the file with unexpected content.
+	 */
+	default void onMismatchedContentObserved(@Nonnull PathNode<?> path) {}
 }
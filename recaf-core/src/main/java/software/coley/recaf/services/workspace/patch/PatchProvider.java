@@ -1,9 +1,16 @@
 package software.coley.recaf.services.workspace.patch;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import me.darknet.assembler.error.Result;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
 import org.slf4j.Logger;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.*;
@@ -11,11 +18,18 @@
 import software.coley.recaf.services.Service;
 import software.coley.recaf.services.assembler.AssemblerPipelineManager;
 import software.coley.recaf.services.assembler.JvmAssemblerPipeline;
+import software.coley.recaf.services.assembler.JvmAssemblerPipelineConfig;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.services.workspace.patch.model.BinaryFilePatch;
 import software.coley.recaf.services.workspace.patch.model.JvmAssemblerPatch;
 import software.coley.recaf.services.workspace.patch.model.RemovePath;
 import software.coley.recaf.services.workspace.patch.model.TextFilePatch;
 import software.coley.recaf.services.workspace.patch.model.WorkspacePatch;
+import software.coley.recaf.util.BinaryDiff;
+import software.coley.recaf.util.ContentKey;
 import software.coley.recaf.util.StringDiff;
+import software.coley.recaf.util.StringUtil;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.Bundle;
 import software.coley.recaf.workspace.model.bundle.ClassBundle;
@@ -25,6 +39,10 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Service to provide and handle serialization of {@link WorkspacePatch}s.
@@ -35,10 +53,29 @@
 public class PatchProvider implements Service {
 	public static final String SERVICE_ID = "resource-patch-provider";
 	private static final Logger logger = Logging.get(PatchProvider.class);
+	/**
+	 * Disassembly of unchanged classes is reused between patches, so that only the classes which have changed
+	 * since the last patch need to be disassembled again. The cache is bounded by the total length of the disassembly.
+	 */
+	private static final long MAX_CACHED_DISASSEMBLY_CHARS = 64L * 1024 * 1024;
 	private final AssemblerPipelineManager assemblerPipelineManager;
 	private final ResourcePatchProviderConfig config;
+	private final ExecutorService patchPool = ThreadPoolFactory.newWorkStealingPool(SERVICE_ID);
+	private final Cache<DisassemblyKey, String> disassemblyCache = CacheBuilder.newBuilder()
+			.maximumWeight(MAX_CACHED_DISASSEMBLY_CHARS)
+			.weigher((DisassemblyKey key, String disassembly) -> disassembly.length() + key.content().length())
+			.build();
 
 	@Inject
+	public PatchProvider(@Nonnull AssemblerPipelineManager assemblerPipelineManager,
+	                     @Nonnull ResourcePatchProviderConfig config,
+	                     @Nonnull WorkspaceManager workspaceManager) {
+		this(assemblerPipelineManager, config);
+
+		// Cached disassembly of a closed workspace's classes is unlikely to be used again.
+		workspaceManager.addWorkspaceCloseListener(workspace -> disassemblyCache.invalidateAll());
+	}
+
 	public PatchProvider(@Nonnull AssemblerPipelineManager assemblerPipelineManager,
 	                     @Nonnull ResourcePatchProviderConfig config) {
 		this.assemblerPipelineManager = assemblerPipelineManager;
@@ -112,26 +149,11 @@ public WorkspacePatch createPatch(@Nonnull Workspace workspace) throws PatchGene
 		List<RemovePath> removals = new ArrayList<>();
 		List<JvmAssemblerPatch> jvmAssemblerPatches = new ArrayList<>();
 		List<TextFilePatch> textFilePatches = new ArrayList<>();
+		List<BinaryFilePatch> binaryFilePatches = new ArrayList<>();
+		List<ClassPatchTask> classPatchTasks = new ArrayList<>();
 		PatchConsumer<ClassPathNode, JvmClassInfo> classConsumer = (classPath, initial, current) -> {
 			DirectoryPathNode parent = Objects.requireNonNull(classPath.getParent());
-			ClassPathNode initialPath = parent.child(initial);
-			ClassPathNode currentPath = parent.child(current);
-			JvmAssemblerPipeline assembler = assemblerPipelineManager.newJvmAssemblerPipeline(workspace);
-			Result<String> initialDisassembleRes = assembler.disassemble(initialPath);
-			Result<String> currentDisassembleRes = assembler.disassemble(currentPath);
-			if (!initialDisassembleRes.hasValue())
-				throw new PatchGenerationException("Failed to disassemble initial state of '" + initial.getName() + "'");
-			if (initialDisassembleRes.hasErr())
-				throw new PatchGenerationException("Initial state of '" + initial.getName() + "' has assembler errors");
-			if (!currentDisassembleRes.hasValue())
-				throw new PatchGenerationException("Failed to disassemble current state of '" + initial.getName() + "'");
-			if (currentDisassembleRes.hasErr())
-				throw new PatchGenerationException("Current state of '" + initial.getName() + "' has assembler errors");
-			String initialDisassemble = initialDisassembleRes.get();
-			String currentDisassemble = currentDisassembleRes.get();
-			List<StringDiff.Diff> assemblerDiffs = StringDiff.diff(initialDisassemble, currentDisassemble);
-			if (!assemblerDiffs.isEmpty())
-				jvmAssemblerPatches.add(new JvmAssemblerPatch(initialPath, assemblerDiffs));
+			classPatchTasks.add(new ClassPatchTask(parent.child(initial), parent.child(current)));
 		};
 		PatchConsumer<FilePathNode, FileInfo> fileConsumer = (filePath, initial, current) -> {
 			if (initial.isTextFile() && current.isTextFile()) {
@@ -141,8 +163,10 @@ public WorkspacePatch createPatch(@Nonnull Workspace workspace) throws PatchGene
 				if (!textDiffs.isEmpty())
 					textFilePatches.add(new TextFilePatch(filePath, textDiffs));
 			} else {
-				// TODO: Support binary patches of non-text files
-				logger.debug("Skipping file diff for '{}' as it is not a text file", initial.getName());
+				byte[] initialContent = initial.getRawContent();
+				byte[] currentContent = current.getRawContent();
+				if (!Arrays.equals(initialContent, currentContent))
+					binaryFilePatches.add(new BinaryFilePatch(filePath, BinaryDiff.diff(initialContent, currentContent)));
 			}
 		};
 
@@ -169,6 +193,7 @@ public WorkspacePatch createPatch(@Nonnull Workspace workspace) throws PatchGene
 				visitDirtyItems(workspace, resource, entry.getValue(), classConsumer);
 			}
 			visitDirtyItems(workspace, resource, resource.getFileBundle(), fileConsumer);
+			jvmAssemblerPatches.addAll(createClassPatches(workspace, classPatchTasks));
 		} catch (Throwable t) {
 			throw new PatchGenerationException(t);
 		}
@@ -176,7 +201,171 @@ public WorkspacePatch createPatch(@Nonnull Workspace workspace) throws PatchGene
 		return new WorkspacePatch(workspace,
 				Collections.unmodifiableList(removals),
 				Collections.unmodifiableList(jvmAssemblerPatches),
-				Collections.unmodifiableList(textFilePatches));
+				Collections.unmodifiableList(textFilePatches),
+				Collections.unmodifiableList(binaryFilePatches));
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace containing the changed classes.
+	 * @param tasks
+	 * 		Changed classes to generate patches for.
+	 *
+	 * @return Patches of the changed classes, in the same order as the given tasks.
+	 * Classes without any changes in their disassembly do not yield a patch.
+	 *
+	 * @throws PatchGenerationException
+	 * 		When any class could not be disassembled.
+	 */
+	@Nonnull
+	private List<JvmAssemblerPatch> createClassPatches(@Nonnull Workspace workspace,
+	                                                   @Nonnull List<ClassPatchTask> tasks) throws PatchGenerationException {
+		if (tasks.isEmpty())
+			return Collections.emptyList();
+
+		// Pipelines hold state while printing, so each is only used by one task at a time.
+		// Once a task is done with a pipeline it is returned to the pool for the next task to use.
+		Queue<JvmAssemblerPipeline> pipelines = new ConcurrentLinkedQueue<>();
+		JvmAssemblerPatch[] patches = new JvmAssemblerPatch[tasks.size()];
+		CompletableFuture<?>[] futures = new CompletableFuture[tasks.size()];
+		for (int i = 0; i < tasks.size(); i++) {
+			int index = i;
+			ClassPatchTask task = tasks.get(i);
+			futures[i] = CompletableFuture.runAsync(() -> {
+				JvmAssemblerPipeline pipeline = pipelines.poll();
+				if (pipeline == null)
+					pipeline = assemblerPipelineManager.newJvmAssemblerPipeline(workspace);
+				try {
+					patches[index] = createClassPatch(pipeline, task);
+				} catch (PatchGenerationException ex) {
+					throw new CompletionException(ex);
+				} finally {
+					pipelines.add(pipeline);
+				}
+			}, patchPool);
+		}
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof PatchGenerationException patchException)
+				throw patchException;
+			throw new PatchGenerationException(cause == null ? ex : cause);
+		}
+
+		List<JvmAssemblerPatch> patchList = new ArrayList<>(patches.length);
+		for (JvmAssemblerPatch patch : patches)
+			if (patch != null)
+				patchList.add(patch);
+		return patchList;
+	}
+
+	/**
+	 * @param pipeline
+	 * 		Pipeline to disassemble with.
+	 * @param task
+	 * 		Changed class to generate a patch for.
+	 *
+	 * @return Patch of the changed class, or {@code null} if the class has no changes in its disassembly.
+	 *
+	 * @throws PatchGenerationException
+	 * 		When the class could not be disassembled.
+	 */
+	@Nullable
+	private JvmAssemblerPatch createClassPatch(@Nonnull JvmAssemblerPipeline pipeline,
+	                                           @Nonnull ClassPatchTask task) throws PatchGenerationException {
+		ClassPathNode initialPath = task.initialPath();
+		JvmClassInfo initial = initialPath.getValue().asJvmClass();
+		JvmClassInfo current = task.currentPath().getValue().asJvmClass();
+
+		// Classes that are written back out in the same way have identical disassembly, so we can skip them.
+		if (config.getStructuralDiff().getValue() && isStructurallyEqual(initial, current))
+			return null;
+
+		String name = initial.getName();
+		String initialDisassemble = disassemble(pipeline, initialPath, name, "initial");
+		String currentDisassemble = disassemble(pipeline, task.currentPath(), name, "current");
+		if (initialDisassemble.equals(currentDisassemble))
+			return null;
+		List<StringDiff.Diff> assemblerDiffs = StringDiff.diff(initialDisassemble, currentDisassemble);
+		if (assemblerDiffs.isEmpty())
+			return null;
+		return new JvmAssemblerPatch(initialPath, assemblerDiffs);
+	}
+
+	/**
+	 * @param pipeline
+	 * 		Pipeline to disassemble with.
+	 * @param path
+	 * 		Path to class to disassemble.
+	 * @param name
+	 * 		Name of the class, for error messages.
+	 * @param state
+	 * 		Name of the class state being disassembled, for error messages.
+	 *
+	 * @return Disassembly of the class.
+	 *
+	 * @throws PatchGenerationException
+	 * 		When the class could not be disassembled.
+	 */
+	@Nonnull
+	private String disassemble(@Nonnull JvmAssemblerPipeline pipeline, @Nonnull ClassPathNode path,
+	                           @Nonnull String name, @Nonnull String state) throws PatchGenerationException {
+		// Disassembly only depends on the bytecode of the class and the options of the pipeline printing it.
+		boolean tryRangeComments = pipeline.getConfig() instanceof JvmAssemblerPipelineConfig jvmConfig
+				&& jvmConfig.emitTryRangeComments();
+		String indent = assemblerPipelineManager.getServiceConfig().getDisassemblyIndent().getValue();
+		DisassemblyKey key = new DisassemblyKey(new ContentKey(path.getValue().asJvmClass().getBytecode()),
+				indent, tryRangeComments);
+		String disassembly = disassemblyCache.getIfPresent(key);
+		if (disassembly != null)
+			return disassembly;
+
+		Result<String> result = pipeline.disassemble(path);
+		if (!result.hasValue())
+			throw new PatchGenerationException("Failed to disassemble " + state + " state of '" + name + "'");
+		if (result.hasErr())
+			throw new PatchGenerationException(StringUtil.uppercaseFirstChar(state) + " state of '" + name + "' has assembler errors");
+		disassembly = result.get();
+		disassemblyCache.put(key, disassembly);
+		return disassembly;
+	}
+
+	/**
+	 * @param initial
+	 * 		Initial state of a class.
+	 * @param current
+	 * 		Current state of a class.
+	 *
+	 * @return {@code true} when both states have the same content once written back out with a fresh constant pool.
+	 */
+	@VisibleForTesting
+	static boolean isStructurallyEqual(@Nonnull JvmClassInfo initial, @Nonnull JvmClassInfo current) {
+		byte[] initialBytecode = initial.getBytecode();
+		byte[] currentBytecode = current.getBytecode();
+		if (Arrays.equals(initialBytecode, currentBytecode))
+			return true;
+		try {
+			return Arrays.equals(rewrite(initialBytecode), rewrite(currentBytecode));
+		} catch (Throwable t) {
+			// Classes ASM cannot handle will be compared by their disassembly instead.
+			return false;
+		}
+	}
+
+	@Nonnull
+	private static byte[] rewrite(@Nonnull byte[] bytecode) {
+		ClassWriter writer = new ClassWriter(0);
+		new ClassReader(bytecode).accept(writer, 0);
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Stops patch generation threads when shutdown is observed.
+	 */
+	@PreDestroy
+	private void onShutdown() {
+		patchPool.shutdownNow();
 	}
 
 	@SuppressWarnings({"unchecked", "DataFlowIssue"})
@@ -187,9 +376,10 @@ private <I extends Info, P extends PathNode<?>> void visitDirtyItems(@Nonnull Wo
 		BundlePathNode bundlePath = PathNodes.bundlePath(workspace, resource, bundle);
 		Set<String> dirtyKeys = bundle.getDirtyKeys();
 		for (String dirtyKey : dirtyKeys) {
-			Stack<I> history = bundle.getHistory(dirtyKey);
-			I current = history.peek();
-			I oldest = history.elementAt(0);
+			I current = bundle.get(dirtyKey);
+			I oldest = bundle.getInitialState(dirtyKey);
+			if (current == null || oldest == null)
+				continue;
 			int lastDirSeparator = dirtyKey.lastIndexOf('/');
 			String directoryName = lastDirSeparator >= 0 ? dirtyKey.substring(0, lastDirSeparator) : null;
 			DirectoryPathNode directoryPath = bundlePath.child(directoryName);
@@ -215,6 +405,26 @@ public ResourcePatchProviderConfig getServiceConfig() {
 		return config;
 	}
 
+	/**
+	 * @param initialPath
+	 * 		Path to the initial state of a changed class.
+	 * @param currentPath
+	 * 		Path to the current state of a changed class.
+	 */
+	private record ClassPatchTask(@Nonnull ClassPathNode initialPath, @Nonnull ClassPathNode currentPath) {
+	}
+
+	/**
+	 * @param content
+	 * 		Bytecode of a class.
+	 * @param indent
+	 * 		Indentation used in the disassembly.
+	 * @param tryRangeComments
+	 * 		Whether the disassembly includes comments outlining try-catch ranges.
+	 */
+	private record DisassemblyKey(@Nonnull ContentKey content, @Nonnull String indent, boolean tryRangeComments) {
+	}
+
 	@FunctionalInterface
 	private interface PatchConsumer<P extends PathNode<?>, I extends Info> {
 		void accept(P path, I initial, I current) throws Throwable;
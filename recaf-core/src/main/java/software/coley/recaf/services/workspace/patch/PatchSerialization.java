@@ -8,10 +8,12 @@
 import software.coley.recaf.info.Info;
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.path.FilePathNode;
+import software.coley.recaf.services.workspace.patch.model.BinaryFilePatch;
 import software.coley.recaf.services.workspace.patch.model.JvmAssemblerPatch;
 import software.coley.recaf.services.workspace.patch.model.RemovePath;
 import software.coley.recaf.services.workspace.patch.model.TextFilePatch;
 import software.coley.recaf.services.workspace.patch.model.WorkspacePatch;
+import software.coley.recaf.util.BinaryDiff;
 import software.coley.recaf.util.StringDiff;
 import software.coley.recaf.workspace.model.Workspace;
 
@@ -19,6 +21,7 @@
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 
@@ -32,8 +35,10 @@ public class PatchSerialization {
 	private static final String KEY_REMOVALS = "removals";
 	private static final String KEY_CLASS_JVM_ASM_DIFFS = "class-jvm-asm-diffs";
 	private static final String KEY_FILE_TEXT_DIFFS = "file-text-diffs";
+	private static final String KEY_FILE_BINARY_DIFFS = "file-binary-diffs";
 	private static final String KEY_NAME = "name";
 	private static final String KEY_DIFFS = "diffs";
+	private static final String KEY_DELTA = "delta";
 	private static final String KEY_TYPE = "type";
 	private static final String KEY_START_A = "start-a";
 	private static final String KEY_END_A = "end-a";
@@ -62,10 +67,12 @@ public static String serialize(@Nonnull WorkspacePatch patch) {
 			List<RemovePath> removals = patch.removals();
 			List<JvmAssemblerPatch> jvmAssemblerPatches = patch.jvmAssemblerPatches();
 			List<TextFilePatch> textFilePatches = patch.textFilePatches();
+			List<BinaryFilePatch> binaryFilePatches = patch.binaryFilePatches();
 
 			serializeRemovals(jw, removals);
 			serializeJvmAsmPatches(jvmAssemblerPatches, jw);
 			serializeTextPatches(textFilePatches, jw);
+			serializeBinaryPatches(binaryFilePatches, jw);
 		} catch (Exception ex) {
 			throw new IllegalStateException("Failed to create json writer for patch", ex);
 		}
@@ -127,6 +134,20 @@ private static void serializeTextPatches(@Nonnull List<TextFilePatch> textFilePa
 			}
 			jw.endArray();
 		}
+	}
+
+	private static void serializeBinaryPatches(@Nonnull List<BinaryFilePatch> binaryFilePatches, @Nonnull JsonWriter jw) throws IOException {
+		if (!binaryFilePatches.isEmpty()) {
+			jw.name(KEY_FILE_BINARY_DIFFS).beginArray();
+			for (BinaryFilePatch binaryPatch : binaryFilePatches) {
+				String fileName = binaryPatch.path().getValue().getName();
+				jw.beginObject();
+				jw.name(KEY_NAME).value(fileName);
+				jw.name(KEY_DELTA).value(Base64.getEncoder().encodeToString(binaryPatch.delta().encode()));
+				jw.endObject();
+			}
+			jw.endArray();
+		}
 		jw.endObject();
 	}
 
@@ -160,8 +181,9 @@ public static WorkspacePatch deserialize(@Nonnull Workspace workspace, @Nonnull
 		List<RemovePath> removals = Collections.emptyList();
 		List<JvmAssemblerPatch> jvmAssemblerPatches = Collections.emptyList();
 		List<TextFilePatch> textFilePatches = Collections.emptyList();
+		List<BinaryFilePatch> binaryFilePatches = Collections.emptyList();
 		if (patchContents.isBlank() || patchContents.charAt(0) != '{' || patchContents.charAt(patchContents.length() - 1) != '}')
-			return new WorkspacePatch(workspace, removals, jvmAssemblerPatches, textFilePatches);
+			return new WorkspacePatch(workspace, removals, jvmAssemblerPatches, textFilePatches, binaryFilePatches);
 		try {
 			JsonReader jr = GSON.newJsonReader(new StringReader(patchContents));
 			jr.beginObject();
@@ -170,11 +192,12 @@ public static WorkspacePatch deserialize(@Nonnull Workspace workspace, @Nonnull
 				switch (name) {
 					case KEY_CLASS_JVM_ASM_DIFFS -> jvmAssemblerPatches = deserializeClassJvmAsmDiffs(workspace, jr);
 					case KEY_FILE_TEXT_DIFFS -> textFilePatches = deserializeFileTextDiffs(workspace, jr);
+					case KEY_FILE_BINARY_DIFFS -> binaryFilePatches = deserializeFileBinaryDiffs(workspace, jr);
 					case KEY_REMOVALS -> removals = deserializeRemovals(workspace, jr);
 				}
 			}
 			jr.endObject();
-			return new WorkspacePatch(workspace, removals, jvmAssemblerPatches, textFilePatches);
+			return new WorkspacePatch(workspace, removals, jvmAssemblerPatches, textFilePatches, binaryFilePatches);
 		} catch (Exception ex) {
 			throw new PatchGenerationException(ex, "Failed to parse patch contents");
 		}
@@ -272,6 +295,35 @@ else if (key.equals(KEY_DIFFS))
 		return patches;
 	}
 
+	@Nonnull
+	private static List<BinaryFilePatch> deserializeFileBinaryDiffs(@Nonnull Workspace workspace, @Nonnull JsonReader jr) throws IOException, PatchGenerationException {
+		List<BinaryFilePatch> patches = new ArrayList<>();
+		jr.beginArray();
+		while (jr.hasNext()) {
+			String name = null;
+			BinaryDiff.Delta delta = null;
+			jr.beginObject();
+			while (jr.hasNext()) {
+				String key = jr.nextName();
+				if (key.equals(KEY_NAME))
+					name = jr.nextString();
+				else if (key.equals(KEY_DELTA))
+					delta = BinaryDiff.Delta.decode(Base64.getDecoder().decode(jr.nextString()));
+			}
+			jr.endObject();
+
+			// Construct the patch
+			if (name != null && delta != null) {
+				FilePathNode filePath = workspace.findFile(name);
+				if (filePath == null)
+					throw new PatchGenerationException("'" + name + "' cannot be found in the given workspace");
+				patches.add(new BinaryFilePatch(filePath, delta));
+			}
+		}
+		jr.endArray();
+		return patches;
+	}
+
 	@Nonnull
 	private static List<StringDiff.Diff> deserializeStringDiffs(@Nonnull JsonReader jr) throws IOException {
 		List<StringDiff.Diff> diffs = new ArrayList<>();
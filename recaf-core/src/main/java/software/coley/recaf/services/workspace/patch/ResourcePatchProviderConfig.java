@@ -1,8 +1,11 @@
 package software.coley.recaf.services.workspace.patch;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
@@ -13,8 +16,21 @@
  */
 @ApplicationScoped
 public class ResourcePatchProviderConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean structuralDiff = new ObservableBoolean(true);
+
 	@Inject
 	public ResourcePatchProviderConfig() {
 		super(ConfigGroups.SERVICE_IO, PatchProvider.SERVICE_ID + CONFIG_SUFFIX);
+		// Add values
+		addValue(new BasicConfigValue<>("structural-diff", boolean.class, structuralDiff));
+	}
+
+	/**
+	 * @return {@code true} to compare the structure of changed classes before disassembling them,
+	 * skipping classes which only differ in layout details such as constant pool ordering.
+	 */
+	@Nonnull
+	public ObservableBoolean getStructuralDiff() {
+		return structuralDiff;
 	}
 }
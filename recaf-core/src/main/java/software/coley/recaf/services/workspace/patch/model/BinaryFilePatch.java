@@ -0,0 +1,34 @@
+package software.coley.recaf.services.workspace.patch.model;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.path.FilePathNode;
+import software.coley.recaf.util.BinaryDiff;
+
+/**
+ * Patch for a single non-text file.
+ *
+ * @param path
+ * 		Path to the file to patch.
+ * @param delta
+ * 		Binary delta to apply to the file's content.
+ *
+ * @author Matt Coley
+ */
+public record BinaryFilePatch(@Nonnull FilePathNode path, @Nonnull BinaryDiff.Delta delta) {
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		BinaryFilePatch that = (BinaryFilePatch) o;
+
+		if (path.localCompare(that.path) != 0)
+			return false;
+		return delta.equals(that.delta);
+	}
+
+	@Override
+	public int hashCode() {
+		return delta.hashCode();
+	}
+}
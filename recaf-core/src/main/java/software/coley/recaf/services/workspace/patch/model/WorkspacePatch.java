@@ -3,6 +3,7 @@
 import jakarta.annotation.Nonnull;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,13 +17,33 @@
  * 		Text patches to apply to JVM classes via the assembler.
  * @param textFilePatches
  * 		Text patches to apply to text files.
+ * @param binaryFilePatches
+ * 		Binary patches to apply to non-text files.
  *
  * @author Matt Coley
  */
 public record WorkspacePatch(@Nonnull Workspace workspace,
                              @Nonnull List<RemovePath> removals,
                              @Nonnull List<JvmAssemblerPatch> jvmAssemblerPatches,
-                             @Nonnull List<TextFilePatch> textFilePatches) {
+                             @Nonnull List<TextFilePatch> textFilePatches,
+                             @Nonnull List<BinaryFilePatch> binaryFilePatches) {
+
+	/**
+	 * @param workspace
+	 * 		Workspace to apply the patches to.
+	 * @param removals
+	 * 		Removal patches to remove content by paths.
+	 * @param jvmAssemblerPatches
+	 * 		Text patches to apply to JVM classes via the assembler.
+	 * @param textFilePatches
+	 * 		Text patches to apply to text files.
+	 */
+	public WorkspacePatch(@Nonnull Workspace workspace,
+	                      @Nonnull List<RemovePath> removals,
+	                      @Nonnull List<JvmAssemblerPatch> jvmAssemblerPatches,
+	                      @Nonnull List<TextFilePatch> textFilePatches) {
+		this(workspace, removals, jvmAssemblerPatches, textFilePatches, Collections.emptyList());
+	}
 
 	// TODO: Add more patch type lists
 	//  - New classes / files
@@ -39,13 +60,15 @@ public boolean equals(Object o) {
 		WorkspacePatch that = (WorkspacePatch) o;
 
 		if (!jvmAssemblerPatches.equals(that.jvmAssemblerPatches)) return false;
-		return textFilePatches.equals(that.textFilePatches);
+		if (!textFilePatches.equals(that.textFilePatches)) return false;
+		return binaryFilePatches.equals(that.binaryFilePatches);
 	}
 
 	@Override
 	public int hashCode() {
 		int result = jvmAssemblerPatches.hashCode();
 		result = 31 * result + textFilePatches.hashCode();
+		result = 31 * result + binaryFilePatches.hashCode();
 		return result;
 	}
 }
@@ -0,0 +1,370 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Delta encoding of binary content. The modified content is modeled as a sequence of ranges copied from
+ * the original content, and literal bytes that did not appear in the original content.
+ * <br>
+ * Matching ranges are found by indexing fixed size blocks of the original content by a rolling hash,
+ * then sliding the same hash over the modified content. This takes linear time in the size of both inputs,
+ * so even large binaries can be compared quickly.
+ *
+ * @author Matt Coley
+ */
+public class BinaryDiff {
+	private static final int BLOCK_SIZE = 16;
+	private static final int HASH_MULTIPLIER = 0x01000193;
+	private static final int HASH_REMOVE_MULTIPLIER;
+	private static final int MAX_CANDIDATES = 8;
+	private static final int OP_COPY = 0;
+	private static final int OP_INSERT = 1;
+
+	static {
+		int pow = 1;
+		for (int i = 0; i < BLOCK_SIZE - 1; i++)
+			pow *= HASH_MULTIPLIER;
+		HASH_REMOVE_MULTIPLIER = pow;
+	}
+
+	private BinaryDiff() {}
+
+	/**
+	 * @param a
+	 * 		Input.
+	 * @param b
+	 * 		Modified input.
+	 *
+	 * @return Delta from {@code a} --> {@code b}.
+	 */
+	@Nonnull
+	public static Delta diff(@Nonnull byte[] a, @Nonnull byte[] b) {
+		List<Op> ops = new ArrayList<>();
+		int literalStart = 0;
+		if (a.length >= BLOCK_SIZE && b.length >= BLOCK_SIZE) {
+			BlockIndex index = new BlockIndex(a);
+			int i = 0;
+			int hash = hash(b, 0);
+			while (i + BLOCK_SIZE <= b.length) {
+				int match = index.findLongestMatch(hash, b, i);
+				if (match >= 0) {
+					// Grow the match backwards over any pending literal bytes, then forwards as far as it goes.
+					int startA = match;
+					int startB = i;
+					while (startB > literalStart && startA > 0 && a[startA - 1] == b[startB - 1]) {
+						startA--;
+						startB--;
+					}
+					int length = (i - startB) + matchLength(a, match, b, i);
+					if (startB > literalStart)
+						ops.add(new Insert(Arrays.copyOfRange(b, literalStart, startB)));
+					ops.add(new Copy(startA, length));
+					i = startB + length;
+					literalStart = i;
+					if (i + BLOCK_SIZE <= b.length)
+						hash = hash(b, i);
+				} else {
+					if (i + BLOCK_SIZE < b.length)
+						hash = (hash - (b[i] & 0xFF) * HASH_REMOVE_MULTIPLIER) * HASH_MULTIPLIER + (b[i + BLOCK_SIZE] & 0xFF);
+					i++;
+				}
+			}
+		}
+		if (literalStart < b.length)
+			ops.add(new Insert(Arrays.copyOfRange(b, literalStart, b.length)));
+		return new Delta(a.length, crc(a), b.length, crc(b), Collections.unmodifiableList(ops));
+	}
+
+	private static int hash(@Nonnull byte[] data, int offset) {
+		int hash = 0;
+		for (int i = offset; i < offset + BLOCK_SIZE; i++)
+			hash = hash * HASH_MULTIPLIER + (data[i] & 0xFF);
+		return hash;
+	}
+
+	private static int matchLength(@Nonnull byte[] a, int offsetA, @Nonnull byte[] b, int offsetB) {
+		int max = Math.min(a.length - offsetA, b.length - offsetB);
+		int mismatch = Arrays.mismatch(a, offsetA, offsetA + max, b, offsetB, offsetB + max);
+		return mismatch < 0 ? max : mismatch;
+	}
+
+	private static long crc(@Nonnull byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		return crc.getValue();
+	}
+
+	private static void writeVarInt(@Nonnull DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(@Nonnull DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+
+	/**
+	 * Index of the offsets of each full block in the original content, by the hash of the block.
+	 */
+	private static class BlockIndex {
+		private final byte[] data;
+		private final int[] heads;
+		private final int[] next;
+		private final int mask;
+
+		private BlockIndex(@Nonnull byte[] data) {
+			this.data = data;
+			int blocks = data.length / BLOCK_SIZE;
+			int capacity = Integer.highestOneBit(Math.max(blocks, 1) * 2 - 1) << 1;
+			mask = capacity - 1;
+			heads = new int[capacity];
+			next = new int[blocks];
+			Arrays.fill(heads, -1);
+
+			// Add in reverse order so that chains visit earlier blocks first.
+			for (int block = blocks - 1; block >= 0; block--) {
+				int bucket = bucket(hash(data, block * BLOCK_SIZE));
+				next[block] = heads[bucket];
+				heads[bucket] = block;
+			}
+		}
+
+		/**
+		 * @param hash
+		 * 		Hash of the block at the given offset in the modified content.
+		 * @param b
+		 * 		Modified content.
+		 * @param offset
+		 * 		Offset of the block in the modified content.
+		 *
+		 * @return Offset in the original content with the longest match of the modified content at the offset.
+		 * {@code -1} when no block in the original content matches.
+		 */
+		private int findLongestMatch(int hash, @Nonnull byte[] b, int offset) {
+			int bestOffset = -1;
+			int bestLength = 0;
+			int candidates = 0;
+			for (int block = heads[bucket(hash)]; block >= 0 && candidates < MAX_CANDIDATES; block = next[block]) {
+				candidates++;
+				int candidateOffset = block * BLOCK_SIZE;
+				int length = matchLength(data, candidateOffset, b, offset);
+				if (length >= BLOCK_SIZE && length > bestLength) {
+					bestOffset = candidateOffset;
+					bestLength = length;
+				}
+			}
+			return bestOffset;
+		}
+
+		private int bucket(int hash) {
+			return (hash ^ (hash >>> 16)) & mask;
+		}
+	}
+
+	/**
+	 * @param baseLength
+	 * 		Length of the original content.
+	 * @param baseCrc
+	 * 		CRC32 of the original content.
+	 * @param targetLength
+	 * 		Length of the modified content.
+	 * @param targetCrc
+	 * 		CRC32 of the modified content.
+	 * @param ops
+	 * 		Operations which construct the modified content, in order.
+	 *
+	 * @author Matt Coley
+	 */
+	public record Delta(int baseLength, long baseCrc, int targetLength, long targetCrc, @Nonnull List<Op> ops) {
+		/**
+		 * @param base
+		 * 		Some content.
+		 *
+		 * @return {@code true} when the content is the original content this delta was made from.
+		 */
+		public boolean matchesBase(@Nonnull byte[] base) {
+			return base.length == baseLength && crc(base) == baseCrc;
+		}
+
+		/**
+		 * @param base
+		 * 		Original content.
+		 *
+		 * @return Modified content.
+		 *
+		 * @throws IllegalArgumentException
+		 * 		When the given content is not the original content this delta was made from,
+		 * 		or the delta does not produce the expected modified content.
+		 */
+		@Nonnull
+		public byte[] apply(@Nonnull byte[] base) {
+			if (!matchesBase(base))
+				throw new IllegalArgumentException("Content does not match the base of the delta");
+			byte[] target = new byte[targetLength];
+			int position = 0;
+			for (Op op : ops) {
+				if (op.length() > targetLength - position)
+					throw new IllegalArgumentException("Delta operation exceeds target length");
+				switch (op) {
+					case Copy copy -> {
+						if (copy.offset() < 0 || copy.length() > base.length - copy.offset())
+							throw new IllegalArgumentException("Delta copy exceeds base length");
+						System.arraycopy(base, copy.offset(), target, position, copy.length());
+					}
+					case Insert insert -> System.arraycopy(insert.data(), 0, target, position, insert.length());
+				}
+				position += op.length();
+			}
+			if (position != targetLength || crc(target) != targetCrc)
+				throw new IllegalArgumentException("Delta did not produce the expected content");
+			return target;
+		}
+
+		/**
+		 * @return Compact compressed representation of the delta.
+		 *
+		 * @see #decode(byte[])
+		 */
+		@Nonnull
+		public byte[] encode() {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+				writeVarInt(out, baseLength);
+				out.writeInt((int) baseCrc);
+				writeVarInt(out, targetLength);
+				out.writeInt((int) targetCrc);
+				writeVarInt(out, ops.size());
+				for (Op op : ops) {
+					switch (op) {
+						case Copy copy -> {
+							out.writeByte(OP_COPY);
+							writeVarInt(out, copy.offset());
+							writeVarInt(out, copy.length());
+						}
+						case Insert insert -> {
+							out.writeByte(OP_INSERT);
+							writeVarInt(out, insert.length());
+							out.write(insert.data());
+						}
+					}
+				}
+			} catch (IOException ex) {
+				// Should not occur when writing to memory
+				throw new IllegalStateException(ex);
+			}
+			return bytes.toByteArray();
+		}
+
+		/**
+		 * @param encoded
+		 * 		Data from {@link #encode()}.
+		 *
+		 * @return Decoded delta.
+		 *
+		 * @throws IOException
+		 * 		When the data is not a valid encoded delta.
+		 */
+		@Nonnull
+		public static Delta decode(@Nonnull byte[] encoded) throws IOException {
+			try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(encoded)))) {
+				int baseLength = readVarInt(in);
+				long baseCrc = in.readInt() & 0xFFFFFFFFL;
+				int targetLength = readVarInt(in);
+				long targetCrc = in.readInt() & 0xFFFFFFFFL;
+				int opCount = readVarInt(in);
+				if (baseLength < 0 || targetLength < 0 || opCount < 0 || opCount > targetLength)
+					throw new IOException("Malformed delta header");
+				List<Op> ops = new ArrayList<>(opCount);
+				for (int i = 0; i < opCount; i++) {
+					int type = in.readUnsignedByte();
+					if (type == OP_COPY) {
+						ops.add(new Copy(readVarInt(in), readVarInt(in)));
+					} else if (type == OP_INSERT) {
+						int length = readVarInt(in);
+						if (length < 0 || length > targetLength)
+							throw new IOException("Malformed delta insert length");
+						byte[] data = new byte[length];
+						in.readFully(data);
+						ops.add(new Insert(data));
+					} else {
+						throw new IOException("Unknown delta operation: " + type);
+					}
+				}
+				return new Delta(baseLength, baseCrc, targetLength, targetCrc, Collections.unmodifiableList(ops));
+			}
+		}
+	}
+
+	/**
+	 * Operation in a {@link Delta} producing part of the modified content.
+	 *
+	 * @author Matt Coley
+	 */
+	public sealed interface Op permits Copy, Insert {
+		/**
+		 * @return Number of bytes the operation produces.
+		 */
+		int length();
+	}
+
+	/**
+	 * @param offset
+	 * 		Offset in the original content to copy from.
+	 * @param length
+	 * 		Number of bytes to copy.
+	 *
+	 * @author Matt Coley
+	 */
+	public record Copy(int offset, int length) implements Op {
+	}
+
+	/**
+	 * @param data
+	 * 		Bytes to insert, which do not appear in the original content.
+	 *
+	 * @author Matt Coley
+	 */
+	public record Insert(@Nonnull byte[] data) implements Op {
+		@Override
+		public int length() {
+			return data.length;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+
+			Insert that = (Insert) o;
+			return Arrays.equals(data, that.data);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(data);
+		}
+	}
+}
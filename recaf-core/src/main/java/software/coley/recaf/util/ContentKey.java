@@ -0,0 +1,58 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+
+/**
+ * Cache key for byte content. Keys are compared by {@link HashUtil#hash64(byte[]) hash} first, and then by the
+ * content itself, so that a hash collision can never yield a cached value computed for different content.
+ * <br>
+ * The content array is held by reference and must not be modified after the key is created.
+ *
+ * @author Matt Coley
+ */
+public final class ContentKey {
+	private final byte[] content;
+	private final long hash;
+
+	/**
+	 * @param content
+	 * 		Content to key.
+	 */
+	public ContentKey(@Nonnull byte[] content) {
+		this.content = content;
+		this.hash = HashUtil.hash64(content);
+	}
+
+	/**
+	 * @return Hash of the content.
+	 */
+	public long hash() {
+		return hash;
+	}
+
+	/**
+	 * @return Length of the content.
+	 */
+	public int length() {
+		return content.length;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof ContentKey other)) return false;
+		return hash == other.hash && Arrays.equals(content, other.content);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(hash);
+	}
+
+	@Override
+	public String toString() {
+		return "ContentKey{" + Long.toHexString(hash) + ", length=" + content.length + '}';
+	}
+}
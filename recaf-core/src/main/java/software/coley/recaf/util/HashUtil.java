@@ -0,0 +1,47 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Non-cryptographic hashing utilities, used for content keys in caches.
+ *
+ * @author Matt Coley
+ */
+public class HashUtil {
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * @param data
+	 * 		Data to hash.
+	 *
+	 * @return 64-bit FNV-1a hash of the data.
+	 */
+	public static long hash64(@Nonnull byte[] data) {
+		return hash64(data, 0, data.length);
+	}
+
+	/**
+	 * @param data
+	 * 		Data to hash.
+	 * @param offset
+	 * 		Offset into the data to begin hashing at.
+	 * @param length
+	 * 		Number of bytes to hash.
+	 *
+	 * @return 64-bit FNV-1a hash of the data range.
+	 */
+	public static long hash64(@Nonnull byte[] data, int offset, int length) {
+		long hash = FNV_OFFSET;
+		int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			hash ^= data[i] & 0xFF;
+			hash *= FNV_PRIME;
+		}
+
+		// Mix in the length so that inputs with trailing zeros do not trivially collide.
+		hash ^= length;
+		hash *= FNV_PRIME;
+		return hash;
+	}
+}
@@ -1,12 +1,13 @@
 package software.coley.recaf.util;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
- * Memoized functions.
+ * Memoized functions. The functions are safe to call from multiple threads.
+ * Results of {@code null} are not memoized.
  *
  * @author Amejonah
  */
@@ -20,7 +21,7 @@ public static <KeyA, KeyB, Value> BiFunction<KeyA, KeyB, Value> memoize(BiFuncti
 	}
 
 	private static class MemoizedFunction<Key, Value> implements Function<Key, Value> {
-		private final Map<Key, Value> cache = new HashMap<>();
+		private final Map<Key, Value> cache = new ConcurrentHashMap<>();
 		private final Function<Key, Value> function;
 
 		private MemoizedFunction(Function<Key, Value> function) {
@@ -29,12 +30,12 @@ private MemoizedFunction(Function<Key, Value> function) {
 
 		@Override
 		public Value apply(Key key) {
-			return cache.computeIfAbsent(key, function);
+			return memoized(cache, key, function);
 		}
 	}
 
 	private static class BiMemoizedFunction<KeyA, KeyB, Value> implements BiFunction<KeyA, KeyB, Value> {
-		private final Map<KeyA, Map<KeyB, Value>> cache = new HashMap<>();
+		private final Map<KeyA, Map<KeyB, Value>> cache = new ConcurrentHashMap<>();
 		private final BiFunction<KeyA, KeyB, Value> function;
 
 		private BiMemoizedFunction(BiFunction<KeyA, KeyB, Value> function) {
@@ -44,7 +45,34 @@ private BiMemoizedFunction(BiFunction<KeyA, KeyB, Value> function) {
 
 		@Override
 		public Value apply(KeyA keyA, KeyB keyB) {
-			return cache.computeIfAbsent(keyA, __ -> new HashMap<>()).computeIfAbsent(keyB, k -> function.apply(keyA, keyB));
+			Map<KeyB, Value> inner = memoized(cache, keyA, __ -> new ConcurrentHashMap<>());
+			return memoized(inner, keyB, k -> function.apply(keyA, keyB));
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Unlike {@link Map#computeIfAbsent(Object, Function)} the function is run without holding any lock on the
+	 * cache, so that functions which recursively use the same cache do not fail. The function may be run more than
+	 * once for a key when called concurrently, but only one result is recorded.
+	 *
+	 * @param cache
+	 * 		Cache to pull from.
+	 * @param key
+	 * 		Key to look up.
+	 * @param function
+	 * 		Function to compute the value if it is not in the cache.
+	 *
+	 * @return Cached or computed value.
+	 */
+	private static <Key, Value> Value memoized(Map<Key, Value> cache, Key key, Function<Key, Value> function) {
+		Value value = cache.get(key);
+		if (value == null) {
+			value = function.apply(key);
+			if (value != null) {
+				Value existing = cache.putIfAbsent(key, value);
+				if (existing != null) value = existing;
+			}
+		}
+		return value;
+	}
+}
@@ -145,7 +145,7 @@ public boolean putAll(K key, @Nonnull Collection<? extends V> values) {
 	public boolean remove(K key, V value) {
 		C collection = backing.get(key);
 		if (collection != null && collection.remove(value) && collection.isEmpty()) {
-			backing.remove(key);
+			backing.remove(key, collection);
 			return true;
 		}
 		return false;
@@ -2,17 +2,29 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import org.slf4j.Logger;
 import software.coley.collections.func.UncheckedConsumer;
-import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -23,7 +35,6 @@
  */
 public class ZipCreationUtils {
 	private static final byte[] EMPTY = new byte[0];
-	private static final Logger logger = Logging.get(ZipCreationUtils.class);
 
 	/**
 	 * @param name
@@ -80,23 +91,6 @@ public static byte[] createZip(UncheckedConsumer<ZipOutputStream> consumer) thro
 		return baos.toByteArray();
 	}
 
-	/**
-	 * Resetting the tracked names allows you to write duplicate entries to a ZIP file.
-	 *
-	 * @param zos
-	 * 		ZIP stream to reset name tracking of.
-	 */
-	private static void resetNames(ZipOutputStream zos) {
-		try {
-			Field field = ReflectUtil.getDeclaredField(ZipOutputStream.class, "names");
-			Collection<?> names = (Collection<?>) field.get(zos);
-			names.clear();
-		} catch (Exception ex) {
-			logger.error("Failed to reset ZIP name tracking: {}", zos, ex);
-		}
-	}
-
-
 	/**
 	 * @return New ZIP builder.
 	 */
@@ -133,6 +127,10 @@ public static FileTime unixTimeToFileTime(long utime) {
 	 */
 	public static class ZipBuilder {
 		private static final int MAX_DIR_DEPTH = 64;
+		private static final int MAX_PENDING_ENTRIES = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+		private static final ExecutorService DEFLATE_POOL = ThreadPoolFactory.newWorkStealingPool("zip-deflate");
+		/** Flag set on {@link #DEFLATE_POOL} threads while they encode an entry. */
+		private static final ThreadLocal<Boolean> ENCODING = ThreadLocal.withInitial(() -> false);
 		private final List<Entry> entries = new ArrayList<>();
 		private boolean createDirectories;
 
@@ -181,7 +179,65 @@ public ZipBuilder add(@Nonnull String name, @Nonnull byte[] content) {
 		@Nonnull
 		public ZipBuilder add(@Nonnull String name, @Nonnull byte[] content, boolean compression,
 							  @Nullable String comment, long createTime, long modifyTime, long accessTime) {
-			return add(new Entry(name, content, compression, comment, null, createTime, modifyTime, accessTime));
+			return add(name, () -> content, compression, comment, createTime, modifyTime, accessTime);
+		}
+
+		/**
+		 * @param name
+		 * 		Entry name.
+		 * @param content
+		 * 		Supplier of entry contents, called only once the entry is about to be written.
+		 * @param compression
+		 * 		Compression flag.
+		 * @param comment
+		 * 		Optional comment.
+		 * @param createTime
+		 * 		Creation time.
+		 * @param modifyTime
+		 * 		Modification time.
+		 * @param accessTime
+		 * 		Access time.
+		 *
+		 * @return Builder.
+		 */
+		@Nonnull
+		public ZipBuilder add(@Nonnull String name, @Nonnull Supplier<byte[]> content, boolean compression,
+							  @Nullable String comment, long createTime, long modifyTime, long accessTime) {
+			return add(new Entry(name, content, compression, comment, null, createTime, modifyTime, accessTime,
+					false, 0, 0));
+		}
+
+		/**
+		 * Adds an entry with content that is already compressed, which is written as-is.
+		 *
+		 * @param name
+		 * 		Entry name.
+		 * @param data
+		 * 		Supplier of the entry data, called only once the entry is about to be written.
+		 * @param deflated
+		 *        {@code true} when the data is raw {@code DEFLATE} data.
+		 *        {@code false} when the data is the uncompressed content.
+		 * @param crc
+		 * 		CRC32 of the uncompressed content.
+		 * @param size
+		 * 		Size of the uncompressed content.
+		 * @param comment
+		 * 		Optional comment.
+		 * @param createTime
+		 * 		Creation time.
+		 * @param modifyTime
+		 * 		Modification time.
+		 * @param accessTime
+		 * 		Access time.
+		 *
+		 * @return Builder.
+		 */
+		@Nonnull
+		public ZipBuilder addCompressed(@Nonnull String name, @Nonnull Supplier<byte[]> data, boolean deflated,
+										long crc, int size, @Nullable String comment,
+										long createTime, long modifyTime, long accessTime) {
+			return add(new Entry(name, data, deflated, comment, null, createTime, modifyTime, accessTime,
+					true, crc, size));
 		}
 
 		/**
@@ -204,98 +260,133 @@ private ZipBuilder add(@Nonnull Entry entry) {
 		 */
 		@Nonnull
 		public byte[] bytes() throws IOException {
-			return createZip(zos -> {
-				Set<String> dirsVisited = new HashSet<>();
-				CRC32 crc = new CRC32();
-				for (Entry entry : entries) {
-					String key = entry.name;
-					byte[] content = entry.content;
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			writeTo(baos);
+			return baos.toByteArray();
+		}
 
+		/**
+		 * Writes the ZIP to the given stream. Entries are compressed in parallel but written in order,
+		 * with only a bounded number of compressed entries held in memory at a time.
+		 *
+		 * @param out
+		 * 		Stream to write to. Not closed by this method.
+		 *
+		 * @throws IOException
+		 * 		When the content cannot be written.
+		 */
+		public void writeTo(@Nonnull OutputStream out) throws IOException {
+			// Blocking a deflate worker on tasks queued behind it can stall the pool, which would happen when a lazily
+			// supplied entry (such as an embedded archive) builds its own ZIP. In that case we compress inline instead.
+			// Writes from any other pool, such as the common pool, still compress in parallel.
+			boolean parallel = !ENCODING.get();
+			ZipStreamWriter writer = new ZipStreamWriter(out);
+			Deque<CompletableFuture<EncodedEntry>> pending = new ArrayDeque<>();
+			Set<String> dirsVisited = new HashSet<>();
+			try {
+				for (Entry entry : entries) {
 					// Write directories for upcoming entries if necessary
-					// - Ugly, but does the job.
-					if (createDirectories && key.contains("/")) {
-						// Record directories
-						String parent = key;
-						List<String> toAdd = new ArrayList<>();
-						do {
-							// Abort if the max-dir depth is reached.
-							if (toAdd.size() > MAX_DIR_DEPTH) {
-								toAdd.clear();
-								break;
-							}
-							parent = parent.substring(0, parent.lastIndexOf('/'));
-							if (dirsVisited.add(parent)) {
-								toAdd.add(0, parent + '/');
-							} else break;
-						} while (parent.contains("/"));
-						// Put directories in order of depth
-						for (String dir : toAdd) {
-							// Update CRC
-							crc.reset();
-							crc.update(EMPTY);
-
-							// Add the entry
-							// We use STORED for directories so that the DEFLATE header doesn't clutter the
-							// LocalFileHeader data store. Using STORE keeps it empty.
-							ZipEntry dirEntry = new ZipEntry(dir);
-							dirEntry.setSize(0);
-							dirEntry.setCompressedSize(0);
-							dirEntry.setMethod(ZipEntry.STORED);
-							dirEntry.setCrc(crc.getValue());
-							zos.putNextEntry(dirEntry);
-							zos.closeEntry();
-						}
-					}
-
-					// Update CRC
-					crc.reset();
-					crc.update(content);
-
-					// Write ZIP entry
-					//  - Always use STORED for empty files to save space.
-					boolean doStore = entry.content.length == 0 || !entry.compression;
-					int level = doStore ? ZipEntry.STORED : ZipEntry.DEFLATED;
-					ZipEntry zipEntry = new ZipEntry(key);
-					zipEntry.setMethod(level);
-					zipEntry.setCrc(crc.getValue());
-					if (doStore) {
-						zipEntry.setSize(content.length);
-						zipEntry.setCompressedSize(content.length);
-					}
-					if (entry.comment != null) zipEntry.setComment(entry.comment);
-					if (entry.extra != null) zipEntry.setExtra(entry.extra);
-					if (entry.creationTime >= 0L) zipEntry.setCreationTime(FileTime.fromMillis(entry.creationTime));
-					if (entry.modifyTime >= 0L) zipEntry.setLastModifiedTime(FileTime.fromMillis(entry.modifyTime));
-					if (entry.accessTime >= 0L) zipEntry.setLastAccessTime(FileTime.fromMillis(entry.accessTime));
-
-					zos.putNextEntry(zipEntry);
-					zos.write(content);
-					zos.closeEntry();
-
-					// Reset to allow name hacks
-					resetNames(zos);
+					if (createDirectories && entry.name.contains("/"))
+						for (String dir : newDirectories(entry.name, dirsVisited))
+							pending.add(CompletableFuture.completedFuture(EncodedEntry.directory(dir)));
+
+					pending.add(parallel ?
+							CompletableFuture.supplyAsync(() -> encodeOnPool(entry), DEFLATE_POOL) :
+							CompletableFuture.completedFuture(EncodedEntry.encode(entry)));
+
+					// Bound the number of compressed entries waiting to be written
+					while (pending.size() > MAX_PENDING_ENTRIES)
+						writer.write(await(pending.poll()));
 				}
-			});
+				while (!pending.isEmpty())
+					writer.write(await(pending.poll()));
+				writer.finish();
+			} finally {
+				pending.forEach(future -> future.cancel(false));
+			}
+		}
+
+		/**
+		 * @param entry
+		 * 		Entry to encode on the current {@link #DEFLATE_POOL} thread.
+		 *
+		 * @return Encoded entry.
+		 */
+		@Nonnull
+		private static EncodedEntry encodeOnPool(@Nonnull Entry entry) {
+			ENCODING.set(true);
+			try {
+				return EncodedEntry.encode(entry);
+			} finally {
+				ENCODING.set(false);
+			}
+		}
+
+		/**
+		 * @param key
+		 * 		Entry name.
+		 * @param dirsVisited
+		 * 		Directories already written.
+		 *
+		 * @return Directories of the entry that have not been written yet, in order of depth.
+		 */
+		@Nonnull
+		private static List<String> newDirectories(@Nonnull String key, @Nonnull Set<String> dirsVisited) {
+			// Ugly, but does the job.
+			String parent = key;
+			List<String> toAdd = new ArrayList<>();
+			do {
+				// Abort if the max-dir depth is reached.
+				if (toAdd.size() > MAX_DIR_DEPTH) {
+					toAdd.clear();
+					break;
+				}
+				parent = parent.substring(0, parent.lastIndexOf('/'));
+				if (dirsVisited.add(parent)) {
+					toAdd.add(0, parent + '/');
+				} else break;
+			} while (parent.contains("/"));
+			return toAdd;
+		}
+
+		@Nonnull
+		private static EncodedEntry await(@Nonnull CompletableFuture<EncodedEntry> future) throws IOException {
+			try {
+				return future.join();
+			} catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof IOException io) throw io;
+				if (cause instanceof UncheckedIOException io) throw io.getCause();
+				if (cause instanceof RuntimeException re) throw re;
+				if (cause instanceof Error error) throw error;
+				throw new IOException(cause);
+			}
 		}
 
 		public static class Entry {
 			private final String name;
-			private final byte[] content;
+			private final Supplier<byte[]> content;
 			private final boolean compression;
 			private final String comment;
 			private final byte[] extra;
 			private final long creationTime;
 			private final long modifyTime;
 			private final long accessTime;
+			private final boolean precompressed;
+			private final long crc;
+			private final int size;
 
 			private Entry(@Nonnull String name,
-						  @Nonnull byte[] content,
+						  @Nonnull Supplier<byte[]> content,
 						  boolean compression,
 						  @Nullable String comment,
 						  @Nullable byte[] extra,
 						  long creationTime,
 						  long modifyTime,
-						  long accessTime
+						  long accessTime,
+						  boolean precompressed,
+						  long crc,
+						  int size
 			) {
 				this.name = name;
 				this.content = content;
@@ -305,7 +396,279 @@ private Entry(@Nonnull String name,
 				this.creationTime = creationTime;
 				this.modifyTime = modifyTime;
 				this.accessTime = accessTime;
+				this.precompressed = precompressed;
+				this.crc = crc;
+				this.size = size;
 			}
 		}
 	}
+
+	/**
+	 * Entry content, compressed and ready to be written.
+	 */
+	private record EncodedEntry(@Nonnull String name, int method, long crc, int size, @Nonnull byte[] data,
+								@Nullable String comment, @Nullable byte[] extra,
+								long creationTime, long modifyTime, long accessTime) {
+		@Nonnull
+		private static EncodedEntry directory(@Nonnull String name) {
+			// We use STORED for directories so that the DEFLATE header doesn't clutter the
+			// LocalFileHeader data store. Using STORE keeps it empty.
+			return new EncodedEntry(name, ZipEntry.STORED, 0, 0, EMPTY, null, null, -1, -1, -1);
+		}
+
+		@Nonnull
+		private static EncodedEntry encode(@Nonnull ZipBuilder.Entry entry) {
+			if (entry.precompressed)
+				return new EncodedEntry(entry.name, entry.compression ? ZipEntry.DEFLATED : ZipEntry.STORED, entry.crc,
+						entry.size, entry.content.get(), entry.comment, entry.extra,
+						entry.creationTime, entry.modifyTime, entry.accessTime);
+
+			byte[] content = entry.content.get();
+			CRC32 crc = new CRC32();
+			crc.update(content);
+
+			// Always use STORED for empty files to save space.
+			boolean doStore = content.length == 0 || !entry.compression;
+			byte[] data = content;
+			if (!doStore) {
+				Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+				ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+				try (DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater)) {
+					dos.write(content);
+				} catch (IOException ex) {
+					// Not possible when writing to a byte array
+					throw new UncheckedIOException(ex);
+				} finally {
+					deflater.end();
+				}
+				data = baos.toByteArray();
+			}
+			return new EncodedEntry(entry.name, doStore ? ZipEntry.STORED : ZipEntry.DEFLATED, crc.getValue(),
+					content.length, data, entry.comment, entry.extra,
+					entry.creationTime, entry.modifyTime, entry.accessTime);
+		}
+	}
+
+	/**
+	 * Sequential ZIP writer for pre-compressed entries, laid out the same way {@link ZipOutputStream} would write them.
+	 * Only the central directory records are kept in memory, entry contents are written as they are given.
+	 */
+	private static class ZipStreamWriter {
+		private static final int LOCAL_HEADER = 0x04034b50;
+		private static final int CENTRAL_HEADER = 0x02014b50;
+		private static final int END_HEADER = 0x06054b50;
+		private static final int ZIP64_END_HEADER = 0x06064b50;
+		private static final int ZIP64_END_LOCATOR = 0x07064b50;
+		private static final int FLAG_UTF8 = 0x800;
+		private static final int EXTRA_ZIP64 = 0x0001;
+		private static final int EXTRA_TIMESTAMP = 0x5455;
+		private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+		private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+		private final List<CentralRecord> records = new ArrayList<>();
+		private final OutputStream out;
+		private long written;
+
+		private ZipStreamWriter(@Nonnull OutputStream out) {
+			this.out = out;
+		}
+
+		private void write(@Nonnull EncodedEntry entry) throws IOException {
+			byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+			long time = entry.modifyTime() >= 0L ? entry.modifyTime() : System.currentTimeMillis();
+			byte[] extra = concat(timestampExtra(entry, true), entry.extra());
+			int version = entry.method() == ZipEntry.DEFLATED ? 20 : 10;
+
+			ByteBuffer header = buffer(30 + name.length + extra.length);
+			header.putInt(LOCAL_HEADER)
+					.putShort((short) version)
+					.putShort((short) FLAG_UTF8)
+					.putShort((short) entry.method())
+					.putInt(javaToDosTime(time))
+					.putInt((int) entry.crc())
+					.putInt(entry.data().length)
+					.putInt(entry.size())
+					.putShort((short) name.length)
+					.putShort((short) extra.length)
+					.put(name)
+					.put(extra);
+			long offset = written;
+			write(header.array());
+			write(entry.data());
+
+			// Only what the central directory needs is kept, so the entry content can be collected once written.
+			byte[] centralExtra = concat(timestampExtra(entry, false), entry.extra());
+			byte[] comment = entry.comment() == null ? EMPTY : entry.comment().getBytes(StandardCharsets.UTF_8);
+			records.add(new CentralRecord(name, centralExtra, comment, entry.method(), entry.crc(),
+					entry.data().length, entry.size(), time, offset));
+		}
+
+		private void finish() throws IOException {
+			long centralOffset = written;
+			for (CentralRecord record : records) {
+				boolean zip64 = record.offset() >= ZIP64_MAGIC_VALUE;
+				byte[] extra = record.extra();
+				if (zip64) {
+					ByteBuffer zip64Extra = buffer(12);
+					zip64Extra.putShort((short) EXTRA_ZIP64).putShort((short) 8).putLong(record.offset());
+					extra = concat(zip64Extra.array(), extra);
+				}
+				byte[] comment = record.comment();
+				int version = zip64 ? 45 : record.method() == ZipEntry.DEFLATED ? 20 : 10;
+
+				ByteBuffer header = buffer(46 + record.name().length + extra.length + comment.length);
+				header.putInt(CENTRAL_HEADER)
+						.putShort((short) version)
+						.putShort((short) version)
+						.putShort((short) FLAG_UTF8)
+						.putShort((short) record.method())
+						.putInt(javaToDosTime(record.time()))
+						.putInt((int) record.crc())
+						.putInt(record.compressedSize())
+						.putInt(record.size())
+						.putShort((short) record.name().length)
+						.putShort((short) extra.length)
+						.putShort((short) comment.length)
+						.putShort((short) 0) // disk number
+						.putShort((short) 0) // internal attributes
+						.putInt(0) // external attributes
+						.putInt((int) Math.min(record.offset(), ZIP64_MAGIC_VALUE))
+						.put(record.name())
+						.put(extra)
+						.put(comment);
+				write(header.array());
+			}
+			long centralSize = written - centralOffset;
+			int count = records.size();
+
+			// Write ZIP64 end records only if the regular end record cannot hold the values
+			if (count >= ZIP64_MAGIC_COUNT || centralOffset >= ZIP64_MAGIC_VALUE || centralSize >= ZIP64_MAGIC_VALUE) {
+				long zip64EndOffset = written;
+				ByteBuffer zip64End = buffer(76);
+				zip64End.putInt(ZIP64_END_HEADER)
+						.putLong(44) // size of remaining record
+						.putShort((short) 45)
+						.putShort((short) 45)
+						.putInt(0) // disk number
+						.putInt(0) // disk of central directory
+						.putLong(count)
+						.putLong(count)
+						.putLong(centralSize)
+						.putLong(centralOffset)
+						.putInt(ZIP64_END_LOCATOR)
+						.putInt(0) // disk of ZIP64 end record
+						.putLong(zip64EndOffset)
+						.putInt(1); // total disks
+				write(zip64End.array());
+			}
+
+			ByteBuffer end = buffer(22);
+			end.putInt(END_HEADER)
+					.putShort((short) 0) // disk number
+					.putShort((short) 0) // disk of central directory
+					.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT))
+					.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT))
+					.putInt((int) Math.min(centralSize, ZIP64_MAGIC_VALUE))
+					.putInt((int) Math.min(centralOffset, ZIP64_MAGIC_VALUE))
+					.putShort((short) 0); // comment length
+			write(end.array());
+			out.flush();
+		}
+
+		private void write(@Nonnull byte[] data) throws IOException {
+			out.write(data);
+			written += data.length;
+		}
+
+		/**
+		 * @param entry
+		 * 		Entry to get times of.
+		 * @param local
+		 *        {@code true} for the local header, which holds all times.
+		 *        {@code false} for the central directory, which only holds the modification time.
+		 *
+		 * @return Extended timestamp extra field, or an empty array if the entry has no times to record.
+		 */
+		@Nonnull
+		private static byte[] timestampExtra(@Nonnull EncodedEntry entry, boolean local) {
+			long modify = toUnixTime(entry.modifyTime());
+			long access = toUnixTime(entry.accessTime());
+			long create = toUnixTime(entry.creationTime());
+			int flags = (modify >= 0 ? 1 : 0) | (access >= 0 ? 2 : 0) | (create >= 0 ? 4 : 0);
+			if (flags == 0)
+				return EMPTY;
+			int size = 1 + (modify >= 0 ? 4 : 0);
+			if (local)
+				size += (access >= 0 ? 4 : 0) + (create >= 0 ? 4 : 0);
+			ByteBuffer extra = buffer(4 + size);
+			extra.putShort((short) EXTRA_TIMESTAMP).putShort((short) size).put((byte) flags);
+			if (modify >= 0) extra.putInt((int) modify);
+			if (local && access >= 0) extra.putInt((int) access);
+			if (local && create >= 0) extra.putInt((int) create);
+			return extra.array();
+		}
+
+		/**
+		 * @param time
+		 * 		Java time in milliseconds, or a negative value for no time.
+		 *
+		 * @return Unix time in seconds, or {@code -1} if the time is not set or cannot be represented in the extra field.
+		 */
+		private static long toUnixTime(long time) {
+			if (time < 0L)
+				return -1;
+			long seconds = TimeUnit.MILLISECONDS.toSeconds(time);
+			return seconds > Integer.MAX_VALUE ? -1 : seconds;
+		}
+
+		private static int javaToDosTime(long time) {
+			LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+			int year = date.getYear() - 1980;
+			if (year < 0)
+				return (1 << 21) | (1 << 16); // 1980-01-01
+			if (year > 127)
+				year = 127;
+			return year << 25 | date.getMonthValue() << 21 | date.getDayOfMonth() << 16 |
+					date.getHour() << 11 | date.getMinute() << 5 | date.getSecond() >> 1;
+		}
+
+		@Nonnull
+		private static byte[] concat(@Nonnull byte[] a, @Nullable byte[] b) {
+			if (b == null || b.length == 0) return a;
+			if (a.length == 0) return b;
+			byte[] merged = Arrays.copyOf(a, a.length + b.length);
+			System.arraycopy(b, 0, merged, a.length, b.length);
+			return merged;
+		}
+
+		@Nonnull
+		private static ByteBuffer buffer(int size) {
+			return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		/**
+		 * Central directory record of a written entry.
+		 *
+		 * @param name
+		 * 		Encoded entry name.
+		 * @param extra
+		 * 		Extra field of the central directory record.
+		 * @param comment
+		 * 		Encoded entry comment.
+		 * @param method
+		 * 		Compression method.
+		 * @param crc
+		 * 		CRC of the uncompressed content.
+		 * @param compressedSize
+		 * 		Size of the written content.
+		 * @param size
+		 * 		Size of the uncompressed content.
+		 * @param time
+		 * 		Modification time.
+		 * @param offset
+		 * 		Offset of the local header.
+		 */
+		private record CentralRecord(@Nonnull byte[] name, @Nonnull byte[] extra, @Nonnull byte[] comment,
+		                             int method, long crc, int compressedSize, int size, long time, long offset) {
+		}
+	}
 }
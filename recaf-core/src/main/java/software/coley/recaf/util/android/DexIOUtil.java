@@ -1,15 +1,21 @@
 package software.coley.recaf.util.android;
 
 import com.android.tools.r8.graph.DexProgramClass;
+import com.google.common.hash.Hashing;
 import jakarta.annotation.Nonnull;
+import software.coley.dextranslator.Options;
+import software.coley.dextranslator.ir.ConversionException;
 import software.coley.dextranslator.model.ApplicationData;
 import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.BasicAndroidClassInfo;
 import software.coley.recaf.info.builder.AndroidClassInfoBuilder;
+import software.coley.recaf.info.properties.builtin.DexChecksumProperty;
 import software.coley.recaf.util.io.ByteSource;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.BasicAndroidClassBundle;
 
 import java.io.IOException;
+import java.util.Collections;
 
 /**
  * Dex file reading and writing.
@@ -17,6 +23,12 @@
  * @author Matt Coley
  */
 public class DexIOUtil {
+	/**
+	 * Version of the options used by {@link #translateToJvm(String, DexProgramClass)}.
+	 * Must be changed whenever the options change, so that previously persisted translations are not re-used.
+	 */
+	public static final int TRANSLATION_OPTIONS_VERSION = 1;
+
 	/**
 	 * @param source
 	 * 		Content source to read from. Must be wrapping a dex file.
@@ -31,6 +43,23 @@ public static AndroidClassBundle read(@Nonnull ByteSource source) throws IOExcep
 		return read(source.readAll());
 	}
 
+	/**
+	 * @param source
+	 * 		Content source to read from. Must be wrapping a dex file.
+	 * @param translator
+	 * 		Translator for the read classes to use for {@link AndroidClassInfo#asJvmClass()}.
+	 *
+	 * @return Bundle of classes from the dex file.
+	 *
+	 * @throws IOException
+	 * 		When the dex file cannot be read from.
+	 */
+	@Nonnull
+	public static AndroidClassBundle read(@Nonnull ByteSource source,
+	                                      @Nonnull BasicAndroidClassInfo.JvmTranslator translator) throws IOException {
+		return read(source.readAll(), translator);
+	}
+
 	/**
 	 * @param dex
 	 * 		Raw bytes of a dex file.
@@ -42,17 +71,66 @@ public static AndroidClassBundle read(@Nonnull ByteSource source) throws IOExcep
 	 */
 	@Nonnull
 	public static AndroidClassBundle read(@Nonnull byte[] dex) throws IOException {
+		return read(dex, BasicAndroidClassInfo.DEFAULT_TRANSLATOR);
+	}
+
+	/**
+	 * @param dex
+	 * 		Raw bytes of a dex file.
+	 * @param translator
+	 * 		Translator for the read classes to use for {@link AndroidClassInfo#asJvmClass()}.
+	 *
+	 * @return Bundle of classes from the dex file.
+	 *
+	 * @throws IOException
+	 * 		When the dex file cannot be read from.
+	 */
+	@Nonnull
+	public static AndroidClassBundle read(@Nonnull byte[] dex,
+	                                      @Nonnull BasicAndroidClassInfo.JvmTranslator translator) throws IOException {
 		// Read dex file content
 		ApplicationData data = ApplicationData.fromDex(dex);
+		String checksum = Hashing.sha256().hashBytes(dex).toString();
 
-		// Populate bundle
+		// Populate bundle, the dex classes are already in memory so mapping their members is deferred until needed
 		BasicAndroidClassBundle classBundle = new BasicAndroidClassBundle();
 		for (DexProgramClass dexClass : data.getApplication().classes()) {
 			AndroidClassInfo classInfo = new AndroidClassInfoBuilder()
+					.withLazyMembers(true)
+					.withTranslator(translator)
 					.adaptFrom(dexClass)
 					.build();
+			DexChecksumProperty.set(classInfo, checksum);
 			classBundle.initialPut(classInfo);
 		}
 		return classBundle;
 	}
+
+	/**
+	 * @param name
+	 * 		Internal name of the class.
+	 * @param dexClass
+	 * 		Dex class to translate.
+	 *
+	 * @return JVM bytecode of the class.
+	 *
+	 * @throws ConversionException
+	 * 		When the dex class could not be converted.
+	 * @throws IOException
+	 * 		When the conversion output could not be written.
+	 */
+	@Nonnull
+	public static byte[] translateToJvm(@Nonnull String name, @Nonnull DexProgramClass dexClass)
+			throws ConversionException, IOException {
+		ApplicationData data = ApplicationData.fromProgramClasses(Collections.singleton(dexClass));
+		data.setOperationOptionsProvider(() -> new Options()
+				.enableLoadStoreOptimization()
+				.setLenient(true)
+				.setReplaceInvalidMethodBodies(true));
+		byte[] convertedBytecode = data.exportToJvmClass(name);
+		if (convertedBytecode == null)
+			throw new IllegalStateException("Failed to convert Dalvik model of " + name + " to JVM bytecode, " +
+					"conversion results did not include type name.");
+		return convertedBytecode;
+	}
 }
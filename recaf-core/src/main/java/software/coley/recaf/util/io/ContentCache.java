@@ -0,0 +1,89 @@
+package software.coley.recaf.util.io;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Bounded cache of materialized {@link LazyContent} values.
+ * Least recently used values are evicted once the total cached size exceeds the limit.
+ * <br>
+ * The cache is segmented, so that lazy content can be read from many threads without contending on a single lock.
+ *
+ * @author Matt Coley
+ */
+public class ContentCache {
+	private volatile Cache<LazyContent, byte[]> cache;
+	private volatile long maxSize;
+
+	/**
+	 * @param maxSize
+	 * 		Maximum number of bytes to hold in the cache.
+	 */
+	public ContentCache(long maxSize) {
+		this.maxSize = maxSize;
+		this.cache = newCache(maxSize);
+	}
+
+	/**
+	 * @param content
+	 * 		Content to look up.
+	 *
+	 * @return Cached bytes of the content, or {@code null} if not cached.
+	 */
+	@Nullable
+	public byte[] get(@Nonnull LazyContent content) {
+		return cache.getIfPresent(content);
+	}
+
+	/**
+	 * @param content
+	 * 		Content to record.
+	 * @param data
+	 * 		Materialized bytes of the content.
+	 */
+	public void put(@Nonnull LazyContent content, @Nonnull byte[] data) {
+		// Values which would flush the entire cache are not worth holding onto.
+		if (data.length > maxSize)
+			return;
+		cache.put(content, data);
+	}
+
+	/**
+	 * @param maxSize
+	 * 		New maximum number of bytes to hold in the cache.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		// The bound of a cache cannot be changed once built, so values which still fit are moved to a new cache.
+		Cache<LazyContent, byte[]> resized = newCache(maxSize);
+		resized.putAll(cache.asMap());
+		this.maxSize = maxSize;
+		cache = resized;
+	}
+
+	/**
+	 * @return Number of bytes currently held in the cache.
+	 */
+	public long getSize() {
+		long size = 0;
+		for (byte[] data : cache.asMap().values())
+			size += data.length;
+		return size;
+	}
+
+	/**
+	 * Removes all cached values.
+	 */
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	@Nonnull
+	private static Cache<LazyContent, byte[]> newCache(long maxSize) {
+		return CacheBuilder.newBuilder()
+				.maximumWeight(Math.max(0, maxSize))
+				.<LazyContent, byte[]>weigher((content, data) -> data.length)
+				.build();
+	}
+}
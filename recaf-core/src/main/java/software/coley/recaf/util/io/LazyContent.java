@@ -0,0 +1,53 @@
+package software.coley.recaf.util.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * Content which is only read from its backing source when requested.
+ * Recently read content is held in a shared {@link ContentCache} so that repeated access does not re-read the source.
+ * <br>
+ * The source supplier is invoked for each read, so it should provide sources which do not hold onto
+ * their content after being read. For instance, a new {@link LocalFileHeaderSource} backed by a memory-mapped
+ * archive will decompress on each read and allow the result to be collected once evicted from the cache.
+ *
+ * @author Matt Coley
+ */
+public final class LazyContent {
+	private final ContentCache cache;
+	private final Supplier<ByteSource> sourceSupplier;
+
+	/**
+	 * @param cache
+	 * 		Cache to hold recently read content in.
+	 * @param sourceSupplier
+	 * 		Supplier of the source to read content from.
+	 */
+	public LazyContent(@Nonnull ContentCache cache, @Nonnull Supplier<ByteSource> sourceSupplier) {
+		this.cache = cache;
+		this.sourceSupplier = sourceSupplier;
+	}
+
+	/**
+	 * @return Content bytes.
+	 *
+	 * @throws UncheckedIOException
+	 * 		When the backing source cannot be read.
+	 */
+	@Nonnull
+	public byte[] get() {
+		byte[] data = cache.get(this);
+		if (data == null) {
+			try {
+				data = sourceSupplier.get().readAll();
+			} catch (IOException ex) {
+				throw new UncheckedIOException("Failed to read lazy content", ex);
+			}
+			cache.put(this, data);
+		}
+		return data;
+	}
+}
@@ -4,8 +4,11 @@
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Wrapper for {@link ExecutorService} with easier inline configuration.
@@ -131,6 +134,49 @@ public static ScheduledExecutorService newScheduledThreadPool(String name, int s
 		return new ScheduledExecutorServiceDelegate(Executors.newScheduledThreadPool(size, new FactoryImpl(name, daemon)));
 	}
 
+	/**
+	 * @param name
+	 * 		Thread pool name.
+	 *
+	 * @return {@link ForkJoinPool} in async mode, suited for many small independent tasks.
+	 */
+	public static ExecutorService newWorkStealingPool(String name) {
+		return newWorkStealingPool(name, true);
+	}
+
+	/**
+	 * @param name
+	 * 		Thread pool name.
+	 * @param daemon
+	 * 		Flag to set created threads as daemon threads.
+	 *
+	 * @return {@link ForkJoinPool} in async mode, suited for many small independent tasks.
+	 */
+	public static ExecutorService newWorkStealingPool(String name, boolean daemon) {
+		return new ExecutorServiceDelegate(new ForkJoinPool(MAX, new ForkJoinFactoryImpl(name, daemon), null, true));
+	}
+
+	private static class ForkJoinFactoryImpl implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+		private static final AtomicInteger fidCounter = new AtomicInteger();
+		private final AtomicInteger tid = new AtomicInteger();
+		private final int fid = fidCounter.getAndIncrement();
+		private final String name;
+		private final boolean daemon;
+
+		public ForkJoinFactoryImpl(String name, boolean daemon) {
+			this.name = name;
+			this.daemon = daemon;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setDaemon(daemon);
+			thread.setName("Recaf-" + name + " [fj-" + fid + ":" + tid.getAndIncrement() + "]");
+			return thread;
+		}
+	}
+
 	private static class FactoryImpl implements ThreadFactory {
 		private static int fidCounter;
 		private final String name;
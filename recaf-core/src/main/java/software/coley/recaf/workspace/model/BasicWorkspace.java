@@ -1,11 +1,15 @@
 package software.coley.recaf.workspace.model;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.behavior.Closing;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.path.PathNodes;
 import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.AndroidApiResource;
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -14,6 +18,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -24,6 +29,7 @@
 public class BasicWorkspace implements Workspace {
 	private static final Logger logger = Logging.get(BasicWorkspace.class);
 	private final List<WorkspaceModificationListener> modificationListeners = new CopyOnWriteArrayList<>();
+	private final WorkspaceClassIndex classIndex = new WorkspaceClassIndex();
 	private final WorkspaceResource primary;
 	private final List<WorkspaceResource> supporting = new ArrayList<>();
 	private final List<WorkspaceResource> internal;
@@ -57,6 +63,8 @@ public BasicWorkspace(@Nonnull WorkspaceResource primary, @Nonnull Collection<Wo
 	public BasicWorkspace(@Nonnull WorkspaceResource primary, @Nonnull Collection<WorkspaceResource> supporting, boolean useInternalResources) {
 		this.primary = primary;
 		this.supporting.addAll(supporting);
+		classIndex.addResource(primary);
+		supporting.forEach(classIndex::addResource);
 
 		if (useInternalResources) {
 			RuntimeWorkspaceResource runtimeResource = RuntimeWorkspaceResource.getInstance();
@@ -92,6 +100,7 @@ public List<WorkspaceResource> getInternalSupportingResources() {
 	@Override
 	public void addSupportingResource(@Nonnull WorkspaceResource resource) {
 		supporting.add(resource);
+		classIndex.addResource(resource);
 		Unchecked.checkedForEach(modificationListeners, listener -> listener.onAddLibrary(this, resource),
 				(listener, t) -> logger.error("Exception thrown when adding supporting resource", t));
 	}
@@ -100,12 +109,43 @@ public void addSupportingResource(@Nonnull WorkspaceResource resource) {
 	public boolean removeSupportingResource(@Nonnull WorkspaceResource resource) {
 		boolean remove = supporting.remove(resource);
 		if (remove) {
+			classIndex.removeResource(resource);
 			Unchecked.checkedForEach(modificationListeners, listener -> listener.onRemoveLibrary(this, resource),
 					(listener, t) -> logger.error("Exception thrown when removing supporting resource", t));
 		}
 		return remove;
 	}
 
+	@Nullable
+	@Override
+	public ClassPathNode findJvmClass(boolean includeInternal, @Nonnull String name) {
+		ClassPathNode path = classIndex.getJvmClass(name, () -> Workspace.super.findJvmClass(false, name));
+		if (path != null || !includeInternal)
+			return path;
+
+		// Internal resources are not indexed, as they populate their bundles on demand without notifying listeners.
+		for (WorkspaceResource resource : internal) {
+			Optional<JvmClassBundle> bundle = resource.jvmClassBundleStreamRecursive()
+					.filter(b -> b.get(name) != null)
+					.findFirst();
+			if (bundle.isPresent())
+				return PathNodes.classPath(this, resource, bundle.get(), bundle.get().get(name));
+		}
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public ClassPathNode findLatestVersionedJvmClass(@Nonnull String name) {
+		return classIndex.getLatestVersionedJvmClass(name, () -> Workspace.super.findLatestVersionedJvmClass(name));
+	}
+
+	@Nullable
+	@Override
+	public ClassPathNode findAndroidClass(@Nonnull String name) {
+		return classIndex.getAndroidClass(name, () -> Workspace.super.findAndroidClass(name));
+	}
+
 	@Nonnull
 	@Override
 	public List<WorkspaceModificationListener> getWorkspaceModificationListeners() {
@@ -128,6 +168,8 @@ public void removeWorkspaceModificationListener(@Nonnull WorkspaceModificationLi
 	@Override
 	public void close() {
 		modificationListeners.clear();
+		supporting.forEach(classIndex::removeResource);
+		classIndex.removeResource(primary);
 		supporting.forEach(Closing::close);
 		primary.close();
 	}
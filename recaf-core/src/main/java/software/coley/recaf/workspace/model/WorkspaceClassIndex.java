@@ -0,0 +1,245 @@
+package software.coley.recaf.workspace.model;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.BundleListener;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Index of class names to their paths in the primary and supporting resources of a {@link BasicWorkspace}
+ * <i>(Including embedded resources in other resources)</i>.
+ * <br>
+ * Entries are recorded on the first lookup of a name, including lookups which find nothing. Modifications to any
+ * indexed bundle evict entries of the modified class name, so that repeated lookups do not need to walk over every
+ * resource in the workspace. Internal resources are not indexed, as they are not backed by regular bundles.
+ * <br>
+ * Some resources create bundles after being indexed, such as the per-classloader bundles of remote VM resources.
+ * Listeners on the bundles that existed when indexing cannot see classes added to such bundles, so entries are
+ * also evicted by listeners on the resources themselves, which are notified of changes in all of their bundles.
+ * <br>
+ * Lookups walk over every resource, so they are not run within the index maps, where they would block other
+ * threads using the same map bins. Instead, lookups which race with an eviction are not recorded.
+ *
+ * @author Matt Coley
+ */
+class WorkspaceClassIndex {
+	private final Map<String, Optional<ClassPathNode>> jvmClasses = new ConcurrentHashMap<>();
+	private final Map<String, Optional<ClassPathNode>> versionedJvmClasses = new ConcurrentHashMap<>();
+	private final Map<String, Optional<ClassPathNode>> androidClasses = new ConcurrentHashMap<>();
+	private final EvictingListener<JvmClassInfo> jvmListener = new EvictingListener<>(jvmClasses);
+	private final EvictingListener<JvmClassInfo> versionedJvmListener = new EvictingListener<>(versionedJvmClasses);
+	private final EvictingListener<AndroidClassInfo> androidListener = new EvictingListener<>(androidClasses);
+	private final EvictingResourceListener resourceListener = new EvictingResourceListener();
+	private final AtomicLong modifications = new AtomicLong();
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 * @param lookup
+	 * 		Lookup of the class over all non-internal resources, used when the name is not yet indexed.
+	 *
+	 * @return Path to the JVM class of the given name, or {@code null} if no such class exists.
+	 */
+	@Nullable
+	ClassPathNode getJvmClass(@Nonnull String name, @Nonnull Supplier<ClassPathNode> lookup) {
+		return get(jvmClasses, name, lookup);
+	}
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 * @param lookup
+	 * 		Lookup of the class over all non-internal resources, used when the name is not yet indexed.
+	 *
+	 * @return Path to the latest versioned JVM class of the given name, or {@code null} if no such class exists.
+	 */
+	@Nullable
+	ClassPathNode getLatestVersionedJvmClass(@Nonnull String name, @Nonnull Supplier<ClassPathNode> lookup) {
+		return get(versionedJvmClasses, name, lookup);
+	}
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 * @param lookup
+	 * 		Lookup of the class over all non-internal resources, used when the name is not yet indexed.
+	 *
+	 * @return Path to the Android class of the given name, or {@code null} if no such class exists.
+	 */
+	@Nullable
+	ClassPathNode getAndroidClass(@Nonnull String name, @Nonnull Supplier<ClassPathNode> lookup) {
+		return get(androidClasses, name, lookup);
+	}
+
+	/**
+	 * Adds listeners to all class bundles of the given resource, and its embedded resources.
+	 * Since the resource may contain classes which shadow or fill in prior lookups, all entries are dropped.
+	 *
+	 * @param resource
+	 * 		Resource to index.
+	 */
+	void addResource(@Nonnull WorkspaceResource resource) {
+		resource.jvmClassBundleStreamRecursive().forEach(bundle -> bundle.addBundleListener(jvmListener));
+		resource.versionedJvmClassBundleStreamRecursive().forEach(bundle -> bundle.addBundleListener(versionedJvmListener));
+		resource.androidClassBundleStreamRecursive().forEach(bundle -> bundle.addBundleListener(androidListener));
+		resource.addResourceJvmClassListener(resourceListener);
+		resource.addResourceAndroidClassListener(resourceListener);
+		clear();
+	}
+
+	/**
+	 * Removes listeners from all class bundles of the given resource, and its embedded resources.
+	 * Since entries may point to classes within the resource, all entries are dropped.
+	 *
+	 * @param resource
+	 * 		Resource to stop indexing.
+	 */
+	void removeResource(@Nonnull WorkspaceResource resource) {
+		resource.jvmClassBundleStreamRecursive().forEach(bundle -> bundle.removeBundleListener(jvmListener));
+		resource.versionedJvmClassBundleStreamRecursive().forEach(bundle -> bundle.removeBundleListener(versionedJvmListener));
+		resource.androidClassBundleStreamRecursive().forEach(bundle -> bundle.removeBundleListener(androidListener));
+		resource.removeResourceJvmClassListener(resourceListener);
+		resource.removeResourceAndroidClassListener(resourceListener);
+		clear();
+	}
+
+	/**
+	 * Drops all entries.
+	 */
+	void clear() {
+		modifications.incrementAndGet();
+		jvmClasses.clear();
+		versionedJvmClasses.clear();
+		androidClasses.clear();
+	}
+
+	@Nullable
+	private ClassPathNode get(@Nonnull Map<String, Optional<ClassPathNode>> index,
+	                          @Nonnull String name,
+	                          @Nonnull Supplier<ClassPathNode> lookup) {
+		Optional<ClassPathNode> entry = index.get(name);
+		if (entry != null && entry.map(WorkspaceClassIndex::isCurrent).orElse(true))
+			return entry.orElse(null);
+		if (entry != null)
+			index.remove(name, entry);
+
+		// A modification during the lookup may have been missed by it, so the result is only recorded when
+		// nothing was modified in the meantime. Evictions count modifications before removing entries, so one
+		// which happens between the check and the put is seen by the check after the put.
+		long expectedModifications = modifications.get();
+		Optional<ClassPathNode> computed = Optional.ofNullable(lookup.get());
+		if (modifications.get() == expectedModifications) {
+			Optional<ClassPathNode> existing = index.putIfAbsent(name, computed);
+			if (existing != null)
+				return existing.orElse(null);
+			if (modifications.get() != expectedModifications)
+				index.remove(name, computed);
+		}
+		return computed.orElse(null);
+	}
+
+	/**
+	 * @param index
+	 * 		Index to evict from.
+	 * @param name
+	 * 		Class name to evict.
+	 */
+	private void evict(@Nonnull Map<String, Optional<ClassPathNode>> index, @Nonnull String name) {
+		modifications.incrementAndGet();
+		index.remove(name);
+	}
+
+	/**
+	 * Some bundle operations, such as {@link Bundle#clear()}, do not notify listeners.
+	 * Checking that the bundle still holds the indexed class covers such cases for the cost of a single map lookup.
+	 *
+	 * @param path
+	 * 		Indexed path.
+	 *
+	 * @return {@code true} when the bundle in the path still holds the class in the path.
+	 */
+	private static boolean isCurrent(@Nonnull ClassPathNode path) {
+		Bundle<?> bundle = path.getValueOfType(Bundle.class);
+		return bundle != null && bundle.get(path.getValue().getName()) == path.getValue();
+	}
+
+	/**
+	 * Listener which evicts the key of any modified item from an index.
+	 *
+	 * @param <I>
+	 * 		Bundle item type.
+	 */
+	private class EvictingListener<I extends ClassInfo> implements BundleListener<I> {
+		private final Map<String, Optional<ClassPathNode>> index;
+
+		private EvictingListener(@Nonnull Map<String, Optional<ClassPathNode>> index) {
+			this.index = index;
+		}
+
+		@Override
+		public void onNewItem(@Nonnull String key, @Nonnull I value) {
+			evict(index, key);
+		}
+
+		@Override
+		public void onUpdateItem(@Nonnull String key, @Nonnull I oldValue, @Nonnull I newValue) {
+			evict(index, key);
+		}
+
+		@Override
+		public void onRemoveItem(@Nonnull String key, @Nonnull I value) {
+			evict(index, key);
+		}
+	}
+
+	/**
+	 * Listener which evicts the name of any modified class from the index, for all bundles of a resource.
+	 * This includes bundles created by the resource after it was indexed.
+	 */
+	private class EvictingResourceListener implements ResourceJvmClassListener, ResourceAndroidClassListener {
+		@Override
+		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			evict(jvmClasses, cls.getName());
+		}
+
+		@Override
+		public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+			evict(jvmClasses, newCls.getName());
+		}
+
+		@Override
+		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			evict(jvmClasses, cls.getName());
+		}
+
+		@Override
+		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+			evict(androidClasses, cls.getName());
+		}
+
+		@Override
+		public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo oldCls, @Nonnull AndroidClassInfo newCls) {
+			evict(androidClasses, newCls.getName());
+		}
+
+		@Override
+		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+			evict(androidClasses, cls.getName());
+		}
+	}
+}
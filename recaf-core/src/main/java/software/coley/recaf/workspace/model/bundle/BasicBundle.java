@@ -1,6 +1,7 @@
 package software.coley.recaf.workspace.model.bundle;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.analytics.logging.Logging;
@@ -21,11 +22,12 @@
  */
 public class BasicBundle<I extends Info> implements Bundle<I> {
 	private static final Logger logger = Logging.get(BasicBundle.class);
-	private final Map<String, Stack<I>> history = new ConcurrentHashMap<>();
+	private final Map<String, ItemHistory<I>> history = new ConcurrentHashMap<>();
 	private final List<BundleListener<I>> listeners = new CopyOnWriteArrayList<>();
 	private final Map<String, I> backing = new ConcurrentHashMap<>();
 	private final Set<String> initialKeys = ConcurrentHashMap.newKeySet();
 	private final NavigableSet<String> removed = Collections.synchronizedNavigableSet(new TreeSet<>());
+	private volatile HistorySpillStore historyStore;
 
 	/**
 	 * Create initial history item.
@@ -34,9 +36,20 @@
 	 * 		Origin item.
 	 */
 	private void initHistory(@Nonnull I info) {
-		Stack<I> itemHistory = new Stack<>();
-		itemHistory.push(info);
-		history.put(info.getName(), itemHistory);
+		ItemHistory<I> prior = history.put(info.getName(), new ItemHistory<>(info, historyStore));
+		if (prior != null)
+			prior.release();
+	}
+
+	/**
+	 * Histories which already moved states into a prior store keep using it, until they are released.
+	 *
+	 * @param historyStore
+	 * 		Store to move older states of items into, or {@code null} to keep all states in the heap.
+	 */
+	public void setHistoryStore(@Nullable HistorySpillStore historyStore) {
+		this.historyStore = historyStore;
+		history.values().forEach(itemHistory -> itemHistory.setStore(historyStore));
 	}
 
 	/**
@@ -77,18 +90,47 @@ public I put(@Nonnull I info) {
 
 	/**
 	 * History contains a stack of prior states of items.
-	 * If an item has not been modified there is no entry in this map.
+	 * Every item in the bundle has an entry in this map, holding at least its initial state.
+	 * <br>
+	 * Older states may be held outside the heap, so the returned stacks are copies which must be rebuilt on each call.
+	 * Changes to them do not affect the bundle. Use {@link #getItemHistories()} to access the history directly.
 	 *
 	 * @return Map of historical states of items within this bundle.
 	 */
 	@Nonnull
 	protected Map<String, Stack<I>> getHistory() {
+		Map<String, Stack<I>> copy = new HashMap<>(history.size());
+		history.forEach((key, itemHistory) -> copy.put(key, itemHistory.toStack()));
+		return copy;
+	}
+
+	/**
+	 * @return Map of item keys to the history of their states within this bundle.
+	 */
+	@Nonnull
+	protected Map<String, ItemHistory<I>> getItemHistories() {
 		return history;
 	}
 
+	/**
+	 * Older states may be held outside the heap, so the returned stack is a copy which
+	 * must be rebuilt on each call. Prefer {@link #getInitialState(String)} when only the initial state is needed.
+	 *
+	 * @param key
+	 * 		Item key.
+	 *
+	 * @return Copy of the history of the item.
+	 */
 	@Override
 	public Stack<I> getHistory(@Nonnull String key) {
-		return history.get(key);
+		ItemHistory<I> itemHistory = history.get(key);
+		return itemHistory == null ? null : itemHistory.toStack();
+	}
+
+	@Override
+	public I getInitialState(@Nonnull String key) {
+		ItemHistory<I> itemHistory = history.get(key);
+		return itemHistory == null ? null : itemHistory.getInitial();
 	}
 
 	@Nonnull
@@ -112,14 +154,14 @@ public Set<String> getRemovedKeys() {
 	@Override
 	public boolean hasHistory(@Nonnull String key) {
 		// History implies there are past entries for the current value, hence more than one entry.
-		Stack<I> stack = history.get(key);
-		return stack != null && stack.size() > 1;
+		ItemHistory<I> itemHistory = history.get(key);
+		return itemHistory != null && itemHistory.size() > 1;
 	}
 
 	@Override
 	public void incrementHistory(@Nonnull I info) {
 		String key = info.getName();
-		Stack<I> itemHistory = getHistory(key);
+		ItemHistory<I> itemHistory = history.get(key);
 		if (itemHistory == null) {
 			throw new IllegalStateException("Failed history increment, no prior history to build on for: " + key);
 		}
@@ -129,7 +171,7 @@ public void incrementHistory(@Nonnull I info) {
 
 	@Override
 	public void decrementHistory(@Nonnull String key) {
-		Stack<I> itemHistory = getHistory(key);
+		ItemHistory<I> itemHistory = history.get(key);
 		if (itemHistory == null) {
 			throw new IllegalStateException("Failed history decrement, no prior history to read from for: " + key);
 		}
@@ -232,7 +274,9 @@ public I remove(@Nonnull Object key) {
 					(listener, t) -> logger.error("Exception thrown when removing bundle item", t));
 
 			// Update history
-			history.remove(key);
+			ItemHistory<I> itemHistory = history.remove(key);
+			if (itemHistory != null)
+				itemHistory.release();
 		}
 		return info;
 	}
@@ -246,6 +290,7 @@ public void putAll(@Nonnull Map<? extends String, ? extends I> map) {
 	public void clear() {
 		removed.addAll(initialKeys);
 		backing.clear();
+		history.values().forEach(ItemHistory::release);
 		history.clear();
 	}
 
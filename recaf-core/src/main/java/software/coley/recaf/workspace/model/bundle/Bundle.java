@@ -28,6 +28,18 @@
 	@Nullable
 	Stack<I> getHistory(String key);
 
+	/**
+	 * @param key
+	 * 		Item key.
+	 *
+	 * @return Initial state of the item, or {@code null} if the item has no history.
+	 */
+	@Nullable
+	default I getInitialState(String key) {
+		Stack<I> history = getHistory(key);
+		return history == null || history.isEmpty() ? null : history.firstElement();
+	}
+
 	/**
 	 * @return Keys of items that have been modified <i>(Containing any history values)</i>.
 	 */
@@ -0,0 +1,327 @@
+package software.coley.recaf.workspace.model.bundle;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Store for older {@link ItemHistory item history} states, which keeps them out of the heap.
+ * <br>
+ * States are compressed against a base state <i>(The initial state of the item)</i> and written to a memory-mapped
+ * temporary file. Since successive states of an item tend to share most of their content, the base acts as a
+ * dictionary, so each written state only costs about as much as its differences to the base.
+ * <br>
+ * The store is bounded by {@link #setMaxSize(long)}. When full, writes are rejected and callers are expected to
+ * keep their states in the heap instead. The space of {@link #free(Handle) freed} states is tracked, and re-used
+ * by later writes.
+ * <br>
+ * Stores are owned by the workspace manager, which gives its store to the bundles of the current workspace.
+ *
+ * @see BasicBundle#setHistoryStore(HistorySpillStore)
+ * @author Matt Coley
+ */
+public class HistorySpillStore {
+	private static final Logger logger = Logging.get(HistorySpillStore.class);
+	private static final int REGION_SIZE = 16 * 1024 * 1024;
+	private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+	private final List<MappedByteBuffer> regions = new ArrayList<>();
+	private final NavigableMap<Long, Long> freeExtents = new TreeMap<>();
+	private volatile int heapStates = Integer.MAX_VALUE;
+	private Path directory;
+	private FileChannel channel;
+	private long maxSize;
+	private long writePosition;
+	private long liveSize;
+	private boolean failed;
+
+	/**
+	 * @return Number of the most recent states of each item to keep in the heap.
+	 * States older than this are written to the store, excluding the initial state of each item.
+	 */
+	public int getHeapStates() {
+		return heapStates;
+	}
+
+	/**
+	 * @param heapStates
+	 * 		Number of the most recent states of each item to keep in the heap.
+	 */
+	public void setHeapStates(int heapStates) {
+		this.heapStates = Math.max(1, heapStates);
+	}
+
+	/**
+	 * @param maxSize
+	 * 		Maximum size in bytes of the backing file. Zero to disable writing states to the store.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+	}
+
+	/**
+	 * @param directory
+	 * 		Directory to create the backing file in. Only used if the file has not already been created.
+	 */
+	public synchronized void setDirectory(@Nullable Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @param data
+	 * 		Data to write.
+	 * @param base
+	 * 		Base data to compress the written data against. The same base must be used to {@link #read(Handle, byte[]) read} it.
+	 *
+	 * @return Handle to the written data, or {@code null} if the store does not have room for it.
+	 */
+	@Nullable
+	public Handle write(@Nonnull byte[] data, @Nonnull byte[] base) {
+		// Compress outside the lock so that concurrent writers only contend on the copy into the file.
+		byte[] compressed = compress(data, base);
+		synchronized (this) {
+			if (compressed.length > REGION_SIZE || !ensureOpen())
+				return null;
+
+			// Re-use freed space when possible, otherwise append to the end of the written space.
+			long position = allocateFreed(compressed.length);
+			boolean append = position < 0;
+			if (append) {
+				position = fit(writePosition, Long.MAX_VALUE, compressed.length);
+				if (position + compressed.length > maxSize)
+					return null;
+			}
+			MappedByteBuffer region = getRegion((int) (position / REGION_SIZE));
+			if (region == null) {
+				if (!append)
+					release(position, position + compressed.length);
+				return null;
+			}
+			region.put((int) (position % REGION_SIZE), compressed);
+			if (append) {
+				// Space skipped at the end of a region can still hold smaller entries.
+				if (position > writePosition)
+					freeExtents.put(writePosition, position);
+				writePosition = position + compressed.length;
+			}
+			liveSize += compressed.length;
+			return new Handle(position, compressed.length, data.length);
+		}
+	}
+
+	/**
+	 * @param handle
+	 * 		Handle of previously written data.
+	 * @param base
+	 * 		Base data the data was compressed against when written.
+	 *
+	 * @return Written data.
+	 */
+	@Nonnull
+	public byte[] read(@Nonnull Handle handle, @Nonnull byte[] base) {
+		byte[] compressed = new byte[handle.length()];
+		synchronized (this) {
+			regions.get((int) (handle.position() / REGION_SIZE)).get((int) (handle.position() % REGION_SIZE), compressed);
+		}
+		return decompress(compressed, handle.size(), base);
+	}
+
+	/**
+	 * Marks the space of the given data as no longer in use.
+	 *
+	 * @param handle
+	 * 		Handle of previously written data.
+	 */
+	public synchronized void free(@Nonnull Handle handle) {
+		liveSize -= handle.length();
+
+		// Without any live entries the file can be written to from the start again.
+		if (liveSize <= 0) {
+			liveSize = 0;
+			writePosition = 0;
+			freeExtents.clear();
+			return;
+		}
+		release(handle.position(), handle.position() + handle.length());
+	}
+
+	/**
+	 * Records the given space as free, merging it with adjacent free space.
+	 *
+	 * @param start
+	 * 		Start position of the space.
+	 * @param end
+	 * 		End position of the space.
+	 */
+	private void release(long start, long end) {
+		Map.Entry<Long, Long> before = freeExtents.floorEntry(start);
+		if (before != null && before.getValue() == start) {
+			start = before.getKey();
+			freeExtents.remove(start);
+		}
+		Long after = freeExtents.remove(end);
+		if (after != null)
+			end = after;
+
+		// Space at the end of the written space is given back, so that appending entries can use it.
+		if (end >= writePosition)
+			writePosition = start;
+		else
+			freeExtents.put(start, end);
+	}
+
+	/**
+	 * Finds the first free extent which can hold an entry of the given length, and takes the entry's space from it.
+	 *
+	 * @param length
+	 * 		Length of the entry to hold.
+	 *
+	 * @return Position of the entry, or {@code -1} if no free extent can hold it.
+	 */
+	private long allocateFreed(int length) {
+		for (Map.Entry<Long, Long> extent : freeExtents.entrySet()) {
+			long start = extent.getKey();
+			long end = extent.getValue();
+			long position = fit(start, end, length);
+			if (position < 0)
+				continue;
+
+			// Any space around the entry remains free.
+			freeExtents.remove(start);
+			if (position > start)
+				freeExtents.put(start, position);
+			if (position + length < end)
+				freeExtents.put(position + length, end);
+			return position;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param start
+	 * 		Start position of some space.
+	 * @param end
+	 * 		End position of the space.
+	 * @param length
+	 * 		Length of the entry to hold.
+	 *
+	 * @return Position in the space to hold the entry at, or {@code -1} if it cannot hold the entry.
+	 */
+	private static long fit(long start, long end, int length) {
+		// Entries do not span across regions, so skip to the next region when the current one cannot hold the entry.
+		long offset = start % REGION_SIZE;
+		if (offset + length > REGION_SIZE)
+			start += REGION_SIZE - offset;
+		return end - start >= length ? start : -1;
+	}
+
+	/**
+	 * @return {@code true} when the backing file is open, or could be opened.
+	 */
+	private boolean ensureOpen() {
+		if (channel != null)
+			return true;
+		if (failed || maxSize <= 0)
+			return false;
+		try {
+			Path dir = directory == null ? Path.of(System.getProperty("java.io.tmpdir")) : directory;
+			Files.createDirectories(dir);
+			Path path = Files.createTempFile(dir, "history", ".bin");
+			path.toFile().deleteOnExit();
+			channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+			return true;
+		} catch (IOException ex) {
+			// Failing once is enough to know that states will need to stay in the heap.
+			logger.warn("Failed to create bundle history file, history will be kept in memory", ex);
+			failed = true;
+			return false;
+		}
+	}
+
+	@Nullable
+	private MappedByteBuffer getRegion(int index) {
+		try {
+			while (regions.size() <= index)
+				regions.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) regions.size() * REGION_SIZE, REGION_SIZE));
+			return regions.get(index);
+		} catch (IOException ex) {
+			logger.warn("Failed to map bundle history file region", ex);
+			return null;
+		}
+	}
+
+	@Nonnull
+	private static byte[] compress(@Nonnull byte[] data, @Nonnull byte[] base) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			// Deflate can only refer back to the last 32k, so only the end of the base is usable as a dictionary.
+			int dictionaryLength = Math.min(base.length, MAX_DICTIONARY_SIZE);
+			if (dictionaryLength > 0)
+				deflater.setDictionary(base, base.length - dictionaryLength, dictionaryLength);
+			deflater.setInput(data);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				int length = deflater.deflate(buffer);
+				out.write(buffer, 0, length);
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	@Nonnull
+	private static byte[] decompress(@Nonnull byte[] compressed, int size, @Nonnull byte[] base) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			byte[] data = new byte[size];
+			int offset = 0;
+			while (offset < size) {
+				int length = inflater.inflate(data, offset, size - offset);
+				if (length == 0 && inflater.needsDictionary()) {
+					int dictionaryLength = Math.min(base.length, MAX_DICTIONARY_SIZE);
+					inflater.setDictionary(base, base.length - dictionaryLength, dictionaryLength);
+				} else if (length == 0 && (inflater.finished() || inflater.needsInput())) {
+					throw new IllegalStateException("Bundle history entry ended early");
+				}
+				offset += length;
+			}
+			return data;
+		} catch (DataFormatException ex) {
+			throw new IllegalStateException("Bundle history entry is corrupt", ex);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * @param position
+	 * 		Position of the compressed data in the backing file.
+	 * @param length
+	 * 		Length of the compressed data.
+	 * @param size
+	 * 		Length of the original data.
+	 */
+	public record Handle(long position, int length, int size) {
+	}
+}
@@ -0,0 +1,208 @@
+package software.coley.recaf.workspace.model.bundle;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.BasicJvmClassInfo;
+import software.coley.recaf.info.Info;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.properties.Property;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Stack;
+
+/**
+ * History of prior states of a single item in a {@link BasicBundle}.
+ * <br>
+ * The initial state and the {@link HistorySpillStore#getHeapStates() most recent states} are kept in the heap.
+ * When the history has a {@link #setStore(HistorySpillStore) store}, older states of {@link JvmClassInfo JVM classes}
+ * are moved into it and restored when they are accessed again. Restored states are new instances which are
+ * {@link Object#equals(Object) equal} to the original states.
+ * <br>
+ * Only states which can be rebuilt from their bytecode are moved into the store. That is, {@link BasicJvmClassInfo}
+ * without any non-persistent properties. States of other types, and states which the store does not have room for,
+ * are kept in the heap.
+ *
+ * @param <I>
+ * 		Item type.
+ *
+ * @author Matt Coley
+ */
+public class ItemHistory<I extends Info> {
+	private HistorySpillStore store;
+	private final Deque<SpilledState> spilled = new ArrayDeque<>();
+	private final Deque<I> recent = new ArrayDeque<>();
+	private final I initial;
+
+	/**
+	 * @param initial
+	 * 		Initial state of the item.
+	 */
+	public ItemHistory(@Nonnull I initial) {
+		this(initial, null);
+	}
+
+	/**
+	 * @param initial
+	 * 		Initial state of the item.
+	 * @param store
+	 * 		Store to move older states into, or {@code null} to keep all states in the heap.
+	 */
+	public ItemHistory(@Nonnull I initial, @Nullable HistorySpillStore store) {
+		this.initial = initial;
+		this.store = store;
+	}
+
+	/**
+	 * States already moved into the current store cannot be moved to another, so the store is only replaced
+	 * when no states have been moved yet.
+	 *
+	 * @param store
+	 * 		Store to move older states into, or {@code null} to keep all states in the heap.
+	 *
+	 * @return {@code true} when the store was replaced.
+	 */
+	public synchronized boolean setStore(@Nullable HistorySpillStore store) {
+		if (!spilled.isEmpty())
+			return false;
+		this.store = store;
+		return true;
+	}
+
+	/**
+	 * @return Initial state of the item.
+	 */
+	@Nonnull
+	public I getInitial() {
+		return initial;
+	}
+
+	/**
+	 * @return Number of states in the history, including the initial state.
+	 */
+	public synchronized int size() {
+		return 1 + spilled.size() + recent.size();
+	}
+
+	/**
+	 * @param state
+	 * 		New current state of the item.
+	 */
+	public synchronized void push(@Nonnull I state) {
+		recent.addLast(state);
+		while (store != null && recent.size() > store.getHeapStates() && spill(recent.getFirst()))
+			recent.removeFirst();
+	}
+
+	/**
+	 * Removes the current state, unless it is the initial state.
+	 */
+	public synchronized void pop() {
+		if (!recent.isEmpty())
+			recent.removeLast();
+		else if (!spilled.isEmpty())
+			store.free(spilled.removeLast().handle());
+	}
+
+	/**
+	 * @return Current state of the item. If the state was moved into the store, this is a new restored instance.
+	 */
+	@Nonnull
+	public synchronized I peek() {
+		if (!recent.isEmpty())
+			return recent.getLast();
+		if (!spilled.isEmpty())
+			return restore(spilled.getLast());
+		return initial;
+	}
+
+	/**
+	 * @return Copy of all states in the history, ordered from oldest to newest.
+	 */
+	@Nonnull
+	public synchronized Stack<I> toStack() {
+		Stack<I> stack = new Stack<>();
+		stack.push(initial);
+		spilled.forEach(state -> stack.push(restore(state)));
+		recent.forEach(stack::push);
+		return stack;
+	}
+
+	/**
+	 * Frees any space in the {@link HistorySpillStore} held by this history.
+	 */
+	public synchronized void release() {
+		spilled.forEach(state -> store.free(state.handle()));
+		spilled.clear();
+		recent.clear();
+	}
+
+	/**
+	 * @param state
+	 * 		State to move into the store.
+	 *
+	 * @return {@code true} when the state was moved. {@code false} when it must stay in the heap.
+	 */
+	private boolean spill(@Nonnull I state) {
+		if (!(state instanceof JvmClassInfo jvmState) || !(initial instanceof JvmClassInfo jvmInitial))
+			return false;
+
+		// Restoring a state rebuilds it from its bytecode, which only yields an equivalent instance
+		// for the basic class type, and only retains persistent properties.
+		Map<String, Property<?>> properties = jvmState.getPersistentProperties();
+		if (jvmState.getClass() != BasicJvmClassInfo.class || properties.size() != jvmState.getProperties().size())
+			return false;
+		HistorySpillStore.Handle handle = store.write(jvmState.getBytecode(), jvmInitial.getBytecode());
+		if (handle == null)
+			return false;
+		spilled.addLast(new SpilledState(handle, jvmState.getVersion(), properties));
+		return true;
+	}
+
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	private I restore(@Nonnull SpilledState state) {
+		byte[] bytecode = store.read(state.handle(), ((JvmClassInfo) initial).getBytecode());
+		JvmClassInfo restored = new JvmClassInfoBuilder()
+				.withLazyMembers(true)
+				.adaptFrom(bytecode)
+				.withVersion(state.version())
+				.build();
+		state.properties().values().forEach(restored::setProperty);
+		return (I) restored;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		ItemHistory<?> other = (ItemHistory<?>) o;
+
+		// Comparing all states requires restoring any spilled states, so cheaper comparisons are done first.
+		if (size() != other.size()) return false;
+		if (!initial.equals(other.initial)) return false;
+		return toStack().equals(other.toStack());
+	}
+
+	@Override
+	public int hashCode() {
+		int result = initial.hashCode();
+		result = 31 * result + size();
+		return result;
+	}
+
+	/**
+	 * @param handle
+	 * 		Handle to the state's bytecode in the store.
+	 * @param version
+	 * 		Class version of the state, for classes in {@link VersionedJvmClassBundle versioned bundles}.
+	 * @param properties
+	 * 		Persistent properties of the state.
+	 */
+	private record SpilledState(@Nonnull HistorySpillStore.Handle handle, int version,
+	                            @Nonnull Map<String, Property<?>> properties) {
+	}
+}
@@ -0,0 +1,55 @@
+package software.coley.recaf.info;
+
+import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.builder.AndroidClassInfoBuilder;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.AccessibleFields;
+import software.coley.recaf.test.dummy.AnnotationImpl;
+import software.coley.recaf.test.dummy.ClassWithAnnotation;
+import software.coley.recaf.test.dummy.ClassWithFieldsAndMethods;
+import software.coley.recaf.test.dummy.ClassWithInnerAndMembers;
+import software.coley.recaf.test.dummy.VariedModifierMethods;
+import software.coley.recaf.util.android.DexIOUtil;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link AndroidClassInfo}
+ */
+class AndroidClassInfoTest {
+	@Test
+	void lazyMembersMatchEagerMembers() throws IOException {
+		byte[] dex = TestClassUtils.toDex(AccessibleFields.class, AnnotationImpl.class, ClassWithAnnotation.class,
+				ClassWithFieldsAndMethods.class, ClassWithInnerAndMembers.class, VariedModifierMethods.class);
+
+		// Classes read from dex files map their members on demand
+		AndroidClassBundle bundle = DexIOUtil.read(dex);
+		assertEquals(6, bundle.size());
+		for (AndroidClassInfo lazy : bundle) {
+			AndroidClassInfo eager = new AndroidClassInfoBuilder()
+					.adaptFrom(((BasicAndroidClassInfo) lazy).getDexClass())
+					.build();
+			String name = lazy.getName();
+			assertEquals(eager.getAnnotations(), lazy.getAnnotations(), "Annotations differ for " + name);
+			assertEquals(eager.getFields(), lazy.getFields(), "Fields differ for " + name);
+			assertEquals(eager.getMethods(), lazy.getMethods(), "Methods differ for " + name);
+			assertEquals(eager, lazy);
+
+			// Repeated access should yield the same mapped members
+			assertEquals(lazy.getFields(), lazy.getFields());
+			assertEquals(lazy.getMethods(), lazy.getMethods());
+		}
+
+		// The annotations and members of a class should be mapped, not left empty
+		AndroidClassInfo annotated = bundle.get(ClassWithAnnotation.class.getName().replace('.', '/'));
+		assertNotNull(annotated);
+		assertFalse(annotated.getAnnotations().isEmpty(), "Missing class annotations");
+		AndroidClassInfo fieldsAndMethods = bundle.get(ClassWithFieldsAndMethods.class.getName().replace('.', '/'));
+		assertNotNull(fieldsAndMethods);
+		assertFalse(fieldsAndMethods.getFields().isEmpty(), "Missing fields");
+		assertFalse(fieldsAndMethods.getMethods().isEmpty(), "Missing methods");
+	}
+}
@@ -2,14 +2,24 @@
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ByteVector;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import software.coley.cafedude.classfile.VersionConstants;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.member.FieldMember;
+import software.coley.recaf.info.properties.builtin.UnknownAttributesProperty;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.AccessibleFields;
 import software.coley.recaf.util.ByteHeaderUtil;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -86,6 +96,64 @@ void isAndroidClass() {
 		assertFalse(accessibleFields.isAndroidClass());
 	}
 
+	@Test
+	void lazyMembers() {
+		JvmClassInfo lazy = new JvmClassInfoBuilder()
+				.withLazyMembers(true)
+				.adaptFrom(accessibleFields.getBytecode())
+				.build();
+
+		// Header is read eagerly
+		assertEquals(accessibleFields.getName(), lazy.getName());
+		assertEquals(accessibleFields.getSuperName(), lazy.getSuperName());
+		assertEquals(accessibleFields.getInterfaces(), lazy.getInterfaces());
+		assertEquals(accessibleFields.getAccess(), lazy.getAccess());
+
+		// Members are populated from the bytecode on access
+		assertEquals(accessibleFields.getFields(), lazy.getFields(), "Lazy fields do not match");
+		assertEquals(accessibleFields.getMethods(), lazy.getMethods(), "Lazy methods do not match");
+		assertEquals(accessibleFields.getAnnotations(), lazy.getAnnotations(), "Lazy annotations do not match");
+		assertEquals(accessibleFields.getInnerClasses(), lazy.getInnerClasses(), "Lazy inner classes do not match");
+		for (FieldMember field : lazy.getFields())
+			assertSame(lazy, field.getDeclaringClass(), "Lazy field not linked to declaring class");
+		assertEquals(accessibleFields, lazy);
+		assertEquals(accessibleFields.hashCode(), lazy.hashCode());
+	}
+
+	@Test
+	void lazyMembersKeepCustomAttributes() {
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "Custom", null, "java/lang/Object", null);
+		FieldVisitor fv = writer.visitField(Opcodes.ACC_PUBLIC, "f", "I", null, null);
+		fv.visitAttribute(new CustomAttribute("FieldAttr", false));
+		fv.visitEnd();
+		MethodVisitor mv = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "m", "()V", null, null);
+		mv.visitCode();
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitAttribute(new CustomAttribute("CodeAttr", true));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		writer.visitEnd();
+		byte[] bytecode = writer.toByteArray();
+
+		// Member attributes are found when reading the header, code attributes once members are populated
+		JvmClassInfo lazy = new JvmClassInfoBuilder()
+				.withLazyMembers(true)
+				.adaptFrom(bytecode)
+				.build();
+		Collection<String> headerAttributes = UnknownAttributesProperty.get(lazy);
+		assertNotNull(headerAttributes, "Field attribute not found with lazy members");
+		assertEquals(Set.of("FieldAttr"), Set.copyOf(headerAttributes));
+		assertFalse(lazy.getMethods().isEmpty());
+		Collection<String> memberAttributes = UnknownAttributesProperty.get(lazy);
+		assertNotNull(memberAttributes);
+		assertEquals(Set.of("FieldAttr", "CodeAttr"), Set.copyOf(memberAttributes));
+
+		// Should match what is found when reading everything up front
+		JvmClassInfo eager = new JvmClassInfoBuilder().adaptFrom(bytecode).build();
+		assertEquals(Set.copyOf(UnknownAttributesProperty.get(eager)), Set.copyOf(memberAttributes));
+	}
+
 	@Test
 	void toBuilder() {
 		// Direct copy
@@ -103,4 +171,23 @@ void toBuilder() {
 		assertNotEquals(accessibleFields, builderModifiedCopy,
 				"Direct copy via builder should have same class equality");
 	}
-}
\ No newline at end of file
+
+	private static class CustomAttribute extends Attribute {
+		private final boolean code;
+
+		private CustomAttribute(String type, boolean code) {
+			super(type);
+			this.code = code;
+		}
+
+		@Override
+		public boolean isCodeAttribute() {
+			return code;
+		}
+
+		@Override
+		protected ByteVector write(ClassWriter classWriter, byte[] code, int codeLength, int maxStack, int maxLocals) {
+			return new ByteVector();
+		}
+	}
+}
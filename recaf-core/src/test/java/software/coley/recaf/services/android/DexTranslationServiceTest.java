@@ -0,0 +1,169 @@
+package software.coley.recaf.services.android;
+
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.BasicAndroidClassInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.StringConsumer;
+import software.coley.recaf.test.dummy.StringConsumerUser;
+import software.coley.recaf.util.android.DexIOUtil;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DexTranslationService}
+ */
+class DexTranslationServiceTest {
+	@Test
+	void translateAll(@TempDir Path dir) throws Exception {
+		DexTranslationService service = newService(dir, false);
+		AndroidClassBundle bundle = dex(service, StringConsumer.class, StringConsumerUser.class);
+
+		Map<String, JvmClassInfo> translated = service.translateAll(bundle.values());
+		assertEquals(bundle.keySet(), translated.keySet(), "Not all classes were translated");
+		for (AndroidClassInfo cls : bundle) {
+			JvmClassInfo jvmClass = translated.get(cls.getName());
+			assertEquals(cls.getName(), jvmClass.getName());
+			assertSame(jvmClass, cls.asJvmClass(), "Bulk translation should yield the same instance as single translation");
+		}
+	}
+
+	@Test
+	void translationIdentityIsStable(@TempDir Path dir) throws Exception {
+		DexTranslationService service = newService(dir, false);
+		AndroidClassBundle bundle = dex(service, StringConsumer.class);
+		AndroidClassInfo cls = bundle.iterator().next();
+		JvmClassInfo jvmClass = cls.asJvmClass();
+		byte[] bytecode = jvmClass.getBytecode();
+
+		// Evicting the translated bytecode should not change the translated class, only re-translate its bytecode
+		service.clearCache();
+		assertSame(jvmClass, cls.asJvmClass());
+		assertArrayEquals(bytecode, jvmClass.getBytecode());
+		assertFalse(jvmClass.getMethods().isEmpty());
+	}
+
+	@Test
+	void persistedTranslationsAreReused(@TempDir Path dir) throws Exception {
+		DexTranslationService service = newService(dir, true);
+		AndroidClassBundle bundle = dex(service, StringConsumer.class);
+		AndroidClassInfo cls = bundle.iterator().next();
+		byte[] bytecode = cls.asJvmClass().getBytecode();
+
+		// Translations are written to the cache directory, along with the name of the class
+		List<Path> files = cacheFiles(dir);
+		assertEquals(1, files.size(), "Expected translation to be written to disk");
+		try (InputStream stream = Files.newInputStream(files.getFirst());
+		     DataInputStream in = new DataInputStream(stream)) {
+			assertEquals(cls.getName(), in.readUTF());
+			assertArrayEquals(bytecode, in.readAllBytes());
+		}
+
+		// Classes read from the same dex file in a later session should use the file instead of translating again
+		byte[] marker = {1, 2, 3};
+		writeCacheFile(files.getFirst(), cls.getName(), marker);
+		DexTranslationService laterService = newService(dir, true);
+		AndroidClassInfo laterCls = dex(laterService, StringConsumer.class).iterator().next();
+		assertArrayEquals(marker, laterService.translate((BasicAndroidClassInfo) laterCls));
+	}
+
+	@Test
+	void persistedTranslationsOfOtherClassesAreIgnored(@TempDir Path dir) throws Exception {
+		DexTranslationService service = newService(dir, true);
+		AndroidClassInfo cls = dex(service, StringConsumer.class).iterator().next();
+		byte[] bytecode = cls.asJvmClass().getBytecode();
+		List<Path> files = cacheFiles(dir);
+		assertEquals(1, files.size(), "Expected translation to be written to disk");
+
+		// A file holding the translation of another class should not be used, and instead the class is translated again
+		writeCacheFile(files.getFirst(), "other/Name", new byte[]{1, 2, 3});
+		DexTranslationService laterService = newService(dir, true);
+		AndroidClassInfo laterCls = dex(laterService, StringConsumer.class).iterator().next();
+		assertArrayEquals(bytecode, laterService.translate((BasicAndroidClassInfo) laterCls));
+	}
+
+	@Test
+	void translatorIsKeptByCopies(@TempDir Path dir) throws Exception {
+		DexTranslationService service = newService(dir, false);
+		AndroidClassInfo cls = dex(service, StringConsumer.class).iterator().next();
+		BasicAndroidClassInfo copy = (BasicAndroidClassInfo) cls.toAndroidBuilder().build();
+		assertSame(service, copy.getTranslator());
+
+		// Classes not given a translator use the default
+		AndroidClassInfo plain = DexIOUtil.read(TestClassUtils.toDex(StringConsumer.class)).iterator().next();
+		assertSame(BasicAndroidClassInfo.DEFAULT_TRANSLATOR, ((BasicAndroidClassInfo) plain).getTranslator());
+	}
+
+	@Test
+	void persistedTranslationsAreBounded(@TempDir Path dir) throws Exception {
+		DexTranslationService service = newService(dir, true);
+		dex(service, StringConsumer.class).iterator().next().asJvmClass();
+		dex(service, StringConsumerUser.class).iterator().next().asJvmClass();
+		assertEquals(2, cacheFiles(dir).size());
+
+		// Translations of prior versions are removed
+		Path oldVersion = Files.createDirectories(dir.resolve(DexTranslationService.SERVICE_ID).resolve("old"));
+		service.trimDiskCache();
+		assertFalse(Files.exists(oldVersion), "Translations of prior versions should be removed");
+		assertEquals(2, cacheFiles(dir).size(), "Translations within the size limit should be kept");
+
+		// Translations past the size limit are removed
+		service.getServiceConfig().getPersistCacheMb().setValue(0);
+		service.trimDiskCache();
+		assertEquals(0, cacheFiles(dir).size(), "Translations past the size limit should be removed");
+	}
+
+	@Nonnull
+	private static DexTranslationService newService(@Nonnull Path cacheDirectory, boolean persist) {
+		RecafDirectoriesConfig directoriesConfig = new RecafDirectoriesConfig() {
+			@Nonnull
+			@Override
+			public Path getCacheDirectory() {
+				return cacheDirectory;
+			}
+		};
+		DexTranslationServiceConfig config = new DexTranslationServiceConfig();
+		config.getPersistCache().setValue(persist);
+		return new DexTranslationService(directoriesConfig, config);
+	}
+
+	@Nonnull
+	private static List<Path> cacheFiles(@Nonnull Path cacheDirectory) throws IOException {
+		Path root = cacheDirectory.resolve(DexTranslationService.SERVICE_ID);
+		if (!Files.isDirectory(root))
+			return List.of();
+		try (Stream<Path> stream = Files.walk(root)) {
+			return stream.filter(path -> path.toString().endsWith(".class")).toList();
+		}
+	}
+
+	private static void writeCacheFile(@Nonnull Path path, @Nonnull String className, @Nonnull byte[] bytecode) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(buffer);
+		out.writeUTF(className);
+		out.write(bytecode);
+		Files.write(path, buffer.toByteArray());
+	}
+
+	@Nonnull
+	private static AndroidClassBundle dex(@Nonnull DexTranslationService service,
+	                                      @Nonnull Class<?>... classes) throws IOException {
+		return DexIOUtil.read(TestClassUtils.toDex(classes), service);
+	}
+}
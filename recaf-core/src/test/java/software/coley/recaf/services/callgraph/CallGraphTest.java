@@ -3,6 +3,7 @@
 import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import software.coley.observables.ObservableBoolean;
@@ -15,6 +16,10 @@
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.objectweb.asm.Opcodes.*;
@@ -93,9 +98,82 @@ void testUnresolvedCall() {
 		//  We probably want to prune the call-graph model when things get removed.
 	}
 
+	@Test
+	@Timeout(10)
+	void testCallsLinkedAcrossManyClasses() {
+		// Create a chain of classes, where each class calls a method in the next one.
+		// There are enough classes that visiting is split across multiple tasks.
+		int classCount = 1000;
+		List<JvmClassInfo> classes = new ArrayList<>(classCount);
+		for (int i = 0; i < classCount; i++) {
+			ClassWriter cw = new ClassWriter(0);
+			cw.visit(V1_8, ACC_PUBLIC, "Chain" + i, null, "java/lang/Object", null);
+			MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "run", "()V", null, null);
+			mv.visitCode();
+			mv.visitMethodInsn(INVOKESTATIC, "Chain" + ((i + 1) % classCount), "run", "()V", false);
+			mv.visitInsn(RETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+			cw.visitEnd();
+			classes.add(new JvmClassInfoBuilder(cw.toByteArray()).build());
+		}
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(classes.toArray(JvmClassInfo[]::new)));
+
+		CallGraph callGraph = newCallGraph(workspace);
+
+		// Each method should have exactly one call and one caller.
+		for (JvmClassInfo cls : classes) {
+			MethodVertex vertex = callGraph.getClassMethodsContainer(cls).getVertex("run", "()V");
+			assertNotNull(vertex, "Missing method vertex for 'run' in " + cls.getName());
+			assertEquals(1, vertex.getCalls().size(), "Expected one call in " + cls.getName());
+			assertEquals(1, vertex.getCallers().size(), "Expected one caller of " + cls.getName());
+		}
+		assertEquals(0, callGraph.getUnresolvedDeclarations().size());
+	}
+
+	@Test
+	@Timeout(10)
+	void testSnapshotRestoresCalls(@TempDir Path dir) throws IOException {
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(
+				StringConsumer.class,
+				StringConsumerUser.class
+		));
+		JvmClassInfo mainClass = workspace.findJvmClass(StringConsumerUser.class.getName().replace('.', '/'))
+				.getValue().asJvmClass();
+
+		// Record calls of the workspace and save them.
+		CallGraphSnapshot snapshot = new CallGraphSnapshot();
+		CallGraph callGraph = new CallGraph(workspace);
+		callGraph.setSnapshot(snapshot);
+		awaitReady(callGraph);
+		assertEquals(2, snapshot.size(), "Expected calls to be recorded for both classes");
+		Path snapshotPath = dir.resolve("graph.cgs");
+		snapshot.write(snapshotPath);
+
+		// Restore the calls into a new graph, and assert the links are the same as the original graph.
+		CallGraphSnapshot restored = new CallGraphSnapshot();
+		restored.read(snapshotPath);
+		assertEquals(0, restored.size(), "Restored calls should not be persisted unless visited again");
+		CallGraph restoredGraph = new CallGraph(workspace);
+		restoredGraph.setSnapshot(restored);
+		awaitReady(restoredGraph);
+		assertEquals(2, restored.size(), "Expected calls to be recorded again for both classes");
+		MethodVertex mainVertex = callGraph.getClassMethodsContainer(mainClass).getVertex("main", "([Ljava/lang/String;)V");
+		MethodVertex restoredMainVertex = restoredGraph.getClassMethodsContainer(mainClass).getVertex("main", "([Ljava/lang/String;)V");
+		assertNotNull(mainVertex);
+		assertNotNull(restoredMainVertex);
+		assertEquals(mainVertex.getCalls().stream().map(MethodVertex::getMethod).collect(Collectors.toSet()),
+				restoredMainVertex.getCalls().stream().map(MethodVertex::getMethod).collect(Collectors.toSet()));
+	}
+
 	@Nonnull
 	static CallGraph newCallGraph(@Nonnull Workspace workspace) {
 		CallGraph callGraph = new CallGraph(workspace);
+		awaitReady(callGraph);
+		return callGraph;
+	}
+
+	static void awaitReady(@Nonnull CallGraph callGraph) {
 		callGraph.initialize();
 
 		// Need to wait until async population of graph contents is done.
@@ -105,8 +183,6 @@ static CallGraph newCallGraph(@Nonnull Workspace workspace) {
 				Thread.sleep(100);
 			}
 		});
-
-		return callGraph;
 	}
 
 	static {
@@ -12,8 +12,11 @@
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.StringConsumer;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,4 +96,99 @@ public static void main(String[] args) {
 		assertEquals(0, result.getDiagnostics().size(), "There were unexpected diagnostic messages");
 		assertTrue(result.getCompilations().containsKey("HelloWorld"), "Class missing from compile map output");
 	}
+
+	@Test
+	void testJavacBatchCompilation() {
+		// Two classes that depend on each other, compiled in one invocation
+		Map<String, String> sources = new LinkedHashMap<>();
+		sources.put("batch/Greeter", """
+				package batch;
+
+				public class Greeter {
+					public String greet() { return new Name().get(); }
+				}""");
+		sources.put("batch/Name", """
+				package batch;
+
+				public class Name {
+					public String get() { return "world"; }
+				}""");
+		JavacArguments arguments = new JavacArgumentsBuilder()
+				.withClassSources(sources)
+				.build();
+		assertEquals("batch/Greeter", arguments.getClassName(), "First class should be the primary class");
+		CompilerResult result = javac.compile(arguments, null, null);
+		assertTrue(result.wasSuccess(), "Result does not indicate success");
+		assertTrue(result.getCompilations().containsKey("batch/Greeter"), "Class missing from compile map output");
+		assertTrue(result.getCompilations().containsKey("batch/Name"), "Class missing from compile map output");
+
+		// Break one of the classes, its diagnostics should be attributed to it alone
+		sources.put("batch/Name", """
+				package batch;
+
+				public class Name {
+					public String get() { return missing; }
+				}""");
+		arguments = new JavacArgumentsBuilder()
+				.withClassSources(sources)
+				.build();
+		result = javac.compile(arguments, null, null);
+		assertFalse(result.wasSuccess(), "Expected compilation failure");
+		assertFalse(result.getDiagnostics("batch/Name").isEmpty(), "Expected diagnostics for broken class");
+		assertTrue(result.getDiagnostics("batch/Greeter").isEmpty(), "Expected no diagnostics for valid class");
+	}
+
+	@Test
+	void testJavacSessionTracksWorkspaceChanges() throws IOException {
+		JavacArguments arguments = new JavacArgumentsBuilder()
+				.withClassName("HelloWorld")
+				.withClassSource("""
+						import dummy.StringConsumer;
+
+						public class HelloWorld {
+							public static void main(String[] args) {
+								new StringConsumer().accept("hello");
+							}
+						}""")
+				.build();
+
+		// Compile against the current workspace, which re-uses the same session between compilations.
+		JvmClassInfo classInfo = createDummyStringConsumer();
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		workspaceManager.setCurrent(workspace);
+		try {
+			// The class is not yet in the workspace, so the compilation should fail.
+			CompilerResult result = javac.compile(arguments, workspace, null);
+			assertFalse(result.getCompilations().containsKey("HelloWorld"), "Class should have failed compilation");
+
+			// Adding the class to the workspace should be reflected in the next compilation.
+			bundle.put(classInfo);
+			result = javac.compile(arguments, workspace, null);
+			assertEquals(0, result.getDiagnostics().size(), "There were unexpected diagnostic messages");
+			assertTrue(result.getCompilations().containsKey("HelloWorld"), "Class missing from compile map output");
+
+			// As should removing it.
+			bundle.remove(classInfo.getName());
+			result = javac.compile(arguments, workspace, null);
+			assertFalse(result.getCompilations().containsKey("HelloWorld"), "Class should have failed compilation");
+		} finally {
+			workspaceManager.setCurrent(null);
+		}
+	}
+
+	/**
+	 * We cannot use the existing StringConsumer because Javac will find it on our class-path.
+	 * So, we remap it to a different package.
+	 *
+	 * @return Copy of {@link StringConsumer} in the {@code dummy} package.
+	 */
+	private static JvmClassInfo createDummyStringConsumer() throws IOException {
+		JvmClassInfo classInfo = TestClassUtils.fromRuntimeClass(StringConsumer.class);
+		ClassReader reader = classInfo.getClassReader();
+		ClassWriter writer = new ClassWriter(reader, 0);
+		ClassRemapper mapper = new ClassRemapper(writer, new SimpleRemapper(classInfo.getName(), "dummy/StringConsumer"));
+		reader.accept(mapper, 0);
+		return new JvmClassInfoBuilder(writer.toByteArray()).build();
+	}
 }
@@ -16,10 +16,15 @@
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.HelloWorld;
+import software.coley.recaf.test.dummy.StringConsumer;
+import software.coley.recaf.test.dummy.StringConsumerUser;
 import software.coley.recaf.util.ReflectUtil;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -167,6 +172,48 @@ void testComparison() {
 		assertNotEquals(cfr.hashCode(), pro.hashCode());
 	}
 
+	@Test
+	void testBatchDecompilation() throws IOException {
+		List<JvmClassInfo> classes = List.of(
+				TestClassUtils.fromRuntimeClass(HelloWorld.class),
+				TestClassUtils.fromRuntimeClass(StringConsumer.class),
+				TestClassUtils.fromRuntimeClass(StringConsumerUser.class)
+		);
+		Workspace batchWorkspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(classes.toArray(JvmClassInfo[]::new)));
+		for (String name : List.of(CfrDecompiler.NAME, ProcyonDecompiler.NAME, VineflowerDecompiler.NAME)) {
+			JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(name);
+			assertNotNull(decompiler, name + " decompiler was never registered with manager");
+
+			// Collect results of all classes
+			Map<String, DecompileResult> results = new HashMap<>();
+			int[] lastProgress = new int[2];
+			assertDoesNotThrow(() -> decompilerManager.decompileAll(decompiler, batchWorkspace, classes, new DecompileSink() {
+				@Override
+				public void accept(@Nonnull JvmClassInfo classInfo, @Nonnull DecompileResult result) {
+					results.put(classInfo.getName(), result);
+				}
+
+				@Override
+				public void onProgress(int completed, int total) {
+					lastProgress[0] = completed;
+					lastProgress[1] = total;
+				}
+			}).get(15, TimeUnit.SECONDS));
+
+			// Assert each class has a successful result
+			assertEquals(classes.size(), results.size(), name + " did not yield results for all classes");
+			assertArrayEquals(new int[]{classes.size(), classes.size()}, lastProgress);
+			for (JvmClassInfo classInfo : classes) {
+				DecompileResult result = results.get(classInfo.getName());
+				assertEquals(DecompileResult.ResultType.SUCCESS, result.getType(), name + " failed on " + classInfo.getName());
+				assertTrue(result.getText().contains(classInfo.getName().substring(classInfo.getName().lastIndexOf('/') + 1)),
+						name + " output does not declare " + classInfo.getName());
+			}
+			assertTrue(results.get(classes.getFirst().getName()).getText().contains("\"Hello world\""),
+					name + " decompilation seems to be wrong");
+		}
+	}
+
 	private static void runJvmDecompilation(@Nonnull JvmDecompiler decompiler) {
 		try {
 			// Generally, you'd handle results like this, with a when-complete.
@@ -737,7 +737,6 @@ void foldDoubleComparison() {
 		}
 
 		@Test
-		@Disabled("Requires an impl for the ReInterpreter lookups")
 		void foldMethodCalls() {
 			String asm = """
 					.method public static example ()I {
@@ -758,6 +757,115 @@ void foldMethodCalls() {
 			});
 		}
 
+		@Test
+		void foldPureWorkspaceMethodCalls() {
+			String asm = """
+					.method public static example ()I {
+					    code: {
+					    A:
+					        bipush 50
+					        invokestatic Example.clamp (I)I
+					        ireturn
+					    B:
+					    }
+					}
+					.method public static clamp (I)I {
+					    parameters: { value },
+					    code: {
+					    A:
+					        iload value
+					        bipush 10
+					        if_icmple B
+					        bipush 10
+					        ireturn
+					    B:
+					        iload value
+					        ireturn
+					    C:
+					    }
+					}
+					""";
+			validateAfterAssembly(asm, List.of(LinearOpaqueConstantFoldingTransformer.class), dis -> {
+				assertEquals(1, StringUtil.count("bipush 10", dis), "Expected to fold to 10");
+				assertEquals(0, StringUtil.count("bipush 50", dis), "Expected to prune argument");
+				assertEquals(0, StringUtil.count("Example.clamp", dis), "Expected to prune method call");
+			});
+		}
+
+		@Test
+		void foldOpaquePredicateOfStaticValue() {
+			String asm = """
+					.field private static flag I
+
+					.method public static example ()V {
+					    code: {
+					    A:
+					        getstatic Example.flag I
+					        ifne C
+					    B:
+					        // Should be skipped over by transformer
+					        aconst_null
+					        athrow
+					    C:
+					        return
+					    D:
+					    }
+					}
+
+					.method static <clinit> ()V {
+					    code: {
+					    A:
+					        iconst_1
+					        putstatic Example.flag I
+					        return
+					    B:
+					    }
+					}
+					""";
+			validateAfterAssembly(asm, List.of(StaticValueCollectionTransformer.class, OpaquePredicateFoldingTransformer.class), dis -> {
+				assertEquals(0, StringUtil.count("ifne", dis), "Expected to remove ifne");
+				assertEquals(1, StringUtil.count("goto", dis), "Expected to replace ifne <target> with goto <target>");
+			});
+		}
+
+		@Test
+		void dontFoldOpaquePredicateOfStaticValueReachableFromClinit() {
+			// The static initializer calls the method before assigning the field, so the method
+			// observes both the default value and the assigned value.
+			String asm = """
+					.field private static flag I
+
+					.method public static example ()V {
+					    code: {
+					    A:
+					        getstatic Example.flag I
+					        ifne C
+					    B:
+					        return
+					    C:
+					        return
+					    D:
+					    }
+					}
+
+					.method static <clinit> ()V {
+					    code: {
+					    A:
+					        invokestatic Example.example ()V
+					        iconst_1
+					        putstatic Example.flag I
+					        return
+					    B:
+					    }
+					}
+					""";
+			assemble(asm, false);
+			JvmTransformResult result = assertDoesNotThrow(() -> transformationApplier.transformJvm(
+					List.of(StaticValueCollectionTransformer.class, OpaquePredicateFoldingTransformer.class)));
+			assertTrue(result.getTransformerFailures().isEmpty(), "There were transformation failures");
+			assertTrue(result.getTransformedClasses().isEmpty(), "Expected no folding of values seen during initialization");
+		}
+
 		@Test
 		void foldOpaqueIfeq() {
 			String asm = """
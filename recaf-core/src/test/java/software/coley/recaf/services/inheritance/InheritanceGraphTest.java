@@ -2,9 +2,11 @@
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Opcodes;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
@@ -174,4 +176,39 @@ void vertexUpdatedWithClassModifications() {
 		assertNotNull(vertexUpdated);
 		assertSame(classInfoUpdated, vertexUpdated.getValue(), "Expected updated vertex to point to updated class");
 	}
-}
\ No newline at end of file
+
+	@Test
+	void cachedQueriesRefreshedWithClassModifications() {
+		String edibleName = Inheritance.Edible.class.getName().replace('.', '/');
+		String grapeName = Inheritance.Grape.class.getName().replace('.', '/');
+		String bananaName = edibleName.replace("Edible", "Banana");
+
+		// Query a class not yet in the workspace, so that the results are cached.
+		assertFalse(inheritanceGraph.isAssignableFrom(edibleName, bananaName));
+		assertEquals(Types.OBJECT_TYPE.getInternalName(), inheritanceGraph.getCommon(bananaName, grapeName));
+		assertFalse(inheritanceGraph.getVertexFamily(grapeName, false).stream()
+				.anyMatch(v -> v.getName().equals(bananaName)));
+
+		// Add the class, which implements 'Edible'.
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, bananaName, null, "java/lang/Object", new String[]{edibleName});
+		cw.visitEnd();
+		JvmClassBundle bundle = workspace.getPrimaryResource().getJvmClassBundle();
+		bundle.put(new JvmClassInfoBuilder(cw.toByteArray()).build());
+		try {
+			// Assert the queries reflect the new class.
+			assertTrue(inheritanceGraph.isAssignableFrom(edibleName, bananaName), "Edible should be assignable from Banana");
+			assertEquals(edibleName, inheritanceGraph.getCommon(bananaName, grapeName), "Common type of Banana/Grape should be Edible");
+			assertTrue(inheritanceGraph.getVertexFamily(grapeName, false).stream()
+					.anyMatch(v -> v.getName().equals(bananaName)), "Grape family should include Banana");
+		} finally {
+			// Remove the class so that it won't affect the other tests.
+			bundle.remove(bananaName);
+		}
+
+		// Assert the queries no longer include the removed class.
+		assertFalse(inheritanceGraph.isAssignableFrom(edibleName, bananaName));
+		assertFalse(inheritanceGraph.getVertexFamily(grapeName, false).stream()
+				.anyMatch(v -> v.getName().equals(bananaName)));
+	}
+}
@@ -1,5 +1,6 @@
 package software.coley.recaf.services.phantom;
 
+import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.objectweb.asm.ClassReader;
@@ -15,7 +16,9 @@
 import software.coley.recaf.services.compile.JavacArgumentsBuilder;
 import software.coley.recaf.services.compile.JavacCompiler;
 import software.coley.recaf.test.TestBase;
+import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.workspace.model.EmptyWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
@@ -39,24 +42,7 @@ static void setup() {
 
 	@Test
 	void test() {
-		// Make a dummy ctor to point to ClassDoesNotExist.<init> and a method in InterfaceDoesNotExist.
-		ClassNode node = new ClassNode();
-		node.visit(V11, ACC_PUBLIC | ACC_ABSTRACT, "Example", null, "ClassDoesNotExist", new String[]{"InterfaceDoesNotExist"});
-		MethodNode constructor = new MethodNode(ACC_PUBLIC, "<init>", "()V", null, null);
-		constructor.visitVarInsn(ALOAD, 0);
-		constructor.visitMethodInsn(INVOKESPECIAL, "ClassDoesNotExist", "<init>", "()V", false);
-		constructor.visitVarInsn(ALOAD, 0);
-		constructor.visitMethodInsn(INVOKEINTERFACE, "InterfaceDoesNotExist", "doSomething", "()V", false);
-		constructor.visitInsn(RETURN);
-		constructor.visitMaxs(1, 1);
-		node.methods.add(constructor);
-
-		// Create the class
-		ClassWriter writer = new ClassWriter(0);
-		node.accept(writer);
-		byte[] dummy = writer.toByteArray();
-		JvmClassInfo dummyInfo = new JvmClassInfoBuilder(dummy).build();
-		List<JvmClassInfo> dummyWrapped = Collections.singletonList(dummyInfo);
+		List<JvmClassInfo> dummyWrapped = Collections.singletonList(createDummy());
 
 		// Generate phantoms
 		EmptyWorkspace workspace = EmptyWorkspace.get();
@@ -92,4 +78,44 @@ public Example() {
 		assertFalse(resultWithoutPhantoms.wasSuccess(), "Class should not compile without phantoms");
 		assertTrue(resultWithPhantoms.wasSuccess(), "Class should compile with phantoms");
 	}
+
+	@Test
+	void repeatedGenerationIsConsistent() {
+		List<JvmClassInfo> dummyWrapped = Collections.singletonList(createDummy());
+		EmptyWorkspace workspace = EmptyWorkspace.get();
+
+		// Generating phantoms for the same classes again should yield the same results.
+		JvmClassBundle first = assertDoesNotThrow(() -> generator.createPhantomsForClasses(workspace, dummyWrapped)).getJvmClassBundle();
+		JvmClassBundle second = assertDoesNotThrow(() -> generator.createPhantomsForClasses(workspace, dummyWrapped)).getJvmClassBundle();
+		assertEquals(first.keySet(), second.keySet());
+		for (String name : first.keySet())
+			assertArrayEquals(first.get(name).getBytecode(), second.get(name).getBytecode(), "Phantom mismatch: " + name);
+
+		// Phantoms of classes that exist in the workspace should not be included, even if generation was done before.
+		JvmClassInfo existing = second.get("ClassDoesNotExist");
+		Workspace workspaceWithClass = TestClassUtils.fromBundle(TestClassUtils.fromClasses(existing));
+		JvmClassBundle filtered = assertDoesNotThrow(() -> generator.createPhantomsForClasses(workspaceWithClass, dummyWrapped)).getJvmClassBundle();
+		assertNull(filtered.get("ClassDoesNotExist"), "Phantom of workspace class should not be generated");
+		assertNotNull(filtered.get("InterfaceDoesNotExist"), "Missing phantom: InterfaceDoesNotExist");
+	}
+
+	@Nonnull
+	private static JvmClassInfo createDummy() {
+		// Make a dummy ctor to point to ClassDoesNotExist.<init> and a method in InterfaceDoesNotExist.
+		ClassNode node = new ClassNode();
+		node.visit(V11, ACC_PUBLIC | ACC_ABSTRACT, "Example", null, "ClassDoesNotExist", new String[]{"InterfaceDoesNotExist"});
+		MethodNode constructor = new MethodNode(ACC_PUBLIC, "<init>", "()V", null, null);
+		constructor.visitVarInsn(ALOAD, 0);
+		constructor.visitMethodInsn(INVOKESPECIAL, "ClassDoesNotExist", "<init>", "()V", false);
+		constructor.visitVarInsn(ALOAD, 0);
+		constructor.visitMethodInsn(INVOKEINTERFACE, "InterfaceDoesNotExist", "doSomething", "()V", false);
+		constructor.visitInsn(RETURN);
+		constructor.visitMaxs(1, 1);
+		node.methods.add(constructor);
+
+		// Create the class
+		ClassWriter writer = new ClassWriter(0);
+		node.accept(writer);
+		return new JvmClassInfoBuilder(writer.toByteArray()).build();
+	}
 }
@@ -3,7 +3,9 @@
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.coley.recaf.info.BasicTextFileInfo;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.annotation.AnnotationInfo;
 import software.coley.recaf.info.builder.TextFileInfoBuilder;
 import software.coley.recaf.info.member.ClassMember;
@@ -14,6 +16,7 @@
 import software.coley.recaf.path.LocalVariablePathNode;
 import software.coley.recaf.path.PathNode;
 import software.coley.recaf.path.ThrowsPathNode;
+import software.coley.recaf.services.search.index.SearchIndex;
 import software.coley.recaf.services.search.match.NumberPredicateProvider;
 import software.coley.recaf.services.search.match.StringPredicateProvider;
 import software.coley.recaf.services.search.query.NumberQuery;
@@ -32,10 +35,15 @@
 import software.coley.recaf.test.dummy.TypeAnnotationImpl;
 import software.coley.recaf.workspace.model.EmptyWorkspace;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -129,6 +137,29 @@ void testClassStrings() {
 			assertEquals(1, results.size());
 		}
 
+		@Test
+		void testStreamedResultsMatchCollected() {
+			NumberQuery query = new NumberQuery(numMatchProvider.newNotEqualsPredicate(4));
+			Results collected = searchService.search(classesWorkspace, query);
+
+			List<Result<?>> streamed = new ArrayList<>();
+			searchService.search(classesWorkspace, List.of(query), SearchFeedback.NO_OP, streamed::add);
+			assertEquals(collected.size(), streamed.size());
+			assertTrue(collected.containsAll(streamed));
+		}
+
+		@Test
+		void testStreamedResultsCancellation() {
+			CancellableSearchFeedback feedback = new CancellableSearchFeedback();
+			List<Result<?>> streamed = new ArrayList<>();
+			searchService.search(classesWorkspace, List.of(new NumberQuery(numMatchProvider.newNotEqualsPredicate(4))),
+					feedback, result -> {
+						streamed.add(result);
+						feedback.cancel();
+					});
+			assertEquals(1, streamed.size(), "No results should be passed along after cancellation");
+		}
+
 		@Test
 		void testFieldPath() {
 			// Used only in constant-value attribute for field 'CONSTANT_FIELD'
@@ -334,4 +365,50 @@ void testFileStrings() {
 			assertEquals(1, results.size());
 		}
 	}
+
+	@Nested
+	class Index {
+		@Test
+		void testIndexFiltersClasses() {
+			SearchIndex index = new SearchIndex(classesWorkspace);
+			index.update();
+
+			JvmClassBundle bundle = classesWorkspace.getPrimaryResource().getJvmClassBundle();
+			JvmClassInfo helloWorld = bundle.get(HelloWorld.class.getName().replace('.', '/'));
+			JvmClassInfo accessibleFields = bundle.get(AccessibleFields.class.getName().replace('.', '/'));
+			Predicate<JvmClassInfo> filter = index.newClassFilter(bundle,
+					List.of(new StringQuery(strMatchProvider.newEqualPredicate("Hello world"))));
+			assertTrue(filter.test(helloWorld), "Class containing the string should pass the filter");
+			assertFalse(filter.test(accessibleFields), "Class without the string should not pass the filter");
+
+			// Partial matches cannot be looked up directly, but should filter the same way
+			filter = index.newClassFilter(bundle,
+					List.of(new StringQuery(strMatchProvider.newContainsPredicate("llo wor"))));
+			assertTrue(filter.test(helloWorld), "Class containing the string should pass the filter");
+			assertFalse(filter.test(accessibleFields), "Class without the string should not pass the filter");
+			index.close();
+		}
+
+		@Test
+		void testIndexPersistence(@TempDir Path dir) throws IOException {
+			Path indexPath = dir.resolve("index.idx");
+			SearchIndex index = new SearchIndex(classesWorkspace);
+			index.update();
+			index.write(indexPath);
+			index.close();
+
+			// Restored index should yield the same filtering behavior
+			SearchIndex restored = new SearchIndex(classesWorkspace);
+			restored.read(indexPath);
+			restored.update();
+			JvmClassBundle bundle = classesWorkspace.getPrimaryResource().getJvmClassBundle();
+			JvmClassInfo helloWorld = bundle.get(HelloWorld.class.getName().replace('.', '/'));
+			JvmClassInfo accessibleFields = bundle.get(AccessibleFields.class.getName().replace('.', '/'));
+			Predicate<JvmClassInfo> filter = restored.newClassFilter(bundle,
+					List.of(new ReferenceQuery(strMatchProvider.newEqualPredicate("java/io/PrintStream"), null, null)));
+			assertTrue(filter.test(helloWorld), "Class referencing 'System.out.println' should pass the filter");
+			assertFalse(filter.test(accessibleFields), "Class without the reference should not pass the filter");
+			restored.close();
+		}
+	}
 }
@@ -2,6 +2,11 @@
 
 import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Frame;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
 import software.coley.recaf.services.inheritance.InheritanceGraphService;
@@ -9,7 +14,13 @@
 import software.coley.recaf.services.mapping.MappingApplierService;
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.ClassWithConstructor;
+import software.coley.recaf.test.dummy.ClassWithExceptions;
+import software.coley.recaf.test.dummy.ClassWithFieldsAndMethods;
+import software.coley.recaf.test.dummy.ClassWithMultipleMethods;
 import software.coley.recaf.test.dummy.HelloWorld;
+import software.coley.recaf.util.analysis.value.ReValue;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -19,9 +30,14 @@
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -89,6 +105,62 @@ void dependentAB() {
 		verify(transformerB, times(1)).transform(any(), same(workspace), any(), any(), any());
 	}
 
+	@Test
+	void parallelDependentAB() throws IOException {
+		Workspace multiClassWorkspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(HelloWorld.class,
+				ClassWithConstructor.class, ClassWithExceptions.class, ClassWithFieldsAndMethods.class,
+				ClassWithMultipleMethods.class));
+		InheritanceGraph multiClassGraph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(multiClassWorkspace);
+		MappingApplier multiClassMappingApplier = recaf.get(MappingApplierService.class).inWorkspace(multiClassWorkspace);
+		int classCount = multiClassWorkspace.getPrimaryResource().getJvmClassBundle().size();
+		RecordingTransformerA transformerA = new RecordingTransformerA();
+		RecordingTransformerDependingOnA transformerB = new RecordingTransformerDependingOnA();
+
+		// Build transformer map with two items
+		//  - A
+		//  - B --> A
+		Map<Class<? extends JvmClassTransformer>, Supplier<JvmClassTransformer>> map = new IdentityHashMap<>();
+		map.put(RecordingTransformerA.class, () -> transformerA);
+		map.put(RecordingTransformerDependingOnA.class, () -> transformerB);
+
+		// When transforming in parallel, "A" should still have visited all classes before "B" visits any class.
+		ExecutorService pool = ThreadPoolFactory.newWorkStealingPool("test-transform");
+		try {
+			TransformationManager manager = new TransformationManager(map);
+			TransformationApplier applier = new TransformationApplier(manager, multiClassGraph, multiClassMappingApplier, multiClassWorkspace, pool);
+			assertDoesNotThrow(() -> applier.transformJvm(Collections.singletonList(RecordingTransformerDependingOnA.class)));
+			assertEquals(classCount, transformerA.visited.size());
+			assertEquals(Set.of(classCount), transformerB.visitedCountsOfA, "'B' ran before 'A' completed");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void contextFrameCache() throws TransformationException {
+		WorkspaceResource resource = workspace.getPrimaryResource();
+		JvmClassBundle bundle = resource.getJvmClassBundle();
+		JvmClassInfo info = bundle.iterator().next();
+		JvmTransformerContext context = new JvmTransformerContext(workspace, resource);
+
+		// Each node given by the context is a copy, but analysis of the same code should be shared.
+		ClassNode node = context.getNode(bundle, info);
+		MethodNode method = node.methods.getLast();
+		Frame<ReValue>[] frames = context.analyze(inheritanceGraph, node, method);
+		ClassNode nodeCopy = context.getNode(bundle, info);
+		assertSame(frames, context.analyze(inheritanceGraph, nodeCopy, nodeCopy.methods.getLast()));
+
+		// Modified code should be analyzed again.
+		method.instructions.insert(new InsnNode(Opcodes.NOP));
+		Frame<ReValue>[] modifiedFrames = context.analyze(inheritanceGraph, node, method);
+		assertNotSame(frames, modifiedFrames);
+		assertEquals(method.instructions.size(), modifiedFrames.length);
+
+		// Recording the class state should drop prior analysis of the class.
+		context.setNode(bundle, info, node);
+		assertNotSame(modifiedFrames, context.analyze(inheritanceGraph, node, method));
+	}
+
 	@Test
 	void cycleAB() {
 		JvmCycleA transformerA = spy(new JvmCycleA());
@@ -188,6 +260,52 @@ public String name() {
 		}
 	}
 
+	static class RecordingTransformerA implements JvmClassTransformer {
+		private final Set<String> visited = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) {
+			visited.add(initialClassState.getName());
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "jvm-recording-a";
+		}
+	}
+
+	static class RecordingTransformerDependingOnA implements JvmClassTransformer {
+		private final Set<Integer> visitedCountsOfA = ConcurrentHashMap.newKeySet();
+		private RecordingTransformerA transformerA;
+
+		@Override
+		public void setup(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace) {
+			transformerA = assertDoesNotThrow(() -> context.getJvmTransformer(RecordingTransformerA.class));
+		}
+
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) {
+			visitedCountsOfA.add(transformerA.visited.size());
+		}
+
+		@Nonnull
+		@Override
+		public Set<Class<? extends ClassTransformer>> dependencies() {
+			return Collections.singleton(RecordingTransformerA.class);
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "jvm-recording-depending-on-a";
+		}
+	}
+
 	static class JvmCycleSingle implements JvmClassTransformer {
 
 		@Override
@@ -2,6 +2,7 @@
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.coley.recaf.info.BasicNativeLibraryFileInfo;
 import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.Info;
@@ -13,21 +14,29 @@
 import software.coley.recaf.info.properties.builtin.ZipMarkerProperty;
 import software.coley.recaf.info.properties.builtin.ZipModificationTimeProperty;
 import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.ClassWithFieldsAndMethods;
 import software.coley.recaf.test.dummy.HelloWorld;
+import software.coley.recaf.test.dummy.StringConsumer;
+import software.coley.recaf.test.dummy.StringConsumerUser;
+import software.coley.recaf.test.dummy.StringSupplier;
 import software.coley.recaf.util.ZipCreationUtils;
 import software.coley.recaf.util.io.ByteSource;
 import software.coley.recaf.util.io.ByteSources;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -254,6 +263,86 @@ void testAlwaysUseLastFileEntry() throws IOException {
 		assertArrayEquals(bytes, resource.getFileBundle().iterator().next().getRawContent());
 	}
 
+	@Test
+	void testAlwaysUseLastEntryInLargeZip() throws IOException {
+		String helloWorldPath = HelloWorld.class.getName().replace(".", "/");
+		byte[] helloWorldBytes = TestClassUtils.fromRuntimeClass(HelloWorld.class).getBytecode();
+		byte[] emptyBytes = new byte[0];
+
+		// Create JAR with enough entries to be decoded in parallel, with duplicates spread far apart
+		// so that they land in different decoding tasks.
+		int fileCount = 1000;
+		ZipCreationUtils.ZipBuilder builder = ZipCreationUtils.builder()
+				.add(helloWorldPath + ".class", emptyBytes)
+				.add("dupe.txt", "first".getBytes(StandardCharsets.UTF_8));
+		for (int i = 0; i < fileCount; i++)
+			builder.add("file" + i + ".txt", ("content" + i).getBytes(StandardCharsets.UTF_8));
+		builder.add(helloWorldPath + ".class", helloWorldBytes)
+				.add("dupe.txt", "last".getBytes(StandardCharsets.UTF_8));
+		ByteSource zipSource = ByteSources.wrap(builder.bytes());
+		WorkspaceResource resource = importer.importResource(zipSource);
+
+		// Should have the one JVM class, with the older empty duplicate added as a file.
+		assertEquals(1, resource.getJvmClassBundle().size());
+		assertEquals(fileCount + 2, resource.getFileBundle().size());
+
+		// Validate the versions chosen are the last ones
+		assertArrayEquals(helloWorldBytes, resource.getJvmClassBundle().iterator().next().getBytecode());
+		assertArrayEquals("last".getBytes(StandardCharsets.UTF_8), resource.getFileBundle().get("dupe.txt").getRawContent());
+		for (int i = 0; i < fileCount; i++)
+			assertArrayEquals(("content" + i).getBytes(StandardCharsets.UTF_8),
+					resource.getFileBundle().get("file" + i + ".txt").getRawContent());
+	}
+
+	@Test
+	void testImportMultipleDexFiles() throws IOException {
+		// Create APK with more dex files than are read ahead at once, with other entries between them.
+		Map<String, Class<?>> dexClasses = new LinkedHashMap<>();
+		dexClasses.put("classes.dex", HelloWorld.class);
+		dexClasses.put("classes2.dex", StringConsumer.class);
+		dexClasses.put("classes3.dex", StringConsumerUser.class);
+		dexClasses.put("classes4.dex", StringSupplier.class);
+		dexClasses.put("classes5.dex", ClassWithFieldsAndMethods.class);
+		ZipCreationUtils.ZipBuilder builder = ZipCreationUtils.builder();
+		int i = 0;
+		for (Map.Entry<String, Class<?>> entry : dexClasses.entrySet()) {
+			builder.add(entry.getKey(), TestClassUtils.toDex(entry.getValue()));
+			builder.add("file" + i++ + ".txt", "content".getBytes(StandardCharsets.UTF_8));
+		}
+		WorkspaceResource resource = importer.importResource(ByteSources.wrap(builder.bytes()));
+
+		// Each dex file should be read into its own bundle, regardless of the order the reads complete in.
+		Map<String, AndroidClassBundle> bundles = resource.getAndroidClassBundles();
+		assertEquals(dexClasses.keySet(), bundles.keySet());
+		dexClasses.forEach((dexName, cls) -> assertEquals(Set.of(cls.getName().replace('.', '/')),
+				bundles.get(dexName).keySet(), "Wrong classes in " + dexName));
+		assertEquals(dexClasses.size(), resource.getFileBundle().size());
+	}
+
+	@Test
+	void testImportDexFileFailingToParse() throws IOException {
+		byte[] dex = TestClassUtils.toDex(HelloWorld.class);
+
+		// Create APK with a dex file which has a valid header, but is cut off and cannot be parsed.
+		byte[] brokenDex = Arrays.copyOf(dex, 64);
+		byte[] zipBytes = ZipCreationUtils.builder()
+				.add("classes.dex", dex)
+				.add("classes2.dex", brokenDex)
+				.add("classes3.dex", dex)
+				.bytes();
+		WorkspaceResource resource = importer.importResource(ByteSources.wrap(zipBytes));
+
+		// The failed parallel read should be followed by a normal read, which records the broken entry as a file.
+		Map<String, AndroidClassBundle> bundles = resource.getAndroidClassBundles();
+		assertEquals(Set.of("classes.dex", "classes3.dex"), bundles.keySet());
+		FileInfo brokenFile = resource.getFileBundle().get("classes2.dex");
+		assertNotNull(brokenFile, "Broken dex file should be recorded as a file");
+		assertArrayEquals(brokenDex, brokenFile.getRawContent());
+
+		// Reads of the dex files after the broken one should not be affected.
+		assertEquals(bundles.get("classes.dex").keySet(), bundles.get("classes3.dex").keySet());
+	}
+
 	@Test
 	void testDeduplicateClasses() throws IOException {
 		String helloWorldPath = HelloWorld.class.getName().replace(".", "/");
@@ -391,6 +480,61 @@ void testImportsFromDifferentSourcesAreTheSame() throws IOException {
 		assertEquals(fromByteSource, fromUrl);
 	}
 
+	@Test
+	void testLazyContentMatchesEagerContent() throws IOException {
+		byte[] helloWorldBytes = TestClassUtils.fromRuntimeClass(HelloWorld.class).getBytecode();
+		Map<String, byte[]> map = new LinkedHashMap<>();
+		map.put("hello.txt", "Hello world".getBytes(StandardCharsets.UTF_8));
+		map.put(HelloWorld.class.getName().replace(".", "/") + ".class", helloWorldBytes);
+		map.put("data.zip", ZipCreationUtils.createSingleEntryZip("foo", new byte[]{1, 2, 3}));
+		byte[] zipBytes = ZipCreationUtils.createZip(map);
+
+		// Write to disk temporarily for test duration, so that the lazy import reads from a mapped file.
+		File tempFile = File.createTempFile("recaf", "test.zip");
+		Files.write(tempFile.toPath(), zipBytes);
+		tempFile.deleteOnExit();
+
+		// Use a cache which is too small to hold any content, so that every read goes back to the archive.
+		ResourceImporterConfig lazyConfig = new ResourceImporterConfig();
+		lazyConfig.getLazyContent().setValue(true);
+		lazyConfig.getLazyContentCacheMb().setValue(0);
+		ResourceImporter lazyImporter = new BasicResourceImporter(
+				new BasicInfoImporter(new InfoImporterConfig(), new BasicClassPatcher()),
+				lazyConfig
+		);
+		WorkspaceResource eager = importer.importResource(tempFile.toPath());
+		WorkspaceResource lazy = lazyImporter.importResource(tempFile.toPath());
+		assertEquals(eager, lazy);
+
+		// Contents should be read consistently on repeated access.
+		JvmClassInfo lazyClass = lazy.getJvmClassBundle().iterator().next();
+		assertArrayEquals(helloWorldBytes, lazyClass.getBytecode());
+		assertArrayEquals(helloWorldBytes, lazyClass.getBytecode());
+		assertNotSame(lazyClass.getBytecode(), lazyClass.getBytecode(), "Content should not be held without a cache");
+		assertArrayEquals(new byte[]{1, 2, 3}, lazy.getEmbeddedResources().get("data.zip").getFileBundle().get("foo").getRawContent());
+	}
+
+	@Test
+	void testLazyDirectoryContentIsNotChangedOnDisk(@TempDir Path dir) throws IOException {
+		Path file = Files.writeString(dir.resolve("hello.txt"), "Hello world");
+
+		// Use a cache which is too small to hold any content, so that every read goes back to the directory.
+		ResourceImporterConfig lazyConfig = new ResourceImporterConfig();
+		lazyConfig.getLazyContent().setValue(true);
+		lazyConfig.getLazyContentCacheMb().setValue(0);
+		ResourceImporter lazyImporter = new BasicResourceImporter(
+				new BasicInfoImporter(new InfoImporterConfig(), new BasicClassPatcher()),
+				lazyConfig
+		);
+		WorkspaceResource lazy = lazyImporter.importResource(dir);
+		FileInfo lazyFile = lazy.getFileBundle().get("hello.txt");
+		assertArrayEquals("Hello world".getBytes(StandardCharsets.UTF_8), lazyFile.getRawContent());
+
+		// Changes made on disk after the import must not be passed off as the imported content.
+		Files.writeString(file, "Changed on disk");
+		assertThrows(UncheckedIOException.class, lazyFile::getRawContent);
+	}
+
 	@Test
 	void testSkipDirectories() throws IOException {
 		byte[] empty = new byte[0];
@@ -4,7 +4,9 @@
 import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.coley.recaf.info.JarFileInfo;
+import software.coley.recaf.info.builder.FileInfoBuilder;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.HelloWorld;
 import software.coley.recaf.util.ZipCreationUtils;
@@ -13,15 +15,28 @@
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -107,6 +122,157 @@ private static void testExportDoesNotTamperResourceModel(WorkspaceOutputType out
 		assertEquals(targetResource.getEmbeddedResources(), importedResource.getEmbeddedResources());
 	}
 
+	@Test
+	void testStreamedArchiveExportReadableWithManyEntries() throws IOException {
+		// Enough entries to exceed the number of compressed entries buffered at a time while writing.
+		Random random = new Random(1234L);
+		ZipCreationUtils.ZipBuilder builder = ZipCreationUtils.builder();
+		Map<String, byte[]> expected = new TreeMap<>();
+		for (int i = 0; i < 2000; i++) {
+			// Mix of compressible text and incompressible noise
+			byte[] content;
+			if (i % 2 == 0) {
+				content = ("entry-" + i + " ").repeat(i % 50).getBytes(StandardCharsets.UTF_8);
+			} else {
+				content = new byte[i % 500];
+				random.nextBytes(content);
+			}
+			String name = "dir" + (i % 10) + "/file" + i + ".bin";
+			expected.put(name, content);
+			builder.add(name, content);
+		}
+		WorkspaceResource resource = importer.importResource(ByteSources.wrap(builder.bytes()));
+		Workspace workspace = new BasicWorkspace(resource);
+
+		// Export to a file
+		Path temp = Files.createTempFile("recaf", "test.zip");
+		temp.toFile().deleteOnExit();
+		WorkspaceExportOptions options = new WorkspaceExportOptions(WorkspaceCompressType.ALWAYS,
+				WorkspaceOutputType.FILE, new PathWorkspaceExportConsumer(temp));
+		options.setCreateZipDirEntries(true);
+		options.create().export(workspace);
+
+		// The standard ZIP reader should be able to read back every entry with matching content
+		try (ZipFile zip = new ZipFile(temp.toFile())) {
+			for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+				ZipEntry zipEntry = zip.getEntry(entry.getKey());
+				assertNotNull(zipEntry, "Missing entry: " + entry.getKey());
+				try (InputStream in = zip.getInputStream(zipEntry)) {
+					assertArrayEquals(entry.getValue(), in.readAllBytes(), "Content mismatch: " + entry.getKey());
+				}
+			}
+			assertNotNull(zip.getEntry("dir0/"), "Missing directory entry");
+		}
+	}
+
+	@Test
+	void testIncrementalExportCopiesUnmodifiedEntries() throws IOException {
+		Random random = new Random(42L);
+		String[] words = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta"};
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++)
+			sb.append(words[random.nextInt(words.length)]).append(' ');
+		byte[] unchanged = sb.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] modified = "modified".getBytes(StandardCharsets.UTF_8);
+
+		// Compress the input with a non-default level, so that copied data can be told apart from recompressed data.
+		byte[] inputZipBytes = ZipCreationUtils.createZip(zos -> {
+			zos.setLevel(Deflater.BEST_SPEED);
+			zos.putNextEntry(new ZipEntry("unchanged.txt"));
+			zos.write(unchanged);
+			zos.closeEntry();
+			zos.putNextEntry(new ZipEntry("changed.txt"));
+			zos.write(unchanged);
+			zos.closeEntry();
+		});
+		WorkspaceResource resource = importer.importResource(ByteSources.wrap(inputZipBytes));
+		BasicWorkspace workspace = new BasicWorkspace(resource);
+		resource.getFileBundle().put(new FileInfoBuilder<>()
+				.withName("changed.txt")
+				.withRawContent(modified)
+				.build());
+
+		// Export it incrementally
+		ByteArrayWorkspaceExportConsumer bytesExport = new ByteArrayWorkspaceExportConsumer();
+		WorkspaceExportOptions options = new WorkspaceExportOptions(WorkspaceOutputType.FILE, bytesExport);
+		options.setIncremental(true);
+		options.create().export(workspace);
+		byte[] output = bytesExport.getOutput();
+		assertNotNull(output, "Failed to export workspace to archive");
+
+		// The original data of the unmodified entry should be in the output, rather than data compressed again
+		byte[] fastDeflated = deflate(unchanged, Deflater.BEST_SPEED);
+		byte[] defaultDeflated = deflate(unchanged, Deflater.DEFAULT_COMPRESSION);
+		assertFalse(Arrays.equals(fastDeflated, defaultDeflated), "Compression levels should yield different data");
+		assertTrue(Bytes.indexOf(output, fastDeflated) >= 0, "Unmodified entry data was not copied as-is");
+		assertEquals(-1, Bytes.indexOf(output, defaultDeflated), "Unmodified entry data was compressed again");
+
+		// Both entries should read back with their current content
+		WorkspaceResource exportedResource = importer.importResource(ByteSources.wrap(output));
+		assertArrayEquals(unchanged, exportedResource.getFileBundle().get("unchanged.txt").getRawContent());
+		assertArrayEquals(modified, exportedResource.getFileBundle().get("changed.txt").getRawContent());
+	}
+
+	@Test
+	void testFileExportKeepsDestinationPermissions(@TempDir Path dir) throws IOException {
+		WorkspaceResource resource = importer.importResource(ByteSources.wrap(ZipCreationUtils.createSingleEntryZip("a.txt",
+				"content".getBytes(StandardCharsets.UTF_8))));
+		Workspace workspace = new BasicWorkspace(resource);
+		Path destination = dir.resolve("out.zip");
+		Files.write(destination, new byte[0]);
+		boolean posix = Files.getFileAttributeView(destination, PosixFileAttributeView.class) != null;
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+		if (posix)
+			Files.setPosixFilePermissions(destination, permissions);
+
+		// Replacing the destination should not change its permissions or leave temporary files behind
+		new WorkspaceExportOptions(WorkspaceOutputType.FILE, new PathWorkspaceExportConsumer(destination))
+				.create().export(workspace);
+		if (posix)
+			assertEquals(permissions, Files.getPosixFilePermissions(destination));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(List.of(destination), files.toList());
+		}
+		try (ZipFile zip = new ZipFile(destination.toFile())) {
+			assertNotNull(zip.getEntry("a.txt"), "Missing exported entry");
+		}
+	}
+
+	@Test
+	void testFailedFileExportRemovesTemporaryFile(@TempDir Path dir) throws IOException {
+		WorkspaceResource resource = importer.importResource(ByteSources.wrap(ZipCreationUtils.createSingleEntryZip("a.txt",
+				"content".getBytes(StandardCharsets.UTF_8))));
+		Workspace workspace = new BasicWorkspace(resource);
+		Path destination = dir.resolve("out.zip");
+		PathWorkspaceExportConsumer consumer = new PathWorkspaceExportConsumer(destination) {
+			@Nonnull
+			@Override
+			public OutputStream openStream() throws IOException {
+				OutputStream out = super.openStream();
+				out.close();
+				throw new IOException("Simulated failure");
+			}
+		};
+		assertThrows(IOException.class, () -> new WorkspaceExportOptions(WorkspaceOutputType.FILE, consumer)
+				.create().export(workspace));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(0, files.count(), "Temporary file was not removed");
+		}
+	}
+
+	@Nonnull
+	private static byte[] deflate(@Nonnull byte[] content, int level) {
+		Deflater deflater = new Deflater(level, true);
+		deflater.setInput(content);
+		deflater.finish();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		while (!deflater.finished())
+			out.write(buffer, 0, deflater.deflate(buffer));
+		deflater.end();
+		return out.toByteArray();
+	}
+
 	/**
 	 * There's a lombok fabric mod which bundles some classes with tampered names. The file contents are normal classes.
 	 * When we re-export the workspace we need to ensure the classes are written back to where they originally came from.
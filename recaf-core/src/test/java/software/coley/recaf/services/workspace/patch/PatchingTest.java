@@ -4,15 +4,23 @@
 import me.darknet.assembler.error.Error;
 import org.junit.jupiter.api.Test;
 import org.objectweb.asm.ClassWriter;
+import software.coley.observables.ObservableBoolean;
+import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.StubClassInfo;
 import software.coley.recaf.info.StubFileInfo;
 import software.coley.recaf.info.TextFileInfo;
+import software.coley.recaf.info.builder.FileInfoBuilder;
+import software.coley.recaf.path.FilePathNode;
 import software.coley.recaf.path.PathNode;
+import software.coley.recaf.path.PathNodes;
+import software.coley.recaf.services.workspace.patch.model.BinaryFilePatch;
 import software.coley.recaf.services.workspace.patch.model.WorkspacePatch;
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.ClassWithMultipleMethods;
 import software.coley.recaf.test.dummy.HelloWorld;
+import software.coley.recaf.util.BinaryDiff;
 import software.coley.recaf.util.visitors.MethodNoopingVisitor;
 import software.coley.recaf.util.visitors.MethodPredicate;
 import software.coley.recaf.workspace.model.Workspace;
@@ -20,7 +28,9 @@
 import software.coley.recaf.workspace.model.bundle.FileBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,6 +81,45 @@ void testClass_methodNoop() throws Throwable {
 		assertNotSame(initialClass, patchedClassInfo, "Class bundle post-patch yielded initial class state");
 	}
 
+	@Test
+	void testClass_onlyStructuralChangesArePatched() throws Throwable {
+		JvmClassInfo modifiedInitialClass = TestClassUtils.fromRuntimeClass(HelloWorld.class);
+		JvmClassInfo rewrittenInitialClass = TestClassUtils.fromRuntimeClass(ClassWithMultipleMethods.class);
+		BasicJvmClassBundle classes = TestClassUtils.fromClasses(modifiedInitialClass, rewrittenInitialClass);
+		Workspace workspace = TestClassUtils.fromBundle(classes);
+
+		// No-op a method in one class.
+		ClassWriter writer = new ClassWriter(0);
+		MethodNoopingVisitor visitor = new MethodNoopingVisitor(writer, MethodPredicate.of(modifiedInitialClass.getMethods().getLast()));
+		modifiedInitialClass.getClassReader().accept(visitor, 0);
+		classes.put(modifiedInitialClass.toJvmClassBuilder().adaptFrom(writer.toByteArray()).build());
+
+		// Write the other class back out as-is, which only changes its constant pool layout.
+		writer = new ClassWriter(0);
+		rewrittenInitialClass.getClassReader().accept(writer, 0);
+		JvmClassInfo rewrittenClass = rewrittenInitialClass.toJvmClassBuilder().adaptFrom(writer.toByteArray()).build();
+		classes.put(rewrittenClass);
+
+		// The rewritten class must differ in content, so that the structural comparison is what skips it.
+		assertFalse(Arrays.equals(rewrittenInitialClass.getBytecode(), rewrittenClass.getBytecode()));
+		assertTrue(PatchProvider.isStructurallyEqual(rewrittenInitialClass, rewrittenClass));
+		assertFalse(PatchProvider.isStructurallyEqual(modifiedInitialClass, classes.get(modifiedInitialClass.getName())));
+
+		// Build the patch, only the class with changes to its code should be included.
+		// The result should be the same when the comparison falls back to the disassembly.
+		ObservableBoolean structuralDiff = recaf.get(ResourcePatchProviderConfig.class).getStructuralDiff();
+		for (boolean structural : new boolean[]{true, false}) {
+			structuralDiff.setValue(structural);
+			try {
+				WorkspacePatch patch = patchProvider.createPatch(workspace);
+				assertEquals(1, patch.jvmAssemblerPatches().size());
+				assertEquals(modifiedInitialClass.getName(), patch.jvmAssemblerPatches().getFirst().path().getValue().getName());
+			} finally {
+				structuralDiff.setValue(true);
+			}
+		}
+	}
+
 	@Test
 	void testFile_textDiff() throws PatchGenerationException {
 		TextFileInfo textFile = new StubFileInfo("foo.txt").withText("""
@@ -112,6 +161,72 @@ void testFile_textDiff() throws PatchGenerationException {
 		assertEquals(textFileAlt, patchedTextFile, "File bundle post-patch yielded unexpected state");
 	}
 
+	@Test
+	void testFile_binaryDiff() throws Throwable {
+		Random random = new Random(0);
+		byte[] content = new byte[256 * 1024];
+		random.nextBytes(content);
+		FileInfo binaryFile = new FileInfoBuilder<>().withName("data.bin").withRawContent(content).build();
+		assertFalse(binaryFile.isTextFile(), "Random content should not be decoded as text");
+		FileBundle fileInfos = TestClassUtils.fromFiles(binaryFile);
+		Workspace workspace = TestClassUtils.fromBundle(fileInfos);
+
+		// Modify a few bytes of the file
+		byte[] modifiedContent = content.clone();
+		for (int i = 0; i < modifiedContent.length; i += 64 * 1024)
+			modifiedContent[i] ^= 0x7F;
+		fileInfos.put(binaryFile.toFileBuilder().withRawContent(modifiedContent).build());
+
+		// Build the patch. The delta should only need to describe the few modified bytes.
+		WorkspacePatch patch = patchProvider.createPatch(workspace);
+		assertEquals(1, patch.binaryFilePatches().size());
+		String serialized = patchProvider.serializePatch(patch);
+		assertTrue(serialized.length() < content.length / 100, "Binary patch should be much smaller than the file");
+
+		// Assert serialization/deserialization doesn't result in breakage.
+		WorkspacePatch deserializePatch = patchProvider.deserializePatch(workspace, serialized);
+		assertEquals(patch, deserializePatch);
+
+		// Undo the change.
+		String fileKey = binaryFile.getName();
+		fileInfos.decrementHistory(fileKey);
+		assertArrayEquals(content, fileInfos.get(fileKey).getRawContent(), "Revert failed");
+
+		// Apply the patch
+		assertTrue(patchApplier.apply(patch, failOnErrors()));
+
+		// Validate the patch was applied
+		assertArrayEquals(modifiedContent, fileInfos.get(fileKey).getRawContent(), "File bundle post-patch yielded unexpected state");
+	}
+
+	@Test
+	void testFile_malformedBinaryDiffIsReported() {
+		byte[] content = new byte[1024];
+		new Random(0).nextBytes(content);
+		FileInfo binaryFile = new FileInfoBuilder<>().withName("data.bin").withRawContent(content).build();
+		FileBundle fileInfos = TestClassUtils.fromFiles(binaryFile);
+		Workspace workspace = TestClassUtils.fromBundle(fileInfos);
+
+		// A delta which matches the base content, but copies past its end.
+		BinaryDiff.Delta delta = BinaryDiff.diff(content, content);
+		BinaryDiff.Delta malformed = new BinaryDiff.Delta(delta.baseLength(), delta.baseCrc(),
+				delta.targetLength(), delta.targetCrc(), List.of(new BinaryDiff.Copy(content.length / 2, content.length)));
+		FilePathNode path = PathNodes.filePath(workspace, workspace.getPrimaryResource(), fileInfos, binaryFile);
+		WorkspacePatch patch = new WorkspacePatch(workspace, List.of(), List.of(), List.of(),
+				List.of(new BinaryFilePatch(path, malformed)));
+
+		// The failure should be reported to the feedback rather than thrown.
+		boolean[] mismatched = new boolean[1];
+		assertFalse(patchApplier.apply(patch, new PatchFeedback() {
+			@Override
+			public void onMismatchedContentObserved(@Nonnull PathNode<?> path) {
+				mismatched[0] = true;
+			}
+		}));
+		assertTrue(mismatched[0], "Malformed delta was not reported");
+		assertSame(binaryFile, fileInfos.get(binaryFile.getName()), "File should not have been modified");
+	}
+
 	@Test
 	void testRemove_file() throws Throwable {
 		StubFileInfo bar = new StubFileInfo("bar");
@@ -184,6 +299,11 @@ public void onAssemblerErrorsObserved(@Nonnull List<Error> errors) {
 			public void onIncompletePathObserved(@Nonnull PathNode<?> path) {
 				fail("Incomplete path: " + path);
 			}
+
+			@Override
+			public void onMismatchedContentObserved(@Nonnull PathNode<?> path) {
+				fail("Mismatched content: " + path);
+			}
 		};
 	}
 }
\ No newline at end of file
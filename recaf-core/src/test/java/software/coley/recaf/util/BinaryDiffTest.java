@@ -0,0 +1,79 @@
+package software.coley.recaf.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BinaryDiff}.
+ */
+class BinaryDiffTest {
+	@Test
+	void testIdentity() {
+		byte[] original = randomBytes(4096);
+		BinaryDiff.Delta delta = BinaryDiff.diff(original, original);
+		assertEquals(1, delta.ops().size(), "Expected a single copy of the original content");
+		assertEquals(new BinaryDiff.Copy(0, original.length), delta.ops().getFirst());
+		assertArrayEquals(original, delta.apply(original));
+	}
+
+	@Test
+	void testInsertAndChange() {
+		byte[] original = randomBytes(64 * 1024);
+		byte[] inserted = randomBytes(100);
+
+		// Insert some content in the middle and change a byte near the end
+		byte[] modified = new byte[original.length + inserted.length];
+		int mid = original.length / 2;
+		System.arraycopy(original, 0, modified, 0, mid);
+		System.arraycopy(inserted, 0, modified, mid, inserted.length);
+		System.arraycopy(original, mid, modified, mid + inserted.length, original.length - mid);
+		modified[modified.length - 1000] ^= 1;
+
+		// Only the inserted and changed bytes should need to be included in the delta
+		BinaryDiff.Delta delta = BinaryDiff.diff(original, modified);
+		int literalBytes = delta.ops().stream()
+				.filter(op -> op instanceof BinaryDiff.Insert)
+				.mapToInt(BinaryDiff.Op::length)
+				.sum();
+		assertTrue(literalBytes < inserted.length + 64, "Too many literal bytes in delta: " + literalBytes);
+		assertArrayEquals(modified, delta.apply(original));
+	}
+
+	@Test
+	void testEncodeDecode() throws Exception {
+		byte[] original = randomBytes(10_000);
+		byte[] modified = original.clone();
+		modified[5000] ^= 1;
+		BinaryDiff.Delta delta = BinaryDiff.diff(original, modified);
+		BinaryDiff.Delta decoded = BinaryDiff.Delta.decode(delta.encode());
+		assertEquals(delta, decoded);
+		assertArrayEquals(modified, decoded.apply(original));
+	}
+
+	@Test
+	void testSmallInputs() {
+		byte[] original = {1, 2, 3};
+		byte[] modified = {1, 2, 3, 4};
+		assertArrayEquals(modified, BinaryDiff.diff(original, modified).apply(original));
+		assertArrayEquals(new byte[0], BinaryDiff.diff(original, new byte[0]).apply(original));
+		assertArrayEquals(modified, BinaryDiff.diff(new byte[0], modified).apply(new byte[0]));
+	}
+
+	@Test
+	void testMismatchedBase() {
+		byte[] original = randomBytes(1024);
+		byte[] other = randomBytes(2048);
+		BinaryDiff.Delta delta = BinaryDiff.diff(original, other);
+		assertFalse(delta.matchesBase(other));
+		assertThrows(IllegalArgumentException.class, () -> delta.apply(other));
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+}
@@ -4,6 +4,9 @@
 import jakarta.annotation.Nullable;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.tree.FieldNode;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.StubFileInfo;
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.test.dummy.AccessibleFields;
@@ -13,8 +16,12 @@
 import software.coley.recaf.test.dummy.ClassWithConstructor;
 import software.coley.recaf.test.dummy.ClassWithExceptions;
 import software.coley.recaf.workspace.model.bundle.BasicAndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
 import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.HistorySpillStore;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.AndroidApiResource;
+import software.coley.recaf.workspace.model.resource.BasicWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResourceBuilder;
@@ -22,14 +29,20 @@
 import software.coley.recaf.workspace.model.resource.WorkspaceResourceBuilder;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static software.coley.recaf.test.TestClassUtils.createClass;
 import static software.coley.recaf.test.TestClassUtils.fromClasses;
+import static software.coley.recaf.test.TestClassUtils.fromRuntimeClass;
 
 /**
  * Tests for the {@link Workspace} model.
@@ -124,6 +137,44 @@ void getAllResources() {
 		}
 	}
 
+	@Nested
+	class History {
+		@Test
+		void undoAcrossSpilledStates(@TempDir Path dir) {
+			HistorySpillStore store = new HistorySpillStore();
+			store.setDirectory(dir);
+			store.setHeapStates(2);
+			store.setMaxSize(64 * 1024 * 1024);
+
+			// Record several states, most of which will be moved out of the heap
+			BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+			bundle.setHistoryStore(store);
+			List<JvmClassInfo> states = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				int fieldCount = i;
+				JvmClassInfo state = createClass("Example", node -> {
+					for (int j = 0; j < fieldCount; j++)
+						node.fields.add(new FieldNode(0, "f" + j, "I", null, null));
+				});
+				states.add(state);
+				bundle.put(state);
+			}
+			assertTrue(bundle.hasHistory("Example"));
+			assertEquals(states.size(), bundle.getHistory("Example").size());
+			assertSame(states.getFirst(), bundle.getInitialState("Example"));
+
+			// Undo should yield each prior state, including the ones restored from the store
+			for (int i = states.size() - 2; i >= 0; i--) {
+				bundle.decrementHistory("Example");
+				JvmClassInfo current = bundle.get("Example");
+				assertEquals(states.get(i), current);
+				assertArrayEquals(states.get(i).getBytecode(), current.getBytecode());
+				assertEquals(i, current.getFields().size());
+			}
+			assertFalse(bundle.hasHistory("Example"));
+		}
+	}
+
 	@Nested
 	class Finding {
 		@Test
@@ -243,6 +294,61 @@ void findClass_embeddedDeeperInPrimary() throws IOException {
 			assertEquals(result, allClassPaths.first());
 		}
 
+		@Test
+		void findClass_reflectsModifications() throws IOException {
+			WorkspaceResource primary = new WorkspaceResourceBuilder()
+					.withJvmClassBundle(fromClasses(
+							AccessibleFields.class
+					)).build();
+			Workspace workspace = new BasicWorkspace(primary, Collections.emptyList(), false);
+
+			// Missing lookups should be updated once the class is added
+			assertNull(findClass(workspace, AccessibleMethods.class));
+			JvmClassInfo added = fromRuntimeClass(AccessibleMethods.class);
+			primary.getJvmClassBundle().put(added);
+			ClassPathNode result = findClass(workspace, AccessibleMethods.class);
+			assertNotNull(result);
+			assertSame(added, result.getValue());
+
+			// Updated classes should be yielded instead of the prior value
+			JvmClassInfo updated = added.toJvmClassBuilder().build();
+			primary.getJvmClassBundle().put(updated);
+			result = findClass(workspace, AccessibleMethods.class);
+			assertNotNull(result);
+			assertSame(updated, result.getValue());
+
+			// Removed classes should no longer be found
+			primary.getJvmClassBundle().remove(updated.getName());
+			assertNull(findClass(workspace, AccessibleMethods.class));
+
+			// Classes in added supporting resources should be found, and no longer found once removed
+			assertNull(findClass(workspace, ClassWithAnnotation.class));
+			WorkspaceResource supporting = new WorkspaceResourceBuilder()
+					.withJvmClassBundle(fromClasses(
+							ClassWithAnnotation.class
+					)).build();
+			workspace.addSupportingResource(supporting);
+			result = findClass(workspace, ClassWithAnnotation.class);
+			assertNotNull(result);
+			assertSame(supporting, result.getValueOfType(WorkspaceResource.class));
+			workspace.removeSupportingResource(supporting);
+			assertNull(findClass(workspace, ClassWithAnnotation.class));
+		}
+
+		@Test
+		void findClass_inBundlesCreatedLater() throws IOException {
+			GrowingResource primary = new GrowingResource();
+			Workspace workspace = new BasicWorkspace(primary, Collections.emptyList(), false);
+
+			// Missing lookups should be updated once the class is added to a bundle the resource creates later
+			assertNull(findClass(workspace, AccessibleMethods.class));
+			JvmClassInfo added = fromRuntimeClass(AccessibleMethods.class);
+			primary.createBundle().put(added);
+			ClassPathNode result = findClass(workspace, AccessibleMethods.class);
+			assertNotNull(result);
+			assertSame(added, result.getValue());
+		}
+
 		/**
 		 * @param workspace
 		 * 		Workspace to search in.
@@ -255,5 +361,38 @@ void findClass_embeddedDeeperInPrimary() throws IOException {
 		private static ClassPathNode findClass(@Nonnull Workspace workspace, @Nonnull Class<?> type) {
 			return workspace.findClass(type.getName().replace('.', '/'));
 		}
+
+		/**
+		 * Resource which creates bundles after construction, like remote VM resources do for discovered class loaders.
+		 */
+		private static class GrowingResource extends BasicWorkspaceResource {
+			private final List<JvmClassBundle> createdBundles = new CopyOnWriteArrayList<>();
+
+			private GrowingResource() {
+				super(new WorkspaceResourceBuilder());
+
+				// Call the parent setup method.
+				super.setup();
+			}
+
+			@Override
+			protected void setup() {
+				// No-op here so the constructor doesn't call it before the fields in THIS class are initialized
+			}
+
+			@Nonnull
+			private JvmClassBundle createBundle() {
+				JvmClassBundle bundle = new BasicJvmClassBundle();
+				delegateJvmClassBundle(this, bundle);
+				createdBundles.add(bundle);
+				return bundle;
+			}
+
+			@Nonnull
+			@Override
+			public Stream<JvmClassBundle> jvmClassBundleStream() {
+				return Stream.concat(super.jvmClassBundleStream(), createdBundles.stream());
+			}
+		}
 	}
 }
\ No newline at end of file
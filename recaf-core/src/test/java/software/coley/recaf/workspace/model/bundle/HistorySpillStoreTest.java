@@ -0,0 +1,181 @@
+package software.coley.recaf.workspace.model.bundle;
+
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.tree.FieldNode;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.properties.BasicProperty;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.coley.recaf.test.TestClassUtils.createClass;
+
+/**
+ * Tests for {@link HistorySpillStore} and {@link ItemHistory}
+ */
+class HistorySpillStoreTest {
+	private static final byte[] BASE = new byte[0];
+
+	@Test
+	void freedSpaceIsReused(@TempDir Path dir) {
+		HistorySpillStore store = newStore(dir);
+		HistorySpillStore.Handle first = write(store, 1, 1000);
+		HistorySpillStore.Handle second = write(store, 2, 1000);
+		HistorySpillStore.Handle third = write(store, 3, 1000);
+
+		// Space between live entries should be written to again
+		store.free(second);
+		HistorySpillStore.Handle reused = write(store, 4, 900);
+		assertEquals(second.position(), reused.position());
+		assertArrayEquals(data(1, 1000), store.read(first, BASE));
+		assertArrayEquals(data(4, 900), store.read(reused, BASE));
+		assertArrayEquals(data(3, 1000), store.read(third, BASE));
+
+		// Space at the end, including the free space left before it, should be appended to again
+		store.free(third);
+		HistorySpillStore.Handle appended = write(store, 5, 1000);
+		assertEquals(reused.position() + reused.length(), appended.position());
+	}
+
+	@Test
+	void adjacentFreedSpaceIsMerged(@TempDir Path dir) {
+		HistorySpillStore store = newStore(dir);
+		HistorySpillStore.Handle first = write(store, 1, 1000);
+		HistorySpillStore.Handle second = write(store, 2, 1000);
+		HistorySpillStore.Handle third = write(store, 3, 1000);
+
+		// Entries larger than either freed entry should fit in the space of both
+		store.free(first);
+		store.free(second);
+		HistorySpillStore.Handle merged = write(store, 4, 1800);
+		assertEquals(first.position(), merged.position());
+		assertArrayEquals(data(4, 1800), store.read(merged, BASE));
+		assertArrayEquals(data(3, 1000), store.read(third, BASE));
+	}
+
+	@Test
+	void historyEqualityComparesAllStates(@TempDir Path dir) {
+		HistorySpillStore store = newStore(dir);
+		store.setHeapStates(1);
+		JvmClassInfo initial = withFields(0);
+		JvmClassInfo newest = withFields(3);
+
+		// Histories which only differ in states moved into the store should not be equal
+		ItemHistory<JvmClassInfo> history = new ItemHistory<>(initial, store);
+		history.push(withFields(1));
+		history.push(newest);
+		ItemHistory<JvmClassInfo> same = new ItemHistory<>(initial, store);
+		same.push(withFields(1));
+		same.push(newest);
+		ItemHistory<JvmClassInfo> different = new ItemHistory<>(initial, store);
+		different.push(withFields(2));
+		different.push(newest);
+		assertEquals(history, same);
+		assertEquals(history.hashCode(), same.hashCode());
+		assertNotEquals(history, different);
+	}
+
+	@Test
+	void peekDoesNotModifyHistory(@TempDir Path dir) {
+		HistorySpillStore store = newStore(dir);
+		store.setHeapStates(1);
+		JvmClassInfo initial = withFields(0);
+		JvmClassInfo spilledState = withFields(2);
+		ItemHistory<JvmClassInfo> history = new ItemHistory<>(initial, store);
+		history.push(withFields(1));
+		history.push(spilledState);
+		history.push(withFields(3));
+
+		// With the newest state popped, the current state is only held by the store
+		history.pop();
+		assertEquals(3, history.size());
+		JvmClassInfo peeked = history.peek();
+		assertEquals(spilledState, peeked);
+
+		// Repeated peeks should restore the state again, rather than moving it back into the heap
+		assertEquals(spilledState, history.peek());
+		assertNotSame(peeked, history.peek());
+		assertEquals(3, history.size());
+		assertEquals(List.of(initial, withFields(1), spilledState), List.copyOf(history.toStack()));
+	}
+
+	@Test
+	void statesWhichCannotBeRestoredStayInHeap(@TempDir Path dir) {
+		HistorySpillStore store = newStore(dir);
+		store.setHeapStates(1);
+		JvmClassInfo transientState = withFields(1);
+		transientState.setProperty(new BasicProperty<>("transient", "value") {
+			@Override
+			public boolean persistent() {
+				return false;
+			}
+		});
+		ItemHistory<JvmClassInfo> history = new ItemHistory<>(withFields(0), store);
+		history.push(transientState);
+		history.push(withFields(2));
+		history.push(withFields(3));
+
+		// The state with a non-persistent property would lose it when restored, so it should not be moved
+		history.pop();
+		history.pop();
+		assertSame(transientState, history.peek());
+		assertEquals("value", history.peek().getPropertyValueOrNull("transient"));
+	}
+
+	@Test
+	void storeIsOnlyReplacedBeforeUse(@TempDir Path dir) {
+		HistorySpillStore store = newStore(dir);
+		store.setHeapStates(1);
+
+		// Histories without a store keep all states in the heap
+		JvmClassInfo first = withFields(1);
+		ItemHistory<JvmClassInfo> history = new ItemHistory<>(withFields(0));
+		history.push(first);
+		history.push(withFields(2));
+		history.pop();
+		assertSame(first, history.peek());
+
+		// Once states are moved into a store, the history keeps using it
+		assertTrue(history.setStore(store));
+		history.push(withFields(2));
+		history.push(withFields(3));
+		assertFalse(history.setStore(null));
+		history.pop();
+		assertEquals(withFields(2), history.peek());
+	}
+
+	@Nonnull
+	private static HistorySpillStore newStore(@Nonnull Path dir) {
+		HistorySpillStore store = new HistorySpillStore();
+		store.setDirectory(dir);
+		store.setMaxSize(64 * 1024 * 1024);
+		return store;
+	}
+
+	@Nonnull
+	private static HistorySpillStore.Handle write(@Nonnull HistorySpillStore store, int seed, int size) {
+		HistorySpillStore.Handle handle = store.write(data(seed, size), BASE);
+		assertNotNull(handle, "Store should have room for data");
+		return handle;
+	}
+
+	@Nonnull
+	private static byte[] data(int seed, int size) {
+		// Random content does not compress, so the size of written entries is predictable
+		byte[] data = new byte[size];
+		new Random(seed).nextBytes(data);
+		return data;
+	}
+
+	@Nonnull
+	private static JvmClassInfo withFields(int fieldCount) {
+		return createClass("Example", node -> {
+			for (int i = 0; i < fieldCount; i++)
+				node.fields.add(new FieldNode(0, "f" + i, "I", null, null));
+		});
+	}
+}
@@ -1,5 +1,12 @@
 package software.coley.recaf.test;
 
+import com.android.tools.r8.ByteDataView;
+import com.android.tools.r8.CompilationFailedException;
+import com.android.tools.r8.D8;
+import com.android.tools.r8.D8Command;
+import com.android.tools.r8.DexIndexedConsumer;
+import com.android.tools.r8.DiagnosticsHandler;
+import com.android.tools.r8.origin.Origin;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.objectweb.asm.ClassReader;
@@ -20,6 +27,7 @@
 import software.coley.recaf.workspace.model.resource.WorkspaceResourceBuilder;
 
 import java.io.IOException;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -42,6 +50,37 @@ public static JvmClassInfo fromRuntimeClass(@Nonnull Class<?> c) throws IOExcept
 		return new JvmClassInfoBuilder(new ClassReader(c.getName())).build();
 	}
 
+	/**
+	 * @param classes
+	 * 		Class refs.
+	 *
+	 * @return Raw bytes of a single dex file containing the classes.
+	 *
+	 * @throws IOException
+	 * 		When a class cannot be found at runtime, or cannot be converted to dex.
+	 */
+	@Nonnull
+	public static byte[] toDex(@Nonnull Class<?>... classes) throws IOException {
+		byte[][] dex = new byte[1][];
+		D8Command.Builder builder = D8Command.builder()
+				.setDisableDesugaring(true)
+				.setProgramConsumer(new DexIndexedConsumer.ForwardingConsumer(null) {
+					@Override
+					public void accept(int fileIndex, ByteDataView data, Set<String> descriptors,
+					                   DiagnosticsHandler handler) {
+						dex[0] = data.copyByteData();
+					}
+				});
+		for (Class<?> c : classes)
+			builder.addClassProgramData(fromRuntimeClass(c).getBytecode(), Origin.unknown());
+		try {
+			D8.run(builder.build());
+		} catch (CompilationFailedException ex) {
+			throw new IOException("Failed to convert classes to dex", ex);
+		}
+		return dex[0];
+	}
+
 	/**
 	 * @param classes
 	 * 		Classes to put into the bundle.
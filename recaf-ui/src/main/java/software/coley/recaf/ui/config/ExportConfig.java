@@ -24,6 +24,7 @@ public class ExportConfig extends BasicConfigContainer {
 			= new ObservableObject<>(WorkspaceCompressType.MATCH_ORIGINAL);
 	private final ObservableBoolean bundleSupportingResources = new ObservableBoolean(false);
 	private final ObservableBoolean createZipDirEntries = new ObservableBoolean(true);
+	private final ObservableBoolean incremental = new ObservableBoolean(true);
 	private final ObservableBoolean warnNoChanges = new ObservableBoolean(true);
 
 	@Inject
@@ -33,6 +34,7 @@ public ExportConfig() {
 		addValue(new BasicConfigValue<>("compression", WorkspaceCompressType.class, compression));
 		addValue(new BasicConfigValue<>("bundle-supporting-resources", boolean.class, bundleSupportingResources));
 		addValue(new BasicConfigValue<>("create-zip-dir-entries", boolean.class, createZipDirEntries));
+		addValue(new BasicConfigValue<>("incremental", boolean.class, incremental));
 		addValue(new BasicConfigValue<>("warn-no-changes", boolean.class, warnNoChanges));
 	}
 
@@ -65,6 +67,17 @@ public ObservableBoolean getCreateZipDirEntries() {
 		return createZipDirEntries;
 	}
 
+	/**
+	 * Unmodified contents read from an archive can have their original compressed data copied into the output,
+	 * which is much faster than compressing all contents again when only a few have changed.
+	 *
+	 * @return {@code true} to copy the original data of unmodified contents into the output.
+	 */
+	@Nonnull
+	public ObservableBoolean getIncremental() {
+		return incremental;
+	}
+
 	/**
 	 * @return {@code true} to warn users when no changes were made prior to exporting.
 	 */
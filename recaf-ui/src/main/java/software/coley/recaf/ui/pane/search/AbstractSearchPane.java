@@ -16,7 +16,6 @@
 import software.coley.recaf.services.search.CancellableSearchFeedback;
 import software.coley.recaf.services.search.SearchService;
 import software.coley.recaf.services.search.query.Query;
-import software.coley.recaf.services.search.result.Result;
 import software.coley.recaf.services.search.result.Results;
 import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.ui.control.PathNodeTree;
@@ -27,9 +26,9 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
 
 /**
  * Common base capabilities for search panels.
@@ -177,18 +176,15 @@ protected final void search() {
 			return;
 
 		// Run new search.
-		CancellableSearchFeedback feedback;
+		CancellableSearchFeedback feedback = new CancellableSearchFeedback();
 		if (liveResults.get()) {
-			feedback = new LiveOnlySearchFeedback(result -> {
-				// Search is multi-threaded, so we will want to lock on the root to prevent concurrent-modification errors
-				synchronized (root) {
-					WorkspaceTreeNode node = WorkspaceTreeNode.getOrInsertIntoTree(root, result.getPath(), false);
-					TreeItems.expandParents(node);
-				}
-			});
-			CompletableFuture.runAsync(() -> searchService.search(workspace, query, feedback));
+			// Stream results into the tree as they are found, rather than collecting them into a single wrapper.
+			// The consumer is only called from a single thread, so we do not need to lock on the root.
+			CompletableFuture.runAsync(() -> searchService.search(workspace, List.of(query), feedback, result -> {
+				WorkspaceTreeNode node = WorkspaceTreeNode.getOrInsertIntoTree(root, result.getPath(), false);
+				TreeItems.expandParents(node);
+			}));
 		} else {
-			feedback = new CancellableSearchFeedback();
 			CompletableFuture.supplyAsync(() -> searchService.search(workspace, query, feedback))
 					.thenAccept(this::handleSearchResults);
 		}
@@ -216,23 +212,4 @@ private void cancelLastSearch() {
 			lastSearchFeedback = null;
 		}
 	}
-
-	/**
-	 * Feedback that passes results to a consumer.
-	 * <br>
-	 * Disables the collection of results into a single wrapper at the end of a search.
-	 */
-	private static class LiveOnlySearchFeedback extends CancellableSearchFeedback {
-		private final Consumer<Result<?>> resultConsumer;
-
-		private LiveOnlySearchFeedback(@Nonnull Consumer<Result<?>> resultConsumer) {
-			this.resultConsumer = resultConsumer;
-		}
-
-		@Override
-		public boolean doAcceptResult(@Nonnull Result<?> result) {
-			resultConsumer.accept(result);
-			return false;
-		}
-	}
 }
@@ -248,6 +248,7 @@ private WorkspaceExporter createResourceExporter(@Nonnull WorkspaceResource reso
 		}
 		options.setBundleSupporting(exportConfig.getBundleSupportingResources().getValue());
 		options.setCreateZipDirEntries(exportConfig.getCreateZipDirEntries().getValue());
+		options.setIncremental(exportConfig.getIncremental().getValue());
 		return options.create();
 	}
 }